@@ -0,0 +1,75 @@
+package com.bestvike.linq;
+
+import com.bestvike.linq.enumerable.DoubleEnumerable;
+
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Created by 许崇雷 on 2026-10-18.
+ */
+public interface IDoubleEnumerable {
+    IDoubleEnumerator enumerator();
+
+    default void forEach(DoubleConsumer action) {
+        DoubleEnumerable.forEach(this, action);
+    }
+
+    default boolean any() {
+        return DoubleEnumerable.any(this);
+    }
+
+    default double average() {
+        return DoubleEnumerable.average(this);
+    }
+
+    default IEnumerable<Double> boxed() {
+        return DoubleEnumerable.boxed(this);
+    }
+
+    default int count() {
+        return DoubleEnumerable.count(this);
+    }
+
+    default double first() {
+        return DoubleEnumerable.first(this);
+    }
+
+    default <TResult> IEnumerable<TResult> mapToObj(DoubleFunction<? extends TResult> selector) {
+        return DoubleEnumerable.mapToObj(this, selector);
+    }
+
+    default double max() {
+        return DoubleEnumerable.max(this);
+    }
+
+    default double min() {
+        return DoubleEnumerable.min(this);
+    }
+
+    default IDoubleEnumerable select(DoubleUnaryOperator selector) {
+        return DoubleEnumerable.select(this, selector);
+    }
+
+    default IDoubleEnumerable skip(int count) {
+        return DoubleEnumerable.skip(this, count);
+    }
+
+    default double sum() {
+        return DoubleEnumerable.sum(this);
+    }
+
+    default IDoubleEnumerable take(int count) {
+        return DoubleEnumerable.take(this, count);
+    }
+
+    default double[] toArray() {
+        return DoubleEnumerable.toArray(this);
+    }
+
+    default IDoubleEnumerable where(DoublePredicate predicate) {
+        return DoubleEnumerable.where(this, predicate);
+    }
+}
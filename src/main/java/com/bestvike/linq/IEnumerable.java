@@ -29,25 +29,33 @@ import com.bestvike.linq.enumerable.Count;
 import com.bestvike.linq.enumerable.DefaultIfEmpty;
 import com.bestvike.linq.enumerable.Distinct;
 import com.bestvike.linq.enumerable.DistinctBy;
+import com.bestvike.linq.enumerable.DoubleEnumerable;
 import com.bestvike.linq.enumerable.ElementAt;
 import com.bestvike.linq.enumerable.Except;
 import com.bestvike.linq.enumerable.ExceptBy;
 import com.bestvike.linq.enumerable.FindIndex;
 import com.bestvike.linq.enumerable.First;
+import com.bestvike.linq.enumerable.ForEach;
 import com.bestvike.linq.enumerable.Format;
 import com.bestvike.linq.enumerable.GroupBy;
 import com.bestvike.linq.enumerable.GroupJoin;
 import com.bestvike.linq.enumerable.IndexOf;
+import com.bestvike.linq.enumerable.IntEnumerable;
 import com.bestvike.linq.enumerable.Intersect;
 import com.bestvike.linq.enumerable.IntersectBy;
 import com.bestvike.linq.enumerable.Join;
 import com.bestvike.linq.enumerable.Joining;
 import com.bestvike.linq.enumerable.Last;
+import com.bestvike.linq.enumerable.LongEnumerable;
 import com.bestvike.linq.enumerable.Max;
 import com.bestvike.linq.enumerable.MaxBy;
+import com.bestvike.linq.enumerable.Memoize;
 import com.bestvike.linq.enumerable.Min;
 import com.bestvike.linq.enumerable.MinBy;
 import com.bestvike.linq.enumerable.OrderBy;
+import com.bestvike.linq.enumerable.ParallelEnumerable;
+import com.bestvike.linq.enumerable.Publish;
+import com.bestvike.linq.enumerable.Publisher;
 import com.bestvike.linq.enumerable.Reverse;
 import com.bestvike.linq.enumerable.RunOnce;
 import com.bestvike.linq.enumerable.Select;
@@ -56,6 +64,7 @@ import com.bestvike.linq.enumerable.SequenceEqual;
 import com.bestvike.linq.enumerable.Shuffle;
 import com.bestvike.linq.enumerable.Single;
 import com.bestvike.linq.enumerable.Skip;
+import com.bestvike.linq.enumerable.Spill;
 import com.bestvike.linq.enumerable.Sum;
 import com.bestvike.linq.enumerable.Take;
 import com.bestvike.linq.enumerable.ToCollection;
@@ -66,13 +75,14 @@ import com.bestvike.linq.enumerable.Union;
 import com.bestvike.linq.enumerable.UnionBy;
 import com.bestvike.linq.enumerable.Where;
 import com.bestvike.linq.enumerable.Zip;
-import com.bestvike.linq.exception.ExceptionArgument;
-import com.bestvike.linq.exception.ThrowHelper;
 import com.bestvike.linq.util.ArrayUtils;
 import com.bestvike.linq.util.Formatter;
 import com.bestvike.tuple.Tuple2;
+import com.bestvike.tuple.Tuple3;
+import com.bestvike.tuple.Tuple4;
 
 import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.util.Comparator;
 import java.util.Enumeration;
 import java.util.Iterator;
@@ -80,6 +90,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Spliterator;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -96,12 +107,11 @@ public interface IEnumerable<TSource> extends Iterable<TSource> {
     }
 
     default void forEach(Consumer<? super TSource> action) {
-        if (action == null)
-            ThrowHelper.throwArgumentNullException(ExceptionArgument.action);
-        try (IEnumerator<TSource> e = this.enumerator()) {
-            while (e.moveNext())
-                action.accept(e.current());
-        }
+        ForEach.forEach(this, action);
+    }
+
+    default boolean forEachWhile(Predicate1<? super TSource> action) {
+        return ForEach.forEachWhile(this, (Predicate1<TSource>) action);
     }
 
     default Spliterator<TSource> spliterator() {
@@ -148,10 +158,38 @@ public interface IEnumerable<TSource> extends Iterable<TSource> {
         return AppendPrepend.append(this, element);
     }
 
+    default IDoubleEnumerable asDoubleEnumerable() {
+        return DoubleEnumerable.asDoubleEnumerable((IEnumerable<Double>) this);
+    }
+
     default IEnumerable<TSource> asEnumerable() {
         return this;
     }
 
+    default IIntEnumerable asIntEnumerable() {
+        return IntEnumerable.asIntEnumerable((IEnumerable<Integer>) this);
+    }
+
+    default ILongEnumerable asLongEnumerable() {
+        return LongEnumerable.asLongEnumerable((IEnumerable<Long>) this);
+    }
+
+    default IParallelEnumerable<TSource> asParallel() {
+        return ParallelEnumerable.asParallel(this);
+    }
+
+    default IEnumerable<TSource> asSpillable(ISerializer<TSource> serializer) {
+        return Spill.asSpillable(this, serializer);
+    }
+
+    default IEnumerable<TSource> asSpillable(ISerializer<TSource> serializer, int budget) {
+        return Spill.asSpillable(this, serializer, budget);
+    }
+
+    default IEnumerable<TSource> asSpillable(ISerializer<TSource> serializer, int budget, Path directory) {
+        return Spill.asSpillable(this, serializer, budget, directory);
+    }
+
     default double averageInt() {
         return Average.averageInt((IEnumerable<Integer>) this);
     }
@@ -488,6 +526,18 @@ public interface IEnumerable<TSource> extends Iterable<TSource> {
         return Count.longCount(this, (Predicate1<TSource>) predicate);
     }
 
+    default IDoubleEnumerable mapToDouble(DoubleFunc1<? super TSource> selector) {
+        return DoubleEnumerable.mapToDouble(this, (DoubleFunc1<TSource>) selector);
+    }
+
+    default IIntEnumerable mapToInt(IntFunc1<? super TSource> selector) {
+        return IntEnumerable.mapToInt(this, (IntFunc1<TSource>) selector);
+    }
+
+    default ILongEnumerable mapToLong(LongFunc1<? super TSource> selector) {
+        return LongEnumerable.mapToLong(this, (LongFunc1<TSource>) selector);
+    }
+
     default int maxInt() {
         return Max.maxInt((IEnumerable<Integer>) this);
     }
@@ -632,6 +682,10 @@ public interface IEnumerable<TSource> extends Iterable<TSource> {
         return MaxBy.maxByNull(this, (Func1<TSource, TKey>) keySelector);
     }
 
+    default IEnumerable<TSource> memoize() {
+        return Memoize.memoize(this);
+    }
+
     default int minInt() {
         return Min.minInt((IEnumerable<Integer>) this);
     }
@@ -796,10 +850,42 @@ public interface IEnumerable<TSource> extends Iterable<TSource> {
         return OrderBy.orderByDescending(this, (Func1<TSource, TKey>) keySelector, (Comparator<TKey>) comparer);
     }
 
+    default IOrderedEnumerable<TSource> orderByDescendingDouble(DoubleFunc1<? super TSource> keySelector) {
+        return OrderBy.orderByDescendingDouble(this, (DoubleFunc1<TSource>) keySelector);
+    }
+
+    default IOrderedEnumerable<TSource> orderByDescendingInt(IntFunc1<? super TSource> keySelector) {
+        return OrderBy.orderByDescendingInt(this, (IntFunc1<TSource>) keySelector);
+    }
+
+    default IOrderedEnumerable<TSource> orderByDescendingLong(LongFunc1<? super TSource> keySelector) {
+        return OrderBy.orderByDescendingLong(this, (LongFunc1<TSource>) keySelector);
+    }
+
+    default IOrderedEnumerable<TSource> orderByDouble(DoubleFunc1<? super TSource> keySelector) {
+        return OrderBy.orderByDouble(this, (DoubleFunc1<TSource>) keySelector);
+    }
+
+    default IOrderedEnumerable<TSource> orderByInt(IntFunc1<? super TSource> keySelector) {
+        return OrderBy.orderByInt(this, (IntFunc1<TSource>) keySelector);
+    }
+
+    default IOrderedEnumerable<TSource> orderByLong(LongFunc1<? super TSource> keySelector) {
+        return OrderBy.orderByLong(this, (LongFunc1<TSource>) keySelector);
+    }
+
     default IEnumerable<TSource> prepend(TSource element) {
         return AppendPrepend.prepend(this, element);
     }
 
+    default Publisher<TSource> publish() {
+        return Publish.publish(this);
+    }
+
+    default Publisher<TSource> publish(Executor executor) {
+        return Publish.publish(this, executor);
+    }
+
     default IEnumerable<TSource> reverse() {
         return Reverse.reverse(this);
     }
@@ -856,6 +942,18 @@ public interface IEnumerable<TSource> extends Iterable<TSource> {
         return SequenceEqual.sequenceEqual(this, (IEnumerable<TSource>) second, (IEqualityComparer<TSource>) comparer);
     }
 
+    default <T1, T2> Tuple2<T1, T2> share(Func1<? super IEnumerable<TSource>, ? extends T1> consumer1, Func1<? super IEnumerable<TSource>, ? extends T2> consumer2) {
+        return Publish.share(this, (Func1<IEnumerable<TSource>, T1>) consumer1, (Func1<IEnumerable<TSource>, T2>) consumer2);
+    }
+
+    default <T1, T2, T3> Tuple3<T1, T2, T3> share(Func1<? super IEnumerable<TSource>, ? extends T1> consumer1, Func1<? super IEnumerable<TSource>, ? extends T2> consumer2, Func1<? super IEnumerable<TSource>, ? extends T3> consumer3) {
+        return Publish.share(this, (Func1<IEnumerable<TSource>, T1>) consumer1, (Func1<IEnumerable<TSource>, T2>) consumer2, (Func1<IEnumerable<TSource>, T3>) consumer3);
+    }
+
+    default <T1, T2, T3, T4> Tuple4<T1, T2, T3, T4> share(Func1<? super IEnumerable<TSource>, ? extends T1> consumer1, Func1<? super IEnumerable<TSource>, ? extends T2> consumer2, Func1<? super IEnumerable<TSource>, ? extends T3> consumer3, Func1<? super IEnumerable<TSource>, ? extends T4> consumer4) {
+        return Publish.share(this, (Func1<IEnumerable<TSource>, T1>) consumer1, (Func1<IEnumerable<TSource>, T2>) consumer2, (Func1<IEnumerable<TSource>, T3>) consumer3, (Func1<IEnumerable<TSource>, T4>) consumer4);
+    }
+
     default IEnumerable<TSource> shuffle() {
         return Shuffle.shuffle(this);
     }
@@ -0,0 +1,83 @@
+package com.bestvike.linq;
+
+import com.bestvike.linq.enumerable.IntEnumerable;
+
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Created by 许崇雷 on 2026-10-18.
+ */
+public interface IIntEnumerable {
+    IIntEnumerator enumerator();
+
+    default void forEach(IntConsumer action) {
+        IntEnumerable.forEach(this, action);
+    }
+
+    default boolean any() {
+        return IntEnumerable.any(this);
+    }
+
+    default IDoubleEnumerable asDoubleEnumerable() {
+        return IntEnumerable.asDoubleEnumerable(this);
+    }
+
+    default ILongEnumerable asLongEnumerable() {
+        return IntEnumerable.asLongEnumerable(this);
+    }
+
+    default double average() {
+        return IntEnumerable.average(this);
+    }
+
+    default IEnumerable<Integer> boxed() {
+        return IntEnumerable.boxed(this);
+    }
+
+    default int count() {
+        return IntEnumerable.count(this);
+    }
+
+    default int first() {
+        return IntEnumerable.first(this);
+    }
+
+    default <TResult> IEnumerable<TResult> mapToObj(IntFunction<? extends TResult> selector) {
+        return IntEnumerable.mapToObj(this, selector);
+    }
+
+    default int max() {
+        return IntEnumerable.max(this);
+    }
+
+    default int min() {
+        return IntEnumerable.min(this);
+    }
+
+    default IIntEnumerable select(IntUnaryOperator selector) {
+        return IntEnumerable.select(this, selector);
+    }
+
+    default IIntEnumerable skip(int count) {
+        return IntEnumerable.skip(this, count);
+    }
+
+    default int sum() {
+        return IntEnumerable.sum(this);
+    }
+
+    default IIntEnumerable take(int count) {
+        return IntEnumerable.take(this, count);
+    }
+
+    default int[] toArray() {
+        return IntEnumerable.toArray(this);
+    }
+
+    default IIntEnumerable where(IntPredicate predicate) {
+        return IntEnumerable.where(this, predicate);
+    }
+}
@@ -0,0 +1,14 @@
+package com.bestvike.linq;
+
+import com.bestvike.IDisposable;
+
+/**
+ * Created by 许崇雷 on 2026-10-18.
+ */
+public interface IIntEnumerator extends IDisposable {
+    boolean moveNext();
+
+    int current();
+
+    void close();
+}
@@ -0,0 +1,79 @@
+package com.bestvike.linq;
+
+import com.bestvike.linq.enumerable.LongEnumerable;
+
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Created by 许崇雷 on 2026-10-18.
+ */
+public interface ILongEnumerable {
+    ILongEnumerator enumerator();
+
+    default void forEach(LongConsumer action) {
+        LongEnumerable.forEach(this, action);
+    }
+
+    default boolean any() {
+        return LongEnumerable.any(this);
+    }
+
+    default IDoubleEnumerable asDoubleEnumerable() {
+        return LongEnumerable.asDoubleEnumerable(this);
+    }
+
+    default double average() {
+        return LongEnumerable.average(this);
+    }
+
+    default IEnumerable<Long> boxed() {
+        return LongEnumerable.boxed(this);
+    }
+
+    default int count() {
+        return LongEnumerable.count(this);
+    }
+
+    default long first() {
+        return LongEnumerable.first(this);
+    }
+
+    default <TResult> IEnumerable<TResult> mapToObj(LongFunction<? extends TResult> selector) {
+        return LongEnumerable.mapToObj(this, selector);
+    }
+
+    default long max() {
+        return LongEnumerable.max(this);
+    }
+
+    default long min() {
+        return LongEnumerable.min(this);
+    }
+
+    default ILongEnumerable select(LongUnaryOperator selector) {
+        return LongEnumerable.select(this, selector);
+    }
+
+    default ILongEnumerable skip(int count) {
+        return LongEnumerable.skip(this, count);
+    }
+
+    default long sum() {
+        return LongEnumerable.sum(this);
+    }
+
+    default ILongEnumerable take(int count) {
+        return LongEnumerable.take(this, count);
+    }
+
+    default long[] toArray() {
+        return LongEnumerable.toArray(this);
+    }
+
+    default ILongEnumerable where(LongPredicate predicate) {
+        return LongEnumerable.where(this, predicate);
+    }
+}
@@ -1,8 +1,12 @@
 package com.bestvike.linq;
 
+import com.bestvike.function.DoubleFunc1;
 import com.bestvike.function.Func1;
+import com.bestvike.function.IntFunc1;
+import com.bestvike.function.LongFunc1;
 import com.bestvike.linq.enumerable.OrderBy;
 
+import java.nio.file.Path;
 import java.util.Comparator;
 
 /**
@@ -12,6 +16,30 @@ import java.util.Comparator;
 public interface IOrderedEnumerable<TElement> extends IEnumerable<TElement> {
     <TKey> IOrderedEnumerable<TElement> createOrderedEnumerable(Func1<TElement, TKey> keySelector, Comparator<TKey> comparer, boolean descending);
 
+    default IOrderedEnumerable<TElement> external(ISerializer<TElement> serializer) {
+        return OrderBy.external(this, serializer);
+    }
+
+    default IOrderedEnumerable<TElement> external(ISerializer<TElement> serializer, int runSize) {
+        return OrderBy.external(this, serializer, runSize);
+    }
+
+    default IOrderedEnumerable<TElement> external(ISerializer<TElement> serializer, int runSize, Path directory) {
+        return OrderBy.external(this, serializer, runSize, directory);
+    }
+
+    default IOrderedEnumerable<TElement> lazy() {
+        return OrderBy.lazy(this);
+    }
+
+    default IOrderedEnumerable<TElement> parallel() {
+        return OrderBy.parallel(this);
+    }
+
+    default IOrderedEnumerable<TElement> parallel(int threshold) {
+        return OrderBy.parallel(this, threshold);
+    }
+
     default <TKey> IOrderedEnumerable<TElement> thenBy(Func1<? super TElement, ? extends TKey> keySelector) {
         return OrderBy.thenBy(this, (Func1<TElement, TKey>) keySelector);
     }
@@ -20,6 +48,18 @@ public interface IOrderedEnumerable<TElement> extends IEnumerable<TElement> {
         return OrderBy.thenBy(this, (Func1<TElement, TKey>) keySelector, (Comparator<TKey>) comparer);
     }
 
+    default IOrderedEnumerable<TElement> thenByDouble(DoubleFunc1<? super TElement> keySelector) {
+        return OrderBy.thenByDouble(this, (DoubleFunc1<TElement>) keySelector);
+    }
+
+    default IOrderedEnumerable<TElement> thenByInt(IntFunc1<? super TElement> keySelector) {
+        return OrderBy.thenByInt(this, (IntFunc1<TElement>) keySelector);
+    }
+
+    default IOrderedEnumerable<TElement> thenByLong(LongFunc1<? super TElement> keySelector) {
+        return OrderBy.thenByLong(this, (LongFunc1<TElement>) keySelector);
+    }
+
     default <TKey> IOrderedEnumerable<TElement> thenByDescending(Func1<? super TElement, ? extends TKey> keySelector) {
         return OrderBy.thenByDescending(this, (Func1<TElement, TKey>) keySelector);
     }
@@ -27,4 +67,16 @@ public interface IOrderedEnumerable<TElement> extends IEnumerable<TElement> {
     default <TKey> IOrderedEnumerable<TElement> thenByDescending(Func1<? super TElement, ? extends TKey> keySelector, Comparator<? super TKey> comparer) {
         return OrderBy.thenByDescending(this, (Func1<TElement, TKey>) keySelector, (Comparator<TKey>) comparer);
     }
+
+    default IOrderedEnumerable<TElement> thenByDescendingDouble(DoubleFunc1<? super TElement> keySelector) {
+        return OrderBy.thenByDescendingDouble(this, (DoubleFunc1<TElement>) keySelector);
+    }
+
+    default IOrderedEnumerable<TElement> thenByDescendingInt(IntFunc1<? super TElement> keySelector) {
+        return OrderBy.thenByDescendingInt(this, (IntFunc1<TElement>) keySelector);
+    }
+
+    default IOrderedEnumerable<TElement> thenByDescendingLong(LongFunc1<? super TElement> keySelector) {
+        return OrderBy.thenByDescendingLong(this, (LongFunc1<TElement>) keySelector);
+    }
 }
@@ -0,0 +1,175 @@
+package com.bestvike.linq;
+
+import com.bestvike.collections.generic.Array;
+import com.bestvike.collections.generic.IEqualityComparer;
+import com.bestvike.function.DoubleFunc1;
+import com.bestvike.function.Func0;
+import com.bestvike.function.Func1;
+import com.bestvike.function.Func2;
+import com.bestvike.function.IntFunc1;
+import com.bestvike.function.LongFunc1;
+import com.bestvike.function.Predicate0;
+import com.bestvike.function.Predicate1;
+import com.bestvike.linq.enumerable.ParallelEnumerable;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Created by 许崇雷 on 2026-10-18.
+ */
+@SuppressWarnings("unchecked")
+public interface IParallelEnumerable<TSource> extends IEnumerable<TSource> {
+    @Override
+    default TSource aggregate(Func2<? super TSource, ? super TSource, ? extends TSource> func) {
+        return ParallelEnumerable.aggregate(this, (Func2<TSource, TSource, TSource>) func);
+    }
+
+    default <TAccumulate, TResult> TResult aggregate(Func0<? extends TAccumulate> seedFactory, Func2<? super TAccumulate, ? super TSource, ? extends TAccumulate> updateAccumulatorFunc, Func2<? super TAccumulate, ? super TAccumulate, ? extends TAccumulate> combineAccumulatorsFunc, Func1<? super TAccumulate, ? extends TResult> resultSelector) {
+        return ParallelEnumerable.aggregate(this, (Func0<TAccumulate>) seedFactory, (Func2<TAccumulate, TSource, TAccumulate>) updateAccumulatorFunc, (Func2<TAccumulate, TAccumulate, TAccumulate>) combineAccumulatorsFunc, (Func1<TAccumulate, TResult>) resultSelector);
+    }
+
+    @Override
+    default boolean any() {
+        return ParallelEnumerable.any(this);
+    }
+
+    @Override
+    default boolean any(Predicate1<? super TSource> predicate) {
+        return ParallelEnumerable.any(this, (Predicate1<TSource>) predicate);
+    }
+
+    default IParallelEnumerable<TSource> asOrdered() {
+        return ParallelEnumerable.asOrdered(this);
+    }
+
+    default IEnumerable<TSource> asSequential() {
+        return ParallelEnumerable.asSequential(this);
+    }
+
+    default IParallelEnumerable<TSource> asUnordered() {
+        return ParallelEnumerable.asUnordered(this);
+    }
+
+    @Override
+    default int count() {
+        return ParallelEnumerable.count(this);
+    }
+
+    @Override
+    default int count(Predicate1<? super TSource> predicate) {
+        return ParallelEnumerable.count(this, (Predicate1<TSource>) predicate);
+    }
+
+    @Override
+    default <TKey> IEnumerable<IGrouping<TKey, TSource>> groupBy(Func1<? super TSource, ? extends TKey> keySelector) {
+        return ParallelEnumerable.groupBy(this, (Func1<TSource, TKey>) keySelector, null);
+    }
+
+    @Override
+    default <TKey> IEnumerable<IGrouping<TKey, TSource>> groupBy(Func1<? super TSource, ? extends TKey> keySelector, IEqualityComparer<? super TKey> comparer) {
+        return ParallelEnumerable.groupBy(this, (Func1<TSource, TKey>) keySelector, (IEqualityComparer<TKey>) comparer);
+    }
+
+    @Override
+    default <TKey, TElement> IEnumerable<IGrouping<TKey, TElement>> groupBy(Func1<? super TSource, ? extends TKey> keySelector, Func1<? super TSource, ? extends TElement> elementSelector) {
+        return ParallelEnumerable.groupBy(this, (Func1<TSource, TKey>) keySelector, (Func1<TSource, TElement>) elementSelector, null);
+    }
+
+    @Override
+    default <TKey, TElement> IEnumerable<IGrouping<TKey, TElement>> groupBy(Func1<? super TSource, ? extends TKey> keySelector, Func1<? super TSource, ? extends TElement> elementSelector, IEqualityComparer<? super TKey> comparer) {
+        return ParallelEnumerable.groupBy(this, (Func1<TSource, TKey>) keySelector, (Func1<TSource, TElement>) elementSelector, (IEqualityComparer<TKey>) comparer);
+    }
+
+    @Override
+    default <TResult> IParallelEnumerable<TResult> select(Func1<? super TSource, ? extends TResult> selector) {
+        return ParallelEnumerable.select(this, (Func1<TSource, TResult>) selector);
+    }
+
+    @Override
+    default <TResult> IParallelEnumerable<TResult> selectMany(Func1<? super TSource, ? extends IEnumerable<? extends TResult>> selector) {
+        return ParallelEnumerable.selectMany(this, (Func1<TSource, IEnumerable<TResult>>) selector);
+    }
+
+    @Override
+    default int sumInt() {
+        return ParallelEnumerable.sumInt((IParallelEnumerable<Integer>) this);
+    }
+
+    @Override
+    default long sumLong() {
+        return ParallelEnumerable.sumLong((IParallelEnumerable<Long>) this);
+    }
+
+    @Override
+    default double sumDouble() {
+        return ParallelEnumerable.sumDouble((IParallelEnumerable<Double>) this);
+    }
+
+    @Override
+    default int sumInt(IntFunc1<? super TSource> selector) {
+        return ParallelEnumerable.sumInt(this, (IntFunc1<TSource>) selector);
+    }
+
+    @Override
+    default long sumLong(LongFunc1<? super TSource> selector) {
+        return ParallelEnumerable.sumLong(this, (LongFunc1<TSource>) selector);
+    }
+
+    @Override
+    default double sumDouble(DoubleFunc1<? super TSource> selector) {
+        return ParallelEnumerable.sumDouble(this, (DoubleFunc1<TSource>) selector);
+    }
+
+    @Override
+    default Array<TSource> toArray() {
+        return ParallelEnumerable.toArray(this);
+    }
+
+    @Override
+    default TSource[] toArray(Class<TSource> clazz) {
+        return ParallelEnumerable.toArray(this, clazz);
+    }
+
+    @Override
+    default List<TSource> toList() {
+        return ParallelEnumerable.toList(this);
+    }
+
+    @Override
+    default <TKey> ILookup<TKey, TSource> toLookup(Func1<? super TSource, ? extends TKey> keySelector) {
+        return ParallelEnumerable.toLookup(this, (Func1<TSource, TKey>) keySelector, null);
+    }
+
+    @Override
+    default <TKey> ILookup<TKey, TSource> toLookup(Func1<? super TSource, ? extends TKey> keySelector, IEqualityComparer<? super TKey> comparer) {
+        return ParallelEnumerable.toLookup(this, (Func1<TSource, TKey>) keySelector, (IEqualityComparer<TKey>) comparer);
+    }
+
+    @Override
+    default <TKey, TElement> ILookup<TKey, TElement> toLookup(Func1<? super TSource, ? extends TKey> keySelector, Func1<? super TSource, ? extends TElement> elementSelector) {
+        return ParallelEnumerable.toLookup(this, (Func1<TSource, TKey>) keySelector, (Func1<TSource, TElement>) elementSelector, null);
+    }
+
+    @Override
+    default <TKey, TElement> ILookup<TKey, TElement> toLookup(Func1<? super TSource, ? extends TKey> keySelector, Func1<? super TSource, ? extends TElement> elementSelector, IEqualityComparer<? super TKey> comparer) {
+        return ParallelEnumerable.toLookup(this, (Func1<TSource, TKey>) keySelector, (Func1<TSource, TElement>) elementSelector, (IEqualityComparer<TKey>) comparer);
+    }
+
+    @Override
+    default IParallelEnumerable<TSource> where(Predicate1<? super TSource> predicate) {
+        return ParallelEnumerable.where(this, (Predicate1<TSource>) predicate);
+    }
+
+    default IParallelEnumerable<TSource> withCancellation(Predicate0 cancellationRequested) {
+        return ParallelEnumerable.withCancellation(this, cancellationRequested);
+    }
+
+    default IParallelEnumerable<TSource> withDegreeOfParallelism(int degreeOfParallelism) {
+        return ParallelEnumerable.withDegreeOfParallelism(this, degreeOfParallelism);
+    }
+
+    default IParallelEnumerable<TSource> withExecutor(ForkJoinPool pool) {
+        return ParallelEnumerable.withExecutor(this, pool);
+    }
+}
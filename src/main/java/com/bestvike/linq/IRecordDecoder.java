@@ -0,0 +1,12 @@
+package com.bestvike.linq;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Decodes one fixed-width record. The buffer is shared, so read it with absolute gets only.
+ * <p>
+ * Created by 许崇雷 on 2026-10-18.
+ */
+public interface IRecordDecoder<T> {
+    T decode(ByteBuffer buffer, int offset);
+}
@@ -4,16 +4,28 @@ import com.bestvike.function.Func0;
 import com.bestvike.function.Func1;
 import com.bestvike.function.Predicate0;
 import com.bestvike.function.Predicate1;
+import com.bestvike.linq.enumerable.DoubleEnumerable;
 import com.bestvike.linq.enumerable.Enumerable;
 import com.bestvike.linq.enumerable.Enumerate;
 import com.bestvike.linq.enumerable.Infinite;
+import com.bestvike.linq.enumerable.IntEnumerable;
 import com.bestvike.linq.enumerable.Iterate;
+import com.bestvike.linq.enumerable.LongEnumerable;
 import com.bestvike.linq.enumerable.Loop;
+import com.bestvike.linq.enumerable.ParallelSplit;
 import com.bestvike.linq.enumerable.Range;
+import com.bestvike.linq.enumerable.ReaderSplit;
 import com.bestvike.linq.enumerable.Repeat;
 import com.bestvike.linq.enumerable.Split;
+import com.bestvike.linq.enumerable.Splitter;
+import com.bestvike.linq.util.StringSegment;
 import com.bestvike.linq.util.StringSplitOptions;
 
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Enumeration;
 import java.util.Iterator;
@@ -74,6 +86,18 @@ public final class Linq {
         return Enumerable.of(source);
     }
 
+    public static IIntEnumerable ofInt(int... source) {
+        return IntEnumerable.of(source);
+    }
+
+    public static ILongEnumerable ofLong(long... source) {
+        return LongEnumerable.of(source);
+    }
+
+    public static IDoubleEnumerable ofDouble(double... source) {
+        return DoubleEnumerable.of(source);
+    }
+
     public static <TSource> IEnumerable<TSource> of(TSource... source) {
         return Enumerable.of(source);
     }
@@ -130,10 +154,34 @@ public final class Linq {
         return Enumerable.words(source);
     }
 
+    public static IEnumerable<String> words(Reader source) {
+        return ReaderSplit.words(source);
+    }
+
     public static IEnumerable<String> lines(CharSequence source) {
         return Enumerable.lines(source);
     }
 
+    public static IEnumerable<CharSequence> lines(Path path, Charset charset) {
+        return Enumerable.lines(path, charset);
+    }
+
+    public static IEnumerable<String> lines(Reader source) {
+        return ReaderSplit.lines(source);
+    }
+
+    public static <TResult> IEnumerable<TResult> records(ByteBuffer buffer, int recordSize, IRecordDecoder<TResult> decoder) {
+        return Enumerable.records(buffer, recordSize, decoder);
+    }
+
+    public static <TResult> IEnumerable<TResult> records(Path path, int recordSize, IRecordDecoder<TResult> decoder) {
+        return Enumerable.records(path, recordSize, ByteOrder.BIG_ENDIAN, decoder);
+    }
+
+    public static <TResult> IEnumerable<TResult> records(Path path, int recordSize, ByteOrder order, IRecordDecoder<TResult> decoder) {
+        return Enumerable.records(path, recordSize, order, decoder);
+    }
+
     public static IEnumerable<String> split(CharSequence source, char separator) {
         return Split.split(source, separator);
     }
@@ -166,6 +214,54 @@ public final class Linq {
         return Split.split(source, separator, options);
     }
 
+    public static IEnumerable<String> split(Reader source, Splitter splitter) {
+        return ReaderSplit.split(source, splitter);
+    }
+
+    public static IEnumerable<StringSegment> splitViews(CharSequence source, char separator) {
+        return Split.splitViews(source, separator);
+    }
+
+    public static IEnumerable<StringSegment> splitViews(CharSequence source, char separator, StringSplitOptions options) {
+        return Split.splitViews(source, separator, options);
+    }
+
+    public static IEnumerable<StringSegment> splitViews(CharSequence source, char... separator) {
+        return Split.splitViews(source, separator);
+    }
+
+    public static IEnumerable<StringSegment> splitViews(CharSequence source, char[] separator, StringSplitOptions options) {
+        return Split.splitViews(source, separator, options);
+    }
+
+    public static IEnumerable<StringSegment> splitViews(CharSequence source, CharSequence separator) {
+        return Split.splitViews(source, separator);
+    }
+
+    public static IEnumerable<StringSegment> splitViews(CharSequence source, CharSequence separator, StringSplitOptions options) {
+        return Split.splitViews(source, separator, options);
+    }
+
+    public static IEnumerable<StringSegment> splitViews(CharSequence source, CharSequence[] separator) {
+        return Split.splitViews(source, separator);
+    }
+
+    public static IEnumerable<StringSegment> splitViews(CharSequence source, CharSequence[] separator, StringSplitOptions options) {
+        return Split.splitViews(source, separator, options);
+    }
+
+    public static IParallelEnumerable<String> parallelLines(CharSequence source) {
+        return ParallelSplit.lines(source);
+    }
+
+    public static IParallelEnumerable<String> parallelWords(CharSequence source) {
+        return ParallelSplit.words(source);
+    }
+
+    public static IParallelEnumerable<String> parallelSplit(CharSequence source, Splitter splitter) {
+        return ParallelSplit.split(source, splitter);
+    }
+
     public static <TSource> IEnumerable<TSource> infinite(TSource item) {
         return Infinite.infinite(item);
     }
@@ -194,6 +290,10 @@ public final class Linq {
         return Range.range(start, count);
     }
 
+    public static IIntEnumerable rangeInt(int start, int count) {
+        return IntEnumerable.range(start, count);
+    }
+
     public static <TResult> IEnumerable<TResult> repeat(TResult element, int count) {
         return Repeat.repeat(element, count);
     }
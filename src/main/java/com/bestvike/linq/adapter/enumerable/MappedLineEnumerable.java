@@ -0,0 +1,34 @@
+package com.bestvike.linq.adapter.enumerable;
+
+import com.bestvike.linq.IEnumerable;
+import com.bestvike.linq.IEnumerator;
+import com.bestvike.linq.adapter.enumerator.MappedLineEnumerator;
+
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+
+/**
+ * Created by 许崇雷 on 2026-10-18.
+ */
+public final class MappedLineEnumerable implements IEnumerable<CharSequence> {
+    public static final int DEFAULT_WINDOW_SIZE = 1 << 26;
+
+    private final Path path;
+    private final Charset charset;
+    private final int windowSize;
+
+    public MappedLineEnumerable(Path path, Charset charset) {
+        this(path, charset, DEFAULT_WINDOW_SIZE);
+    }
+
+    public MappedLineEnumerable(Path path, Charset charset, int windowSize) {
+        this.path = path;
+        this.charset = charset;
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    public IEnumerator<CharSequence> enumerator() {
+        return new MappedLineEnumerator(this.path, this.charset, this.windowSize);
+    }
+}
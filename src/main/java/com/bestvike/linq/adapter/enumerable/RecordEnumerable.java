@@ -0,0 +1,134 @@
+package com.bestvike.linq.adapter.enumerable;
+
+import com.bestvike.collections.generic.IArrayList;
+import com.bestvike.function.Predicate1;
+import com.bestvike.linq.IEnumerator;
+import com.bestvike.linq.IRecordDecoder;
+import com.bestvike.linq.adapter.enumerator.RecordEnumerator;
+import com.bestvike.linq.exception.ExceptionArgument;
+import com.bestvike.linq.exception.ThrowHelper;
+import com.bestvike.linq.util.ArrayUtils;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Fixed-width records decoded on access from buffers that each hold recordsPerChunk records, the last one possibly less.
+ * <p>
+ * Created by 许崇雷 on 2026-10-18.
+ */
+public final class RecordEnumerable<TSource> implements IArrayList<TSource> {
+    private final ByteBuffer[] chunks;
+    private final int recordsPerChunk;
+    private final int recordSize;
+    private final int count;
+    private final IRecordDecoder<TSource> decoder;
+
+    public RecordEnumerable(ByteBuffer[] chunks, int recordsPerChunk, int recordSize, int count, IRecordDecoder<TSource> decoder) {
+        this.chunks = chunks;
+        this.recordsPerChunk = recordsPerChunk;
+        this.recordSize = recordSize;
+        this.count = count;
+        this.decoder = decoder;
+    }
+
+    @Override
+    public IEnumerator<TSource> enumerator() {
+        return new RecordEnumerator<>(this);
+    }
+
+    @Override
+    public TSource get(int index) {
+        if (index < 0 || index >= this.count)
+            ThrowHelper.throwIndexOutOfRangeException();
+        return this.decoder.decode(this.chunks[index / this.recordsPerChunk], index % this.recordsPerChunk * this.recordSize);
+    }
+
+    @Override
+    public int _indexOf(TSource item) {
+        for (int i = 0; i < this.count; i++) {
+            if (Objects.equals(this.get(i), item))
+                return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public int _lastIndexOf(TSource item) {
+        for (int i = this.count - 1; i >= 0; i--) {
+            if (Objects.equals(this.get(i), item))
+                return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public int _findIndex(Predicate1<TSource> match) {
+        if (match == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.match);
+        for (int i = 0; i < this.count; i++) {
+            if (match.apply(this.get(i)))
+                return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public int _findLastIndex(Predicate1<TSource> match) {
+        if (match == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.match);
+        for (int i = this.count - 1; i >= 0; i--) {
+            if (match.apply(this.get(i)))
+                return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public Collection<TSource> getCollection() {
+        return ArrayUtils.toCollection(this._toArray());
+    }
+
+    @Override
+    public int _getCount() {
+        return this.count;
+    }
+
+    @Override
+    public boolean _contains(TSource item) {
+        return this._indexOf(item) != -1;
+    }
+
+    @Override
+    public void _copyTo(Object[] array, int arrayIndex) {
+        for (int i = 0; i < this.count; i++)
+            array[arrayIndex++] = this.get(i);
+    }
+
+    @Override
+    public TSource[] _toArray(Class<TSource> clazz) {
+        TSource[] array = ArrayUtils.newInstance(clazz, this.count);
+        for (int i = 0; i < array.length; i++)
+            array[i] = this.get(i);
+        return array;
+    }
+
+    @Override
+    public Object[] _toArray() {
+        Object[] array = new Object[this.count];
+        for (int i = 0; i < array.length; i++)
+            array[i] = this.get(i);
+        return array;
+    }
+
+    @Override
+    public List<TSource> _toList() {
+        List<TSource> list = new ArrayList<>(this.count);
+        for (int i = 0; i < this.count; i++)
+            list.add(this.get(i));
+        return list;
+    }
+}
@@ -0,0 +1,241 @@
+package com.bestvike.linq.adapter.enumerator;
+
+import com.bestvike.linq.enumerable.AbstractEnumerator;
+import com.bestvike.linq.exception.ThrowHelper;
+import com.bestvike.linq.util.Chars;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Lines of a file mapped in windows, split on CR and LF bytes and skipping empty lines like {@link LineEnumerator}.
+ * Every line is the same reused view, valid until the next moveNext; call toString() to keep it.
+ * <p>
+ * Created by 许崇雷 on 2026-10-18.
+ */
+public final class MappedLineEnumerator extends AbstractEnumerator<CharSequence> {
+    private final Path path;
+    private final Charset charset;
+    private final boolean asciiSuperset;
+    private int windowSize;
+    private FileChannel channel;
+    private long size;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int index;
+    private MappedLine line;
+
+    public MappedLineEnumerator(Path path, Charset charset, int windowSize) {
+        this.path = path;
+        this.charset = charset;
+        this.asciiSuperset = isAsciiSuperset(charset);
+        this.windowSize = windowSize;
+    }
+
+    // Whether bytes below 0x80 always decode to the same ascii chars, so such lines can skip the decoder.
+    // Stateful 7 bit charsets such as ISO-2022-JP also encode CR and LF as single bytes, but their escape sequences are ascii bytes.
+    private static boolean isAsciiSuperset(Charset charset) {
+        String name = charset.name();
+        if (name.equals("UTF-8") || name.equals("US-ASCII") || name.startsWith("ISO-8859-") || name.startsWith("windows-125"))
+            return true;
+        if (!charset.canEncode() || charset.newEncoder().maxBytesPerChar() != 1)
+            return false;
+
+        byte[] bytes = new byte[0x80];
+        for (int i = 0; i < bytes.length; i++)
+            bytes[i] = (byte) i;
+        String decoded = new String(bytes, charset);
+        if (decoded.length() != bytes.length)
+            return false;
+        for (int i = 0; i < bytes.length; i++) {
+            if (decoded.charAt(i) != i)
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean moveNext() {
+        try {
+            switch (this.state) {
+                case 0:
+                    this.channel = FileChannel.open(this.path, StandardOpenOption.READ);
+                    this.size = this.channel.size();
+                    this.line = new MappedLine(this.charset);
+                    this.map(0L);
+                    this.state = 1;
+                case 1:
+                    if (this.nextLine()) {
+                        this.current = this.line;
+                        return true;
+                    }
+                    this.close();
+                    return false;
+                default:
+                    return false;
+            }
+        } catch (IOException e) {
+            this.close();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private boolean nextLine() throws IOException {
+        int limit = this.window.limit();
+        while (true) {
+            if (this.index == limit) {
+                if (this.windowStart + limit == this.size)
+                    return false;
+                this.map(this.windowStart + limit);
+                limit = this.window.limit();
+                continue;
+            }
+            byte b = this.window.get(this.index);
+            if (b != Chars.CR && b != Chars.LF)
+                break;
+            this.index++;
+        }
+
+        int start = this.index;
+        int bits = 0;
+        while (true) {
+            if (this.index == limit) {
+                if (this.windowStart + limit == this.size)
+                    break;
+                int length = this.index - start;
+                if (start == 0) {
+                    if (this.windowSize == Integer.MAX_VALUE)
+                        ThrowHelper.throwNotSupportedException();
+                    this.windowSize = (int) Math.min(Integer.MAX_VALUE, (long) this.windowSize << 1);
+                }
+                this.map(this.windowStart + start);
+                limit = this.window.limit();
+                this.index = length;
+                start = 0;
+                continue;
+            }
+            byte b = this.window.get(this.index);
+            if (b == Chars.CR || b == Chars.LF)
+                break;
+            bits |= b;
+            this.index++;
+        }
+        this.line.set(this.window, start, this.index - start, this.asciiSuperset && bits >= 0);
+        return true;
+    }
+
+    // Maps the window starting at the given file position, a line that does not fit is mapped again from its start.
+    private void map(long position) throws IOException {
+        this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(this.windowSize, this.size - position));
+        this.windowStart = position;
+        this.index = 0;
+    }
+
+    @Override
+    public void close() {
+        if (this.state == -1)
+            return;
+        super.close();
+        this.window = null;
+        this.line = null;
+        if (this.channel != null) {
+            try {
+                this.channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                this.channel = null;
+            }
+        }
+    }
+
+
+    // A line as bytes of the mapped window. Ascii lines are read straight from the bytes, others are decoded on first access.
+    private static final class MappedLine implements CharSequence {
+        private final CharsetDecoder decoder;
+        private ByteBuffer window;
+        private int offset;
+        private int byteLength;
+        private boolean ascii;
+        private CharBuffer chars;
+        private boolean decoded;
+        private String string;
+
+        private MappedLine(Charset charset) {
+            this.decoder = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+
+        private void set(ByteBuffer window, int offset, int byteLength, boolean ascii) {
+            this.window = window;
+            this.offset = offset;
+            this.byteLength = byteLength;
+            this.ascii = ascii;
+            this.decoded = false;
+            this.string = null;
+        }
+
+        private CharBuffer decode() {
+            if (this.decoded)
+                return this.chars;
+
+            int capacity = (int) Math.min(Integer.MAX_VALUE, (long) Math.ceil(this.byteLength * (double) this.decoder.maxCharsPerByte()));
+            if (this.chars == null || this.chars.capacity() < capacity)
+                this.chars = CharBuffer.allocate(capacity);
+            this.chars.clear();
+            ByteBuffer bytes = this.window.duplicate();
+            bytes.limit(this.offset + this.byteLength);
+            bytes.position(this.offset);
+            this.decoder.reset();
+            this.decoder.decode(bytes, this.chars, true);
+            this.decoder.flush(this.chars);
+            this.chars.flip();
+            this.decoded = true;
+            return this.chars;
+        }
+
+        @Override
+        public int length() {
+            return this.ascii ? this.byteLength : this.decode().length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= this.length())
+                ThrowHelper.throwIndexOutOfRangeException();
+            return this.ascii ? (char) this.window.get(this.offset + index) : this.decode().get(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return this.toString().substring(start, end);
+        }
+
+        @Override
+        public String toString() {
+            if (this.string == null) {
+                if (this.ascii) {
+                    byte[] bytes = new byte[this.byteLength];
+                    ByteBuffer source = this.window.duplicate();
+                    source.position(this.offset);
+                    source.get(bytes);
+                    this.string = new String(bytes, StandardCharsets.ISO_8859_1);
+                } else {
+                    this.string = this.decode().toString();
+                }
+            }
+            return this.string;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.bestvike.linq.adapter.enumerator;
+
+import com.bestvike.collections.generic.IList;
+import com.bestvike.linq.enumerable.AbstractEnumerator;
+
+/**
+ * Created by 许崇雷 on 2026-10-18.
+ */
+public final class RecordEnumerator<TSource> extends AbstractEnumerator<TSource> {
+    private final IList<TSource> source;
+
+    public RecordEnumerator(IList<TSource> source) {
+        this.source = source;
+    }
+
+    @Override
+    public boolean moveNext() {
+        if (this.state == -1)
+            return false;
+        if (this.state < this.source._getCount()) {
+            this.current = this.source.get(this.state++);
+            return true;
+        }
+        this.close();
+        return false;
+    }
+}
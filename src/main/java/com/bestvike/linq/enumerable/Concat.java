@@ -1,6 +1,7 @@
 package com.bestvike.linq.enumerable;
 
 import com.bestvike.collections.generic.ICollection;
+import com.bestvike.function.Predicate1;
 import com.bestvike.linq.IEnumerable;
 import com.bestvike.linq.IEnumerator;
 import com.bestvike.linq.exception.ExceptionArgument;
@@ -103,6 +104,17 @@ abstract class ConcatIterator<TSource> extends Iterator<TSource> implements IILi
 
         return list;
     }
+
+    @Override
+    public boolean _forEachWhile(Predicate1<TSource> action) {
+        for (int i = 0; ; i++) {
+            IEnumerable<TSource> source = this.getEnumerable(i);
+            if (source == null)
+                return true;
+            if (!ForEach.forEachWhileInternal(source, action))
+                return false;
+        }
+    }
 }
 
 
@@ -292,6 +304,27 @@ final class ConcatNIterator<TSource> extends ConcatIterator<TSource> {
         return Math.addExact(count, node.tail._getCount(onlyIfCheap));
     }
 
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @Override
+    public boolean _forEachWhile(Predicate1<TSource> action) {
+        // Collect the sources with a single walk of the linked list, rather than one walk per source.
+        IEnumerable<TSource>[] sources = new IEnumerable[this.headIndex + 1];
+        ConcatNIterator<TSource> node, previousN = this;
+        do {
+            node = previousN;
+            sources[node.headIndex] = node.head;
+        } while ((previousN = node.getPreviousN()) != null);
+
+        assert node.tail instanceof Concat2Iterator;
+        sources[0] = node.tail.getEnumerable(0);
+        sources[1] = node.tail.getEnumerable(1);
+        for (IEnumerable<TSource> source : sources) {
+            if (!ForEach.forEachWhileInternal(source, action))
+                return false;
+        }
+        return true;
+    }
+
     @Override
     public TSource[] _toArray(Class<TSource> clazz) {
         return this.hasOnlyCollections ? this.preallocatingToArray(clazz) : this.lazyToArray(clazz);
@@ -3,7 +3,6 @@ package com.bestvike.linq.enumerable;
 import com.bestvike.collections.generic.ICollection;
 import com.bestvike.function.Predicate1;
 import com.bestvike.linq.IEnumerable;
-import com.bestvike.linq.IEnumerator;
 import com.bestvike.linq.exception.ExceptionArgument;
 import com.bestvike.linq.exception.ThrowHelper;
 
@@ -28,13 +27,9 @@ public final class Count {
             return listProv._getCount(false);
         }
 
-        int count = 0;
-        try (IEnumerator<TSource> e = source.enumerator()) {
-            while (e.moveNext())
-                count = Math.addExact(count, 1);
-        }
-
-        return count;
+        CountSink<TSource> sink = new CountSink<>(null);
+        ForEach.forEachWhileInternal(source, sink);
+        return sink.count;
     }
 
     public static <TSource> int count(IEnumerable<TSource> source, Predicate1<TSource> predicate) {
@@ -43,28 +38,18 @@ public final class Count {
         if (predicate == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.predicate);
 
-        int count = 0;
-        try (IEnumerator<TSource> e = source.enumerator()) {
-            while (e.moveNext()) {
-                if (predicate.apply(e.current()))
-                    count = Math.addExact(count, 1);
-            }
-        }
-
-        return count;
+        CountSink<TSource> sink = new CountSink<>(predicate);
+        ForEach.forEachWhileInternal(source, sink);
+        return sink.count;
     }
 
     public static <TSource> long longCount(IEnumerable<TSource> source) {
         if (source == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
 
-        long count = 0;
-        try (IEnumerator<TSource> e = source.enumerator()) {
-            while (e.moveNext())
-                count = Math.addExact(count, 1);
-        }
-
-        return count;
+        LongCountSink<TSource> sink = new LongCountSink<>(null);
+        ForEach.forEachWhileInternal(source, sink);
+        return sink.count;
     }
 
     public static <TSource> long longCount(IEnumerable<TSource> source, Predicate1<TSource> predicate) {
@@ -73,14 +58,42 @@ public final class Count {
         if (predicate == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.predicate);
 
-        long count = 0;
-        try (IEnumerator<TSource> e = source.enumerator()) {
-            while (e.moveNext()) {
-                if (predicate.apply(e.current()))
-                    count = Math.addExact(count, 1);
-            }
-        }
+        LongCountSink<TSource> sink = new LongCountSink<>(predicate);
+        ForEach.forEachWhileInternal(source, sink);
+        return sink.count;
+    }
+}
+
+
+final class CountSink<TSource> implements Predicate1<TSource> {
+    private final Predicate1<TSource> predicate;// null to count every element
+    int count;
+
+    CountSink(Predicate1<TSource> predicate) {
+        this.predicate = predicate;
+    }
+
+    @Override
+    public boolean apply(TSource item) {
+        if (this.predicate == null || this.predicate.apply(item))
+            this.count = Math.addExact(this.count, 1);
+        return true;
+    }
+}
+
+
+final class LongCountSink<TSource> implements Predicate1<TSource> {
+    private final Predicate1<TSource> predicate;// null to count every element
+    long count;
+
+    LongCountSink(Predicate1<TSource> predicate) {
+        this.predicate = predicate;
+    }
 
-        return count;
+    @Override
+    public boolean apply(TSource item) {
+        if (this.predicate == null || this.predicate.apply(item))
+            this.count = Math.addExact(this.count, 1);
+        return true;
     }
 }
@@ -23,6 +23,8 @@ public final class Distinct {
         if (source == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
 
+        if (source instanceof SpillableEnumerable)
+            return new SpillDistinctIterator<>((SpillableEnumerable<TSource>) source, comparer);
         return new DistinctIterator<>(source, comparer);
     }
 }
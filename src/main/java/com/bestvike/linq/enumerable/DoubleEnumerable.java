@@ -0,0 +1,825 @@
+package com.bestvike.linq.enumerable;
+
+import com.bestvike.collections.generic.IArray;
+import com.bestvike.collections.generic.ICollection;
+import com.bestvike.function.DoubleFunc1;
+import com.bestvike.linq.IDoubleEnumerable;
+import com.bestvike.linq.IDoubleEnumerator;
+import com.bestvike.linq.IEnumerable;
+import com.bestvike.linq.IEnumerator;
+import com.bestvike.linq.exception.ExceptionArgument;
+import com.bestvike.linq.exception.ThrowHelper;
+
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Created by 许崇雷 on 2026-10-18.
+ */
+public final class DoubleEnumerable {
+    private static final double[] EMPTY = new double[0];
+
+    private DoubleEnumerable() {
+    }
+
+    public static IDoubleEnumerable empty() {
+        return new DoubleArrayIterator(EMPTY, 0, 0);
+    }
+
+    public static IDoubleEnumerable of(double[] source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        return new DoubleArrayIterator(source, 0, source.length);
+    }
+
+    public static IDoubleEnumerable asDoubleEnumerable(IEnumerable<Double> source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        if (source instanceof IArray) {
+            IArray<Double> array = (IArray<Double>) source;
+            Object arr = array.getArray();
+            if (arr instanceof double[])
+                return new DoubleArrayIterator((double[]) arr, array._getStartIndex(), array._getEndIndex());
+        }
+
+        return new MapToDoubleIterator<>(source, Double::doubleValue);
+    }
+
+    public static <TSource> IDoubleEnumerable mapToDouble(IEnumerable<TSource> source, DoubleFunc1<TSource> selector) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (selector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.selector);
+
+        return new MapToDoubleIterator<>(source, selector);
+    }
+
+    public static void forEach(IDoubleEnumerable source, DoubleConsumer action) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (action == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.action);
+
+        try (IDoubleEnumerator e = source.enumerator()) {
+            while (e.moveNext())
+                action.accept(e.current());
+        }
+    }
+
+    public static boolean any(IDoubleEnumerable source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        if (source instanceof DoubleIterator) {
+            int count = ((DoubleIterator) source)._getCount(true);
+            if (count >= 0)
+                return count != 0;
+        }
+
+        try (IDoubleEnumerator e = source.enumerator()) {
+            return e.moveNext();
+        }
+    }
+
+    public static double average(IDoubleEnumerable source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        try (IDoubleEnumerator e = source.enumerator()) {
+            if (!e.moveNext())
+                ThrowHelper.throwNoElementsException();
+
+            double sum = e.current();
+            long count = 1;
+            while (e.moveNext()) {
+                sum += e.current();
+                count = Math.addExact(count, 1);
+            }
+            return sum / count;
+        }
+    }
+
+    public static IEnumerable<Double> boxed(IDoubleEnumerable source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        return new DoubleBoxedIterator(source);
+    }
+
+    public static int count(IDoubleEnumerable source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        if (source instanceof DoubleIterator)
+            return ((DoubleIterator) source)._getCount(false);
+
+        int count = 0;
+        try (IDoubleEnumerator e = source.enumerator()) {
+            while (e.moveNext())
+                count = Math.addExact(count, 1);
+        }
+        return count;
+    }
+
+    public static double first(IDoubleEnumerable source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        try (IDoubleEnumerator e = source.enumerator()) {
+            if (!e.moveNext())
+                ThrowHelper.throwNoElementsException();
+            return e.current();
+        }
+    }
+
+    public static <TResult> IEnumerable<TResult> mapToObj(IDoubleEnumerable source, DoubleFunction<? extends TResult> selector) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (selector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.selector);
+
+        return new DoubleMapToObjIterator<>(source, selector);
+    }
+
+    public static double max(IDoubleEnumerable source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        double value;
+        try (IDoubleEnumerator e = source.enumerator()) {
+            if (!e.moveNext())
+                ThrowHelper.throwNoElementsException();
+
+            value = e.current();
+            while (Double.isNaN(value)) {
+                if (!e.moveNext())
+                    return value;
+                value = e.current();
+            }
+
+            while (e.moveNext()) {
+                double x = e.current();
+                if (x > value)
+                    value = x;
+            }
+        }
+
+        return value;
+    }
+
+    public static double min(IDoubleEnumerable source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        double value;
+        try (IDoubleEnumerator e = source.enumerator()) {
+            if (!e.moveNext())
+                ThrowHelper.throwNoElementsException();
+
+            value = e.current();
+            if (Double.isNaN(value))
+                return value;
+
+            while (e.moveNext()) {
+                double x = e.current();
+                if (x < value)
+                    value = x;
+                else if (Double.isNaN(x))
+                    return x;
+            }
+        }
+
+        return value;
+    }
+
+    public static IDoubleEnumerable select(IDoubleEnumerable source, DoubleUnaryOperator selector) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (selector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.selector);
+
+        if (source instanceof DoubleIterator)
+            return ((DoubleIterator) source)._select(selector);
+
+        return new DoubleSelectIterator(source, selector);
+    }
+
+    public static IDoubleEnumerable skip(IDoubleEnumerable source, int count) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        if (count <= 0)
+            return source;
+
+        if (source instanceof DoubleIterator)
+            return ((DoubleIterator) source)._skip(count);
+
+        return new DoublePartitionIterator(source, count, -1);
+    }
+
+    public static double sum(IDoubleEnumerable source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        double sum = 0;
+        try (IDoubleEnumerator e = source.enumerator()) {
+            while (e.moveNext())
+                sum += e.current();
+        }
+        return sum;
+    }
+
+    public static IDoubleEnumerable take(IDoubleEnumerable source, int count) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        if (count <= 0)
+            return empty();
+
+        if (source instanceof DoubleIterator)
+            return ((DoubleIterator) source)._take(count);
+
+        return new DoublePartitionIterator(source, 0, count - 1);
+    }
+
+    public static double[] toArray(IDoubleEnumerable source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        if (source instanceof DoubleIterator)
+            return ((DoubleIterator) source)._toArray();
+
+        return DoubleIterator.toArray(source.enumerator());
+    }
+
+    public static IDoubleEnumerable where(IDoubleEnumerable source, DoublePredicate predicate) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (predicate == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.predicate);
+
+        if (source instanceof DoubleIterator)
+            return ((DoubleIterator) source)._where(predicate);
+
+        return new DoubleWhereIterator(source, predicate);
+    }
+}
+
+
+abstract class DoubleIterator implements IDoubleEnumerable, IDoubleEnumerator {
+    private final long threadId;
+    protected int state;
+    protected double current;
+
+    DoubleIterator() {
+        this.threadId = Thread.currentThread().getId();
+    }
+
+    static double[] toArray(IDoubleEnumerator enumerator) {
+        try (IDoubleEnumerator e = enumerator) {
+            double[] array = new double[16];
+            int count = 0;
+            while (e.moveNext()) {
+                if (count == array.length)
+                    array = Arrays.copyOf(array, Math.addExact(count, count));
+                array[count++] = e.current();
+            }
+            return count == array.length ? array : Arrays.copyOf(array, count);
+        }
+    }
+
+    @Override
+    public abstract DoubleIterator clone();
+
+    @Override
+    public IDoubleEnumerator enumerator() {
+        DoubleIterator enumerator = this.state == 0 && this.threadId == Thread.currentThread().getId() ? this : this.clone();
+        enumerator.state = 1;
+        return enumerator;
+    }
+
+    @Override
+    public double current() {
+        return this.current;
+    }
+
+    @Override
+    public void close() {
+        this.state = -1;
+    }
+
+    public IDoubleEnumerable _select(DoubleUnaryOperator selector) {
+        return new DoubleSelectIterator(this, selector);
+    }
+
+    public IDoubleEnumerable _where(DoublePredicate predicate) {
+        return new DoubleWhereIterator(this, predicate);
+    }
+
+    public IDoubleEnumerable _skip(int count) {
+        return new DoublePartitionIterator(this, count, -1);
+    }
+
+    public IDoubleEnumerable _take(int count) {
+        return new DoublePartitionIterator(this, 0, count - 1);
+    }
+
+    public double[] _toArray() {
+        return toArray(this.enumerator());
+    }
+
+    public int _getCount(boolean onlyIfCheap) {
+        if (onlyIfCheap)
+            return -1;
+
+        int count = 0;
+        try (IDoubleEnumerator e = this.enumerator()) {
+            while (e.moveNext())
+                count = Math.addExact(count, 1);
+        }
+        return count;
+    }
+}
+
+
+final class DoubleArrayIterator extends DoubleIterator {
+    private final double[] source;
+    private final int start;
+    private final int end;
+    private int index;
+
+    DoubleArrayIterator(double[] source, int start, int end) {
+        assert source != null;
+        assert 0 <= start && start <= end && end <= source.length;
+        this.source = source;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public DoubleIterator clone() {
+        return new DoubleArrayIterator(this.source, this.start, this.end);
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 1:
+                this.index = this.start;
+                this.state = 2;
+            case 2:
+                if (this.index < this.end) {
+                    this.current = this.source[this.index++];
+                    return true;
+                }
+                this.close();
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public IDoubleEnumerable _where(DoublePredicate predicate) {
+        return new DoubleWhereArrayIterator(this.source, this.start, this.end, predicate);
+    }
+
+    @Override
+    public IDoubleEnumerable _skip(int count) {
+        return count >= this.end - this.start
+                ? DoubleEnumerable.empty()
+                : new DoubleArrayIterator(this.source, this.start + count, this.end);
+    }
+
+    @Override
+    public IDoubleEnumerable _take(int count) {
+        return count >= this.end - this.start
+                ? this
+                : new DoubleArrayIterator(this.source, this.start, this.start + count);
+    }
+
+    @Override
+    public double[] _toArray() {
+        return Arrays.copyOfRange(this.source, this.start, this.end);
+    }
+
+    @Override
+    public int _getCount(boolean onlyIfCheap) {
+        return this.end - this.start;
+    }
+}
+
+
+final class DoubleWhereArrayIterator extends DoubleIterator {
+    private final double[] source;
+    private final int start;
+    private final int end;
+    private final DoublePredicate predicate;
+    private int index;
+
+    DoubleWhereArrayIterator(double[] source, int start, int end, DoublePredicate predicate) {
+        assert source != null;
+        assert predicate != null;
+        this.source = source;
+        this.start = start;
+        this.end = end;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public DoubleIterator clone() {
+        return new DoubleWhereArrayIterator(this.source, this.start, this.end, this.predicate);
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 1:
+                this.index = this.start;
+                this.state = 2;
+            case 2:
+                while (this.index < this.end) {
+                    double item = this.source[this.index++];
+                    if (this.predicate.test(item)) {
+                        this.current = item;
+                        return true;
+                    }
+                }
+                this.close();
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public IDoubleEnumerable _where(DoublePredicate predicate) {
+        DoublePredicate first = this.predicate;
+        return new DoubleWhereArrayIterator(this.source, this.start, this.end, x -> first.test(x) && predicate.test(x));
+    }
+
+    @Override
+    public double[] _toArray() {
+        double[] array = new double[this.end - this.start];
+        int count = 0;
+        for (int i = this.start; i < this.end; i++) {
+            double item = this.source[i];
+            if (this.predicate.test(item))
+                array[count++] = item;
+        }
+        return count == array.length ? array : Arrays.copyOf(array, count);
+    }
+}
+
+
+final class DoubleWhereIterator extends DoubleIterator {
+    private final IDoubleEnumerable source;
+    private final DoublePredicate predicate;
+    private IDoubleEnumerator enumerator;
+
+    DoubleWhereIterator(IDoubleEnumerable source, DoublePredicate predicate) {
+        assert source != null;
+        assert predicate != null;
+        this.source = source;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public DoubleIterator clone() {
+        return new DoubleWhereIterator(this.source, this.predicate);
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 1:
+                this.enumerator = this.source.enumerator();
+                this.state = 2;
+            case 2:
+                while (this.enumerator.moveNext()) {
+                    double item = this.enumerator.current();
+                    if (this.predicate.test(item)) {
+                        this.current = item;
+                        return true;
+                    }
+                }
+                this.close();
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.enumerator != null) {
+            this.enumerator.close();
+            this.enumerator = null;
+        }
+        super.close();
+    }
+
+    @Override
+    public IDoubleEnumerable _where(DoublePredicate predicate) {
+        DoublePredicate first = this.predicate;
+        return new DoubleWhereIterator(this.source, x -> first.test(x) && predicate.test(x));
+    }
+}
+
+
+final class DoubleSelectIterator extends DoubleIterator {
+    private final IDoubleEnumerable source;
+    private final DoubleUnaryOperator selector;
+    private IDoubleEnumerator enumerator;
+
+    DoubleSelectIterator(IDoubleEnumerable source, DoubleUnaryOperator selector) {
+        assert source != null;
+        assert selector != null;
+        this.source = source;
+        this.selector = selector;
+    }
+
+    @Override
+    public DoubleIterator clone() {
+        return new DoubleSelectIterator(this.source, this.selector);
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 1:
+                this.enumerator = this.source.enumerator();
+                this.state = 2;
+            case 2:
+                if (this.enumerator.moveNext()) {
+                    this.current = this.selector.applyAsDouble(this.enumerator.current());
+                    return true;
+                }
+                this.close();
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.enumerator != null) {
+            this.enumerator.close();
+            this.enumerator = null;
+        }
+        super.close();
+    }
+
+    @Override
+    public IDoubleEnumerable _select(DoubleUnaryOperator selector) {
+        return new DoubleSelectIterator(this.source, this.selector.andThen(selector));
+    }
+
+    @Override
+    public int _getCount(boolean onlyIfCheap) {
+        if (onlyIfCheap)
+            return this.source instanceof DoubleIterator ? ((DoubleIterator) this.source)._getCount(true) : -1;
+
+        return super._getCount(false);
+    }
+}
+
+
+final class DoublePartitionIterator extends DoubleIterator {
+    private final IDoubleEnumerable source;
+    private final int minIndexInclusive;
+    private final int maxIndexInclusive; // -1 if we want everything past minIndexInclusive.
+    private IDoubleEnumerator enumerator;
+    private int index;
+
+    DoublePartitionIterator(IDoubleEnumerable source, int minIndexInclusive, int maxIndexInclusive) {
+        assert source != null;
+        assert minIndexInclusive >= 0;
+        assert maxIndexInclusive >= -1;
+        assert maxIndexInclusive == -1 || (maxIndexInclusive - minIndexInclusive < Integer.MAX_VALUE);
+        assert maxIndexInclusive == -1 || minIndexInclusive <= maxIndexInclusive;
+        this.source = source;
+        this.minIndexInclusive = minIndexInclusive;
+        this.maxIndexInclusive = maxIndexInclusive;
+    }
+
+    private boolean hasLimit() {
+        return this.maxIndexInclusive != -1;
+    }
+
+    @Override
+    public DoubleIterator clone() {
+        return new DoublePartitionIterator(this.source, this.minIndexInclusive, this.maxIndexInclusive);
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 1:
+                this.enumerator = this.source.enumerator();
+                this.index = 0;
+                while (this.index < this.minIndexInclusive) {
+                    if (!this.enumerator.moveNext()) {
+                        this.close();
+                        return false;
+                    }
+                    this.index++;
+                }
+                this.state = 2;
+            case 2:
+                if ((!this.hasLimit() || this.index <= this.maxIndexInclusive) && this.enumerator.moveNext()) {
+                    this.index++;
+                    this.current = this.enumerator.current();
+                    return true;
+                }
+                this.close();
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.enumerator != null) {
+            this.enumerator.close();
+            this.enumerator = null;
+        }
+        super.close();
+    }
+
+    @Override
+    public IDoubleEnumerable _skip(int count) {
+        int minIndex = this.minIndexInclusive + count;
+        if (!this.hasLimit()) {
+            if (minIndex < 0)
+                return new DoublePartitionIterator(this, count, -1);
+            return new DoublePartitionIterator(this.source, minIndex, -1);
+        }
+        return Integer.compareUnsigned(minIndex, this.maxIndexInclusive) > 0
+                ? DoubleEnumerable.empty()
+                : new DoublePartitionIterator(this.source, minIndex, this.maxIndexInclusive);
+    }
+
+    @Override
+    public IDoubleEnumerable _take(int count) {
+        int maxIndex = this.minIndexInclusive + count - 1;
+        if (!this.hasLimit()) {
+            if (maxIndex < 0)
+                return new DoublePartitionIterator(this, 0, count - 1);
+        } else if (Integer.compareUnsigned(maxIndex, this.maxIndexInclusive) >= 0) {
+            return this;
+        }
+        return new DoublePartitionIterator(this.source, this.minIndexInclusive, maxIndex);
+    }
+}
+
+
+final class MapToDoubleIterator<TSource> extends DoubleIterator {
+    private final IEnumerable<TSource> source;
+    private final DoubleFunc1<TSource> selector;
+    private IEnumerator<TSource> enumerator;
+
+    MapToDoubleIterator(IEnumerable<TSource> source, DoubleFunc1<TSource> selector) {
+        assert source != null;
+        assert selector != null;
+        this.source = source;
+        this.selector = selector;
+    }
+
+    @Override
+    public DoubleIterator clone() {
+        return new MapToDoubleIterator<>(this.source, this.selector);
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 1:
+                this.enumerator = this.source.enumerator();
+                this.state = 2;
+            case 2:
+                if (this.enumerator.moveNext()) {
+                    this.current = this.selector.apply(this.enumerator.current());
+                    return true;
+                }
+                this.close();
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.enumerator != null) {
+            this.enumerator.close();
+            this.enumerator = null;
+        }
+        super.close();
+    }
+
+    @Override
+    public int _getCount(boolean onlyIfCheap) {
+        if (this.source instanceof ICollection)
+            return ((ICollection<TSource>) this.source)._getCount();
+        if (this.source instanceof IIListProvider)
+            return ((IIListProvider<TSource>) this.source)._getCount(onlyIfCheap);
+        return onlyIfCheap ? -1 : this.source.count();
+    }
+}
+
+
+final class DoubleBoxedIterator extends Iterator<Double> {
+    private final IDoubleEnumerable source;
+    private IDoubleEnumerator enumerator;
+
+    DoubleBoxedIterator(IDoubleEnumerable source) {
+        assert source != null;
+        this.source = source;
+    }
+
+    @Override
+    public Iterator<Double> clone() {
+        return new DoubleBoxedIterator(this.source);
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 1:
+                this.enumerator = this.source.enumerator();
+                this.state = 2;
+            case 2:
+                if (this.enumerator.moveNext()) {
+                    this.current = this.enumerator.current();
+                    return true;
+                }
+                this.close();
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.enumerator != null) {
+            this.enumerator.close();
+            this.enumerator = null;
+        }
+        super.close();
+    }
+}
+
+
+final class DoubleMapToObjIterator<TResult> extends Iterator<TResult> {
+    private final IDoubleEnumerable source;
+    private final DoubleFunction<? extends TResult> selector;
+    private IDoubleEnumerator enumerator;
+
+    DoubleMapToObjIterator(IDoubleEnumerable source, DoubleFunction<? extends TResult> selector) {
+        assert source != null;
+        assert selector != null;
+        this.source = source;
+        this.selector = selector;
+    }
+
+    @Override
+    public Iterator<TResult> clone() {
+        return new DoubleMapToObjIterator<>(this.source, this.selector);
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 1:
+                this.enumerator = this.source.enumerator();
+                this.state = 2;
+            case 2:
+                if (this.enumerator.moveNext()) {
+                    this.current = this.selector.apply(this.enumerator.current());
+                    return true;
+                }
+                this.close();
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.enumerator != null) {
+            this.enumerator.close();
+            this.enumerator = null;
+        }
+        super.close();
+    }
+}
@@ -2,6 +2,7 @@ package com.bestvike.linq.enumerable;
 
 import com.bestvike.linq.IEnumerable;
 import com.bestvike.linq.IEnumerator;
+import com.bestvike.linq.IRecordDecoder;
 import com.bestvike.linq.adapter.enumerable.ArrayListEnumerable;
 import com.bestvike.linq.adapter.enumerable.BooleanArrayEnumerable;
 import com.bestvike.linq.adapter.enumerable.ByteArrayEnumerable;
@@ -19,6 +20,8 @@ import com.bestvike.linq.adapter.enumerable.IteratorEnumerable;
 import com.bestvike.linq.adapter.enumerable.LineEnumerable;
 import com.bestvike.linq.adapter.enumerable.LinkedListEnumerable;
 import com.bestvike.linq.adapter.enumerable.LongArrayEnumerable;
+import com.bestvike.linq.adapter.enumerable.MappedLineEnumerable;
+import com.bestvike.linq.adapter.enumerable.RecordEnumerable;
 import com.bestvike.linq.adapter.enumerable.ShortArrayEnumerable;
 import com.bestvike.linq.adapter.enumerable.SingletonEnumerable;
 import com.bestvike.linq.adapter.enumerable.SpliteratorEnumerable;
@@ -26,7 +29,17 @@ import com.bestvike.linq.adapter.enumerable.StreamEnumerable;
 import com.bestvike.linq.adapter.enumerable.WordEnumerable;
 import com.bestvike.linq.exception.ExceptionArgument;
 import com.bestvike.linq.exception.ThrowHelper;
-
+import com.bestvike.linq.util.Chars;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Enumeration;
 import java.util.Iterator;
@@ -41,6 +54,8 @@ import java.util.stream.Stream;
  */
 @SuppressWarnings("unchecked")
 public final class Enumerable {
+    private static final byte[] LINE_SEPARATOR_BYTES = {Chars.CR, Chars.LF};
+
     private Enumerable() {
     }
 
@@ -253,4 +268,59 @@ public final class Enumerable {
 
         return new LineEnumerable(source);
     }
+
+    // Lines are split on raw CR and LF bytes, so the charset must encode them as single ascii bytes.
+    public static IEnumerable<CharSequence> lines(Path path, Charset charset) {
+        if (path == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.path);
+        if (charset == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.charset);
+        if (!Arrays.equals(LINE_SEPARATOR_BYTES, "\r\n".getBytes(charset)))
+            ThrowHelper.throwCharsetNotAsciiCompatibleException(ExceptionArgument.charset);
+
+        return new MappedLineEnumerable(path, charset);
+    }
+
+    public static <TResult> IEnumerable<TResult> records(ByteBuffer buffer, int recordSize, IRecordDecoder<TResult> decoder) {
+        if (buffer == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.buffer);
+        if (recordSize <= 0)
+            ThrowHelper.throwArgumentOutOfRangeException(ExceptionArgument.recordSize);
+        if (decoder == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.decoder);
+        if (buffer.remaining() % recordSize != 0)
+            ThrowHelper.throwInvalidRecordLengthException(ExceptionArgument.buffer);
+
+        int count = buffer.remaining() / recordSize;
+        ByteBuffer[] chunks = {buffer.slice().order(buffer.order())};
+        return new RecordEnumerable<>(chunks, Math.max(1, count), recordSize, count, decoder);
+    }
+
+    public static <TResult> IEnumerable<TResult> records(Path path, int recordSize, ByteOrder order, IRecordDecoder<TResult> decoder) {
+        if (path == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.path);
+        if (recordSize <= 0)
+            ThrowHelper.throwArgumentOutOfRangeException(ExceptionArgument.recordSize);
+        if (order == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.order);
+        if (decoder == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.decoder);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size % recordSize != 0 || size / recordSize > Integer.MAX_VALUE)
+                ThrowHelper.throwInvalidRecordLengthException(ExceptionArgument.path);
+
+            int count = (int) (size / recordSize);
+            int recordsPerChunk = Integer.MAX_VALUE / recordSize;
+            ByteBuffer[] chunks = new ByteBuffer[count == 0 ? 0 : (count - 1) / recordsPerChunk + 1];
+            for (int i = 0; i < chunks.length; i++) {
+                long position = (long) i * recordsPerChunk * recordSize;
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min((long) recordsPerChunk * recordSize, size - position)).order(order);
+            }
+            return new RecordEnumerable<>(chunks, recordsPerChunk, recordSize, count, decoder);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,63 @@
+package com.bestvike.linq.enumerable;
+
+import com.bestvike.collections.generic.IArray;
+import com.bestvike.function.Predicate1;
+import com.bestvike.linq.IEnumerable;
+import com.bestvike.linq.IEnumerator;
+import com.bestvike.linq.exception.ExceptionArgument;
+import com.bestvike.linq.exception.ThrowHelper;
+
+import java.util.function.Consumer;
+
+/**
+ * Created by 许崇雷 on 2026-10-18.
+ */
+public final class ForEach {
+    private ForEach() {
+    }
+
+    public static <TSource> void forEach(IEnumerable<TSource> source, Consumer<? super TSource> action) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (action == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.action);
+
+        forEachWhileInternal(source, item -> {
+            action.accept(item);
+            return true;
+        });
+    }
+
+    public static <TSource> boolean forEachWhile(IEnumerable<TSource> source, Predicate1<TSource> action) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (action == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.action);
+
+        return forEachWhileInternal(source, action);
+    }
+
+    // Pushes each element into action until it returns false, returns whether the whole source was traversed.
+    static <TSource> boolean forEachWhileInternal(IEnumerable<TSource> source, Predicate1<TSource> action) {
+        if (source instanceof Iterator)
+            return ((Iterator<TSource>) source)._forEachWhile(action);
+
+        // Arrays cannot change size, other lists may adapt a java.util.List whose iterator fails fast on concurrent modification.
+        if (source instanceof IArray) {
+            IArray<TSource> array = (IArray<TSource>) source;
+            for (int i = 0, count = array._getCount(); i < count; i++) {
+                if (!action.apply(array.get(i)))
+                    return false;
+            }
+            return true;
+        }
+
+        try (IEnumerator<TSource> e = source.enumerator()) {
+            while (e.moveNext()) {
+                if (!action.apply(e.current()))
+                    return false;
+            }
+        }
+        return true;
+    }
+}
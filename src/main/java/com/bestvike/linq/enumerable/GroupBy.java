@@ -19,34 +19,50 @@ public final class GroupBy {
     }
 
     public static <TSource, TKey> IEnumerable<IGrouping<TKey, TSource>> groupBy(IEnumerable<TSource> source, Func1<TSource, TKey> keySelector) {
+        if (source instanceof SpillableEnumerable)
+            return Spill.groupBy((SpillableEnumerable<TSource>) source, keySelector, null);
         return new GroupedEnumerable<>(source, keySelector, null);
     }
 
     public static <TSource, TKey> IEnumerable<IGrouping<TKey, TSource>> groupBy(IEnumerable<TSource> source, Func1<TSource, TKey> keySelector, IEqualityComparer<TKey> comparer) {
+        if (source instanceof SpillableEnumerable)
+            return Spill.groupBy((SpillableEnumerable<TSource>) source, keySelector, comparer);
         return new GroupedEnumerable<>(source, keySelector, comparer);
     }
 
     public static <TSource, TKey, TElement> IEnumerable<IGrouping<TKey, TElement>> groupBy(IEnumerable<TSource> source, Func1<TSource, TKey> keySelector, Func1<TSource, TElement> elementSelector) {
+        if (source instanceof SpillableEnumerable)
+            return Spill.groupBy((SpillableEnumerable<TSource>) source, keySelector, elementSelector, null);
         return new GroupedEnumerable2<>(source, keySelector, elementSelector, null);
     }
 
     public static <TSource, TKey, TElement> IEnumerable<IGrouping<TKey, TElement>> groupBy(IEnumerable<TSource> source, Func1<TSource, TKey> keySelector, Func1<TSource, TElement> elementSelector, IEqualityComparer<TKey> comparer) {
+        if (source instanceof SpillableEnumerable)
+            return Spill.groupBy((SpillableEnumerable<TSource>) source, keySelector, elementSelector, comparer);
         return new GroupedEnumerable2<>(source, keySelector, elementSelector, comparer);
     }
 
     public static <TSource, TKey, TResult> IEnumerable<TResult> groupBy(IEnumerable<TSource> source, Func1<TSource, TKey> keySelector, Func2<TKey, IEnumerable<TSource>, TResult> resultSelector) {
+        if (source instanceof SpillableEnumerable)
+            return Spill.groupBy((SpillableEnumerable<TSource>) source, keySelector, resultSelector, null);
         return new GroupedResultEnumerable<>(source, keySelector, resultSelector, null);
     }
 
     public static <TSource, TKey, TResult> IEnumerable<TResult> groupBy(IEnumerable<TSource> source, Func1<TSource, TKey> keySelector, Func2<TKey, IEnumerable<TSource>, TResult> resultSelector, IEqualityComparer<TKey> comparer) {
+        if (source instanceof SpillableEnumerable)
+            return Spill.groupBy((SpillableEnumerable<TSource>) source, keySelector, resultSelector, comparer);
         return new GroupedResultEnumerable<>(source, keySelector, resultSelector, comparer);
     }
 
     public static <TSource, TKey, TElement, TResult> IEnumerable<TResult> groupBy(IEnumerable<TSource> source, Func1<TSource, TKey> keySelector, Func1<TSource, TElement> elementSelector, Func2<TKey, IEnumerable<TElement>, TResult> resultSelector) {
+        if (source instanceof SpillableEnumerable)
+            return Spill.groupBy((SpillableEnumerable<TSource>) source, keySelector, elementSelector, resultSelector, null);
         return new GroupedResultEnumerable2<>(source, keySelector, elementSelector, resultSelector, null);
     }
 
     public static <TSource, TKey, TElement, TResult> IEnumerable<TResult> groupBy(IEnumerable<TSource> source, Func1<TSource, TKey> keySelector, Func1<TSource, TElement> elementSelector, Func2<TKey, IEnumerable<TElement>, TResult> resultSelector, IEqualityComparer<TKey> comparer) {
+        if (source instanceof SpillableEnumerable)
+            return Spill.groupBy((SpillableEnumerable<TSource>) source, keySelector, elementSelector, resultSelector, comparer);
         return new GroupedResultEnumerable2<>(source, keySelector, elementSelector, resultSelector, comparer);
     }
 }
@@ -31,6 +31,8 @@ public final class GroupJoin {
         if (resultSelector == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.resultSelector);
 
+        if (outer instanceof SpillableEnumerable && inner instanceof SpillableEnumerable)
+            return new SpillJoinIterator<>((SpillableEnumerable<TOuter>) outer, (SpillableEnumerable<TInner>) inner, outerKeySelector, innerKeySelector, null, resultSelector, comparer);
         return new GroupJoinIterator<>(outer, inner, outerKeySelector, innerKeySelector, resultSelector, comparer);
     }
 }
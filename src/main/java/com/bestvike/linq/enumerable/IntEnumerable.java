@@ -0,0 +1,1012 @@
+package com.bestvike.linq.enumerable;
+
+import com.bestvike.collections.generic.IArray;
+import com.bestvike.collections.generic.ICollection;
+import com.bestvike.function.IntFunc1;
+import com.bestvike.linq.IDoubleEnumerable;
+import com.bestvike.linq.IEnumerable;
+import com.bestvike.linq.IEnumerator;
+import com.bestvike.linq.IIntEnumerable;
+import com.bestvike.linq.IIntEnumerator;
+import com.bestvike.linq.ILongEnumerable;
+import com.bestvike.linq.exception.ExceptionArgument;
+import com.bestvike.linq.exception.ThrowHelper;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Created by 许崇雷 on 2026-10-18.
+ */
+public final class IntEnumerable {
+    private static final int[] EMPTY = new int[0];
+
+    private IntEnumerable() {
+    }
+
+    public static IIntEnumerable empty() {
+        return new IntArrayIterator(EMPTY, 0, 0);
+    }
+
+    public static IIntEnumerable of(int[] source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        return new IntArrayIterator(source, 0, source.length);
+    }
+
+    public static IIntEnumerable range(int start, int count) {
+        long max = (long) start + count - 1;
+        if (count < 0 || max > Integer.MAX_VALUE)
+            ThrowHelper.throwArgumentOutOfRangeException(ExceptionArgument.count);
+
+        return new IntRangeIterator(start, start + count);
+    }
+
+    public static IIntEnumerable asIntEnumerable(IEnumerable<Integer> source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        if (source instanceof IArray) {
+            IArray<Integer> array = (IArray<Integer>) source;
+            Object arr = array.getArray();
+            if (arr instanceof int[])
+                return new IntArrayIterator((int[]) arr, array._getStartIndex(), array._getEndIndex());
+        }
+
+        if (source instanceof RangeIterator) {
+            RangeIterator range = (RangeIterator) source;
+            return new IntRangeIterator(range._getStart(), range._getEnd());
+        }
+
+        return new MapToIntIterator<>(source, Integer::intValue);
+    }
+
+    public static <TSource> IIntEnumerable mapToInt(IEnumerable<TSource> source, IntFunc1<TSource> selector) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (selector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.selector);
+
+        return new MapToIntIterator<>(source, selector);
+    }
+
+    public static void forEach(IIntEnumerable source, IntConsumer action) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (action == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.action);
+
+        try (IIntEnumerator e = source.enumerator()) {
+            while (e.moveNext())
+                action.accept(e.current());
+        }
+    }
+
+    public static boolean any(IIntEnumerable source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        if (source instanceof IntIterator) {
+            int count = ((IntIterator) source)._getCount(true);
+            if (count >= 0)
+                return count != 0;
+        }
+
+        try (IIntEnumerator e = source.enumerator()) {
+            return e.moveNext();
+        }
+    }
+
+    public static IDoubleEnumerable asDoubleEnumerable(IIntEnumerable source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        return new IntToDoubleIterator(source);
+    }
+
+    public static ILongEnumerable asLongEnumerable(IIntEnumerable source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        return new IntToLongIterator(source);
+    }
+
+    public static double average(IIntEnumerable source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        try (IIntEnumerator e = source.enumerator()) {
+            if (!e.moveNext())
+                ThrowHelper.throwNoElementsException();
+
+            long sum = e.current();
+            long count = 1;
+            while (e.moveNext()) {
+                sum = Math.addExact(sum, e.current());
+                count = Math.addExact(count, 1);
+            }
+            return (double) sum / count;
+        }
+    }
+
+    public static IEnumerable<Integer> boxed(IIntEnumerable source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        return new IntBoxedIterator(source);
+    }
+
+    public static int count(IIntEnumerable source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        if (source instanceof IntIterator)
+            return ((IntIterator) source)._getCount(false);
+
+        int count = 0;
+        try (IIntEnumerator e = source.enumerator()) {
+            while (e.moveNext())
+                count = Math.addExact(count, 1);
+        }
+        return count;
+    }
+
+    public static int first(IIntEnumerable source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        try (IIntEnumerator e = source.enumerator()) {
+            if (!e.moveNext())
+                ThrowHelper.throwNoElementsException();
+            return e.current();
+        }
+    }
+
+    public static <TResult> IEnumerable<TResult> mapToObj(IIntEnumerable source, IntFunction<? extends TResult> selector) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (selector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.selector);
+
+        return new IntMapToObjIterator<>(source, selector);
+    }
+
+    public static int max(IIntEnumerable source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        int value;
+        try (IIntEnumerator e = source.enumerator()) {
+            if (!e.moveNext())
+                ThrowHelper.throwNoElementsException();
+
+            value = e.current();
+            while (e.moveNext()) {
+                int x = e.current();
+                if (x > value)
+                    value = x;
+            }
+        }
+
+        return value;
+    }
+
+    public static int min(IIntEnumerable source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        int value;
+        try (IIntEnumerator e = source.enumerator()) {
+            if (!e.moveNext())
+                ThrowHelper.throwNoElementsException();
+
+            value = e.current();
+            while (e.moveNext()) {
+                int x = e.current();
+                if (x < value)
+                    value = x;
+            }
+        }
+
+        return value;
+    }
+
+    public static IIntEnumerable select(IIntEnumerable source, IntUnaryOperator selector) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (selector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.selector);
+
+        if (source instanceof IntIterator)
+            return ((IntIterator) source)._select(selector);
+
+        return new IntSelectIterator(source, selector);
+    }
+
+    public static IIntEnumerable skip(IIntEnumerable source, int count) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        if (count <= 0)
+            return source;
+
+        if (source instanceof IntIterator)
+            return ((IntIterator) source)._skip(count);
+
+        return new IntPartitionIterator(source, count, -1);
+    }
+
+    public static int sum(IIntEnumerable source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        int sum = 0;
+        try (IIntEnumerator e = source.enumerator()) {
+            while (e.moveNext())
+                sum = Math.addExact(sum, e.current());
+        }
+        return sum;
+    }
+
+    public static IIntEnumerable take(IIntEnumerable source, int count) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        if (count <= 0)
+            return empty();
+
+        if (source instanceof IntIterator)
+            return ((IntIterator) source)._take(count);
+
+        return new IntPartitionIterator(source, 0, count - 1);
+    }
+
+    public static int[] toArray(IIntEnumerable source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        if (source instanceof IntIterator)
+            return ((IntIterator) source)._toArray();
+
+        return IntIterator.toArray(source.enumerator());
+    }
+
+    public static IIntEnumerable where(IIntEnumerable source, IntPredicate predicate) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (predicate == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.predicate);
+
+        if (source instanceof IntIterator)
+            return ((IntIterator) source)._where(predicate);
+
+        return new IntWhereIterator(source, predicate);
+    }
+}
+
+
+abstract class IntIterator implements IIntEnumerable, IIntEnumerator {
+    private final long threadId;
+    protected int state;
+    protected int current;
+
+    IntIterator() {
+        this.threadId = Thread.currentThread().getId();
+    }
+
+    static int[] toArray(IIntEnumerator enumerator) {
+        try (IIntEnumerator e = enumerator) {
+            int[] array = new int[16];
+            int count = 0;
+            while (e.moveNext()) {
+                if (count == array.length)
+                    array = Arrays.copyOf(array, Math.addExact(count, count));
+                array[count++] = e.current();
+            }
+            return count == array.length ? array : Arrays.copyOf(array, count);
+        }
+    }
+
+    @Override
+    public abstract IntIterator clone();
+
+    @Override
+    public IIntEnumerator enumerator() {
+        IntIterator enumerator = this.state == 0 && this.threadId == Thread.currentThread().getId() ? this : this.clone();
+        enumerator.state = 1;
+        return enumerator;
+    }
+
+    @Override
+    public int current() {
+        return this.current;
+    }
+
+    @Override
+    public void close() {
+        this.state = -1;
+    }
+
+    public IIntEnumerable _select(IntUnaryOperator selector) {
+        return new IntSelectIterator(this, selector);
+    }
+
+    public IIntEnumerable _where(IntPredicate predicate) {
+        return new IntWhereIterator(this, predicate);
+    }
+
+    public IIntEnumerable _skip(int count) {
+        return new IntPartitionIterator(this, count, -1);
+    }
+
+    public IIntEnumerable _take(int count) {
+        return new IntPartitionIterator(this, 0, count - 1);
+    }
+
+    public int[] _toArray() {
+        return toArray(this.enumerator());
+    }
+
+    public int _getCount(boolean onlyIfCheap) {
+        if (onlyIfCheap)
+            return -1;
+
+        int count = 0;
+        try (IIntEnumerator e = this.enumerator()) {
+            while (e.moveNext())
+                count = Math.addExact(count, 1);
+        }
+        return count;
+    }
+}
+
+
+final class IntArrayIterator extends IntIterator {
+    private final int[] source;
+    private final int start;
+    private final int end;
+    private int index;
+
+    IntArrayIterator(int[] source, int start, int end) {
+        assert source != null;
+        assert 0 <= start && start <= end && end <= source.length;
+        this.source = source;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public IntIterator clone() {
+        return new IntArrayIterator(this.source, this.start, this.end);
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 1:
+                this.index = this.start;
+                this.state = 2;
+            case 2:
+                if (this.index < this.end) {
+                    this.current = this.source[this.index++];
+                    return true;
+                }
+                this.close();
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public IIntEnumerable _where(IntPredicate predicate) {
+        return new IntWhereArrayIterator(this.source, this.start, this.end, predicate);
+    }
+
+    @Override
+    public IIntEnumerable _skip(int count) {
+        return count >= this.end - this.start
+                ? IntEnumerable.empty()
+                : new IntArrayIterator(this.source, this.start + count, this.end);
+    }
+
+    @Override
+    public IIntEnumerable _take(int count) {
+        return count >= this.end - this.start
+                ? this
+                : new IntArrayIterator(this.source, this.start, this.start + count);
+    }
+
+    @Override
+    public int[] _toArray() {
+        return Arrays.copyOfRange(this.source, this.start, this.end);
+    }
+
+    @Override
+    public int _getCount(boolean onlyIfCheap) {
+        return this.end - this.start;
+    }
+}
+
+
+final class IntRangeIterator extends IntIterator {
+    private final int start;
+    private final int end;
+
+    IntRangeIterator(int start, int end) {
+        assert end - start >= 0;// end wraps to Integer.MIN_VALUE for a range ending at Integer.MAX_VALUE
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public IntIterator clone() {
+        return new IntRangeIterator(this.start, this.end);
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 1:
+                if (this.start == this.end) {
+                    this.close();
+                    return false;
+                }
+                this.current = this.start;
+                this.state = 2;
+                return true;
+            case 2:
+                if (++this.current == this.end) {
+                    this.close();
+                    return false;
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public IIntEnumerable _skip(int count) {
+        return count >= this.end - this.start
+                ? IntEnumerable.empty()
+                : new IntRangeIterator(this.start + count, this.end);
+    }
+
+    @Override
+    public IIntEnumerable _take(int count) {
+        return count >= this.end - this.start
+                ? this
+                : new IntRangeIterator(this.start, this.start + count);
+    }
+
+    @Override
+    public int[] _toArray() {
+        int[] array = new int[this.end - this.start];
+        int cur = this.start;
+        for (int i = 0; i != array.length; ++i) {
+            array[i] = cur;
+            ++cur;
+        }
+        return array;
+    }
+
+    @Override
+    public int _getCount(boolean onlyIfCheap) {
+        return this.end - this.start;
+    }
+}
+
+
+final class IntWhereArrayIterator extends IntIterator {
+    private final int[] source;
+    private final int start;
+    private final int end;
+    private final IntPredicate predicate;
+    private int index;
+
+    IntWhereArrayIterator(int[] source, int start, int end, IntPredicate predicate) {
+        assert source != null;
+        assert predicate != null;
+        this.source = source;
+        this.start = start;
+        this.end = end;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public IntIterator clone() {
+        return new IntWhereArrayIterator(this.source, this.start, this.end, this.predicate);
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 1:
+                this.index = this.start;
+                this.state = 2;
+            case 2:
+                while (this.index < this.end) {
+                    int item = this.source[this.index++];
+                    if (this.predicate.test(item)) {
+                        this.current = item;
+                        return true;
+                    }
+                }
+                this.close();
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public IIntEnumerable _where(IntPredicate predicate) {
+        IntPredicate first = this.predicate;
+        return new IntWhereArrayIterator(this.source, this.start, this.end, x -> first.test(x) && predicate.test(x));
+    }
+
+    @Override
+    public int[] _toArray() {
+        int[] array = new int[this.end - this.start];
+        int count = 0;
+        for (int i = this.start; i < this.end; i++) {
+            int item = this.source[i];
+            if (this.predicate.test(item))
+                array[count++] = item;
+        }
+        return count == array.length ? array : Arrays.copyOf(array, count);
+    }
+}
+
+
+final class IntWhereIterator extends IntIterator {
+    private final IIntEnumerable source;
+    private final IntPredicate predicate;
+    private IIntEnumerator enumerator;
+
+    IntWhereIterator(IIntEnumerable source, IntPredicate predicate) {
+        assert source != null;
+        assert predicate != null;
+        this.source = source;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public IntIterator clone() {
+        return new IntWhereIterator(this.source, this.predicate);
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 1:
+                this.enumerator = this.source.enumerator();
+                this.state = 2;
+            case 2:
+                while (this.enumerator.moveNext()) {
+                    int item = this.enumerator.current();
+                    if (this.predicate.test(item)) {
+                        this.current = item;
+                        return true;
+                    }
+                }
+                this.close();
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.enumerator != null) {
+            this.enumerator.close();
+            this.enumerator = null;
+        }
+        super.close();
+    }
+
+    @Override
+    public IIntEnumerable _where(IntPredicate predicate) {
+        IntPredicate first = this.predicate;
+        return new IntWhereIterator(this.source, x -> first.test(x) && predicate.test(x));
+    }
+}
+
+
+final class IntSelectIterator extends IntIterator {
+    private final IIntEnumerable source;
+    private final IntUnaryOperator selector;
+    private IIntEnumerator enumerator;
+
+    IntSelectIterator(IIntEnumerable source, IntUnaryOperator selector) {
+        assert source != null;
+        assert selector != null;
+        this.source = source;
+        this.selector = selector;
+    }
+
+    @Override
+    public IntIterator clone() {
+        return new IntSelectIterator(this.source, this.selector);
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 1:
+                this.enumerator = this.source.enumerator();
+                this.state = 2;
+            case 2:
+                if (this.enumerator.moveNext()) {
+                    this.current = this.selector.applyAsInt(this.enumerator.current());
+                    return true;
+                }
+                this.close();
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.enumerator != null) {
+            this.enumerator.close();
+            this.enumerator = null;
+        }
+        super.close();
+    }
+
+    @Override
+    public IIntEnumerable _select(IntUnaryOperator selector) {
+        return new IntSelectIterator(this.source, this.selector.andThen(selector));
+    }
+
+    @Override
+    public int _getCount(boolean onlyIfCheap) {
+        if (onlyIfCheap)
+            return this.source instanceof IntIterator ? ((IntIterator) this.source)._getCount(true) : -1;
+
+        return super._getCount(false);
+    }
+}
+
+
+final class IntPartitionIterator extends IntIterator {
+    private final IIntEnumerable source;
+    private final int minIndexInclusive;
+    private final int maxIndexInclusive; // -1 if we want everything past minIndexInclusive.
+    private IIntEnumerator enumerator;
+    private int index;
+
+    IntPartitionIterator(IIntEnumerable source, int minIndexInclusive, int maxIndexInclusive) {
+        assert source != null;
+        assert minIndexInclusive >= 0;
+        assert maxIndexInclusive >= -1;
+        assert maxIndexInclusive == -1 || (maxIndexInclusive - minIndexInclusive < Integer.MAX_VALUE);
+        assert maxIndexInclusive == -1 || minIndexInclusive <= maxIndexInclusive;
+        this.source = source;
+        this.minIndexInclusive = minIndexInclusive;
+        this.maxIndexInclusive = maxIndexInclusive;
+    }
+
+    private boolean hasLimit() {
+        return this.maxIndexInclusive != -1;
+    }
+
+    @Override
+    public IntIterator clone() {
+        return new IntPartitionIterator(this.source, this.minIndexInclusive, this.maxIndexInclusive);
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 1:
+                this.enumerator = this.source.enumerator();
+                this.index = 0;
+                while (this.index < this.minIndexInclusive) {
+                    if (!this.enumerator.moveNext()) {
+                        this.close();
+                        return false;
+                    }
+                    this.index++;
+                }
+                this.state = 2;
+            case 2:
+                if ((!this.hasLimit() || this.index <= this.maxIndexInclusive) && this.enumerator.moveNext()) {
+                    this.index++;
+                    this.current = this.enumerator.current();
+                    return true;
+                }
+                this.close();
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.enumerator != null) {
+            this.enumerator.close();
+            this.enumerator = null;
+        }
+        super.close();
+    }
+
+    @Override
+    public IIntEnumerable _skip(int count) {
+        int minIndex = this.minIndexInclusive + count;
+        if (!this.hasLimit()) {
+            if (minIndex < 0)
+                return new IntPartitionIterator(this, count, -1);
+            return new IntPartitionIterator(this.source, minIndex, -1);
+        }
+        return Integer.compareUnsigned(minIndex, this.maxIndexInclusive) > 0
+                ? IntEnumerable.empty()
+                : new IntPartitionIterator(this.source, minIndex, this.maxIndexInclusive);
+    }
+
+    @Override
+    public IIntEnumerable _take(int count) {
+        int maxIndex = this.minIndexInclusive + count - 1;
+        if (!this.hasLimit()) {
+            if (maxIndex < 0)
+                return new IntPartitionIterator(this, 0, count - 1);
+        } else if (Integer.compareUnsigned(maxIndex, this.maxIndexInclusive) >= 0) {
+            return this;
+        }
+        return new IntPartitionIterator(this.source, this.minIndexInclusive, maxIndex);
+    }
+}
+
+
+final class MapToIntIterator<TSource> extends IntIterator {
+    private final IEnumerable<TSource> source;
+    private final IntFunc1<TSource> selector;
+    private IEnumerator<TSource> enumerator;
+
+    MapToIntIterator(IEnumerable<TSource> source, IntFunc1<TSource> selector) {
+        assert source != null;
+        assert selector != null;
+        this.source = source;
+        this.selector = selector;
+    }
+
+    @Override
+    public IntIterator clone() {
+        return new MapToIntIterator<>(this.source, this.selector);
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 1:
+                this.enumerator = this.source.enumerator();
+                this.state = 2;
+            case 2:
+                if (this.enumerator.moveNext()) {
+                    this.current = this.selector.apply(this.enumerator.current());
+                    return true;
+                }
+                this.close();
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.enumerator != null) {
+            this.enumerator.close();
+            this.enumerator = null;
+        }
+        super.close();
+    }
+
+    @Override
+    public int _getCount(boolean onlyIfCheap) {
+        // In case someone uses Count() to force evaluation of
+        // the selector, run it provided `onlyIfCheap` is false.
+        if (onlyIfCheap) {
+            if (this.source instanceof ICollection)
+                return ((ICollection<TSource>) this.source)._getCount();
+            if (this.source instanceof IIListProvider)
+                return ((IIListProvider<TSource>) this.source)._getCount(true);
+            return -1;
+        }
+
+        int count = 0;
+        try (IEnumerator<TSource> e = this.source.enumerator()) {
+            while (e.moveNext()) {
+                this.selector.apply(e.current());
+                count = Math.addExact(count, 1);
+            }
+        }
+
+        return count;
+    }
+}
+
+
+final class IntToLongIterator extends LongIterator {
+    private final IIntEnumerable source;
+    private IIntEnumerator enumerator;
+
+    IntToLongIterator(IIntEnumerable source) {
+        assert source != null;
+        this.source = source;
+    }
+
+    @Override
+    public LongIterator clone() {
+        return new IntToLongIterator(this.source);
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 1:
+                this.enumerator = this.source.enumerator();
+                this.state = 2;
+            case 2:
+                if (this.enumerator.moveNext()) {
+                    this.current = this.enumerator.current();
+                    return true;
+                }
+                this.close();
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.enumerator != null) {
+            this.enumerator.close();
+            this.enumerator = null;
+        }
+        super.close();
+    }
+}
+
+
+final class IntToDoubleIterator extends DoubleIterator {
+    private final IIntEnumerable source;
+    private IIntEnumerator enumerator;
+
+    IntToDoubleIterator(IIntEnumerable source) {
+        assert source != null;
+        this.source = source;
+    }
+
+    @Override
+    public DoubleIterator clone() {
+        return new IntToDoubleIterator(this.source);
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 1:
+                this.enumerator = this.source.enumerator();
+                this.state = 2;
+            case 2:
+                if (this.enumerator.moveNext()) {
+                    this.current = this.enumerator.current();
+                    return true;
+                }
+                this.close();
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.enumerator != null) {
+            this.enumerator.close();
+            this.enumerator = null;
+        }
+        super.close();
+    }
+}
+
+
+final class IntBoxedIterator extends Iterator<Integer> {
+    private final IIntEnumerable source;
+    private IIntEnumerator enumerator;
+
+    IntBoxedIterator(IIntEnumerable source) {
+        assert source != null;
+        this.source = source;
+    }
+
+    @Override
+    public Iterator<Integer> clone() {
+        return new IntBoxedIterator(this.source);
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 1:
+                this.enumerator = this.source.enumerator();
+                this.state = 2;
+            case 2:
+                if (this.enumerator.moveNext()) {
+                    this.current = this.enumerator.current();
+                    return true;
+                }
+                this.close();
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.enumerator != null) {
+            this.enumerator.close();
+            this.enumerator = null;
+        }
+        super.close();
+    }
+}
+
+
+final class IntMapToObjIterator<TResult> extends Iterator<TResult> {
+    private final IIntEnumerable source;
+    private final IntFunction<? extends TResult> selector;
+    private IIntEnumerator enumerator;
+
+    IntMapToObjIterator(IIntEnumerable source, IntFunction<? extends TResult> selector) {
+        assert source != null;
+        assert selector != null;
+        this.source = source;
+        this.selector = selector;
+    }
+
+    @Override
+    public Iterator<TResult> clone() {
+        return new IntMapToObjIterator<>(this.source, this.selector);
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 1:
+                this.enumerator = this.source.enumerator();
+                this.state = 2;
+            case 2:
+                if (this.enumerator.moveNext()) {
+                    this.current = this.selector.apply(this.enumerator.current());
+                    return true;
+                }
+                this.close();
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.enumerator != null) {
+            this.enumerator.close();
+            this.enumerator = null;
+        }
+        super.close();
+    }
+}
@@ -3,6 +3,7 @@ package com.bestvike.linq.enumerable;
 import com.bestvike.function.Func1;
 import com.bestvike.function.Predicate1;
 import com.bestvike.linq.IEnumerable;
+import com.bestvike.linq.IEnumerator;
 
 /**
  * Created by 许崇雷 on 2017-07-10.
@@ -18,4 +19,14 @@ public abstract class Iterator<TSource> extends AbstractIterator<TSource> {
     public IEnumerable<TSource> _where(Predicate1<TSource> predicate) {
         return new WhereEnumerableIterator<>(this, predicate);
     }
+
+    public boolean _forEachWhile(Predicate1<TSource> action) {
+        try (IEnumerator<TSource> e = this.enumerator()) {
+            while (e.moveNext()) {
+                if (!action.apply(e.current()))
+                    return false;
+            }
+        }
+        return true;
+    }
 }
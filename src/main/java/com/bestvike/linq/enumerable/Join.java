@@ -1,15 +1,18 @@
 package com.bestvike.linq.enumerable;
 
+import com.bestvike.collections.generic.EqualityComparer;
 import com.bestvike.collections.generic.ICollection;
 import com.bestvike.collections.generic.IEqualityComparer;
 import com.bestvike.function.Func1;
 import com.bestvike.function.Func2;
 import com.bestvike.linq.IEnumerable;
 import com.bestvike.linq.IEnumerator;
+import com.bestvike.linq.IGrouping;
 import com.bestvike.linq.exception.ExceptionArgument;
 import com.bestvike.linq.exception.ThrowHelper;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -35,6 +38,12 @@ public final class Join {
         if (resultSelector == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.resultSelector);
 
+        if (outer instanceof ParallelIterator) {
+            ParallelIterator<TOuter> parallel = (ParallelIterator<TOuter>) outer;
+            return new ParallelJoinIterator<>(parallel, ParallelJoinIterator.parallel(inner, parallel.options), outerKeySelector, innerKeySelector, resultSelector, false, null, false, null, comparer);
+        }
+        if (outer instanceof SpillableEnumerable && inner instanceof SpillableEnumerable)
+            return new SpillJoinIterator<>((SpillableEnumerable<TOuter>) outer, (SpillableEnumerable<TInner>) inner, outerKeySelector, innerKeySelector, resultSelector, null, comparer);
         return new JoinIterator<>(outer, inner, outerKeySelector, innerKeySelector, resultSelector, comparer);
     }
 
@@ -62,6 +71,10 @@ public final class Join {
         if (resultSelector == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.resultSelector);
 
+        if (outer instanceof ParallelIterator) {
+            ParallelIterator<TOuter> parallel = (ParallelIterator<TOuter>) outer;
+            return new ParallelJoinIterator<>(parallel, ParallelJoinIterator.parallel(inner, parallel.options), outerKeySelector, innerKeySelector, resultSelector, true, defaultInner, false, null, comparer);
+        }
         return new LeftJoinIterator<>(outer, inner, outerKeySelector, innerKeySelector, defaultInner, resultSelector, comparer);
     }
 
@@ -89,6 +102,11 @@ public final class Join {
         if (resultSelector == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.resultSelector);
 
+        if (outer instanceof ParallelIterator) {
+            ParallelIterator<TOuter> parallel = (ParallelIterator<TOuter>) outer;
+            Func2<TInner, TOuter, TResult> swappedSelector = (innerItem, outerItem) -> resultSelector.apply(outerItem, innerItem);
+            return new ParallelJoinIterator<>(ParallelJoinIterator.parallel(inner, parallel.options), parallel, innerKeySelector, outerKeySelector, swappedSelector, true, defaultOuter, false, null, comparer);
+        }
         return new RightJoinIterator<>(outer, inner, outerKeySelector, innerKeySelector, defaultOuter, resultSelector, comparer);
     }
 
@@ -116,6 +134,10 @@ public final class Join {
         if (resultSelector == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.resultSelector);
 
+        if (outer instanceof ParallelIterator) {
+            ParallelIterator<TOuter> parallel = (ParallelIterator<TOuter>) outer;
+            return new ParallelJoinIterator<>(parallel, ParallelJoinIterator.parallel(inner, parallel.options), outerKeySelector, innerKeySelector, resultSelector, true, defaultInner, true, defaultOuter, comparer);
+        }
         return new FullJoinIterator<>(outer, inner, outerKeySelector, innerKeySelector, defaultOuter, defaultInner, resultSelector, comparer);
     }
 
@@ -497,6 +519,326 @@ final class FullJoinIterator<TOuter, TInner, TKey, TResult> extends AbstractIter
 }
 
 
+// Hash join for parallel queries, see PartitionedLookup for the build side.
+// Probe chunks are matched on the pool of the probe query and streamed through a chunk window,
+// so only the results of the chunks in flight are buffered however much a key fans out.
+// Unmatched build elements of an outer join follow every probe result.
+final class ParallelJoinIterator<TProbe, TBuild, TKey, TResult> extends AbstractIterator<TResult> {
+    private final ParallelIterator<TProbe> probe;
+    private final ParallelIterator<TBuild> build;
+    private final Func1<TProbe, TKey> probeKeySelector;
+    private final Func1<TBuild, TKey> buildKeySelector;
+    private final Func2<TProbe, TBuild, TResult> resultSelector;
+    private final boolean keepUnmatchedProbe;
+    private final TBuild defaultBuild;
+    private final boolean keepUnmatchedBuild;
+    private final TProbe defaultProbe;
+    private final IEqualityComparer<TKey> comparer;
+    private PartitionedLookup<TKey, TBuild> lookup;
+    private IEnumerator<List<TResult>> chunks;
+    private List<TResult> results;
+    private int index;
+
+    ParallelJoinIterator(ParallelIterator<TProbe> probe, ParallelIterator<TBuild> build, Func1<TProbe, TKey> probeKeySelector, Func1<TBuild, TKey> buildKeySelector, Func2<TProbe, TBuild, TResult> resultSelector,
+                         boolean keepUnmatchedProbe, TBuild defaultBuild, boolean keepUnmatchedBuild, TProbe defaultProbe, IEqualityComparer<TKey> comparer) {
+        this.probe = probe;
+        this.build = build;
+        this.probeKeySelector = probeKeySelector;
+        this.buildKeySelector = buildKeySelector;
+        this.resultSelector = resultSelector;
+        this.keepUnmatchedProbe = keepUnmatchedProbe;
+        this.defaultBuild = defaultBuild;
+        this.keepUnmatchedBuild = keepUnmatchedBuild;
+        this.defaultProbe = defaultProbe;
+        this.comparer = comparer;
+    }
+
+    static <TSource> ParallelIterator<TSource> parallel(IEnumerable<TSource> source, ParallelOptions options) {
+        return source instanceof ParallelIterator ? (ParallelIterator<TSource>) source : new ParallelSourceIterator<>(source, options);
+    }
+
+    @Override
+    public AbstractIterator<TResult> clone() {
+        return new ParallelJoinIterator<>(this.probe, this.build, this.probeKeySelector, this.buildKeySelector, this.resultSelector,
+                this.keepUnmatchedProbe, this.defaultBuild, this.keepUnmatchedBuild, this.defaultProbe, this.comparer);
+    }
+
+    @Override
+    public boolean moveNext() {
+        do {
+            switch (this.state) {
+                case 1:
+                    this.lookup = PartitionedLookup.create(this.build, this.buildKeySelector, this.comparer, this.keepUnmatchedBuild);
+                    if (this.lookup.getCount() == 0 && !this.keepUnmatchedProbe) {
+                        this.close();
+                        return false;
+                    }
+                    this.chunks = new ParallelChunkWindow<>(this.probe, this::probe);
+                    this.state = 2;
+                case 2:
+                    if (this.results != null && this.index < this.results.size()) {
+                        this.current = this.results.get(this.index++);
+                        return true;
+                    }
+                    if (this.chunks.moveNext()) {
+                        this.results = this.chunks.current();
+                        this.index = 0;
+                        break;
+                    }
+                    this.chunks.close();
+                    this.chunks = null;
+                    if (!this.keepUnmatchedBuild) {
+                        this.close();
+                        return false;
+                    }
+                    this.results = this.unmatchedBuild();
+                    this.index = 0;
+                    this.state = 3;
+                case 3:
+                    if (this.index < this.results.size()) {
+                        this.current = this.results.get(this.index++);
+                        return true;
+                    }
+                    this.close();
+                    return false;
+                default:
+                    return false;
+            }
+        } while (true);
+    }
+
+    private List<TResult> probe(IEnumerable<TProbe> chunk) {
+        List<TResult> results = new ArrayList<>();
+        try (IEnumerator<TProbe> e = chunk.enumerator()) {
+            while (e.moveNext()) {
+                TProbe item = e.current();
+                Grouping<TKey, TBuild> g = this.lookup.fetchGrouping(this.probeKeySelector.apply(item));
+                if (g == null) {
+                    if (this.keepUnmatchedProbe)
+                        results.add(this.resultSelector.apply(item, this.defaultBuild));
+                    continue;
+                }
+                for (int i = 0; i < g.count; i++)
+                    results.add(this.resultSelector.apply(item, g.get(i)));
+            }
+        }
+        return results;
+    }
+
+    private List<TResult> unmatchedBuild() {
+        List<TResult> results = new ArrayList<>();
+        for (Grouping<TKey, TBuild> g : this.lookup.unfetchedGroupings(this.probe.options.ordered)) {
+            for (int i = 0; i < g.count; i++)
+                results.add(this.resultSelector.apply(this.defaultProbe, g.get(i)));
+        }
+        return results;
+    }
+
+    @Override
+    public void close() {
+        if (this.chunks != null) {
+            this.chunks.close();
+            this.chunks = null;
+        }
+        this.lookup = null;
+        this.results = null;
+        super.close();
+    }
+}
+
+
+// A join lookup split by key hash into one part per degree of parallelism.
+// Workers first scatter their chunks of the source into per part buckets, then every part is built by one worker from its buckets in source order,
+// so groupings keep their elements in source order and no part is shared between threads while it is built.
+final class PartitionedLookup<TKey, TElement> {
+    private final IEqualityComparer<TKey> comparer;
+    private final List<Part<TKey, TElement>> parts;
+    private final Grouping<TKey, TElement> nullKeyGrouping;// elements with null keys, kept for full joins only
+    private final long nullKeyFirstSeen;
+
+    private PartitionedLookup(IEqualityComparer<TKey> comparer, List<Part<TKey, TElement>> parts, Grouping<TKey, TElement> nullKeyGrouping, long nullKeyFirstSeen) {
+        this.comparer = comparer;
+        this.parts = parts;
+        this.nullKeyGrouping = nullKeyGrouping;
+        this.nullKeyFirstSeen = nullKeyFirstSeen;
+    }
+
+    static <TKey, TElement> PartitionedLookup<TKey, TElement> create(ParallelIterator<TElement> source, Func1<TElement, TKey> keySelector, IEqualityComparer<TKey> comparer, boolean keepNullKeys) {
+        IEqualityComparer<TKey> keyComparer = comparer == null ? EqualityComparer.Default() : comparer;
+        int partCount = source.options.getDegreeOfParallelism();
+        List<Scatter> scatters = source.executeOrdered(chunk -> {
+            Scatter scatter = new Scatter(partCount + 1);
+            try (IEnumerator<TElement> e = chunk.enumerator()) {
+                while (e.moveNext()) {
+                    TElement item = e.current();
+                    TKey key = keySelector.apply(item);
+                    if (key != null)
+                        scatter.add(partOf(keyComparer.hashCode(key) & 0x7FFFFFFF, partCount), key, item);
+                    else if (keepNullKeys)
+                        scatter.add(partCount, null, item);
+                    else
+                        scatter.size++;
+                }
+            }
+            return scatter;
+        });
+
+        List<Part<TKey, TElement>> parts = new ArrayList<>(partCount);
+        ParallelIterator<Integer> partIndexes = new ParallelSourceIterator<>(Range.range(0, partCount), source.options.withDegreeOfParallelism(partCount));
+        for (List<Part<TKey, TElement>> builtParts : partIndexes.execute(indexes -> {
+            List<Part<TKey, TElement>> built = new ArrayList<>();
+            for (Integer index : indexes)
+                built.add(Part.create(scatters, index, keyComparer));
+            return built;
+        }))
+            parts.addAll(builtParts);
+
+        Grouping<TKey, TElement> nullKeyGrouping = null;
+        long nullKeyFirstSeen = 0;
+        long base = 0;
+        for (Scatter scatter : scatters) {
+            Bucket bucket = scatter.buckets[partCount];
+            if (bucket != null) {
+                if (nullKeyGrouping == null) {
+                    nullKeyGrouping = new Grouping<>(null, 0);
+                    nullKeyFirstSeen = base + bucket.positions[0];
+                }
+                for (int i = 0; i < bucket.count; i++)
+                    //noinspection unchecked
+                    nullKeyGrouping.add((TElement) bucket.elements[i]);
+            }
+            base += scatter.size;
+        }
+        return new PartitionedLookup<>(keyComparer, parts, nullKeyGrouping, nullKeyFirstSeen);
+    }
+
+    // Maps a non negative hash code to a part, using its high bits so that it is independent of the bucket a part puts the key in.
+    private static int partOf(int hashCode, int partCount) {
+        return (int) ((((hashCode * 0x9E3779B9L) & 0xFFFFFFFFL) * partCount) >>> 32);
+    }
+
+    int getCount() {
+        int count = this.nullKeyGrouping == null ? 0 : 1;
+        for (Part<TKey, TElement> part : this.parts)
+            count += part.lookup.getCount();
+        return count;
+    }
+
+    // Safe to call from many threads once the lookup is built.
+    Grouping<TKey, TElement> fetchGrouping(TKey key) {
+        if (key == null)
+            return null;
+        int hashCode = this.comparer.hashCode(key) & 0x7FFFFFFF;
+        return this.parts.get(partOf(hashCode, this.parts.size())).lookup.fetchGrouping(key);
+    }
+
+    // The groupings no probe matched, in first seen order when ordered.
+    List<Grouping<TKey, TElement>> unfetchedGroupings(boolean ordered) {
+        List<Grouping<TKey, TElement>> groupings = new ArrayList<>();
+        List<Long> firstSeens = new ArrayList<>();
+        for (Part<TKey, TElement> part : this.parts) {
+            int index = 0;
+            try (IEnumerator<IGrouping<TKey, TElement>> e = part.lookup.enumerator()) {
+                while (e.moveNext()) {
+                    Grouping<TKey, TElement> g = (Grouping<TKey, TElement>) e.current();
+                    if (!g.fetched) {
+                        groupings.add(g);
+                        firstSeens.add(part.firstSeen[index]);
+                    }
+                    index++;
+                }
+            }
+        }
+        if (this.nullKeyGrouping != null) {
+            groupings.add(this.nullKeyGrouping);
+            firstSeens.add(this.nullKeyFirstSeen);
+        }
+        if (!ordered)
+            return groupings;
+
+        Integer[] order = new Integer[groupings.size()];
+        for (int i = 0; i < order.length; i++)
+            order[i] = i;
+        Arrays.sort(order, (x, y) -> Long.compare(firstSeens.get(x), firstSeens.get(y)));
+        List<Grouping<TKey, TElement>> sorted = new ArrayList<>(order.length);
+        for (Integer i : order)
+            sorted.add(groupings.get(i));
+        return sorted;
+    }
+
+
+    private static final class Part<TKey, TElement> {
+        private final Lookup<TKey, TElement> lookup;
+        private final long[] firstSeen;// source position of the first element of each grouping, in grouping order
+
+        private Part(Lookup<TKey, TElement> lookup, long[] firstSeen) {
+            this.lookup = lookup;
+            this.firstSeen = firstSeen;
+        }
+
+        private static <TKey, TElement> Part<TKey, TElement> create(List<Scatter> scatters, int index, IEqualityComparer<TKey> comparer) {
+            Lookup<TKey, TElement> lookup = Lookup.create(comparer);
+            long[] firstSeen = new long[8];
+            long base = 0;
+            for (Scatter scatter : scatters) {
+                Bucket bucket = scatter.buckets[index];
+                if (bucket != null) {
+                    for (int i = 0; i < bucket.count; i++) {
+                        //noinspection unchecked
+                        if (lookup.add((TKey) bucket.keys[i], (TElement) bucket.elements[i])) {
+                            if (lookup.getCount() > firstSeen.length)
+                                firstSeen = Arrays.copyOf(firstSeen, firstSeen.length << 1);
+                            firstSeen[lookup.getCount() - 1] = base + bucket.positions[i];
+                        }
+                    }
+                }
+                base += scatter.size;
+            }
+            return new Part<>(lookup, firstSeen);
+        }
+    }
+
+
+    // The elements of one chunk of the source, bucketed by part.
+    private static final class Scatter {
+        private final Bucket[] buckets;
+        private int size;
+
+        private Scatter(int bucketCount) {
+            this.buckets = new Bucket[bucketCount];
+        }
+
+        private void add(int bucketIndex, Object key, Object element) {
+            Bucket bucket = this.buckets[bucketIndex];
+            if (bucket == null)
+                this.buckets[bucketIndex] = bucket = new Bucket();
+            bucket.add(key, element, this.size++);
+        }
+    }
+
+
+    private static final class Bucket {
+        private Object[] keys = new Object[4];
+        private Object[] elements = new Object[4];
+        private int[] positions = new int[4];
+        private int count;
+
+        private void add(Object key, Object element, int position) {
+            if (this.count == this.keys.length) {
+                int newSize = Math.multiplyExact(this.count, 2);
+                this.keys = Arrays.copyOf(this.keys, newSize);
+                this.elements = Arrays.copyOf(this.elements, newSize);
+                this.positions = Arrays.copyOf(this.positions, newSize);
+            }
+            this.keys[this.count] = key;
+            this.elements[this.count] = element;
+            this.positions[this.count] = position;
+            this.count++;
+        }
+    }
+}
+
+
 final class CrossJoinIterator<TOuter, TInner, TResult> extends Iterator<TResult> implements IIListProvider<TResult> {
     private final IEnumerable<TOuter> outer;
     private final IEnumerable<TInner> inner;
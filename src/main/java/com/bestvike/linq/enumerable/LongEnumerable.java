@@ -0,0 +1,865 @@
+package com.bestvike.linq.enumerable;
+
+import com.bestvike.collections.generic.IArray;
+import com.bestvike.collections.generic.ICollection;
+import com.bestvike.function.LongFunc1;
+import com.bestvike.linq.IDoubleEnumerable;
+import com.bestvike.linq.IEnumerable;
+import com.bestvike.linq.IEnumerator;
+import com.bestvike.linq.ILongEnumerable;
+import com.bestvike.linq.ILongEnumerator;
+import com.bestvike.linq.exception.ExceptionArgument;
+import com.bestvike.linq.exception.ThrowHelper;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Created by 许崇雷 on 2026-10-18.
+ */
+public final class LongEnumerable {
+    private static final long[] EMPTY = new long[0];
+
+    private LongEnumerable() {
+    }
+
+    public static ILongEnumerable empty() {
+        return new LongArrayIterator(EMPTY, 0, 0);
+    }
+
+    public static ILongEnumerable of(long[] source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        return new LongArrayIterator(source, 0, source.length);
+    }
+
+    public static ILongEnumerable asLongEnumerable(IEnumerable<Long> source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        if (source instanceof IArray) {
+            IArray<Long> array = (IArray<Long>) source;
+            Object arr = array.getArray();
+            if (arr instanceof long[])
+                return new LongArrayIterator((long[]) arr, array._getStartIndex(), array._getEndIndex());
+        }
+
+        return new MapToLongIterator<>(source, Long::longValue);
+    }
+
+    public static <TSource> ILongEnumerable mapToLong(IEnumerable<TSource> source, LongFunc1<TSource> selector) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (selector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.selector);
+
+        return new MapToLongIterator<>(source, selector);
+    }
+
+    public static void forEach(ILongEnumerable source, LongConsumer action) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (action == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.action);
+
+        try (ILongEnumerator e = source.enumerator()) {
+            while (e.moveNext())
+                action.accept(e.current());
+        }
+    }
+
+    public static boolean any(ILongEnumerable source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        if (source instanceof LongIterator) {
+            int count = ((LongIterator) source)._getCount(true);
+            if (count >= 0)
+                return count != 0;
+        }
+
+        try (ILongEnumerator e = source.enumerator()) {
+            return e.moveNext();
+        }
+    }
+
+    public static IDoubleEnumerable asDoubleEnumerable(ILongEnumerable source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        return new LongToDoubleIterator(source);
+    }
+
+    public static double average(ILongEnumerable source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        try (ILongEnumerator e = source.enumerator()) {
+            if (!e.moveNext())
+                ThrowHelper.throwNoElementsException();
+
+            long sum = e.current();
+            long count = 1;
+            while (e.moveNext()) {
+                sum = Math.addExact(sum, e.current());
+                count = Math.addExact(count, 1);
+            }
+            return (double) sum / count;
+        }
+    }
+
+    public static IEnumerable<Long> boxed(ILongEnumerable source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        return new LongBoxedIterator(source);
+    }
+
+    public static int count(ILongEnumerable source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        if (source instanceof LongIterator)
+            return ((LongIterator) source)._getCount(false);
+
+        int count = 0;
+        try (ILongEnumerator e = source.enumerator()) {
+            while (e.moveNext())
+                count = Math.addExact(count, 1);
+        }
+        return count;
+    }
+
+    public static long first(ILongEnumerable source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        try (ILongEnumerator e = source.enumerator()) {
+            if (!e.moveNext())
+                ThrowHelper.throwNoElementsException();
+            return e.current();
+        }
+    }
+
+    public static <TResult> IEnumerable<TResult> mapToObj(ILongEnumerable source, LongFunction<? extends TResult> selector) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (selector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.selector);
+
+        return new LongMapToObjIterator<>(source, selector);
+    }
+
+    public static long max(ILongEnumerable source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        long value;
+        try (ILongEnumerator e = source.enumerator()) {
+            if (!e.moveNext())
+                ThrowHelper.throwNoElementsException();
+
+            value = e.current();
+            while (e.moveNext()) {
+                long x = e.current();
+                if (x > value)
+                    value = x;
+            }
+        }
+
+        return value;
+    }
+
+    public static long min(ILongEnumerable source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        long value;
+        try (ILongEnumerator e = source.enumerator()) {
+            if (!e.moveNext())
+                ThrowHelper.throwNoElementsException();
+
+            value = e.current();
+            while (e.moveNext()) {
+                long x = e.current();
+                if (x < value)
+                    value = x;
+            }
+        }
+
+        return value;
+    }
+
+    public static ILongEnumerable select(ILongEnumerable source, LongUnaryOperator selector) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (selector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.selector);
+
+        if (source instanceof LongIterator)
+            return ((LongIterator) source)._select(selector);
+
+        return new LongSelectIterator(source, selector);
+    }
+
+    public static ILongEnumerable skip(ILongEnumerable source, int count) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        if (count <= 0)
+            return source;
+
+        if (source instanceof LongIterator)
+            return ((LongIterator) source)._skip(count);
+
+        return new LongPartitionIterator(source, count, -1);
+    }
+
+    public static long sum(ILongEnumerable source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        long sum = 0;
+        try (ILongEnumerator e = source.enumerator()) {
+            while (e.moveNext())
+                sum = Math.addExact(sum, e.current());
+        }
+        return sum;
+    }
+
+    public static ILongEnumerable take(ILongEnumerable source, int count) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        if (count <= 0)
+            return empty();
+
+        if (source instanceof LongIterator)
+            return ((LongIterator) source)._take(count);
+
+        return new LongPartitionIterator(source, 0, count - 1);
+    }
+
+    public static long[] toArray(ILongEnumerable source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        if (source instanceof LongIterator)
+            return ((LongIterator) source)._toArray();
+
+        return LongIterator.toArray(source.enumerator());
+    }
+
+    public static ILongEnumerable where(ILongEnumerable source, LongPredicate predicate) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (predicate == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.predicate);
+
+        if (source instanceof LongIterator)
+            return ((LongIterator) source)._where(predicate);
+
+        return new LongWhereIterator(source, predicate);
+    }
+}
+
+
+abstract class LongIterator implements ILongEnumerable, ILongEnumerator {
+    private final long threadId;
+    protected int state;
+    protected long current;
+
+    LongIterator() {
+        this.threadId = Thread.currentThread().getId();
+    }
+
+    static long[] toArray(ILongEnumerator enumerator) {
+        try (ILongEnumerator e = enumerator) {
+            long[] array = new long[16];
+            int count = 0;
+            while (e.moveNext()) {
+                if (count == array.length)
+                    array = Arrays.copyOf(array, Math.addExact(count, count));
+                array[count++] = e.current();
+            }
+            return count == array.length ? array : Arrays.copyOf(array, count);
+        }
+    }
+
+    @Override
+    public abstract LongIterator clone();
+
+    @Override
+    public ILongEnumerator enumerator() {
+        LongIterator enumerator = this.state == 0 && this.threadId == Thread.currentThread().getId() ? this : this.clone();
+        enumerator.state = 1;
+        return enumerator;
+    }
+
+    @Override
+    public long current() {
+        return this.current;
+    }
+
+    @Override
+    public void close() {
+        this.state = -1;
+    }
+
+    public ILongEnumerable _select(LongUnaryOperator selector) {
+        return new LongSelectIterator(this, selector);
+    }
+
+    public ILongEnumerable _where(LongPredicate predicate) {
+        return new LongWhereIterator(this, predicate);
+    }
+
+    public ILongEnumerable _skip(int count) {
+        return new LongPartitionIterator(this, count, -1);
+    }
+
+    public ILongEnumerable _take(int count) {
+        return new LongPartitionIterator(this, 0, count - 1);
+    }
+
+    public long[] _toArray() {
+        return toArray(this.enumerator());
+    }
+
+    public int _getCount(boolean onlyIfCheap) {
+        if (onlyIfCheap)
+            return -1;
+
+        int count = 0;
+        try (ILongEnumerator e = this.enumerator()) {
+            while (e.moveNext())
+                count = Math.addExact(count, 1);
+        }
+        return count;
+    }
+}
+
+
+final class LongArrayIterator extends LongIterator {
+    private final long[] source;
+    private final int start;
+    private final int end;
+    private int index;
+
+    LongArrayIterator(long[] source, int start, int end) {
+        assert source != null;
+        assert 0 <= start && start <= end && end <= source.length;
+        this.source = source;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public LongIterator clone() {
+        return new LongArrayIterator(this.source, this.start, this.end);
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 1:
+                this.index = this.start;
+                this.state = 2;
+            case 2:
+                if (this.index < this.end) {
+                    this.current = this.source[this.index++];
+                    return true;
+                }
+                this.close();
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public ILongEnumerable _where(LongPredicate predicate) {
+        return new LongWhereArrayIterator(this.source, this.start, this.end, predicate);
+    }
+
+    @Override
+    public ILongEnumerable _skip(int count) {
+        return count >= this.end - this.start
+                ? LongEnumerable.empty()
+                : new LongArrayIterator(this.source, this.start + count, this.end);
+    }
+
+    @Override
+    public ILongEnumerable _take(int count) {
+        return count >= this.end - this.start
+                ? this
+                : new LongArrayIterator(this.source, this.start, this.start + count);
+    }
+
+    @Override
+    public long[] _toArray() {
+        return Arrays.copyOfRange(this.source, this.start, this.end);
+    }
+
+    @Override
+    public int _getCount(boolean onlyIfCheap) {
+        return this.end - this.start;
+    }
+}
+
+
+final class LongWhereArrayIterator extends LongIterator {
+    private final long[] source;
+    private final int start;
+    private final int end;
+    private final LongPredicate predicate;
+    private int index;
+
+    LongWhereArrayIterator(long[] source, int start, int end, LongPredicate predicate) {
+        assert source != null;
+        assert predicate != null;
+        this.source = source;
+        this.start = start;
+        this.end = end;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public LongIterator clone() {
+        return new LongWhereArrayIterator(this.source, this.start, this.end, this.predicate);
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 1:
+                this.index = this.start;
+                this.state = 2;
+            case 2:
+                while (this.index < this.end) {
+                    long item = this.source[this.index++];
+                    if (this.predicate.test(item)) {
+                        this.current = item;
+                        return true;
+                    }
+                }
+                this.close();
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public ILongEnumerable _where(LongPredicate predicate) {
+        LongPredicate first = this.predicate;
+        return new LongWhereArrayIterator(this.source, this.start, this.end, x -> first.test(x) && predicate.test(x));
+    }
+
+    @Override
+    public long[] _toArray() {
+        long[] array = new long[this.end - this.start];
+        int count = 0;
+        for (int i = this.start; i < this.end; i++) {
+            long item = this.source[i];
+            if (this.predicate.test(item))
+                array[count++] = item;
+        }
+        return count == array.length ? array : Arrays.copyOf(array, count);
+    }
+}
+
+
+final class LongWhereIterator extends LongIterator {
+    private final ILongEnumerable source;
+    private final LongPredicate predicate;
+    private ILongEnumerator enumerator;
+
+    LongWhereIterator(ILongEnumerable source, LongPredicate predicate) {
+        assert source != null;
+        assert predicate != null;
+        this.source = source;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public LongIterator clone() {
+        return new LongWhereIterator(this.source, this.predicate);
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 1:
+                this.enumerator = this.source.enumerator();
+                this.state = 2;
+            case 2:
+                while (this.enumerator.moveNext()) {
+                    long item = this.enumerator.current();
+                    if (this.predicate.test(item)) {
+                        this.current = item;
+                        return true;
+                    }
+                }
+                this.close();
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.enumerator != null) {
+            this.enumerator.close();
+            this.enumerator = null;
+        }
+        super.close();
+    }
+
+    @Override
+    public ILongEnumerable _where(LongPredicate predicate) {
+        LongPredicate first = this.predicate;
+        return new LongWhereIterator(this.source, x -> first.test(x) && predicate.test(x));
+    }
+}
+
+
+final class LongSelectIterator extends LongIterator {
+    private final ILongEnumerable source;
+    private final LongUnaryOperator selector;
+    private ILongEnumerator enumerator;
+
+    LongSelectIterator(ILongEnumerable source, LongUnaryOperator selector) {
+        assert source != null;
+        assert selector != null;
+        this.source = source;
+        this.selector = selector;
+    }
+
+    @Override
+    public LongIterator clone() {
+        return new LongSelectIterator(this.source, this.selector);
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 1:
+                this.enumerator = this.source.enumerator();
+                this.state = 2;
+            case 2:
+                if (this.enumerator.moveNext()) {
+                    this.current = this.selector.applyAsLong(this.enumerator.current());
+                    return true;
+                }
+                this.close();
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.enumerator != null) {
+            this.enumerator.close();
+            this.enumerator = null;
+        }
+        super.close();
+    }
+
+    @Override
+    public ILongEnumerable _select(LongUnaryOperator selector) {
+        return new LongSelectIterator(this.source, this.selector.andThen(selector));
+    }
+
+    @Override
+    public int _getCount(boolean onlyIfCheap) {
+        if (onlyIfCheap)
+            return this.source instanceof LongIterator ? ((LongIterator) this.source)._getCount(true) : -1;
+
+        return super._getCount(false);
+    }
+}
+
+
+final class LongPartitionIterator extends LongIterator {
+    private final ILongEnumerable source;
+    private final int minIndexInclusive;
+    private final int maxIndexInclusive; // -1 if we want everything past minIndexInclusive.
+    private ILongEnumerator enumerator;
+    private int index;
+
+    LongPartitionIterator(ILongEnumerable source, int minIndexInclusive, int maxIndexInclusive) {
+        assert source != null;
+        assert minIndexInclusive >= 0;
+        assert maxIndexInclusive >= -1;
+        assert maxIndexInclusive == -1 || (maxIndexInclusive - minIndexInclusive < Integer.MAX_VALUE);
+        assert maxIndexInclusive == -1 || minIndexInclusive <= maxIndexInclusive;
+        this.source = source;
+        this.minIndexInclusive = minIndexInclusive;
+        this.maxIndexInclusive = maxIndexInclusive;
+    }
+
+    private boolean hasLimit() {
+        return this.maxIndexInclusive != -1;
+    }
+
+    @Override
+    public LongIterator clone() {
+        return new LongPartitionIterator(this.source, this.minIndexInclusive, this.maxIndexInclusive);
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 1:
+                this.enumerator = this.source.enumerator();
+                this.index = 0;
+                while (this.index < this.minIndexInclusive) {
+                    if (!this.enumerator.moveNext()) {
+                        this.close();
+                        return false;
+                    }
+                    this.index++;
+                }
+                this.state = 2;
+            case 2:
+                if ((!this.hasLimit() || this.index <= this.maxIndexInclusive) && this.enumerator.moveNext()) {
+                    this.index++;
+                    this.current = this.enumerator.current();
+                    return true;
+                }
+                this.close();
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.enumerator != null) {
+            this.enumerator.close();
+            this.enumerator = null;
+        }
+        super.close();
+    }
+
+    @Override
+    public ILongEnumerable _skip(int count) {
+        int minIndex = this.minIndexInclusive + count;
+        if (!this.hasLimit()) {
+            if (minIndex < 0)
+                return new LongPartitionIterator(this, count, -1);
+            return new LongPartitionIterator(this.source, minIndex, -1);
+        }
+        return Integer.compareUnsigned(minIndex, this.maxIndexInclusive) > 0
+                ? LongEnumerable.empty()
+                : new LongPartitionIterator(this.source, minIndex, this.maxIndexInclusive);
+    }
+
+    @Override
+    public ILongEnumerable _take(int count) {
+        int maxIndex = this.minIndexInclusive + count - 1;
+        if (!this.hasLimit()) {
+            if (maxIndex < 0)
+                return new LongPartitionIterator(this, 0, count - 1);
+        } else if (Integer.compareUnsigned(maxIndex, this.maxIndexInclusive) >= 0) {
+            return this;
+        }
+        return new LongPartitionIterator(this.source, this.minIndexInclusive, maxIndex);
+    }
+}
+
+
+final class MapToLongIterator<TSource> extends LongIterator {
+    private final IEnumerable<TSource> source;
+    private final LongFunc1<TSource> selector;
+    private IEnumerator<TSource> enumerator;
+
+    MapToLongIterator(IEnumerable<TSource> source, LongFunc1<TSource> selector) {
+        assert source != null;
+        assert selector != null;
+        this.source = source;
+        this.selector = selector;
+    }
+
+    @Override
+    public LongIterator clone() {
+        return new MapToLongIterator<>(this.source, this.selector);
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 1:
+                this.enumerator = this.source.enumerator();
+                this.state = 2;
+            case 2:
+                if (this.enumerator.moveNext()) {
+                    this.current = this.selector.apply(this.enumerator.current());
+                    return true;
+                }
+                this.close();
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.enumerator != null) {
+            this.enumerator.close();
+            this.enumerator = null;
+        }
+        super.close();
+    }
+
+    @Override
+    public int _getCount(boolean onlyIfCheap) {
+        if (this.source instanceof ICollection)
+            return ((ICollection<TSource>) this.source)._getCount();
+        if (this.source instanceof IIListProvider)
+            return ((IIListProvider<TSource>) this.source)._getCount(onlyIfCheap);
+        return onlyIfCheap ? -1 : this.source.count();
+    }
+}
+
+
+final class LongToDoubleIterator extends DoubleIterator {
+    private final ILongEnumerable source;
+    private ILongEnumerator enumerator;
+
+    LongToDoubleIterator(ILongEnumerable source) {
+        assert source != null;
+        this.source = source;
+    }
+
+    @Override
+    public DoubleIterator clone() {
+        return new LongToDoubleIterator(this.source);
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 1:
+                this.enumerator = this.source.enumerator();
+                this.state = 2;
+            case 2:
+                if (this.enumerator.moveNext()) {
+                    this.current = this.enumerator.current();
+                    return true;
+                }
+                this.close();
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.enumerator != null) {
+            this.enumerator.close();
+            this.enumerator = null;
+        }
+        super.close();
+    }
+}
+
+
+final class LongBoxedIterator extends Iterator<Long> {
+    private final ILongEnumerable source;
+    private ILongEnumerator enumerator;
+
+    LongBoxedIterator(ILongEnumerable source) {
+        assert source != null;
+        this.source = source;
+    }
+
+    @Override
+    public Iterator<Long> clone() {
+        return new LongBoxedIterator(this.source);
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 1:
+                this.enumerator = this.source.enumerator();
+                this.state = 2;
+            case 2:
+                if (this.enumerator.moveNext()) {
+                    this.current = this.enumerator.current();
+                    return true;
+                }
+                this.close();
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.enumerator != null) {
+            this.enumerator.close();
+            this.enumerator = null;
+        }
+        super.close();
+    }
+}
+
+
+final class LongMapToObjIterator<TResult> extends Iterator<TResult> {
+    private final ILongEnumerable source;
+    private final LongFunction<? extends TResult> selector;
+    private ILongEnumerator enumerator;
+
+    LongMapToObjIterator(ILongEnumerable source, LongFunction<? extends TResult> selector) {
+        assert source != null;
+        assert selector != null;
+        this.source = source;
+        this.selector = selector;
+    }
+
+    @Override
+    public Iterator<TResult> clone() {
+        return new LongMapToObjIterator<>(this.source, this.selector);
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 1:
+                this.enumerator = this.source.enumerator();
+                this.state = 2;
+            case 2:
+                if (this.enumerator.moveNext()) {
+                    this.current = this.selector.apply(this.enumerator.current());
+                    return true;
+                }
+                this.close();
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.enumerator != null) {
+            this.enumerator.close();
+            this.enumerator = null;
+        }
+        super.close();
+    }
+}
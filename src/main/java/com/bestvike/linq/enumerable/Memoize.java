@@ -0,0 +1,209 @@
+package com.bestvike.linq.enumerable;
+
+import com.bestvike.linq.IEnumerable;
+import com.bestvike.linq.IEnumerator;
+import com.bestvike.linq.exception.ExceptionArgument;
+import com.bestvike.linq.exception.ThrowHelper;
+import com.bestvike.linq.util.ArrayUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Created by 许崇雷 on 2026-10-18.
+ */
+public final class Memoize {
+    private Memoize() {
+    }
+
+    public static <TSource> IEnumerable<TSource> memoize(IEnumerable<TSource> source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        if (source instanceof MemoizedEnumerable)
+            return source;
+        return new MemoizedEnumerable<>(source);
+    }
+}
+
+
+// Pulls source lazily and records its elements, so later and concurrent enumerations replay them.
+// Elements live in chunks doubling in size and are published by the volatile count,
+// so reading the buffered prefix takes no lock. Only pulls past the frontier synchronize.
+@SuppressWarnings("unchecked")
+final class MemoizedEnumerable<TSource> implements IIListProvider<TSource> {
+    private static final int FIRST_CHUNK_SHIFT = 4;
+    private static final int FIRST_CHUNK_SIZE = 1 << FIRST_CHUNK_SHIFT;
+
+    private final Object[][] chunks = new Object[Integer.SIZE - FIRST_CHUNK_SHIFT][];// enough for Integer.MAX_VALUE elements
+    private IEnumerable<TSource> source;// null once completed
+    private IEnumerator<TSource> enumerator;
+    private RuntimeException error;// rethrown to every enumeration reaching the frontier
+    private volatile int count;
+    private volatile boolean completed;
+
+    MemoizedEnumerable(IEnumerable<TSource> source) {
+        this.source = source;
+    }
+
+    private static int chunkIndex(int index) {
+        return Integer.SIZE - 1 - Integer.numberOfLeadingZeros((index >>> FIRST_CHUNK_SHIFT) + 1);
+    }
+
+    private static int chunkStart(int chunkIndex) {
+        return (int) (((long) FIRST_CHUNK_SIZE << chunkIndex) - FIRST_CHUNK_SIZE);
+    }
+
+    boolean has(int index) {
+        return index < this.count || this.fill(index);
+    }
+
+    TSource get(int index) {
+        int chunkIndex = chunkIndex(index);
+        return (TSource) this.chunks[chunkIndex][index - chunkStart(chunkIndex)];
+    }
+
+    private synchronized boolean fill(int index) {
+        while (index >= this.count) {
+            if (this.completed)
+                return false;
+            if (this.error != null)
+                throw this.error;
+            this.pull();
+        }
+        return true;
+    }
+
+    private void fillAll() {
+        if (!this.completed)
+            this.fill(Integer.MAX_VALUE);
+    }
+
+    private void pull() {
+        try {
+            if (this.enumerator == null)
+                this.enumerator = this.source.enumerator();
+            if (this.enumerator.moveNext()) {
+                this.add(this.enumerator.current());
+                return;
+            }
+        } catch (RuntimeException e) {
+            this.error = e;
+            IEnumerator<TSource> enumerator = this.enumerator;
+            this.enumerator = null;
+            this.source = null;
+            if (enumerator != null) {
+                try {
+                    enumerator.close();
+                } catch (RuntimeException closeError) {
+                    e.addSuppressed(closeError);
+                }
+            }
+            throw e;
+        }
+
+        this.enumerator.close();
+        this.enumerator = null;
+        this.source = null;
+        this.completed = true;
+    }
+
+    private void add(TSource item) {
+        int index = this.count;
+        int newCount = Math.addExact(index, 1);
+        int chunkIndex = chunkIndex(index);
+        Object[] chunk = this.chunks[chunkIndex];
+        if (chunk == null) {
+            int start = chunkStart(chunkIndex);
+            chunk = new Object[(int) Math.min((long) FIRST_CHUNK_SIZE << chunkIndex, (long) Integer.MAX_VALUE - start)];
+            this.chunks[chunkIndex] = chunk;
+        }
+        chunk[index - chunkStart(chunkIndex)] = item;
+        this.count = newCount;
+    }
+
+    private void copyTo(Object[] array, int count) {
+        for (int chunkIndex = 0, copied = 0; copied < count; chunkIndex++) {
+            Object[] chunk = this.chunks[chunkIndex];
+            int length = Math.min(chunk.length, count - copied);
+            System.arraycopy(chunk, 0, array, copied, length);
+            copied += length;
+        }
+    }
+
+    @Override
+    public IEnumerator<TSource> enumerator() {
+        return new MemoizedEnumerator<>(this);
+    }
+
+    @Override
+    public TSource[] _toArray(Class<TSource> clazz) {
+        this.fillAll();
+        int count = this.count;
+        TSource[] array = ArrayUtils.newInstance(clazz, count);
+        this.copyTo(array, count);
+        return array;
+    }
+
+    @Override
+    public Object[] _toArray() {
+        this.fillAll();
+        int count = this.count;
+        Object[] array = new Object[count];
+        this.copyTo(array, count);
+        return array;
+    }
+
+    @Override
+    public List<TSource> _toList() {
+        this.fillAll();
+        int count = this.count;
+        List<TSource> list = new ArrayList<>(count);
+        for (int chunkIndex = 0, added = 0; added < count; chunkIndex++) {
+            Object[] chunk = this.chunks[chunkIndex];
+            int length = Math.min(chunk.length, count - added);
+            for (int i = 0; i < length; i++)
+                list.add((TSource) chunk[i]);
+            added += length;
+        }
+        return list;
+    }
+
+    @Override
+    public int _getCount(boolean onlyIfCheap) {
+        if (this.completed)
+            return this.count;
+        if (onlyIfCheap)
+            return -1;
+        this.fillAll();
+        return this.count;
+    }
+}
+
+
+final class MemoizedEnumerator<TSource> extends AbstractEnumerator<TSource> {
+    private final MemoizedEnumerable<TSource> source;
+    private int index;
+
+    MemoizedEnumerator(MemoizedEnumerable<TSource> source) {
+        this.source = source;
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 0:
+                this.index = 0;
+                this.state = 1;
+            case 1:
+                if (this.source.has(this.index)) {
+                    this.current = this.source.get(this.index++);
+                    return true;
+                }
+                this.close();
+                return false;
+            default:
+                return false;
+        }
+    }
+}
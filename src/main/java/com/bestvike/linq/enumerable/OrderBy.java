@@ -1,11 +1,16 @@
 package com.bestvike.linq.enumerable;
 
+import com.bestvike.function.DoubleFunc1;
 import com.bestvike.function.Func1;
+import com.bestvike.function.IntFunc1;
+import com.bestvike.function.LongFunc1;
 import com.bestvike.linq.IEnumerable;
 import com.bestvike.linq.IOrderedEnumerable;
+import com.bestvike.linq.ISerializer;
 import com.bestvike.linq.exception.ExceptionArgument;
 import com.bestvike.linq.exception.ThrowHelper;
 
+import java.nio.file.Path;
 import java.util.Comparator;
 
 /**
@@ -31,6 +36,30 @@ public final class OrderBy {
         return new OrderedEnumerable<>(source, keySelector, comparer, true, null);
     }
 
+    public static <TSource> IOrderedEnumerable<TSource> orderByInt(IEnumerable<TSource> source, IntFunc1<TSource> keySelector) {
+        return new IntOrderedEnumerable<>(source, keySelector, false, null);
+    }
+
+    public static <TSource> IOrderedEnumerable<TSource> orderByDescendingInt(IEnumerable<TSource> source, IntFunc1<TSource> keySelector) {
+        return new IntOrderedEnumerable<>(source, keySelector, true, null);
+    }
+
+    public static <TSource> IOrderedEnumerable<TSource> orderByLong(IEnumerable<TSource> source, LongFunc1<TSource> keySelector) {
+        return new LongOrderedEnumerable<>(source, keySelector, false, null);
+    }
+
+    public static <TSource> IOrderedEnumerable<TSource> orderByDescendingLong(IEnumerable<TSource> source, LongFunc1<TSource> keySelector) {
+        return new LongOrderedEnumerable<>(source, keySelector, true, null);
+    }
+
+    public static <TSource> IOrderedEnumerable<TSource> orderByDouble(IEnumerable<TSource> source, DoubleFunc1<TSource> keySelector) {
+        return new DoubleOrderedEnumerable<>(source, keySelector, false, null);
+    }
+
+    public static <TSource> IOrderedEnumerable<TSource> orderByDescendingDouble(IEnumerable<TSource> source, DoubleFunc1<TSource> keySelector) {
+        return new DoubleOrderedEnumerable<>(source, keySelector, true, null);
+    }
+
     public static <TSource, TKey> IOrderedEnumerable<TSource> thenBy(IOrderedEnumerable<TSource> source, Func1<TSource, TKey> keySelector) {
         if (source == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
@@ -58,4 +87,133 @@ public final class OrderBy {
 
         return source.createOrderedEnumerable(keySelector, comparer, true);
     }
+
+    public static <TSource> IOrderedEnumerable<TSource> thenByInt(IOrderedEnumerable<TSource> source, IntFunc1<TSource> keySelector) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (keySelector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.keySelector);
+
+        if (source instanceof AbstractOrderedEnumerable) {
+            AbstractOrderedEnumerable<TSource> ordered = (AbstractOrderedEnumerable<TSource>) source;
+            return new IntOrderedEnumerable<>(ordered.source, keySelector, false, ordered);
+        }
+
+        return source.createOrderedEnumerable(keySelector::apply, null, false);
+    }
+
+    public static <TSource> IOrderedEnumerable<TSource> thenByDescendingInt(IOrderedEnumerable<TSource> source, IntFunc1<TSource> keySelector) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (keySelector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.keySelector);
+
+        if (source instanceof AbstractOrderedEnumerable) {
+            AbstractOrderedEnumerable<TSource> ordered = (AbstractOrderedEnumerable<TSource>) source;
+            return new IntOrderedEnumerable<>(ordered.source, keySelector, true, ordered);
+        }
+
+        return source.createOrderedEnumerable(keySelector::apply, null, true);
+    }
+
+    public static <TSource> IOrderedEnumerable<TSource> thenByLong(IOrderedEnumerable<TSource> source, LongFunc1<TSource> keySelector) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (keySelector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.keySelector);
+
+        if (source instanceof AbstractOrderedEnumerable) {
+            AbstractOrderedEnumerable<TSource> ordered = (AbstractOrderedEnumerable<TSource>) source;
+            return new LongOrderedEnumerable<>(ordered.source, keySelector, false, ordered);
+        }
+
+        return source.createOrderedEnumerable(keySelector::apply, null, false);
+    }
+
+    public static <TSource> IOrderedEnumerable<TSource> thenByDescendingLong(IOrderedEnumerable<TSource> source, LongFunc1<TSource> keySelector) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (keySelector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.keySelector);
+
+        if (source instanceof AbstractOrderedEnumerable) {
+            AbstractOrderedEnumerable<TSource> ordered = (AbstractOrderedEnumerable<TSource>) source;
+            return new LongOrderedEnumerable<>(ordered.source, keySelector, true, ordered);
+        }
+
+        return source.createOrderedEnumerable(keySelector::apply, null, true);
+    }
+
+    public static <TSource> IOrderedEnumerable<TSource> thenByDouble(IOrderedEnumerable<TSource> source, DoubleFunc1<TSource> keySelector) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (keySelector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.keySelector);
+
+        if (source instanceof AbstractOrderedEnumerable) {
+            AbstractOrderedEnumerable<TSource> ordered = (AbstractOrderedEnumerable<TSource>) source;
+            return new DoubleOrderedEnumerable<>(ordered.source, keySelector, false, ordered);
+        }
+
+        return source.createOrderedEnumerable(keySelector::apply, null, false);
+    }
+
+    public static <TSource> IOrderedEnumerable<TSource> thenByDescendingDouble(IOrderedEnumerable<TSource> source, DoubleFunc1<TSource> keySelector) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (keySelector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.keySelector);
+
+        if (source instanceof AbstractOrderedEnumerable) {
+            AbstractOrderedEnumerable<TSource> ordered = (AbstractOrderedEnumerable<TSource>) source;
+            return new DoubleOrderedEnumerable<>(ordered.source, keySelector, true, ordered);
+        }
+
+        return source.createOrderedEnumerable(keySelector::apply, null, true);
+    }
+
+    public static <TSource> IOrderedEnumerable<TSource> external(IOrderedEnumerable<TSource> source, ISerializer<TSource> serializer) {
+        return external(source, serializer, SpillOptions.DEFAULT_BUDGET, null);
+    }
+
+    public static <TSource> IOrderedEnumerable<TSource> external(IOrderedEnumerable<TSource> source, ISerializer<TSource> serializer, int runSize) {
+        return external(source, serializer, runSize, null);
+    }
+
+    public static <TSource> IOrderedEnumerable<TSource> external(IOrderedEnumerable<TSource> source, ISerializer<TSource> serializer, int runSize, Path directory) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (serializer == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.serializer);
+        if (runSize < 1)
+            ThrowHelper.throwArgumentOutOfRangeException(ExceptionArgument.runSize);
+
+        if (source instanceof AbstractOrderedEnumerable)
+            return new ExternalOrderedEnumerable<>((AbstractOrderedEnumerable<TSource>) source, new SpillOptions<>(serializer, runSize, directory));
+        return source;
+    }
+
+    public static <TSource> IOrderedEnumerable<TSource> lazy(IOrderedEnumerable<TSource> source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        if (source instanceof AbstractOrderedEnumerable)
+            return new LazyOrderedEnumerable<>((AbstractOrderedEnumerable<TSource>) source);
+        return source;
+    }
+
+    public static <TSource> IOrderedEnumerable<TSource> parallel(IOrderedEnumerable<TSource> source) {
+        return parallel(source, ParallelOrderedEnumerable.DEFAULT_THRESHOLD);
+    }
+
+    public static <TSource> IOrderedEnumerable<TSource> parallel(IOrderedEnumerable<TSource> source, int threshold) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (threshold < 1)
+            ThrowHelper.throwArgumentOutOfRangeException(ExceptionArgument.threshold);
+
+        if (source instanceof AbstractOrderedEnumerable)
+            return new ParallelOrderedEnumerable<>((AbstractOrderedEnumerable<TSource>) source, threshold);
+        return source;
+    }
 }
@@ -0,0 +1,48 @@
+package com.bestvike.linq.enumerable;
+
+import com.bestvike.function.Func1;
+import com.bestvike.linq.IEnumerable;
+import com.bestvike.linq.IOrderedEnumerable;
+import com.bestvike.linq.exception.ExceptionArgument;
+import com.bestvike.linq.exception.ThrowHelper;
+
+import java.util.Comparator;
+
+/**
+ * A {@link QueryTemplate} ending with an ordering, which can be refined by further keys.
+ * <p>
+ * Created by 许崇雷 on 2026-10-18.
+ */
+@SuppressWarnings("unchecked")
+public final class OrderedQueryTemplate<TIn, TOut> extends QueryTemplate<TIn, TOut> {
+    OrderedQueryTemplate(Func1<IEnumerable<Object>, IEnumerable<Object>>[] stages) {
+        super(stages);
+    }
+
+    @Override
+    public IOrderedEnumerable<TOut> bind(IEnumerable<TIn> source) {
+        return (IOrderedEnumerable<TOut>) super.bind(source);
+    }
+
+    public <TKey> OrderedQueryTemplate<TIn, TOut> thenBy(Func1<? super TOut, ? extends TKey> keySelector) {
+        return this.thenBy(keySelector, null);
+    }
+
+    public <TKey> OrderedQueryTemplate<TIn, TOut> thenBy(Func1<? super TOut, ? extends TKey> keySelector, Comparator<? super TKey> comparer) {
+        if (keySelector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.keySelector);
+
+        return new OrderedQueryTemplate<>(append(this.stages, source -> ((IOrderedEnumerable<Object>) source).thenBy((Func1<Object, TKey>) keySelector, comparer)));
+    }
+
+    public <TKey> OrderedQueryTemplate<TIn, TOut> thenByDescending(Func1<? super TOut, ? extends TKey> keySelector) {
+        return this.thenByDescending(keySelector, null);
+    }
+
+    public <TKey> OrderedQueryTemplate<TIn, TOut> thenByDescending(Func1<? super TOut, ? extends TKey> keySelector, Comparator<? super TKey> comparer) {
+        if (keySelector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.keySelector);
+
+        return new OrderedQueryTemplate<>(append(this.stages, source -> ((IOrderedEnumerable<Object>) source).thenByDescending((Func1<Object, TKey>) keySelector, comparer)));
+    }
+}
@@ -0,0 +1,1179 @@
+package com.bestvike.linq.enumerable;
+
+import com.bestvike.IDisposable;
+import com.bestvike.collections.generic.Array;
+import com.bestvike.collections.generic.IArrayList;
+import com.bestvike.collections.generic.IEqualityComparer;
+import com.bestvike.function.DoubleFunc1;
+import com.bestvike.function.Func0;
+import com.bestvike.function.Func1;
+import com.bestvike.function.Func2;
+import com.bestvike.function.IntFunc1;
+import com.bestvike.function.LongFunc1;
+import com.bestvike.function.Predicate0;
+import com.bestvike.function.Predicate1;
+import com.bestvike.linq.IEnumerable;
+import com.bestvike.linq.IEnumerator;
+import com.bestvike.linq.IGrouping;
+import com.bestvike.linq.ILookup;
+import com.bestvike.linq.IParallelEnumerable;
+import com.bestvike.linq.exception.ExceptionArgument;
+import com.bestvike.linq.exception.ThrowHelper;
+import com.bestvike.linq.util.ArrayUtils;
+import com.bestvike.linq.util.ListUtils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Created by 许崇雷 on 2026-10-18.
+ */
+public final class ParallelEnumerable {
+    // Upper bound of the degree of parallelism, as in PLINQ.
+    private static final int MAX_DEGREE_OF_PARALLELISM = 512;
+
+    private ParallelEnumerable() {
+    }
+
+    public static <TSource> IParallelEnumerable<TSource> asParallel(IEnumerable<TSource> source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        if (source instanceof IParallelEnumerable)
+            return (IParallelEnumerable<TSource>) source;
+        return new ParallelSourceIterator<>(source, ParallelOptions.DEFAULT);
+    }
+
+    // Keeps results in source order for every source, enumerator() then streams them through a bounded reorder window instead of buffering the whole result.
+    public static <TSource> IParallelEnumerable<TSource> asOrdered(IParallelEnumerable<TSource> source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        ParallelIterator<TSource> iterator = iterator(source);
+        return iterator.withOptions(iterator.options.withOrdered(true));
+    }
+
+    public static <TSource> IParallelEnumerable<TSource> asUnordered(IParallelEnumerable<TSource> source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        ParallelIterator<TSource> iterator = iterator(source);
+        return iterator.withOptions(iterator.options.withOrdered(false));
+    }
+
+    public static <TSource> IEnumerable<TSource> asSequential(IParallelEnumerable<TSource> source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        if (source instanceof ParallelSourceIterator)
+            return ((ParallelSourceIterator<TSource>) source).source;
+        return new ParallelSequentialIterator<>(source);
+    }
+
+    public static <TSource> IParallelEnumerable<TSource> withCancellation(IParallelEnumerable<TSource> source, Predicate0 cancellationRequested) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (cancellationRequested == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.cancellationRequested);
+
+        ParallelIterator<TSource> iterator = iterator(source);
+        return iterator.withOptions(iterator.options.withCancellation(cancellationRequested));
+    }
+
+    public static <TSource> IParallelEnumerable<TSource> withDegreeOfParallelism(IParallelEnumerable<TSource> source, int degreeOfParallelism) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (degreeOfParallelism < 1 || degreeOfParallelism > MAX_DEGREE_OF_PARALLELISM)
+            ThrowHelper.throwArgumentOutOfRangeException(ExceptionArgument.degreeOfParallelism);
+
+        ParallelIterator<TSource> iterator = iterator(source);
+        return iterator.withOptions(iterator.options.withDegreeOfParallelism(degreeOfParallelism));
+    }
+
+    public static <TSource> IParallelEnumerable<TSource> withExecutor(IParallelEnumerable<TSource> source, ForkJoinPool pool) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (pool == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.pool);
+
+        ParallelIterator<TSource> iterator = iterator(source);
+        return iterator.withOptions(iterator.options.withPool(pool));
+    }
+
+    public static <TSource> IParallelEnumerable<TSource> where(IParallelEnumerable<TSource> source, Predicate1<TSource> predicate) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (predicate == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.predicate);
+
+        return new ParallelWhereIterator<>(iterator(source), predicate);
+    }
+
+    public static <TSource, TResult> IParallelEnumerable<TResult> select(IParallelEnumerable<TSource> source, Func1<TSource, TResult> selector) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (selector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.selector);
+
+        return new ParallelSelectIterator<>(iterator(source), selector);
+    }
+
+    public static <TSource, TResult> IParallelEnumerable<TResult> selectMany(IParallelEnumerable<TSource> source, Func1<TSource, IEnumerable<TResult>> selector) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (selector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.selector);
+
+        return new ParallelSelectManyIterator<>(iterator(source), selector);
+    }
+
+    public static <TSource, TKey> IEnumerable<IGrouping<TKey, TSource>> groupBy(IParallelEnumerable<TSource> source, Func1<TSource, TKey> keySelector, IEqualityComparer<TKey> comparer) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (keySelector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.keySelector);
+
+        return new ParallelGroupedEnumerable<>(iterator(source), keySelector, null, comparer);
+    }
+
+    public static <TSource, TKey, TElement> IEnumerable<IGrouping<TKey, TElement>> groupBy(IParallelEnumerable<TSource> source, Func1<TSource, TKey> keySelector, Func1<TSource, TElement> elementSelector, IEqualityComparer<TKey> comparer) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (keySelector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.keySelector);
+        if (elementSelector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.elementSelector);
+
+        return new ParallelGroupedEnumerable<>(iterator(source), keySelector, elementSelector, comparer);
+    }
+
+    // func must be associative, partitions are reduced in parallel and their results are combined in partition order.
+    public static <TSource> TSource aggregate(IParallelEnumerable<TSource> source, Func2<TSource, TSource, TSource> func) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (func == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.func);
+
+        List<PartitionResult<TSource>> results = iterator(source).execute(partition -> {
+            try (IEnumerator<TSource> e = partition.enumerator()) {
+                if (!e.moveNext())
+                    return null;
+                TSource result = e.current();
+                while (e.moveNext())
+                    result = func.apply(result, e.current());
+                return new PartitionResult<>(result);
+            }
+        });
+
+        boolean found = false;
+        TSource result = null;
+        for (PartitionResult<TSource> partitionResult : results) {
+            if (partitionResult == null)
+                continue;
+            result = found ? func.apply(result, partitionResult.value) : partitionResult.value;
+            found = true;
+        }
+        if (!found)
+            ThrowHelper.throwNoElementsException();
+        return result;
+    }
+
+    public static <TSource, TAccumulate, TResult> TResult aggregate(IParallelEnumerable<TSource> source, Func0<TAccumulate> seedFactory, Func2<TAccumulate, TSource, TAccumulate> updateAccumulatorFunc, Func2<TAccumulate, TAccumulate, TAccumulate> combineAccumulatorsFunc, Func1<TAccumulate, TResult> resultSelector) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (seedFactory == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.seedFactory);
+        if (updateAccumulatorFunc == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.updateAccumulatorFunc);
+        if (combineAccumulatorsFunc == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.combineAccumulatorsFunc);
+        if (resultSelector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.resultSelector);
+
+        List<TAccumulate> results = iterator(source).execute(partition -> {
+            TAccumulate accumulate = seedFactory.apply();
+            try (IEnumerator<TSource> e = partition.enumerator()) {
+                while (e.moveNext())
+                    accumulate = updateAccumulatorFunc.apply(accumulate, e.current());
+            }
+            return accumulate;
+        });
+
+        if (results.isEmpty())
+            return resultSelector.apply(seedFactory.apply());
+        TAccumulate result = results.get(0);
+        for (int i = 1; i < results.size(); i++)
+            result = combineAccumulatorsFunc.apply(result, results.get(i));
+        return resultSelector.apply(result);
+    }
+
+    public static <TSource> boolean any(IParallelEnumerable<TSource> source) {
+        return any(source, x -> true);
+    }
+
+    public static <TSource> boolean any(IParallelEnumerable<TSource> source, Predicate1<TSource> predicate) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (predicate == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.predicate);
+
+        // once any partition finds a match the others stop at their next element
+        AtomicBoolean found = new AtomicBoolean();
+        iterator(source).execute(partition -> {
+            if (partition.any(x -> found.get() || predicate.apply(x)))
+                found.set(true);
+            return null;
+        });
+        return found.get();
+    }
+
+    public static <TSource> int count(IParallelEnumerable<TSource> source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        int count = 0;
+        for (Integer partitionCount : iterator(source).execute(IEnumerable::count))
+            count = Math.addExact(count, partitionCount);
+        return count;
+    }
+
+    public static <TSource> int count(IParallelEnumerable<TSource> source, Predicate1<TSource> predicate) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (predicate == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.predicate);
+
+        int count = 0;
+        for (Integer partitionCount : iterator(source).execute(partition -> partition.count(predicate)))
+            count = Math.addExact(count, partitionCount);
+        return count;
+    }
+
+    public static int sumInt(IParallelEnumerable<Integer> source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        int sum = 0;
+        for (Integer partitionSum : iterator(source).execute(Sum::sumInt))
+            sum = Math.addExact(sum, partitionSum);
+        return sum;
+    }
+
+    public static long sumLong(IParallelEnumerable<Long> source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        long sum = 0;
+        for (Long partitionSum : iterator(source).execute(Sum::sumLong))
+            sum = Math.addExact(sum, partitionSum);
+        return sum;
+    }
+
+    public static double sumDouble(IParallelEnumerable<Double> source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        double sum = 0;
+        for (Double partitionSum : iterator(source).execute(Sum::sumDouble))
+            sum += partitionSum;
+        return sum;
+    }
+
+    public static <TSource> int sumInt(IParallelEnumerable<TSource> source, IntFunc1<TSource> selector) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (selector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.selector);
+
+        int sum = 0;
+        for (Integer partitionSum : iterator(source).execute(partition -> Sum.sumInt(partition, selector)))
+            sum = Math.addExact(sum, partitionSum);
+        return sum;
+    }
+
+    public static <TSource> long sumLong(IParallelEnumerable<TSource> source, LongFunc1<TSource> selector) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (selector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.selector);
+
+        long sum = 0;
+        for (Long partitionSum : iterator(source).execute(partition -> Sum.sumLong(partition, selector)))
+            sum = Math.addExact(sum, partitionSum);
+        return sum;
+    }
+
+    public static <TSource> double sumDouble(IParallelEnumerable<TSource> source, DoubleFunc1<TSource> selector) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (selector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.selector);
+
+        double sum = 0;
+        for (Double partitionSum : iterator(source).execute(partition -> Sum.sumDouble(partition, selector)))
+            sum += partitionSum;
+        return sum;
+    }
+
+    public static <TSource> Array<TSource> toArray(IParallelEnumerable<TSource> source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        Object[] elements = iterator(source).executeToArray();
+        return elements.length == 0 ? Array.empty() : new Array<>(elements);
+    }
+
+    public static <TSource> TSource[] toArray(IParallelEnumerable<TSource> source, Class<TSource> clazz) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (clazz == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.clazz);
+
+        return ArrayUtils.toArray(iterator(source).executeToArray(), clazz);
+    }
+
+    public static <TSource, TKey> ILookup<TKey, TSource> toLookup(IParallelEnumerable<TSource> source, Func1<TSource, TKey> keySelector, IEqualityComparer<TKey> comparer) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (keySelector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.keySelector);
+
+        return lookup(iterator(source), keySelector, null, comparer);
+    }
+
+    public static <TSource, TKey, TElement> ILookup<TKey, TElement> toLookup(IParallelEnumerable<TSource> source, Func1<TSource, TKey> keySelector, Func1<TSource, TElement> elementSelector, IEqualityComparer<TKey> comparer) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (keySelector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.keySelector);
+        if (elementSelector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.elementSelector);
+
+        return lookup(iterator(source), keySelector, elementSelector, comparer);
+    }
+
+    // Builds one lookup per partition, or per chunk for chunked sources, and merges them in source order.
+    // A null elementSelector groups the source elements themselves.
+    static <TSource, TKey, TElement> Lookup<TKey, TElement> lookup(ParallelIterator<TSource> source, Func1<TSource, TKey> keySelector, Func1<TSource, TElement> elementSelector, IEqualityComparer<TKey> comparer) {
+        List<Lookup<TKey, TElement>> lookups = source.executeOrdered(partition -> elementSelector == null
+                ? (Lookup<TKey, TElement>) Lookup.create(partition, keySelector, comparer)
+                : Lookup.create(partition, keySelector, elementSelector, comparer));
+        return Lookup.merge(lookups, comparer);
+    }
+
+    public static <TSource> List<TSource> toList(IParallelEnumerable<TSource> source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        return iterator(source).executeToList();
+    }
+
+    private static <TSource> ParallelIterator<TSource> iterator(IParallelEnumerable<TSource> source) {
+        return source instanceof ParallelIterator ? (ParallelIterator<TSource>) source : new ParallelSourceIterator<>(source, ParallelOptions.DEFAULT);
+    }
+
+
+    private static final class PartitionResult<TSource> {
+        private final TSource value;
+
+        private PartitionResult(TSource value) {
+            this.value = value;
+        }
+    }
+}
+
+
+final class ParallelGroupedEnumerable<TSource, TKey, TElement> implements IIListProvider<IGrouping<TKey, TElement>> {
+    private final ParallelIterator<TSource> source;
+    private final Func1<TSource, TKey> keySelector;
+    private final Func1<TSource, TElement> elementSelector;// null groups the source elements themselves
+    private final IEqualityComparer<TKey> comparer;
+
+    ParallelGroupedEnumerable(ParallelIterator<TSource> source, Func1<TSource, TKey> keySelector, Func1<TSource, TElement> elementSelector, IEqualityComparer<TKey> comparer) {
+        this.source = source;
+        this.keySelector = keySelector;
+        this.elementSelector = elementSelector;
+        this.comparer = comparer;
+    }
+
+    private Lookup<TKey, TElement> lookup() {
+        return ParallelEnumerable.lookup(this.source, this.keySelector, this.elementSelector, this.comparer);
+    }
+
+    @Override
+    public IEnumerator<IGrouping<TKey, TElement>> enumerator() {
+        return this.lookup().enumerator();
+    }
+
+    @Override
+    public IGrouping<TKey, TElement>[] _toArray(Class<IGrouping<TKey, TElement>> clazz) {
+        return this.lookup()._toArray(clazz);
+    }
+
+    @Override
+    public Object[] _toArray() {
+        return this.lookup()._toArray();
+    }
+
+    @Override
+    public List<IGrouping<TKey, TElement>> _toList() {
+        return this.lookup()._toList();
+    }
+
+    @Override
+    public int _getCount(boolean onlyIfCheap) {
+        return onlyIfCheap ? -1 : this.lookup().getCount();
+    }
+}
+
+
+final class ParallelOptions {
+    static final ParallelOptions DEFAULT = new ParallelOptions(null, 0, null, false);
+
+    private final ForkJoinPool pool;// null runs on the common pool
+    private final int degreeOfParallelism;// 0 uses the parallelism of the pool
+    final Predicate0 cancellationRequested;
+    final boolean ordered;
+
+    private ParallelOptions(ForkJoinPool pool, int degreeOfParallelism, Predicate0 cancellationRequested, boolean ordered) {
+        this.pool = pool;
+        this.degreeOfParallelism = degreeOfParallelism;
+        this.cancellationRequested = cancellationRequested;
+        this.ordered = ordered;
+    }
+
+    ForkJoinPool getPool() {
+        return this.pool == null ? ForkJoinPool.commonPool() : this.pool;
+    }
+
+    int getDegreeOfParallelism() {
+        return this.degreeOfParallelism == 0 ? this.getPool().getParallelism() : this.degreeOfParallelism;
+    }
+
+    ParallelOptions withPool(ForkJoinPool pool) {
+        return new ParallelOptions(pool, this.degreeOfParallelism, this.cancellationRequested, this.ordered);
+    }
+
+    ParallelOptions withDegreeOfParallelism(int degreeOfParallelism) {
+        return new ParallelOptions(this.pool, degreeOfParallelism, this.cancellationRequested, this.ordered);
+    }
+
+    ParallelOptions withCancellation(Predicate0 cancellationRequested) {
+        return new ParallelOptions(this.pool, this.degreeOfParallelism, cancellationRequested, this.ordered);
+    }
+
+    ParallelOptions withOrdered(boolean ordered) {
+        return new ParallelOptions(this.pool, this.degreeOfParallelism, this.cancellationRequested, ordered);
+    }
+}
+
+
+// A fixed set of sequential partitions that together enumerate the source of a parallel query once.
+// Index range partitions are in source order, chunk partitions interleave.
+final class ParallelPartitions<TSource> implements IDisposable {
+    final List<IEnumerable<TSource>> partitions;
+    private final IDisposable owner;
+
+    ParallelPartitions(List<IEnumerable<TSource>> partitions, IDisposable owner) {
+        this.partitions = partitions;
+        this.owner = owner;
+    }
+
+    <TResult> ParallelPartitions<TResult> select(Func1<IEnumerable<TSource>, IEnumerable<TResult>> selector) {
+        List<IEnumerable<TResult>> partitions = new ArrayList<>(this.partitions.size());
+        for (IEnumerable<TSource> partition : this.partitions)
+            partitions.add(selector.apply(partition));
+        return new ParallelPartitions<>(partitions, this.owner);
+    }
+
+    @Override
+    public void close() {
+        if (this.owner != null)
+            this.owner.close();
+    }
+}
+
+
+abstract class ParallelIterator<TSource> implements IParallelEnumerable<TSource> {
+    final ParallelOptions options;
+
+    ParallelIterator(ParallelOptions options) {
+        this.options = options;
+    }
+
+    abstract ParallelIterator<TSource> withOptions(ParallelOptions options);
+
+    abstract ParallelSourceIterator<?> root();
+
+    // Applies the operators of this query to a sequential part of its source.
+    abstract IEnumerable<TSource> apply(IEnumerable<?> input);
+
+    ParallelPartitions<TSource> partitions(int count) {
+        return this.root().partitions(count).select(this::apply);
+    }
+
+    @Override
+    public IEnumerator<TSource> enumerator() {
+        return this.options.ordered ? new ParallelOrderedEnumerator<>(this) : new ParallelBufferedEnumerator<>(this);
+    }
+
+    // Runs body over every partition, one task per partition on the pool, and returns the results in partition order.
+    <TResult> List<TResult> execute(Func1<IEnumerable<TSource>, TResult> body) {
+        try (ParallelPartitions<TSource> partitions = this.partitions(this.options.getDegreeOfParallelism())) {
+            List<IEnumerable<TSource>> list = partitions.partitions;
+            switch (list.size()) {
+                case 0:
+                    return ListUtils.empty();
+                case 1:
+                    return ListUtils.singleton(body.apply(list.get(0)));
+                default:
+                    return this.options.getPool().invoke(new ParallelTask<>(list, body));
+            }
+        }
+    }
+
+    // Like execute, but the results are in source order for chunked sources too, which are then cut into consecutive chunks instead of interleaved partitions.
+    <TResult> List<TResult> executeOrdered(Func1<IEnumerable<TSource>, TResult> body) {
+        if (this.root().isIndexed())
+            return this.execute(body);
+
+        List<TResult> results = new ArrayList<>();
+        try (IEnumerator<TResult> e = new ParallelChunkWindow<>(this, body)) {
+            while (e.moveNext())
+                results.add(e.current());
+        }
+        return results;
+    }
+
+    List<TSource> executeToList() {
+        List<List<TSource>> results = this.options.ordered ? this.executeOrdered(IEnumerable::toList) : this.execute(IEnumerable::toList);
+        int count = 0;
+        for (List<TSource> result : results)
+            count = Math.addExact(count, result.size());
+        List<TSource> list = new ArrayList<>(count);
+        for (List<TSource> result : results)
+            list.addAll(result);
+        return list;
+    }
+
+    Object[] executeToArray() {
+        List<Object[]> results = this.options.ordered ? this.executeOrdered(ToCollection::toArray) : this.execute(ToCollection::toArray);
+        int count = 0;
+        for (Object[] result : results)
+            count = Math.addExact(count, result.length);
+        if (count == 0)
+            return ArrayUtils.empty();
+        Object[] array = new Object[count];
+        int index = 0;
+        for (Object[] result : results) {
+            System.arraycopy(result, 0, array, index, result.length);
+            index += result.length;
+        }
+        return array;
+    }
+
+
+    private static final class ParallelTask<TSource, TResult> extends RecursiveTask<List<TResult>> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<IEnumerable<TSource>> partitions;
+        private final Func1<IEnumerable<TSource>, TResult> body;
+
+        private ParallelTask(List<IEnumerable<TSource>> partitions, Func1<IEnumerable<TSource>, TResult> body) {
+            this.partitions = partitions;
+            this.body = body;
+        }
+
+        @Override
+        protected List<TResult> compute() {
+            List<PartitionTask<TSource, TResult>> tasks = new ArrayList<>(this.partitions.size());
+            for (IEnumerable<TSource> partition : this.partitions)
+                tasks.add(new PartitionTask<>(partition, this.body));
+            invokeAll(tasks);
+            List<TResult> results = new ArrayList<>(tasks.size());
+            for (PartitionTask<TSource, TResult> task : tasks)
+                results.add(task.join());
+            return results;
+        }
+    }
+
+
+    private static final class PartitionTask<TSource, TResult> extends RecursiveTask<TResult> {
+        private static final long serialVersionUID = 1L;
+
+        private final IEnumerable<TSource> partition;
+        private final Func1<IEnumerable<TSource>, TResult> body;
+
+        private PartitionTask(IEnumerable<TSource> partition, Func1<IEnumerable<TSource>, TResult> body) {
+            this.partition = partition;
+            this.body = body;
+        }
+
+        @Override
+        protected TResult compute() {
+            return this.body.apply(this.partition);
+        }
+    }
+}
+
+
+final class ParallelSourceIterator<TSource> extends ParallelIterator<TSource> {
+    final IEnumerable<TSource> source;
+
+    ParallelSourceIterator(IEnumerable<TSource> source, ParallelOptions options) {
+        super(options);
+        this.source = source;
+    }
+
+    @Override
+    ParallelIterator<TSource> withOptions(ParallelOptions options) {
+        return new ParallelSourceIterator<>(this.source, options);
+    }
+
+    @Override
+    ParallelSourceIterator<?> root() {
+        return this;
+    }
+
+    @Override
+    IEnumerable<TSource> apply(IEnumerable<?> input) {
+        //noinspection unchecked
+        return (IEnumerable<TSource>) input;
+    }
+
+    // Whether partitions are index ranges, which keeps results in source order.
+    boolean isIndexed() {
+        return this.source instanceof IArrayList || (this.source instanceof IPartition && IPartition.isIndexable((IPartition<TSource>) this.source));
+    }
+
+    ParallelChunker<TSource> chunker() {
+        return new ParallelChunker<>(this.source, this.options.cancellationRequested);
+    }
+
+    @Override
+    ParallelPartitions<TSource> partitions(int count) {
+        List<IEnumerable<TSource>> partitions = new ArrayList<>(count);
+        IDisposable owner = null;
+        if (this.source instanceof IArrayList) {
+            IArrayList<TSource> list = (IArrayList<TSource>) this.source;
+            int size = list._getCount();
+            int parts = Math.min(count, size);
+            for (int i = 0; i < parts; i++) {
+                int min = (int) ((long) size * i / parts);
+                int max = (int) ((long) size * (i + 1) / parts) - 1;
+                partitions.add(new ListPartition<>(list, min, max));
+            }
+        } else if (this.source instanceof IPartition && IPartition.isIndexable((IPartition<TSource>) this.source)) {
+            IPartition<TSource> partition = (IPartition<TSource>) this.source;
+            int size = partition._getCount(true);
+            int parts = Math.min(count, size);
+            for (int i = 0; i < parts; i++) {
+                int min = (int) ((long) size * i / parts);
+                int max = (int) ((long) size * (i + 1) / parts);
+                partitions.add(min == 0 ? partition._take(max) : partition._skip(min)._take(max - min));
+            }
+        } else {
+            ChunkPartitioner<TSource> partitioner = new ChunkPartitioner<>(this.source);
+            for (int i = 0; i < count; i++)
+                partitions.add(new ChunkPartition<>(partitioner));
+            owner = partitioner;
+        }
+
+        Predicate0 cancellationRequested = this.options.cancellationRequested;
+        if (cancellationRequested != null) {
+            for (int i = 0; i < partitions.size(); i++)
+                partitions.set(i, new CancellableIterator<>(partitions.get(i), cancellationRequested));
+        }
+        return new ParallelPartitions<>(partitions, owner);
+    }
+}
+
+
+final class ParallelWhereIterator<TSource> extends ParallelIterator<TSource> {
+    private final ParallelIterator<TSource> source;
+    private final Predicate1<TSource> predicate;
+
+    ParallelWhereIterator(ParallelIterator<TSource> source, Predicate1<TSource> predicate) {
+        super(source.options);
+        this.source = source;
+        this.predicate = predicate;
+    }
+
+    @Override
+    ParallelIterator<TSource> withOptions(ParallelOptions options) {
+        return new ParallelWhereIterator<>(this.source.withOptions(options), this.predicate);
+    }
+
+    @Override
+    ParallelSourceIterator<?> root() {
+        return this.source.root();
+    }
+
+    @Override
+    IEnumerable<TSource> apply(IEnumerable<?> input) {
+        return this.source.apply(input).where(this.predicate);
+    }
+}
+
+
+final class ParallelSelectIterator<TSource, TResult> extends ParallelIterator<TResult> {
+    private final ParallelIterator<TSource> source;
+    private final Func1<TSource, TResult> selector;
+
+    ParallelSelectIterator(ParallelIterator<TSource> source, Func1<TSource, TResult> selector) {
+        super(source.options);
+        this.source = source;
+        this.selector = selector;
+    }
+
+    @Override
+    ParallelIterator<TResult> withOptions(ParallelOptions options) {
+        return new ParallelSelectIterator<>(this.source.withOptions(options), this.selector);
+    }
+
+    @Override
+    ParallelSourceIterator<?> root() {
+        return this.source.root();
+    }
+
+    @Override
+    IEnumerable<TResult> apply(IEnumerable<?> input) {
+        return this.source.apply(input).select(this.selector);
+    }
+}
+
+
+final class ParallelSelectManyIterator<TSource, TResult> extends ParallelIterator<TResult> {
+    private final ParallelIterator<TSource> source;
+    private final Func1<TSource, IEnumerable<TResult>> selector;
+
+    ParallelSelectManyIterator(ParallelIterator<TSource> source, Func1<TSource, IEnumerable<TResult>> selector) {
+        super(source.options);
+        this.source = source;
+        this.selector = selector;
+    }
+
+    @Override
+    ParallelIterator<TResult> withOptions(ParallelOptions options) {
+        return new ParallelSelectManyIterator<>(this.source.withOptions(options), this.selector);
+    }
+
+    @Override
+    ParallelSourceIterator<?> root() {
+        return this.source.root();
+    }
+
+    @Override
+    IEnumerable<TResult> apply(IEnumerable<?> input) {
+        return this.source.apply(input).selectMany(this.selector);
+    }
+}
+
+
+// Pulls chunks from one shared source enumerator, the chunk size doubles per partition so small sources still spread out.
+final class ChunkPartitioner<TSource> implements IDisposable {
+    private static final int INITIAL_CHUNK_SIZE = 1;
+    private static final int MAX_CHUNK_SIZE = 512;
+
+    private final IEnumerable<TSource> source;
+    private IEnumerator<TSource> enumerator;
+    private boolean done;
+
+    ChunkPartitioner(IEnumerable<TSource> source) {
+        this.source = source;
+    }
+
+    static int nextChunkSize(int chunkSize) {
+        return chunkSize == 0 ? INITIAL_CHUNK_SIZE : Math.min(chunkSize << 1, MAX_CHUNK_SIZE);
+    }
+
+    // Fills the chunk from the source and returns the number of elements pulled, 0 once the source is exhausted.
+    synchronized int fill(Object[] chunk, int chunkSize) {
+        if (this.done)
+            return 0;
+        if (this.enumerator == null)
+            this.enumerator = this.source.enumerator();
+
+        int count = 0;
+        try {
+            while (count < chunkSize && this.enumerator.moveNext())
+                chunk[count++] = this.enumerator.current();
+        } catch (RuntimeException e) {
+            this.close();
+            throw e;
+        }
+        if (count < chunkSize)
+            this.close();
+        return count;
+    }
+
+    @Override
+    public synchronized void close() {
+        this.done = true;
+        if (this.enumerator != null) {
+            this.enumerator.close();
+            this.enumerator = null;
+        }
+    }
+}
+
+
+final class ChunkPartition<TSource> extends Iterator<TSource> {
+    private final ChunkPartitioner<TSource> partitioner;
+    private Object[] chunk;
+    private int chunkCount;
+    private int chunkIndex;
+
+    ChunkPartition(ChunkPartitioner<TSource> partitioner) {
+        this.partitioner = partitioner;
+    }
+
+    @Override
+    public Iterator<TSource> clone() {
+        return new ChunkPartition<>(this.partitioner);
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 1:
+                this.chunk = new Object[ChunkPartitioner.nextChunkSize(0)];
+                this.state = 2;
+            case 2:
+                if (this.chunkIndex == this.chunkCount) {
+                    int chunkSize = ChunkPartitioner.nextChunkSize(this.chunkCount);
+                    if (chunkSize > this.chunk.length)
+                        this.chunk = new Object[chunkSize];
+                    this.chunkCount = this.partitioner.fill(this.chunk, chunkSize);
+                    this.chunkIndex = 0;
+                    if (this.chunkCount == 0) {
+                        this.close();
+                        return false;
+                    }
+                }
+                //noinspection unchecked
+                this.current = (TSource) this.chunk[this.chunkIndex++];
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        this.chunk = null;
+        super.close();
+    }
+}
+
+
+final class CancellableIterator<TSource> extends Iterator<TSource> {
+    private final IEnumerable<TSource> source;
+    private final Predicate0 cancellationRequested;
+    private IEnumerator<TSource> enumerator;
+
+    CancellableIterator(IEnumerable<TSource> source, Predicate0 cancellationRequested) {
+        this.source = source;
+        this.cancellationRequested = cancellationRequested;
+    }
+
+    @Override
+    public Iterator<TSource> clone() {
+        return new CancellableIterator<>(this.source, this.cancellationRequested);
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 1:
+                this.enumerator = this.source.enumerator();
+                this.state = 2;
+            case 2:
+                if (this.cancellationRequested.apply())
+                    ThrowHelper.throwOperationCanceledException();
+                if (this.enumerator.moveNext()) {
+                    this.current = this.enumerator.current();
+                    return true;
+                }
+                this.close();
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.enumerator != null) {
+            this.enumerator.close();
+            this.enumerator = null;
+        }
+        super.close();
+    }
+}
+
+
+// Runs the whole query on the first moveNext and then yields the buffered results.
+final class ParallelBufferedEnumerator<TSource> extends AbstractEnumerator<TSource> {
+    private final ParallelIterator<TSource> source;
+    private List<TSource> results;
+    private int index;
+
+    ParallelBufferedEnumerator(ParallelIterator<TSource> source) {
+        this.source = source;
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 0:
+                this.results = this.source.executeToList();
+                this.state = 1;
+            case 1:
+                if (this.index < this.results.size()) {
+                    this.current = this.results.get(this.index++);
+                    return true;
+                }
+                this.close();
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        this.results = null;
+        super.close();
+    }
+}
+
+
+// Splits the source into consecutive chunks in source order, index ranges for indexable sources and copies otherwise.
+final class ParallelChunker<TSource> implements IDisposable {
+    private final IEnumerable<TSource> source;
+    private final Predicate0 cancellationRequested;
+    private IEnumerator<TSource> enumerator;
+    private int count = -1;// -1 until an indexable source is measured
+    private int index;
+    private int chunkSize;
+    private boolean done;
+
+    ParallelChunker(IEnumerable<TSource> source, Predicate0 cancellationRequested) {
+        this.source = source;
+        this.cancellationRequested = cancellationRequested;
+    }
+
+    // Returns the next chunk, null once the source is exhausted.
+    IEnumerable<TSource> next() {
+        if (this.done)
+            return null;
+        this.chunkSize = ChunkPartitioner.nextChunkSize(this.chunkSize);
+
+        IEnumerable<TSource> chunk = null;
+        if (this.source instanceof IArrayList) {
+            IArrayList<TSource> list = (IArrayList<TSource>) this.source;
+            if (this.count == -1)
+                this.count = list._getCount();
+            int size = Math.min(this.chunkSize, this.count - this.index);
+            if (size > 0) {
+                chunk = new ListPartition<>(list, this.index, this.index + size - 1);
+                this.index += size;
+            }
+        } else if (this.source instanceof IPartition && IPartition.isIndexable((IPartition<TSource>) this.source)) {
+            IPartition<TSource> partition = (IPartition<TSource>) this.source;
+            if (this.count == -1)
+                this.count = partition._getCount(true);
+            int size = Math.min(this.chunkSize, this.count - this.index);
+            if (size > 0) {
+                chunk = this.index == 0 ? partition._take(size) : partition._skip(this.index)._take(size);
+                this.index += size;
+            }
+        } else {
+            if (this.enumerator == null)
+                this.enumerator = this.source.enumerator();
+            Object[] elements = new Object[this.chunkSize];
+            int size = 0;
+            while (size < elements.length && this.enumerator.moveNext())
+                elements[size++] = this.enumerator.current();
+            if (size > 0)
+                chunk = new ListPartition<>(new Array<>(elements), 0, size - 1);
+        }
+
+        if (chunk == null) {
+            this.close();
+            return null;
+        }
+        return this.cancellationRequested == null ? chunk : new CancellableIterator<>(chunk, this.cancellationRequested);
+    }
+
+    @Override
+    public void close() {
+        this.done = true;
+        if (this.enumerator != null) {
+            this.enumerator.close();
+            this.enumerator = null;
+        }
+    }
+}
+
+
+// Runs body over consecutive chunks of a parallel query on its pool and yields the results in chunk order.
+// Chunks are submitted in sequence, at most two per degree of parallelism are in flight,
+// and a finished chunk waits in the window until every chunk before it has been yielded.
+final class ParallelChunkWindow<TSource, TResult> extends AbstractEnumerator<TResult> {
+    private final ParallelIterator<TSource> source;
+    private final Func1<IEnumerable<TSource>, TResult> body;
+    private ParallelChunker<?> chunker;
+    private ArrayDeque<ForkJoinTask<TResult>> window;
+    private int capacity;
+
+    ParallelChunkWindow(ParallelIterator<TSource> source, Func1<IEnumerable<TSource>, TResult> body) {
+        this.source = source;
+        this.body = body;
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 0:
+                this.chunker = this.source.root().chunker();
+                this.capacity = this.source.options.getDegreeOfParallelism() << 1;
+                this.window = new ArrayDeque<>(this.capacity);
+                this.state = 1;
+            case 1:
+                this.fill();
+                ForkJoinTask<TResult> task = this.window.poll();
+                if (task == null) {
+                    this.close();
+                    return false;
+                }
+                try {
+                    this.current = task.join();
+                } catch (RuntimeException e) {
+                    this.close();
+                    throw e;
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void fill() {
+        ForkJoinPool pool = this.source.options.getPool();
+        while (this.window.size() < this.capacity) {
+            IEnumerable<?> chunk = this.chunker.next();
+            if (chunk == null)
+                return;
+            this.window.add(pool.submit(() -> this.body.apply(this.source.apply(chunk))));
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.chunker != null) {
+            this.chunker.close();
+            this.chunker = null;
+        }
+        if (this.window != null) {
+            for (ForkJoinTask<TResult> task : this.window)
+                task.cancel(false);
+            this.window = null;
+        }
+        super.close();
+    }
+}
+
+
+// Streams the results of a parallel query in source order through a chunk window.
+final class ParallelOrderedEnumerator<TSource> extends AbstractEnumerator<TSource> {
+    private final ParallelIterator<TSource> source;
+    private IEnumerator<Object[]> chunks;
+    private Object[] results;
+    private int index;
+
+    ParallelOrderedEnumerator(ParallelIterator<TSource> source) {
+        this.source = source;
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 0:
+                this.chunks = new ParallelChunkWindow<>(this.source, ToCollection::toArray);
+                this.state = 1;
+            case 1:
+                while (this.results == null || this.index == this.results.length) {
+                    if (!this.chunks.moveNext()) {
+                        this.close();
+                        return false;
+                    }
+                    this.results = this.chunks.current();
+                    this.index = 0;
+                }
+                //noinspection unchecked
+                this.current = (TSource) this.results[this.index++];
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.chunks != null) {
+            this.chunks.close();
+            this.chunks = null;
+        }
+        this.results = null;
+        super.close();
+    }
+}
+
+
+final class ParallelSequentialIterator<TSource> extends Iterator<TSource> {
+    private final IParallelEnumerable<TSource> source;
+    private IEnumerator<TSource> enumerator;
+
+    ParallelSequentialIterator(IParallelEnumerable<TSource> source) {
+        this.source = source;
+    }
+
+    @Override
+    public Iterator<TSource> clone() {
+        return new ParallelSequentialIterator<>(this.source);
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 1:
+                this.enumerator = this.source.enumerator();
+                this.state = 2;
+            case 2:
+                if (this.enumerator.moveNext()) {
+                    this.current = this.enumerator.current();
+                    return true;
+                }
+                this.close();
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.enumerator != null) {
+            this.enumerator.close();
+            this.enumerator = null;
+        }
+        super.close();
+    }
+}
@@ -0,0 +1,97 @@
+package com.bestvike.linq.enumerable;
+
+import com.bestvike.function.Func1;
+import com.bestvike.linq.IEnumerable;
+import com.bestvike.linq.IParallelEnumerable;
+import com.bestvike.linq.adapter.enumerable.ArrayListEnumerable;
+import com.bestvike.linq.adapter.enumerable.LineEnumerable;
+import com.bestvike.linq.adapter.enumerable.WordEnumerable;
+import com.bestvike.linq.exception.ExceptionArgument;
+import com.bestvike.linq.exception.ThrowHelper;
+import com.bestvike.linq.util.Chars;
+import com.bestvike.linq.util.StringSegment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tokenizes a large text in parallel. The text is cut into chunks at separators, each chunk is a view tokenized with the sequential enumerators, and the tokens come out in source order unless asUnordered() is called.
+ * <p>
+ * Created by 许崇雷 on 2026-10-18.
+ */
+public final class ParallelSplit {
+    private static final int CHUNK_SIZE = 1 << 20;
+
+    private ParallelSplit() {
+    }
+
+    public static IParallelEnumerable<String> lines(CharSequence source) {
+        return lines(source, CHUNK_SIZE);
+    }
+
+    public static IParallelEnumerable<String> words(CharSequence source) {
+        return words(source, CHUNK_SIZE);
+    }
+
+    public static IParallelEnumerable<String> split(CharSequence source, Splitter splitter) {
+        return split(source, splitter, CHUNK_SIZE);
+    }
+
+    static IParallelEnumerable<String> lines(CharSequence source, int chunkSize) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        return tokenize(source, chunkSize, (text, index) -> {
+            char current = text.charAt(index);
+            return current == Chars.CR || current == Chars.LF ? 1 : 0;
+        }, 1, LineEnumerable::new);
+    }
+
+    static IParallelEnumerable<String> words(CharSequence source, int chunkSize) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        return tokenize(source, chunkSize, (text, index) -> Character.isLetterOrDigit(text.charAt(index)) ? 0 : 1, 1, WordEnumerable::new);
+    }
+
+    static IParallelEnumerable<String> split(CharSequence source, Splitter splitter, int chunkSize) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (splitter == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.splitter);
+
+        return tokenize(source, chunkSize, splitter::separatorLength, splitter.maxSeparatorLength(), splitter::split);
+    }
+
+    // Splitting the chunks cut around separators gives the tokens of the whole text, provided every cut removes exactly one separator that the sequential scan also matches.
+    private static IParallelEnumerable<String> tokenize(CharSequence source, int chunkSize, SeparatorMatcher matcher, int maxSeparatorLength, Func1<CharSequence, IEnumerable<String>> tokenizer) {
+        List<CharSequence> chunks = new ArrayList<>();
+        int length = source.length();
+        int beginIndex = 0;
+        if (maxSeparatorLength > 0) {
+            CUT:
+            while (length - beginIndex > chunkSize) {
+                for (int index = beginIndex + chunkSize; index < length; index++) {
+                    int separatorLength = matcher.match(source, index);
+                    if (separatorLength > 0 && !overlapped(source, matcher, beginIndex, index, maxSeparatorLength)) {
+                        chunks.add(new StringSegment(source, beginIndex, index - beginIndex));
+                        beginIndex = index + separatorLength;
+                        continue CUT;
+                    }
+                }
+                break;
+            }
+        }
+        chunks.add(new StringSegment(source, beginIndex, length - beginIndex));
+        return new ArrayListEnumerable<>(chunks).asParallel().asOrdered().selectMany(tokenizer);
+    }
+
+    // Whether a separator starting shortly before index may still cover it, in which case the sequential scan might not match at index.
+    private static boolean overlapped(CharSequence source, SeparatorMatcher matcher, int beginIndex, int index, int maxSeparatorLength) {
+        for (int i = Math.max(beginIndex, index - maxSeparatorLength + 1); i < index; i++) {
+            if (matcher.match(source, i) > 0)
+                return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,64 @@
+package com.bestvike.linq.enumerable;
+
+import com.bestvike.function.Func0;
+import com.bestvike.function.Func1;
+import com.bestvike.linq.IEnumerable;
+import com.bestvike.linq.exception.ExceptionArgument;
+import com.bestvike.linq.exception.ThrowHelper;
+import com.bestvike.tuple.Tuple;
+import com.bestvike.tuple.Tuple2;
+import com.bestvike.tuple.Tuple3;
+import com.bestvike.tuple.Tuple4;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Created by 许崇雷 on 2026-10-18.
+ */
+public final class Publish {
+    private Publish() {
+    }
+
+    public static <TSource> Publisher<TSource> publish(IEnumerable<TSource> source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        return new Publisher<>(source, null);
+    }
+
+    public static <TSource> Publisher<TSource> publish(IEnumerable<TSource> source, Executor executor) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (executor == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.executor);
+
+        return new Publisher<>(source, executor);
+    }
+
+    public static <TSource, T1, T2> Tuple2<T1, T2> share(IEnumerable<TSource> source, Func1<IEnumerable<TSource>, T1> consumer1, Func1<IEnumerable<TSource>, T2> consumer2) {
+        Publisher<TSource> publisher = publish(source);
+        Func0<T1> result1 = publisher.subscribe(consumer1);
+        Func0<T2> result2 = publisher.subscribe(consumer2);
+        publisher.connect();
+        return Tuple.create(result1.apply(), result2.apply());
+    }
+
+    public static <TSource, T1, T2, T3> Tuple3<T1, T2, T3> share(IEnumerable<TSource> source, Func1<IEnumerable<TSource>, T1> consumer1, Func1<IEnumerable<TSource>, T2> consumer2, Func1<IEnumerable<TSource>, T3> consumer3) {
+        Publisher<TSource> publisher = publish(source);
+        Func0<T1> result1 = publisher.subscribe(consumer1);
+        Func0<T2> result2 = publisher.subscribe(consumer2);
+        Func0<T3> result3 = publisher.subscribe(consumer3);
+        publisher.connect();
+        return Tuple.create(result1.apply(), result2.apply(), result3.apply());
+    }
+
+    public static <TSource, T1, T2, T3, T4> Tuple4<T1, T2, T3, T4> share(IEnumerable<TSource> source, Func1<IEnumerable<TSource>, T1> consumer1, Func1<IEnumerable<TSource>, T2> consumer2, Func1<IEnumerable<TSource>, T3> consumer3, Func1<IEnumerable<TSource>, T4> consumer4) {
+        Publisher<TSource> publisher = publish(source);
+        Func0<T1> result1 = publisher.subscribe(consumer1);
+        Func0<T2> result2 = publisher.subscribe(consumer2);
+        Func0<T3> result3 = publisher.subscribe(consumer3);
+        Func0<T4> result4 = publisher.subscribe(consumer4);
+        publisher.connect();
+        return Tuple.create(result1.apply(), result2.apply(), result3.apply(), result4.apply());
+    }
+}
@@ -0,0 +1,505 @@
+package com.bestvike.linq.enumerable;
+
+import com.bestvike.function.Func0;
+import com.bestvike.function.Func1;
+import com.bestvike.linq.IEnumerable;
+import com.bestvike.linq.IEnumerator;
+import com.bestvike.linq.exception.ExceptionArgument;
+import com.bestvike.linq.exception.ThrowHelper;
+import com.bestvike.linq.resources.SR;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.stream.Collector;
+
+/**
+ * Fans one enumeration of a source out to several consumers. Subscribe the consumers, then {@link #connect()}
+ * enumerates the source once and the returned handles yield the results.
+ * <p>
+ * Collectors are pushed in lockstep on the connecting thread. The first consumer function runs on the connecting
+ * thread too and drives the source, the others run on the executor, each fed through its own bounded buffer, so the
+ * executor must be able to run all of them at once. By default each gets its own thread.
+ * A consumer may stop early, the source is only enumerated as far as some consumer still needs it.
+ * <p>
+ * Created by 许崇雷 on 2026-10-18.
+ */
+@SuppressWarnings("unchecked")
+public final class Publisher<TSource> {
+    private static final Executor NEW_THREAD = task -> {
+        Thread thread = new Thread(task, "linq-publish");
+        thread.setDaemon(true);
+        thread.start();
+    };
+
+    private final IEnumerable<TSource> source;
+    private final Executor executor;
+    private final List<PublishSubscription<TSource, ?>> subscriptions = new ArrayList<>();
+    private final List<CollectorSubscription<TSource, ?, ?>> collectors = new ArrayList<>();
+    private boolean connected;
+
+    Publisher(IEnumerable<TSource> source, Executor executor) {
+        this.source = source;
+        this.executor = executor == null ? NEW_THREAD : executor;
+    }
+
+    // The handle yields the result of consumer, or rethrows what consumer threw, the source errors included.
+    public <TResult> Func0<TResult> subscribe(Func1<? super IEnumerable<TSource>, ? extends TResult> consumer) {
+        if (consumer == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.consumer);
+        if (this.connected)
+            ThrowHelper.throwAlreadyConnectedException();
+
+        PublishSubscription<TSource, TResult> subscription = new PublishSubscription<>((Func1<IEnumerable<TSource>, TResult>) consumer);
+        this.subscriptions.add(subscription);
+        return subscription;
+    }
+
+    public <TResult> Func0<TResult> subscribe(Collector<? super TSource, ?, TResult> collector) {
+        if (collector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.collector);
+        if (this.connected)
+            ThrowHelper.throwAlreadyConnectedException();
+
+        CollectorSubscription<TSource, ?, TResult> subscription = new CollectorSubscription<>((Collector<TSource, Object, TResult>) collector);
+        this.collectors.add(subscription);
+        return subscription;
+    }
+
+    public void connect() {
+        if (this.connected)
+            ThrowHelper.throwRepeatInvokeException();
+        this.connected = true;
+
+        if (this.subscriptions.size() == 1 && this.collectors.isEmpty()) {
+            this.subscriptions.get(0).run(this.source);
+            return;
+        }
+
+        int followerCount = Math.max(this.subscriptions.size() - 1, 0);
+        CountDownLatch finished = new CountDownLatch(followerCount);
+        List<PublishFollower<TSource>> followers = new ArrayList<>(followerCount);
+        for (int i = 1; i < this.subscriptions.size(); i++)
+            followers.add(new PublishFollower<>(this.subscriptions.get(i), finished));
+        PublishPump<TSource> pump = new PublishPump<>(this.source, followers, this.collectors);
+
+        for (PublishFollower<TSource> follower : followers) {
+            try {
+                this.executor.execute(follower);
+            } catch (RuntimeException e) {
+                follower.reject(e);
+            }
+        }
+        if (!this.subscriptions.isEmpty())
+            this.subscriptions.get(0).run(new PublishLeaderEnumerable<>(pump));
+        pump.drain();
+        pump.complete();
+
+        boolean interrupted = false;
+        while (true) {
+            try {
+                finished.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+    }
+}
+
+
+// Pulls the source in chunks and hands each chunk to the collectors and the followers.
+final class PublishPump<TSource> {
+    private static final int CHUNK_SIZE = 256;
+
+    private final IEnumerable<TSource> source;
+    private final List<PublishFollower<TSource>> followers;
+    private final List<CollectorSubscription<TSource, ?, ?>> collectors;
+    private IEnumerator<TSource> enumerator;
+    private boolean done;
+    RuntimeException error;
+
+    PublishPump(IEnumerable<TSource> source, List<PublishFollower<TSource>> followers, List<CollectorSubscription<TSource, ?, ?>> collectors) {
+        this.source = source;
+        this.followers = followers;
+        this.collectors = collectors;
+        for (CollectorSubscription<TSource, ?, ?> collector : collectors)
+            collector.start();
+    }
+
+    // Returns the next chunk, or null once the source is exhausted or failed.
+    Object[] next() {
+        if (this.done)
+            return null;
+
+        Object[] chunk = new Object[CHUNK_SIZE];
+        int count = 0;
+        try {
+            if (this.enumerator == null)
+                this.enumerator = this.source.enumerator();
+            while (count < CHUNK_SIZE && this.enumerator.moveNext())
+                chunk[count++] = this.enumerator.current();
+        } catch (RuntimeException e) {
+            this.fail(e);
+            return null;
+        }
+        if (count < CHUNK_SIZE) {
+            this.close();
+            if (count == 0)
+                return null;
+            chunk = Arrays.copyOf(chunk, count);
+        }
+
+        for (CollectorSubscription<TSource, ?, ?> collector : this.collectors)
+            collector.accept(chunk);
+        try {
+            for (PublishFollower<TSource> follower : this.followers)
+                follower.put(chunk);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.fail(new CancellationException(SR.OperationCanceled));
+            return null;
+        }
+        return chunk;
+    }
+
+    private boolean hasListeners() {
+        for (CollectorSubscription<TSource, ?, ?> collector : this.collectors) {
+            if (collector.isActive())
+                return true;
+        }
+        for (PublishFollower<TSource> follower : this.followers) {
+            if (follower.isActive())
+                return true;
+        }
+        return false;
+    }
+
+    // Keeps pulling for the collectors and followers after the leader has stopped.
+    void drain() {
+        while (this.hasListeners() && this.next() != null) {
+        }
+        this.close();
+    }
+
+    void complete() {
+        if (this.error != null)
+            return;
+        for (CollectorSubscription<TSource, ?, ?> collector : this.collectors)
+            collector.finish();
+        try {
+            for (PublishFollower<TSource> follower : this.followers)
+                follower.put(PublishFollower.END);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.fail(new CancellationException(SR.OperationCanceled));
+        }
+    }
+
+    private void fail(RuntimeException error) {
+        this.error = error;
+        this.close();
+        for (CollectorSubscription<TSource, ?, ?> collector : this.collectors)
+            collector.fail(error);
+        for (PublishFollower<TSource> follower : this.followers)
+            follower.fail(error);
+    }
+
+    private void close() {
+        this.done = true;
+        if (this.enumerator != null) {
+            IEnumerator<TSource> enumerator = this.enumerator;
+            this.enumerator = null;
+            enumerator.close();
+        }
+    }
+}
+
+
+final class PublishSubscription<TSource, TResult> implements Func0<TResult> {
+    private final Func1<IEnumerable<TSource>, TResult> consumer;
+    private TResult result;
+    private RuntimeException error;
+    private volatile boolean completed;
+
+    PublishSubscription(Func1<IEnumerable<TSource>, TResult> consumer) {
+        this.consumer = consumer;
+    }
+
+    void run(IEnumerable<TSource> source) {
+        try {
+            this.result = this.consumer.apply(source);
+        } catch (RuntimeException e) {
+            this.error = e;
+        }
+        this.completed = true;
+    }
+
+    void fail(RuntimeException error) {
+        this.error = error;
+        this.completed = true;
+    }
+
+    @Override
+    public TResult apply() {
+        if (!this.completed)
+            ThrowHelper.throwNotConnectedException();
+        if (this.error != null)
+            throw this.error;
+        return this.result;
+    }
+}
+
+
+@SuppressWarnings("unchecked")
+final class CollectorSubscription<TSource, TContainer, TResult> implements Func0<TResult> {
+    private final Collector<TSource, TContainer, TResult> collector;
+    private TContainer container;
+    private BiConsumer<TContainer, TSource> accumulator;
+    private TResult result;
+    private RuntimeException error;
+    private boolean completed;
+
+    CollectorSubscription(Collector<TSource, TContainer, TResult> collector) {
+        this.collector = collector;
+    }
+
+    boolean isActive() {
+        return this.error == null;
+    }
+
+    void start() {
+        try {
+            this.container = this.collector.supplier().get();
+            this.accumulator = this.collector.accumulator();
+        } catch (RuntimeException e) {
+            this.fail(e);
+        }
+    }
+
+    void accept(Object[] chunk) {
+        if (this.error != null)
+            return;
+        try {
+            for (Object item : chunk)
+                this.accumulator.accept(this.container, (TSource) item);
+        } catch (RuntimeException e) {
+            this.fail(e);
+        }
+    }
+
+    void finish() {
+        if (this.error != null)
+            return;
+        try {
+            this.result = this.collector.finisher().apply(this.container);
+        } catch (RuntimeException e) {
+            this.fail(e);
+            return;
+        }
+        this.container = null;
+        this.completed = true;
+    }
+
+    void fail(RuntimeException error) {
+        this.error = error;
+        this.container = null;
+        this.completed = true;
+    }
+
+    @Override
+    public TResult apply() {
+        if (!this.completed)
+            ThrowHelper.throwNotConnectedException();
+        if (this.error != null)
+            throw this.error;
+        return this.result;
+    }
+}
+
+
+// Runs one consumer on the executor over the chunks the pump puts into its buffer.
+final class PublishFollower<TSource> implements Runnable {
+    private static final int BUFFER_CHUNKS = 4;
+    static final Object[] END = new Object[0];
+    static final Object[] FAILED = new Object[0];
+
+    private final PublishSubscription<TSource, ?> subscription;
+    private final CountDownLatch finished;
+    private final BlockingQueue<Object[]> buffer = new ArrayBlockingQueue<>(BUFFER_CHUNKS);
+    private volatile boolean active = true;
+    RuntimeException error;
+
+    PublishFollower(PublishSubscription<TSource, ?> subscription, CountDownLatch finished) {
+        this.subscription = subscription;
+        this.finished = finished;
+    }
+
+    boolean isActive() {
+        return this.active;
+    }
+
+    @Override
+    public void run() {
+        try {
+            this.subscription.run(new PublishFollowerEnumerable<>(this));
+        } finally {
+            this.active = false;
+            this.buffer.clear();// unblocks the pump if it waits on a full buffer
+            this.finished.countDown();
+        }
+    }
+
+    void reject(RuntimeException error) {
+        this.active = false;
+        this.subscription.fail(error);
+        this.finished.countDown();
+    }
+
+    // The pump is the only producer, so after the check a put waits at most until run() clears the buffer.
+    void put(Object[] chunk) throws InterruptedException {
+        if (this.active)
+            this.buffer.put(chunk);
+    }
+
+    // Queued behind the buffered chunks, so the follower still reads every element pulled before the error.
+    void fail(RuntimeException error) {
+        this.error = error;
+        try {
+            this.put(FAILED);
+        } catch (InterruptedException e) {
+            // Cancelled, the unread chunks are dropped so the marker fits.
+            Thread.currentThread().interrupt();
+            if (this.active) {
+                this.buffer.clear();
+                this.buffer.offer(FAILED);
+            }
+        }
+    }
+
+    Object[] take() {
+        try {
+            return this.buffer.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ThrowHelper.throwOperationCanceledException();
+            return null;
+        }
+    }
+}
+
+
+final class PublishLeaderEnumerable<TSource> implements IEnumerable<TSource> {
+    private final PublishPump<TSource> pump;
+    private boolean called;
+
+    PublishLeaderEnumerable(PublishPump<TSource> pump) {
+        this.pump = pump;
+    }
+
+    @Override
+    public IEnumerator<TSource> enumerator() {
+        if (this.called)
+            ThrowHelper.throwRepeatInvokeException();
+        this.called = true;
+        return new PublishLeaderEnumerator<>(this.pump);
+    }
+}
+
+
+@SuppressWarnings("unchecked")
+final class PublishLeaderEnumerator<TSource> extends AbstractEnumerator<TSource> {
+    private final PublishPump<TSource> pump;
+    private Object[] chunk;
+    private int index;
+
+    PublishLeaderEnumerator(PublishPump<TSource> pump) {
+        this.pump = pump;
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 0:
+                this.state = 1;
+            case 1:
+                if (this.chunk == null || this.index == this.chunk.length) {
+                    this.chunk = this.pump.next();
+                    this.index = 0;
+                    if (this.chunk == null) {
+                        this.close();
+                        if (this.pump.error != null)
+                            throw this.pump.error;
+                        return false;
+                    }
+                }
+                this.current = (TSource) this.chunk[this.index++];
+                return true;
+            default:
+                return false;
+        }
+    }
+}
+
+
+final class PublishFollowerEnumerable<TSource> implements IEnumerable<TSource> {
+    private final PublishFollower<TSource> follower;
+    private boolean called;
+
+    PublishFollowerEnumerable(PublishFollower<TSource> follower) {
+        this.follower = follower;
+    }
+
+    @Override
+    public IEnumerator<TSource> enumerator() {
+        if (this.called)
+            ThrowHelper.throwRepeatInvokeException();
+        this.called = true;
+        return new PublishFollowerEnumerator<>(this.follower);
+    }
+}
+
+
+@SuppressWarnings("unchecked")
+final class PublishFollowerEnumerator<TSource> extends AbstractEnumerator<TSource> {
+    private final PublishFollower<TSource> follower;
+    private Object[] chunk;
+    private int index;
+
+    PublishFollowerEnumerator(PublishFollower<TSource> follower) {
+        this.follower = follower;
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 0:
+                this.state = 1;
+            case 1:
+                if (this.chunk == null || this.index == this.chunk.length) {
+                    this.chunk = this.follower.take();
+                    this.index = 0;
+                    if (this.chunk == PublishFollower.END) {
+                        this.close();
+                        return false;
+                    }
+                    if (this.chunk == PublishFollower.FAILED) {
+                        this.close();
+                        throw this.follower.error;
+                    }
+                }
+                this.current = (TSource) this.chunk[this.index++];
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.bestvike.linq.enumerable;
+
+import com.bestvike.collections.generic.IEqualityComparer;
+import com.bestvike.function.Func1;
+import com.bestvike.function.Predicate1;
+import com.bestvike.linq.IEnumerable;
+import com.bestvike.linq.exception.ExceptionArgument;
+import com.bestvike.linq.exception.ThrowHelper;
+
+import java.util.Comparator;
+
+/**
+ * An operator chain recorded once and bound to many sources. Runs of select, where, skip and take are fused when
+ * recorded, so binding allocates one iterator per run. Immutable, so one instance can be shared between threads.
+ * <p>
+ * Created by 许崇雷 on 2026-10-18.
+ */
+@SuppressWarnings("unchecked")
+public class QueryTemplate<TIn, TOut> {
+    private static final QueryTemplate<Object, Object> IDENTITY = new QueryTemplate<>(newStages(0));
+
+    final Func1<IEnumerable<Object>, IEnumerable<Object>>[] stages;
+
+    QueryTemplate(Func1<IEnumerable<Object>, IEnumerable<Object>>[] stages) {
+        this.stages = stages;
+    }
+
+    public static <TSource> QueryTemplate<TSource, TSource> of() {
+        return (QueryTemplate<TSource, TSource>) (QueryTemplate<?, ?>) IDENTITY;
+    }
+
+    private static Func1<IEnumerable<Object>, IEnumerable<Object>>[] newStages(int length) {
+        return (Func1<IEnumerable<Object>, IEnumerable<Object>>[]) new Func1<?, ?>[length];
+    }
+
+    static Func1<IEnumerable<Object>, IEnumerable<Object>>[] append(Func1<IEnumerable<Object>, IEnumerable<Object>>[] stages, Func1<IEnumerable<Object>, IEnumerable<Object>> stage) {
+        Func1<IEnumerable<Object>, IEnumerable<Object>>[] result = newStages(stages.length + 1);
+        System.arraycopy(stages, 0, result, 0, stages.length);
+        result[stages.length] = stage;
+        return result;
+    }
+
+    private FusedStage lastFusedStage() {
+        int last = this.stages.length - 1;
+        return last >= 0 && this.stages[last] instanceof FusedStage ? (FusedStage) this.stages[last] : null;
+    }
+
+    // The run skip and take fuse into, or null after another operator,
+    // so they bind to that operator's own partition, such as an ordering's partial sort.
+    private IPartition<Object> partitionPrototype() {
+        FusedStage last = this.lastFusedStage();
+        if (last != null)
+            return (IPartition<Object>) last.prototype;
+        return this.stages.length == 0 ? new FusedIterator<>(EmptyPartition.instance(), 0, -1) : null;
+    }
+
+    private <TResult> QueryTemplate<TIn, TResult> withFusedStage(Iterator<Object> prototype) {
+        Func1<IEnumerable<Object>, IEnumerable<Object>>[] stages;
+        if (this.lastFusedStage() == null) {
+            stages = append(this.stages, new FusedStage(prototype));
+        } else {
+            stages = this.stages.clone();
+            stages[stages.length - 1] = new FusedStage(prototype);
+        }
+        return new QueryTemplate<>(stages);
+    }
+
+    <TResult> QueryTemplate<TIn, TResult> withStage(Func1<IEnumerable<Object>, IEnumerable<Object>> stage) {
+        return new QueryTemplate<>(append(this.stages, stage));
+    }
+
+    public IEnumerable<TOut> bind(IEnumerable<TIn> source) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        IEnumerable<Object> result = (IEnumerable<Object>) source;
+        for (Func1<IEnumerable<Object>, IEnumerable<Object>> stage : this.stages)
+            result = stage.apply(result);
+        return (IEnumerable<TOut>) result;
+    }
+
+    public <TResult> QueryTemplate<TIn, TResult> select(Func1<? super TOut, ? extends TResult> selector) {
+        if (selector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.selector);
+
+        FusedStage last = this.lastFusedStage();
+        return this.withFusedStage(last == null
+                ? new FusedIterator<>(EmptyPartition.instance(), FusedIterator.selectStep((Func1<Object, Object>) selector))
+                : (Iterator<Object>) last.prototype._select((Func1<Object, Object>) selector));
+    }
+
+    public QueryTemplate<TIn, TOut> where(Predicate1<? super TOut> predicate) {
+        if (predicate == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.predicate);
+
+        FusedStage last = this.lastFusedStage();
+        return this.withFusedStage(last == null
+                ? new FusedIterator<>(EmptyPartition.instance(), FusedIterator.whereStep((Predicate1<Object>) predicate))
+                : (Iterator<Object>) last.prototype._where((Predicate1<Object>) predicate));
+    }
+
+    public QueryTemplate<TIn, TOut> skip(int count) {
+        if (count <= 0)
+            return this;
+
+        IPartition<Object> prototype = this.partitionPrototype();
+        return prototype == null
+                ? this.withStage(source -> source.skip(count))
+                : this.withFusedStage((Iterator<Object>) prototype._skip(count));
+    }
+
+    public QueryTemplate<TIn, TOut> take(int count) {
+        if (count <= 0)
+            return this.withFusedStage((Iterator<Object>) EmptyPartition.<Object>instance());
+
+        IPartition<Object> prototype = this.partitionPrototype();
+        return prototype == null
+                ? this.withStage(source -> source.take(count))
+                : this.withFusedStage((Iterator<Object>) prototype._take(count));
+    }
+
+    public QueryTemplate<TIn, TOut> distinct() {
+        return this.withStage(IEnumerable::distinct);
+    }
+
+    public QueryTemplate<TIn, TOut> distinct(IEqualityComparer<? super TOut> comparer) {
+        return this.withStage(source -> source.distinct((IEqualityComparer<Object>) comparer));
+    }
+
+    public <TKey> OrderedQueryTemplate<TIn, TOut> orderBy(Func1<? super TOut, ? extends TKey> keySelector) {
+        return this.orderBy(keySelector, null);
+    }
+
+    public <TKey> OrderedQueryTemplate<TIn, TOut> orderBy(Func1<? super TOut, ? extends TKey> keySelector, Comparator<? super TKey> comparer) {
+        if (keySelector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.keySelector);
+
+        return new OrderedQueryTemplate<>(append(this.stages, source -> source.orderBy((Func1<Object, TKey>) keySelector, comparer)));
+    }
+
+    public <TKey> OrderedQueryTemplate<TIn, TOut> orderByDescending(Func1<? super TOut, ? extends TKey> keySelector) {
+        return this.orderByDescending(keySelector, null);
+    }
+
+    public <TKey> OrderedQueryTemplate<TIn, TOut> orderByDescending(Func1<? super TOut, ? extends TKey> keySelector, Comparator<? super TKey> comparer) {
+        if (keySelector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.keySelector);
+
+        return new OrderedQueryTemplate<>(append(this.stages, source -> source.orderByDescending((Func1<Object, TKey>) keySelector, comparer)));
+    }
+
+    // Appends any other operator, func is called once per bind.
+    public <TResult> QueryTemplate<TIn, TResult> then(Func1<? super IEnumerable<TOut>, ? extends IEnumerable<TResult>> func) {
+        if (func == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.func);
+
+        return this.withStage((Func1<IEnumerable<Object>, IEnumerable<Object>>) (Func1<?, ?>) func);
+    }
+}
+
+
+// A fused run of select, where, skip and take, recorded over a placeholder source.
+@SuppressWarnings("unchecked")
+final class FusedStage implements Func1<IEnumerable<Object>, IEnumerable<Object>> {
+    final Iterator<Object> prototype;// a FusedIterator, or an EmptyPartition when the run can never yield
+
+    FusedStage(Iterator<Object> prototype) {
+        this.prototype = prototype;
+    }
+
+    @Override
+    public IEnumerable<Object> apply(IEnumerable<Object> source) {
+        return this.prototype instanceof FusedIterator
+                ? (IEnumerable<Object>) ((FusedIterator<?, Object>) this.prototype)._bind(source)
+                : this.prototype;
+    }
+}
@@ -1,6 +1,7 @@
 package com.bestvike.linq.enumerable;
 
 import com.bestvike.function.Func1;
+import com.bestvike.function.Predicate1;
 import com.bestvike.linq.IEnumerable;
 import com.bestvike.linq.debug.DebuggerDisplay;
 import com.bestvike.linq.exception.ExceptionArgument;
@@ -47,6 +48,14 @@ final class RangeIterator extends Iterator<Integer> implements IPartition<Intege
         return this.end - this.start;
     }
 
+    int _getStart() {
+        return this.start;
+    }
+
+    int _getEnd() {
+        return this.end;
+    }
+
     @Override
     public Iterator<Integer> clone() {
         return new RangeIterator(this.start, this.end - this.start);
@@ -106,6 +115,15 @@ final class RangeIterator extends Iterator<Integer> implements IPartition<Intege
         return list;
     }
 
+    @Override
+    public boolean _forEachWhile(Predicate1<Integer> action) {
+        for (int cur = this.start; cur != this.end; cur++) {
+            if (!action.apply(cur))
+                return false;
+        }
+        return true;
+    }
+
     @Override
     public int _getCount(boolean onlyIfCheap) {
         return this.end - this.start;
@@ -0,0 +1,208 @@
+package com.bestvike.linq.enumerable;
+
+import com.bestvike.linq.IEnumerable;
+import com.bestvike.linq.IEnumerator;
+import com.bestvike.linq.exception.ExceptionArgument;
+import com.bestvike.linq.exception.ThrowHelper;
+import com.bestvike.linq.util.Chars;
+import com.bestvike.linq.util.Strings;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+
+/**
+ * Tokenizes a Reader through a fixed char buffer, matching {@link Split}, lines and words on the same text. The reader is closed with the enumerator.
+ * <p>
+ * Created by 许崇雷 on 2026-10-18.
+ */
+public final class ReaderSplit {
+    private static final int BUFFER_SIZE = 8192;
+
+    private ReaderSplit() {
+    }
+
+    public static IEnumerable<String> lines(Reader source) {
+        return lines(source, BUFFER_SIZE);
+    }
+
+    public static IEnumerable<String> words(Reader source) {
+        return words(source, BUFFER_SIZE);
+    }
+
+    public static IEnumerable<String> split(Reader source, Splitter splitter) {
+        return split(source, splitter, BUFFER_SIZE);
+    }
+
+    static IEnumerable<String> lines(Reader source, int bufferSize) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        return new ReaderSplitEnumerable(source, (text, index) -> {
+            char current = text.charAt(index);
+            return current == Chars.CR || current == Chars.LF ? 1 : 0;
+        }, 1, true, bufferSize);
+    }
+
+    static IEnumerable<String> words(Reader source, int bufferSize) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        return new ReaderSplitEnumerable(source, (text, index) -> Character.isLetterOrDigit(text.charAt(index)) ? 0 : 1, 1, true, bufferSize);
+    }
+
+    static IEnumerable<String> split(Reader source, Splitter splitter, int bufferSize) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (splitter == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.splitter);
+
+        return new ReaderSplitEnumerable(source, splitter::separatorLength, splitter.maxSeparatorLength(), splitter.omitEmptyEntries(), bufferSize);
+    }
+}
+
+
+final class ReaderSplitEnumerable implements IEnumerable<String> {
+    private final Reader source;
+    private final SeparatorMatcher matcher;
+    private final int maxSeparatorLength;
+    private final boolean omitEmptyEntries;
+    private final int bufferSize;
+    private boolean called;
+
+    ReaderSplitEnumerable(Reader source, SeparatorMatcher matcher, int maxSeparatorLength, boolean omitEmptyEntries, int bufferSize) {
+        this.source = source;
+        this.matcher = matcher;
+        this.maxSeparatorLength = maxSeparatorLength;
+        this.omitEmptyEntries = omitEmptyEntries;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public IEnumerator<String> enumerator() {
+        if (this.called)
+            ThrowHelper.throwRepeatInvokeException();
+        this.called = true;
+        return new ReaderSplitEnumerator(this.source, this.matcher, this.maxSeparatorLength, this.omitEmptyEntries, this.bufferSize);
+    }
+}
+
+
+final class ReaderSplitEnumerator extends AbstractEnumerator<String> {
+    private final Reader source;
+    private final SeparatorMatcher matcher;
+    private final int lookahead;
+    private final boolean omitEmptyEntries;
+    private final int bufferSize;
+    private char[] buffer;
+    private CharBuffer window;
+    private int position;
+    private int limit;
+    private boolean eof;
+    private boolean last;
+    private StringBuilder builder;
+
+    ReaderSplitEnumerator(Reader source, SeparatorMatcher matcher, int maxSeparatorLength, boolean omitEmptyEntries, int bufferSize) {
+        this.source = source;
+        this.matcher = matcher;
+        this.lookahead = Math.max(1, maxSeparatorLength);
+        this.omitEmptyEntries = omitEmptyEntries;
+        this.bufferSize = Math.max(bufferSize, this.lookahead << 1);
+    }
+
+    @Override
+    public boolean moveNext() {
+        try {
+            switch (this.state) {
+                case 0:
+                    this.buffer = new char[this.bufferSize];
+                    this.window = CharBuffer.wrap(this.buffer);
+                    this.builder = new StringBuilder();
+                    this.state = 1;
+                case 1:
+                    String token;
+                    while ((token = this.nextToken()) != null) {
+                        if (this.omitEmptyEntries && token.isEmpty())
+                            continue;
+                        this.current = token;
+                        return true;
+                    }
+                    this.close();
+                    return false;
+                default:
+                    return false;
+            }
+        } catch (IOException e) {
+            this.close();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // The chars up to the next separator, or up to the end for the last token; null after the last token.
+    private String nextToken() throws IOException {
+        int beginIndex = this.position;
+        while (true) {
+            if (this.limit - this.position < this.lookahead && !this.eof) {
+                this.builder.append(this.buffer, beginIndex, this.position - beginIndex);
+                this.fill();
+                beginIndex = this.position;
+                continue;
+            }
+            if (this.position == this.limit) {
+                if (this.last)
+                    return null;
+                this.last = true;
+                return this.token(beginIndex);
+            }
+            int separatorLength = this.matcher.match(this.window, this.position);
+            if (separatorLength > 0) {
+                String token = this.token(beginIndex);
+                this.position += separatorLength;
+                return token;
+            }
+            this.position++;
+        }
+    }
+
+    private String token(int beginIndex) {
+        if (this.builder.length() == 0)
+            return this.position == beginIndex ? Strings.Empty : new String(this.buffer, beginIndex, this.position - beginIndex);
+        this.builder.append(this.buffer, beginIndex, this.position - beginIndex);
+        String token = this.builder.toString();
+        this.builder.setLength(0);
+        return token;
+    }
+
+    // Moves the unread chars to the front and reads until a separator fits behind the position or the reader ends.
+    private void fill() throws IOException {
+        int remaining = this.limit - this.position;
+        System.arraycopy(this.buffer, this.position, this.buffer, 0, remaining);
+        this.position = 0;
+        this.limit = remaining;
+        while (this.limit < this.lookahead) {
+            int read = this.source.read(this.buffer, this.limit, this.buffer.length - this.limit);
+            if (read < 0) {
+                this.eof = true;
+                break;
+            }
+            this.limit += read;
+        }
+        this.window.limit(this.limit);
+    }
+
+    @Override
+    public void close() {
+        if (this.state == -1)
+            return;
+        super.close();
+        this.buffer = null;
+        this.window = null;
+        this.builder = null;
+        try {
+            this.source.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.bestvike.linq.enumerable;
 
 import com.bestvike.function.Func1;
+import com.bestvike.function.Predicate1;
 import com.bestvike.linq.IEnumerable;
 import com.bestvike.linq.debug.DebuggerDisplay;
 import com.bestvike.linq.exception.ExceptionArgument;
@@ -98,6 +99,15 @@ final class RepeatIterator<TResult> extends Iterator<TResult> implements IPartit
         return list;
     }
 
+    @Override
+    public boolean _forEachWhile(Predicate1<TResult> action) {
+        for (int i = 0; i != this.count; ++i) {
+            if (!action.apply(this.current))
+                return false;
+        }
+        return true;
+    }
+
     @Override
     public int _getCount(boolean onlyIfCheap) {
         return this.count;
@@ -5,6 +5,7 @@ import com.bestvike.collections.generic.IArrayList;
 import com.bestvike.collections.generic.IList;
 import com.bestvike.function.Func1;
 import com.bestvike.function.IndexFunc2;
+import com.bestvike.function.Predicate1;
 import com.bestvike.linq.IEnumerable;
 import com.bestvike.linq.IEnumerator;
 import com.bestvike.linq.debug.DebuggerDisplay;
@@ -121,7 +122,7 @@ final class SelectIterator<TSource, TResult> extends AbstractIterator<TResult> {
 }
 
 
-final class SelectEnumerableIterator<TSource, TResult> extends Iterator<TResult> implements IIListProvider<TResult> {
+final class SelectEnumerableIterator<TSource, TResult> extends Iterator<TResult> implements IIListProvider<TResult>, IFusible<TResult> {
     private final IEnumerable<TSource> source;
     private final Func1<TSource, TResult> selector;
     private IEnumerator<TSource> enumerator;
@@ -170,6 +171,16 @@ final class SelectEnumerableIterator<TSource, TResult> extends Iterator<TResult>
         return new SelectEnumerableIterator<>(this.source, Utilities.combineSelectors(this.selector, selector));
     }
 
+    @Override
+    public IEnumerable<TResult> _where(Predicate1<TResult> predicate) {
+        return new FusedIterator<TSource, TResult>(this.source, FusedIterator.selectStep(this.selector))._where(predicate);
+    }
+
+    @Override
+    public IPartition<TResult> _fuse() {
+        return new FusedIterator<>(this.source, FusedIterator.selectStep(this.selector));
+    }
+
     @Override
     public TResult[] _toArray(Class<TResult> clazz) {
         LargeArrayBuilder<TResult> builder = new LargeArrayBuilder<>();
@@ -203,6 +214,11 @@ final class SelectEnumerableIterator<TSource, TResult> extends Iterator<TResult>
         return list;
     }
 
+    @Override
+    public boolean _forEachWhile(Predicate1<TResult> action) {
+        return ForEach.forEachWhileInternal(this.source, item -> action.apply(this.selector.apply(item)));
+    }
+
     @Override
     public int _getCount(boolean onlyIfCheap) {
         // In case someone uses Count() to force evaluation of
@@ -263,6 +279,11 @@ final class SelectArrayIterator<TSource, TResult> extends Iterator<TResult> impl
         return new SelectArrayIterator<>(this.source, Utilities.combineSelectors(this.selector, selector));
     }
 
+    @Override
+    public IEnumerable<TResult> _where(Predicate1<TResult> predicate) {
+        return new FusedIterator<TSource, TResult>(this.source, FusedIterator.selectStep(this.selector))._where(predicate);
+    }
+
     @Override
     public TResult[] _toArray(Class<TResult> clazz) {
         // See assert : constructor.
@@ -297,6 +318,15 @@ final class SelectArrayIterator<TSource, TResult> extends Iterator<TResult> impl
         return results;
     }
 
+    @Override
+    public boolean _forEachWhile(Predicate1<TResult> action) {
+        for (int i = 0, count = this.source._getCount(); i < count; i++) {
+            if (!action.apply(this.selector.apply(this.source.get(i))))
+                return false;
+        }
+        return true;
+    }
+
     @Override
     public int _getCount(boolean onlyIfCheap) {
         // In case someone uses Count() to force evaluation of
@@ -400,6 +430,11 @@ final class SelectRangeIterator<TResult> extends Iterator<TResult> implements IP
         return new SelectRangeIterator<>(this.start, this.end, Utilities.combineSelectors(this.selector, selector));
     }
 
+    @Override
+    public IEnumerable<TResult> _where(Predicate1<TResult> predicate) {
+        return new FusedIterator<Integer, TResult>(new RangeIterator(this.start, this.end - this.start), FusedIterator.selectStep(this.selector))._where(predicate);
+    }
+
     @Override
     public TResult[] _toArray(Class<TResult> clazz) {
         TResult[] results = ArrayUtils.newInstance(clazz, this.end - this.start);
@@ -426,6 +461,15 @@ final class SelectRangeIterator<TResult> extends Iterator<TResult> implements IP
         return list;
     }
 
+    @Override
+    public boolean _forEachWhile(Predicate1<TResult> action) {
+        for (int i = this.start; i != this.end; i++) {
+            if (!action.apply(this.selector.apply(i)))
+                return false;
+        }
+        return true;
+    }
+
     @Override
     public int _getCount(boolean onlyIfCheap) {
         // In case someone uses Count() to force evaluation of the selector,
@@ -515,6 +559,11 @@ final class SelectRepeatIterator<TSource, TResult> extends Iterator<TResult> imp
         return new SelectRepeatIterator<>(this.element, this.count, Utilities.combineSelectors(this.selector, selector));
     }
 
+    @Override
+    public IEnumerable<TResult> _where(Predicate1<TResult> predicate) {
+        return new FusedIterator<TSource, TResult>(new RepeatIterator<>(this.element, this.count), FusedIterator.selectStep(this.selector))._where(predicate);
+    }
+
     @Override
     public TResult[] _toArray(Class<TResult> clazz) {
         TResult[] results = ArrayUtils.newInstance(clazz, this.count);
@@ -539,6 +588,15 @@ final class SelectRepeatIterator<TSource, TResult> extends Iterator<TResult> imp
         return list;
     }
 
+    @Override
+    public boolean _forEachWhile(Predicate1<TResult> action) {
+        for (int i = 0; i < this.count; i++) {
+            if (!action.apply(this.selector.apply(this.element)))
+                return false;
+        }
+        return true;
+    }
+
     @Override
     public int _getCount(boolean onlyIfCheap) {
         // In case someone uses Count() to force evaluation of the selector,
@@ -647,6 +705,11 @@ final class SelectListIterator<TSource, TResult> extends Iterator<TResult> imple
         return new SelectListIterator<>(this.source, Utilities.combineSelectors(this.selector, selector));
     }
 
+    @Override
+    public IEnumerable<TResult> _where(Predicate1<TResult> predicate) {
+        return new FusedIterator<TSource, TResult>(this.source, FusedIterator.selectStep(this.selector))._where(predicate);
+    }
+
     @Override
     public TResult[] _toArray(Class<TResult> clazz) {
         int count = this.source._getCount();
@@ -683,6 +746,12 @@ final class SelectListIterator<TSource, TResult> extends Iterator<TResult> imple
         return results;
     }
 
+    @Override
+    public boolean _forEachWhile(Predicate1<TResult> action) {
+        Func1<TSource, TResult> selector = this.selector;
+        return ForEach.forEachWhileInternal(this.source, item -> action.apply(selector.apply(item)));
+    }
+
     @Override
     public int _getCount(boolean onlyIfCheap) {
         // In case someone uses Count() to force evaluation of
@@ -800,6 +869,11 @@ final class SelectIListIterator<TSource, TResult> extends Iterator<TResult> impl
         return new SelectIListIterator<>(this.source, Utilities.combineSelectors(this.selector, selector));
     }
 
+    @Override
+    public IEnumerable<TResult> _where(Predicate1<TResult> predicate) {
+        return new FusedIterator<TSource, TResult>(this.source, FusedIterator.selectStep(this.selector))._where(predicate);
+    }
+
     @Override
     public TResult[] _toArray(Class<TResult> clazz) {
         int count = this.source._getCount();
@@ -843,6 +917,11 @@ final class SelectIListIterator<TSource, TResult> extends Iterator<TResult> impl
         return results;
     }
 
+    @Override
+    public boolean _forEachWhile(Predicate1<TResult> action) {
+        return ForEach.forEachWhileInternal(this.source, item -> action.apply(this.selector.apply(item)));
+    }
+
     @Override
     public int _getCount(boolean onlyIfCheap) {
         // In case someone uses Count() to force evaluation of
@@ -956,6 +1035,11 @@ final class SelectIPartitionIterator<TSource, TResult> extends Iterator<TResult>
         return new SelectIPartitionIterator<>(this.source, Utilities.combineSelectors(this.selector, selector));
     }
 
+    @Override
+    public IEnumerable<TResult> _where(Predicate1<TResult> predicate) {
+        return new FusedIterator<TSource, TResult>(this.source, FusedIterator.selectStep(this.selector))._where(predicate);
+    }
+
     @Override
     public IPartition<TResult> _skip(int count) {
         assert count > 0;
@@ -1156,6 +1240,11 @@ final class SelectListPartitionIterator<TSource, TResult> extends Iterator<TResu
         return new SelectListPartitionIterator<>(this.source, Utilities.combineSelectors(this.selector, selector), this.minIndexInclusive, this.maxIndexInclusive);
     }
 
+    @Override
+    public IEnumerable<TResult> _where(Predicate1<TResult> predicate) {
+        return new FusedIterator<TSource, TResult>(new ListPartition<>(this.source, this.minIndexInclusive, this.maxIndexInclusive), FusedIterator.selectStep(this.selector))._where(predicate);
+    }
+
     @Override
     public IPartition<TResult> _skip(int count) {
         assert count > 0;
@@ -1256,6 +1345,16 @@ final class SelectListPartitionIterator<TSource, TResult> extends Iterator<TResu
         return list;
     }
 
+    @Override
+    public boolean _forEachWhile(Predicate1<TResult> action) {
+        // Rereads the count like moveNext, so the list may shrink while action runs.
+        for (int i = this.minIndexInclusive; i < this.source._getCount() && i <= this.maxIndexInclusive; i++) {
+            if (!action.apply(this.selector.apply(this.source.get(i))))
+                return false;
+        }
+        return true;
+    }
+
     @Override
     public int _getCount(boolean onlyIfCheap) {
         // In case someone uses Count() to force evaluation of
@@ -1379,6 +1478,11 @@ final class SelectIListPartitionIterator<TSource, TResult> extends Iterator<TRes
         return new SelectIListPartitionIterator<>(this.source, Utilities.combineSelectors(this.selector, selector), this.minIndexInclusive, this.maxIndexInclusive);
     }
 
+    @Override
+    public IEnumerable<TResult> _where(Predicate1<TResult> predicate) {
+        return new FusedIterator<TSource, TResult>(new IListPartition<>(this.source, this.minIndexInclusive, this.maxIndexInclusive), FusedIterator.selectStep(this.selector))._where(predicate);
+    }
+
     //see SelectListPartitionIterator
     @Override
     public IPartition<TResult> _skip(int count) {
@@ -42,6 +42,11 @@ public final class Skip {
             return new IListPartition<>(sourceList, count, Integer.MAX_VALUE);
         }
 
+        if (source instanceof IFusible) {
+            IFusible<TSource> fusible = (IFusible<TSource>) source;
+            return fusible._fuse()._skip(count);
+        }
+
         return new EnumerablePartition<>(source, count, -1);
     }
 
@@ -0,0 +1,721 @@
+package com.bestvike.linq.enumerable;
+
+import com.bestvike.collections.generic.EqualityComparer;
+import com.bestvike.collections.generic.IEqualityComparer;
+import com.bestvike.function.Func1;
+import com.bestvike.function.Func2;
+import com.bestvike.linq.IEnumerable;
+import com.bestvike.linq.IEnumerator;
+import com.bestvike.linq.IGrouping;
+import com.bestvike.linq.ISerializer;
+import com.bestvike.linq.exception.ExceptionArgument;
+import com.bestvike.linq.exception.ThrowHelper;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Created by 许崇雷 on 2026-10-18.
+ */
+public final class Spill {
+    private static final int FAN_OUT_BITS = 4;
+    static final int FAN_OUT = 1 << FAN_OUT_BITS;
+    static final int MAX_DEPTH = 4;// partitions this deep are processed in memory whatever their size, their keys hardly split any further
+
+    private Spill() {
+    }
+
+    public static <TSource> IEnumerable<TSource> asSpillable(IEnumerable<TSource> source, ISerializer<TSource> serializer) {
+        return asSpillable(source, serializer, SpillOptions.DEFAULT_BUDGET, null);
+    }
+
+    public static <TSource> IEnumerable<TSource> asSpillable(IEnumerable<TSource> source, ISerializer<TSource> serializer, int budget) {
+        return asSpillable(source, serializer, budget, null);
+    }
+
+    public static <TSource> IEnumerable<TSource> asSpillable(IEnumerable<TSource> source, ISerializer<TSource> serializer, int budget, Path directory) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (serializer == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.serializer);
+        if (budget < 1)
+            ThrowHelper.throwArgumentOutOfRangeException(ExceptionArgument.budget);
+
+        if (source instanceof SpillableEnumerable)
+            source = ((SpillableEnumerable<TSource>) source).source;
+        return new SpillableEnumerable<>(source, new SpillOptions<>(serializer, budget, directory));
+    }
+
+    static <TSource, TKey> IEnumerable<IGrouping<TKey, TSource>> groupBy(SpillableEnumerable<TSource> source, Func1<TSource, TKey> keySelector, IEqualityComparer<TKey> comparer) {
+        if (keySelector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.keySelector);
+
+        return new SpillGroupByIterator<>(source, keySelector, null, comparer);
+    }
+
+    static <TSource, TKey, TResult> IEnumerable<TResult> groupBy(SpillableEnumerable<TSource> source, Func1<TSource, TKey> keySelector, Func2<TKey, IEnumerable<TSource>, TResult> resultSelector, IEqualityComparer<TKey> comparer) {
+        if (keySelector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.keySelector);
+        if (resultSelector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.resultSelector);
+
+        return Select.select(new SpillGroupByIterator<TSource, TKey, TSource>(source, keySelector, null, comparer), g -> resultSelector.apply(g.getKey(), g));
+    }
+
+    static <TSource, TKey, TElement> IEnumerable<IGrouping<TKey, TElement>> groupBy(SpillableEnumerable<TSource> source, Func1<TSource, TKey> keySelector, Func1<TSource, TElement> elementSelector, IEqualityComparer<TKey> comparer) {
+        if (keySelector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.keySelector);
+        if (elementSelector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.elementSelector);
+
+        return new SpillGroupByIterator<>(source, keySelector, elementSelector, comparer);
+    }
+
+    static <TSource, TKey, TElement, TResult> IEnumerable<TResult> groupBy(SpillableEnumerable<TSource> source, Func1<TSource, TKey> keySelector, Func1<TSource, TElement> elementSelector, Func2<TKey, IEnumerable<TElement>, TResult> resultSelector, IEqualityComparer<TKey> comparer) {
+        if (keySelector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.keySelector);
+        if (elementSelector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.elementSelector);
+        if (resultSelector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.resultSelector);
+
+        return Select.select(new SpillGroupByIterator<>(source, keySelector, elementSelector, comparer), g -> resultSelector.apply(g.getKey(), g));
+    }
+
+    // Spreads a hash code so that every depth partitions by independent bits.
+    static int partitionOf(int hashCode, int depth) {
+        int h = hashCode + depth * 0x9E3779B9;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h >>> (32 - FAN_OUT_BITS);
+    }
+
+    static <T> int hashCode(IEqualityComparer<T> comparer, T value) {
+        return value == null ? 0 : comparer.hashCode(value);
+    }
+
+    static void deleteAll(List<SpillFile<?>> files) {
+        if (files == null)
+            return;
+        for (SpillFile<?> file : files)
+            file.delete();
+    }
+}
+
+
+// Marks a source that operators may spill to temp files once it outgrows the budget.
+final class SpillableEnumerable<TSource> implements IEnumerable<TSource> {
+    final IEnumerable<TSource> source;
+    final SpillOptions<TSource> options;
+
+    SpillableEnumerable(IEnumerable<TSource> source, SpillOptions<TSource> options) {
+        this.source = source;
+        this.options = options;
+    }
+
+    @Override
+    public IEnumerator<TSource> enumerator() {
+        return this.source.enumerator();
+    }
+}
+
+
+final class SpillOptions<TElement> {
+    static final int DEFAULT_BUDGET = 1 << 20;
+
+    final ISerializer<TElement> serializer;
+    final int budget;// the most elements held in memory at once
+    final Path directory;// where temp files are created, null for the default temp directory
+
+    SpillOptions(ISerializer<TElement> serializer, int budget, Path directory) {
+        this.serializer = serializer;
+        this.budget = budget;
+        this.directory = directory;
+    }
+}
+
+
+// Elements written to a temp file and read back once in order.
+// The file is deleted when it is read to the end, when the reading enumerator is closed, or by delete.
+final class SpillFile<TElement> implements IEnumerable<TElement> {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final ISerializer<TElement> serializer;
+    private final Path file;
+    private DataOutputStream output;
+    private int count;
+    private boolean deleted;
+
+    SpillFile(SpillOptions<TElement> options, List<SpillFile<?>> owner) {
+        this.serializer = options.serializer;
+        try {
+            this.file = options.directory == null
+                    ? Files.createTempFile("linq-spill-", ".tmp")
+                    : Files.createTempFile(options.directory, "linq-spill-", ".tmp");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        owner.add(this);
+        try {
+            this.output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(FileChannel.open(this.file, StandardOpenOption.WRITE)), BUFFER_SIZE));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void add(TElement element) {
+        try {
+            this.serializer.write(this.output, element);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.count++;
+    }
+
+    int getCount() {
+        return this.count;
+    }
+
+    // Finishes writing, the file can then be read once.
+    @Override
+    public IEnumerator<TElement> enumerator() {
+        if (this.output != null) {
+            try {
+                this.output.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            this.output = null;
+        }
+        return new SpillFileEnumerator();
+    }
+
+    void delete() {
+        if (this.deleted)
+            return;
+        this.deleted = true;
+        try {
+            if (this.output != null) {
+                this.output.close();
+                this.output = null;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            try {
+                Files.deleteIfExists(this.file);
+            } catch (IOException e) {
+                //noinspection ThrowFromFinallyBlock
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+
+    private final class SpillFileEnumerator extends AbstractEnumerator<TElement> {
+        private DataInputStream input;
+        private int index;
+
+        @Override
+        public boolean moveNext() {
+            try {
+                switch (this.state) {
+                    case 0:
+                        this.input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(FileChannel.open(SpillFile.this.file, StandardOpenOption.READ)), BUFFER_SIZE));
+                        this.state = 1;
+                    case 1:
+                        if (this.index < SpillFile.this.count) {
+                            this.current = SpillFile.this.serializer.read(this.input);
+                            this.index++;
+                            return true;
+                        }
+                        this.close();
+                        return false;
+                    default:
+                        return false;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (this.state == -1)
+                return;
+            super.close();
+            try {
+                if (this.input != null) {
+                    this.input.close();
+                    this.input = null;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                SpillFile.this.delete();
+            }
+        }
+    }
+}
+
+
+// One spill file per hash partition, created when its first element is added.
+final class SpillPartitions<TElement> {
+    private final SpillOptions<TElement> options;
+    private final List<SpillFile<?>> owner;
+    private final List<SpillFile<TElement>> files;
+
+    SpillPartitions(SpillOptions<TElement> options, List<SpillFile<?>> owner) {
+        this.options = options;
+        this.owner = owner;
+        this.files = new ArrayList<>(Spill.FAN_OUT);
+        for (int i = 0; i < Spill.FAN_OUT; i++)
+            this.files.add(null);
+    }
+
+    void add(int partition, TElement element) {
+        SpillFile<TElement> file = this.files.get(partition);
+        if (file == null) {
+            file = new SpillFile<>(this.options, this.owner);
+            this.files.set(partition, file);
+        }
+        file.add(element);
+    }
+
+    SpillFile<TElement> get(int partition) {
+        return this.files.get(partition);
+    }
+}
+
+
+// Grace hash join: the inner side is looked up in memory while it fits the budget of the inner source.
+// Past it both sides are hash partitioned to temp files, and the pairs of partitions are joined one at a time, recursively partitioned again if still too large.
+// Spilled results come partition by partition, in outer order within a partition.
+final class SpillJoinIterator<TOuter, TInner, TKey, TResult> extends AbstractIterator<TResult> {
+    private final SpillableEnumerable<TOuter> outer;
+    private final SpillableEnumerable<TInner> inner;
+    private final Func1<TOuter, TKey> outerKeySelector;
+    private final Func1<TInner, TKey> innerKeySelector;
+    private final Func2<TOuter, TInner, TResult> resultSelector;
+    private final Func2<TOuter, IEnumerable<TInner>, TResult> groupResultSelector;// set for group joins, which yield every outer element once
+    private final IEqualityComparer<TKey> comparer;
+    private Deque<JoinTask<TOuter, TInner>> tasks;
+    private List<SpillFile<?>> files;
+    private Lookup<TKey, TInner> lookup;
+    private IEnumerator<TOuter> outerEnumerator;
+    private TOuter item;
+    private Grouping<TKey, TInner> g;
+    private int index;
+
+    SpillJoinIterator(SpillableEnumerable<TOuter> outer, SpillableEnumerable<TInner> inner, Func1<TOuter, TKey> outerKeySelector, Func1<TInner, TKey> innerKeySelector,
+                      Func2<TOuter, TInner, TResult> resultSelector, Func2<TOuter, IEnumerable<TInner>, TResult> groupResultSelector, IEqualityComparer<TKey> comparer) {
+        this.outer = outer;
+        this.inner = inner;
+        this.outerKeySelector = outerKeySelector;
+        this.innerKeySelector = innerKeySelector;
+        this.resultSelector = resultSelector;
+        this.groupResultSelector = groupResultSelector;
+        this.comparer = comparer == null ? EqualityComparer.Default() : comparer;
+    }
+
+    @Override
+    public AbstractIterator<TResult> clone() {
+        return new SpillJoinIterator<>(this.outer, this.inner, this.outerKeySelector, this.innerKeySelector, this.resultSelector, this.groupResultSelector, this.comparer);
+    }
+
+    @Override
+    public boolean moveNext() {
+        do {
+            switch (this.state) {
+                case 1:
+                    this.tasks = new ArrayDeque<>();
+                    this.files = new ArrayList<>();
+                    this.tasks.push(new JoinTask<>(this.outer.source, this.inner.source, 0));
+                    this.state = 2;
+                case 2:
+                    if (this.tasks.isEmpty()) {
+                        this.close();
+                        return false;
+                    }
+                    JoinTask<TOuter, TInner> task = this.tasks.pop();
+                    this.lookup = this.build(task);
+                    if (this.lookup == null || (this.lookup.getCount() == 0 && this.groupResultSelector == null))
+                        break;
+                    this.outerEnumerator = task.outer.enumerator();
+                    this.state = 3;
+                case 3:
+                    if (this.g != null && this.index < this.g.count) {
+                        this.current = this.resultSelector.apply(this.item, this.g.get(this.index++));
+                        return true;
+                    }
+                    if (this.outerEnumerator.moveNext()) {
+                        this.item = this.outerEnumerator.current();
+                        TKey key = this.outerKeySelector.apply(this.item);
+                        if (this.groupResultSelector != null) {
+                            this.current = this.groupResultSelector.apply(this.item, this.lookup.fetch(key));
+                            return true;
+                        }
+                        this.g = this.lookup.fetchGrouping(key);
+                        this.index = 0;
+                        break;
+                    }
+                    this.outerEnumerator.close();
+                    this.outerEnumerator = null;
+                    this.lookup = null;
+                    this.item = null;
+                    this.g = null;
+                    this.state = 2;
+                    break;
+                default:
+                    return false;
+            }
+        } while (true);
+    }
+
+    // Looks up the inner side of a task, or partitions the task and returns null when the inner side exceeds the budget.
+    private Lookup<TKey, TInner> build(JoinTask<TOuter, TInner> task) {
+        Lookup<TKey, TInner> lookup = Lookup.create(this.comparer);
+        int count = 0;
+        try (IEnumerator<TInner> e = task.inner.enumerator()) {
+            while (e.moveNext()) {
+                TInner item = e.current();
+                TKey key = this.innerKeySelector.apply(item);
+                if (key == null)
+                    continue;
+                if (count == this.inner.options.budget && task.depth < Spill.MAX_DEPTH) {
+                    this.partition(task, lookup, item, e);
+                    return null;
+                }
+                lookup.add(key, item);
+                count++;
+            }
+        }
+        return lookup;
+    }
+
+    private void partition(JoinTask<TOuter, TInner> task, Lookup<TKey, TInner> lookup, TInner item, IEnumerator<TInner> e) {
+        int depth = task.depth;
+        SpillPartitions<TInner> inners = new SpillPartitions<>(this.inner.options, this.files);
+        try (IEnumerator<IGrouping<TKey, TInner>> groupings = lookup.enumerator()) {
+            while (groupings.moveNext()) {
+                Grouping<TKey, TInner> g = (Grouping<TKey, TInner>) groupings.current();
+                int partition = Spill.partitionOf(Spill.hashCode(this.comparer, g.key), depth);
+                for (int i = 0; i < g.count; i++)
+                    inners.add(partition, g.get(i));
+            }
+        }
+        inners.add(Spill.partitionOf(Spill.hashCode(this.comparer, this.innerKeySelector.apply(item)), depth), item);
+        while (e.moveNext()) {
+            item = e.current();
+            TKey key = this.innerKeySelector.apply(item);
+            if (key != null)
+                inners.add(Spill.partitionOf(Spill.hashCode(this.comparer, key), depth), item);
+        }
+
+        SpillPartitions<TOuter> outers = new SpillPartitions<>(this.outer.options, this.files);
+        try (IEnumerator<TOuter> o = task.outer.enumerator()) {
+            while (o.moveNext()) {
+                TOuter outerItem = o.current();
+                TKey key = this.outerKeySelector.apply(outerItem);
+                if (key != null || this.groupResultSelector != null)
+                    outers.add(Spill.partitionOf(Spill.hashCode(this.comparer, key), depth), outerItem);
+            }
+        }
+
+        for (int partition = Spill.FAN_OUT - 1; partition >= 0; partition--) {
+            SpillFile<TOuter> outerFile = outers.get(partition);
+            SpillFile<TInner> innerFile = inners.get(partition);
+            if (outerFile == null || (innerFile == null && this.groupResultSelector == null))
+                continue;
+            this.tasks.push(new JoinTask<>(outerFile, innerFile == null ? EmptyPartition.instance() : innerFile, depth + 1));
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.outerEnumerator != null) {
+            this.outerEnumerator.close();
+            this.outerEnumerator = null;
+        }
+        Spill.deleteAll(this.files);
+        this.files = null;
+        this.tasks = null;
+        this.lookup = null;
+        this.item = null;
+        this.g = null;
+        super.close();
+    }
+
+
+    private static final class JoinTask<TOuter, TInner> {
+        private final IEnumerable<TOuter> outer;
+        private final IEnumerable<TInner> inner;
+        private final int depth;
+
+        private JoinTask(IEnumerable<TOuter> outer, IEnumerable<TInner> inner, int depth) {
+            this.outer = outer;
+            this.inner = inner;
+            this.depth = depth;
+        }
+    }
+}
+
+
+// Groups in memory while the source fits the budget, in first seen order like groupBy.
+// Past it the source is hash partitioned by key to temp files and every partition is grouped on its own, recursively partitioned again if still too large.
+final class SpillGroupByIterator<TSource, TKey, TElement> extends AbstractIterator<IGrouping<TKey, TElement>> {
+    private final SpillableEnumerable<TSource> source;
+    private final Func1<TSource, TKey> keySelector;
+    private final Func1<TSource, TElement> elementSelector;// null to group the source elements themselves
+    private final IEqualityComparer<TKey> comparer;
+    private Deque<Task<TSource>> tasks;
+    private List<SpillFile<?>> files;
+    private IEnumerator<IGrouping<TKey, TSource>> groupings;
+
+    SpillGroupByIterator(SpillableEnumerable<TSource> source, Func1<TSource, TKey> keySelector, Func1<TSource, TElement> elementSelector, IEqualityComparer<TKey> comparer) {
+        this.source = source;
+        this.keySelector = keySelector;
+        this.elementSelector = elementSelector;
+        this.comparer = comparer == null ? EqualityComparer.Default() : comparer;
+    }
+
+    @Override
+    public AbstractIterator<IGrouping<TKey, TElement>> clone() {
+        return new SpillGroupByIterator<>(this.source, this.keySelector, this.elementSelector, this.comparer);
+    }
+
+    @Override
+    public boolean moveNext() {
+        do {
+            switch (this.state) {
+                case 1:
+                    this.tasks = new ArrayDeque<>();
+                    this.files = new ArrayList<>();
+                    this.tasks.push(new Task<>(this.source.source, 0));
+                    this.state = 2;
+                case 2:
+                    if (this.tasks.isEmpty()) {
+                        this.close();
+                        return false;
+                    }
+                    Lookup<TKey, TSource> lookup = this.build(this.tasks.pop());
+                    if (lookup == null)
+                        break;
+                    this.groupings = lookup.enumerator();
+                    this.state = 3;
+                case 3:
+                    if (this.groupings.moveNext()) {
+                        Grouping<TKey, TSource> g = (Grouping<TKey, TSource>) this.groupings.current();
+                        if (this.elementSelector == null) {
+                            //noinspection unchecked
+                            this.current = (IGrouping<TKey, TElement>) (IGrouping<TKey, ?>) g;
+                            return true;
+                        }
+                        Grouping<TKey, TElement> result = new Grouping<>(g.key, g.hashCode);
+                        for (int i = 0; i < g.count; i++)
+                            result.add(this.elementSelector.apply(g.get(i)));
+                        this.current = result;
+                        return true;
+                    }
+                    this.groupings.close();
+                    this.groupings = null;
+                    this.state = 2;
+                    break;
+                default:
+                    return false;
+            }
+        } while (true);
+    }
+
+    // Groups the source of a task, or partitions the task and returns null when it exceeds the budget.
+    private Lookup<TKey, TSource> build(Task<TSource> task) {
+        Lookup<TKey, TSource> lookup = Lookup.create(this.comparer);
+        int count = 0;
+        try (IEnumerator<TSource> e = task.source.enumerator()) {
+            while (e.moveNext()) {
+                TSource item = e.current();
+                if (count == this.source.options.budget && task.depth < Spill.MAX_DEPTH) {
+                    this.partition(task, lookup, item, e);
+                    return null;
+                }
+                lookup.add(this.keySelector.apply(item), item);
+                count++;
+            }
+        }
+        return lookup;
+    }
+
+    private void partition(Task<TSource> task, Lookup<TKey, TSource> lookup, TSource item, IEnumerator<TSource> e) {
+        int depth = task.depth;
+        SpillPartitions<TSource> partitions = new SpillPartitions<>(this.source.options, this.files);
+        try (IEnumerator<IGrouping<TKey, TSource>> groupings = lookup.enumerator()) {
+            while (groupings.moveNext()) {
+                Grouping<TKey, TSource> g = (Grouping<TKey, TSource>) groupings.current();
+                int partition = Spill.partitionOf(Spill.hashCode(this.comparer, g.key), depth);
+                for (int i = 0; i < g.count; i++)
+                    partitions.add(partition, g.get(i));
+            }
+        }
+        partitions.add(Spill.partitionOf(Spill.hashCode(this.comparer, this.keySelector.apply(item)), depth), item);
+        while (e.moveNext()) {
+            item = e.current();
+            partitions.add(Spill.partitionOf(Spill.hashCode(this.comparer, this.keySelector.apply(item)), depth), item);
+        }
+
+        for (int partition = Spill.FAN_OUT - 1; partition >= 0; partition--) {
+            SpillFile<TSource> file = partitions.get(partition);
+            if (file != null)
+                this.tasks.push(new Task<>(file, depth + 1));
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.groupings != null) {
+            this.groupings.close();
+            this.groupings = null;
+        }
+        Spill.deleteAll(this.files);
+        this.files = null;
+        this.tasks = null;
+        super.close();
+    }
+
+
+    private static final class Task<TSource> {
+        private final IEnumerable<TSource> source;
+        private final int depth;
+
+        private Task(IEnumerable<TSource> source, int depth) {
+            this.source = source;
+            this.depth = depth;
+        }
+    }
+}
+
+
+// Streams distinct elements while the set of seen elements fits the budget.
+// Past it the seen elements and the rest of the source are hash partitioned to temp files, then every partition streams its unseen elements on its own.
+final class SpillDistinctIterator<TSource> extends AbstractIterator<TSource> {
+    private final SpillableEnumerable<TSource> source;
+    private final IEqualityComparer<TSource> comparer;
+    private Deque<Task<TSource>> tasks;
+    private List<SpillFile<?>> files;
+    private Set<TSource> set;
+    private IEnumerator<TSource> enumerator;
+    private int depth;
+
+    SpillDistinctIterator(SpillableEnumerable<TSource> source, IEqualityComparer<TSource> comparer) {
+        this.source = source;
+        this.comparer = comparer == null ? EqualityComparer.Default() : comparer;
+    }
+
+    @Override
+    public AbstractIterator<TSource> clone() {
+        return new SpillDistinctIterator<>(this.source, this.comparer);
+    }
+
+    @Override
+    public boolean moveNext() {
+        do {
+            switch (this.state) {
+                case 1:
+                    this.tasks = new ArrayDeque<>();
+                    this.files = new ArrayList<>();
+                    this.tasks.push(new Task<>(EmptyPartition.instance(), this.source.source, 0));
+                    this.state = 2;
+                case 2:
+                    if (this.tasks.isEmpty()) {
+                        this.close();
+                        return false;
+                    }
+                    Task<TSource> task = this.tasks.pop();
+                    this.set = new Set<>(this.comparer);
+                    this.set.unionWith(task.seen);
+                    this.enumerator = task.source.enumerator();
+                    this.depth = task.depth;
+                    this.state = 3;
+                case 3:
+                    while (this.enumerator.moveNext()) {
+                        TSource item = this.enumerator.current();
+                        if (this.set.add(item)) {
+                            if (this.set.getCount() > this.source.options.budget && this.depth < Spill.MAX_DEPTH)
+                                this.partition();
+                            this.current = item;
+                            return true;
+                        }
+                    }
+                    this.enumerator.close();
+                    this.enumerator = null;
+                    this.set = null;
+                    this.state = 2;
+                    break;
+                default:
+                    return false;
+            }
+        } while (true);
+    }
+
+    private void partition() {
+        SpillPartitions<TSource> seen = new SpillPartitions<>(this.source.options, this.files);
+        for (TSource item : this.set.toList())
+            seen.add(Spill.partitionOf(Spill.hashCode(this.comparer, item), this.depth), item);
+        SpillPartitions<TSource> rest = new SpillPartitions<>(this.source.options, this.files);
+        while (this.enumerator.moveNext()) {
+            TSource item = this.enumerator.current();
+            rest.add(Spill.partitionOf(Spill.hashCode(this.comparer, item), this.depth), item);
+        }
+        this.enumerator.close();
+
+        for (int partition = Spill.FAN_OUT - 1; partition >= 0; partition--) {
+            SpillFile<TSource> restFile = rest.get(partition);
+            if (restFile == null)
+                continue;
+            SpillFile<TSource> seenFile = seen.get(partition);
+            this.tasks.push(new Task<>(seenFile == null ? EmptyPartition.instance() : seenFile, restFile, this.depth + 1));
+        }
+        this.enumerator = EmptyPartition.<TSource>instance().enumerator();
+    }
+
+    @Override
+    public void close() {
+        if (this.enumerator != null) {
+            this.enumerator.close();
+            this.enumerator = null;
+        }
+        Spill.deleteAll(this.files);
+        this.files = null;
+        this.tasks = null;
+        this.set = null;
+        super.close();
+    }
+
+
+    private static final class Task<TSource> {
+        private final IEnumerable<TSource> seen;
+        private final IEnumerable<TSource> source;
+        private final int depth;
+
+        private Task(IEnumerable<TSource> seen, IEnumerable<TSource> source, int depth) {
+            this.seen = seen;
+            this.source = source;
+            this.depth = depth;
+        }
+    }
+}
@@ -1,13 +1,15 @@
 package com.bestvike.linq.enumerable;
 
-import com.bestvike.collections.generic.Array;
+import com.bestvike.function.Func1;
 import com.bestvike.linq.IEnumerable;
-import com.bestvike.linq.adapter.enumerable.SingletonEnumerable;
 import com.bestvike.linq.exception.ExceptionArgument;
 import com.bestvike.linq.exception.ThrowHelper;
+import com.bestvike.linq.util.StringSegment;
 import com.bestvike.linq.util.StringSplitOptions;
 import com.bestvike.linq.util.Strings;
 
+import java.util.Arrays;
+
 /**
  * Created by 许崇雷 on 2019-08-13.
  */
@@ -22,16 +24,8 @@ public final class Split {
     public static IEnumerable<String> split(CharSequence source, char separator, StringSplitOptions options) {
         if (source == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
-        if (options == null)
-            ThrowHelper.throwArgumentNullException(ExceptionArgument.options);
-
-        boolean omitEmptyEntries = (options == StringSplitOptions.RemoveEmptyEntries);
-        if (omitEmptyEntries && source.length() == 0)
-            return Array.empty();
 
-        return omitEmptyEntries
-                ? new CharOmitEmptySplitIterator1(source, separator)
-                : new CharKeepEmptySplitIterator1(source, separator);
+        return Splitter.of(separator, options).split(source);
     }
 
     public static IEnumerable<String> split(CharSequence source, char[] separator) {
@@ -41,35 +35,8 @@ public final class Split {
     public static IEnumerable<String> split(CharSequence source, char[] separator, StringSplitOptions options) {
         if (source == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
-        if (options == null)
-            ThrowHelper.throwArgumentNullException(ExceptionArgument.options);
-
-        boolean omitEmptyEntries = (options == StringSplitOptions.RemoveEmptyEntries);
-        if (omitEmptyEntries && source.length() == 0)
-            return Array.empty();
-
-        switch (separator == null ? 0 : separator.length) {
-            case 0:
-                return omitEmptyEntries
-                        ? new CharOmitEmptySplitIterator0(source)
-                        : new CharKeepEmptySplitIterator0(source);
-            case 1:
-                return omitEmptyEntries
-                        ? new CharOmitEmptySplitIterator1(source, separator[0])
-                        : new CharKeepEmptySplitIterator1(source, separator[0]);
-            case 2:
-                return omitEmptyEntries
-                        ? new CharOmitEmptySplitIterator2(source, separator[0], separator[1])
-                        : new CharKeepEmptySplitIterator2(source, separator[0], separator[1]);
-            case 3:
-                return omitEmptyEntries
-                        ? new CharOmitEmptySplitIterator3(source, separator[0], separator[1], separator[2])
-                        : new CharKeepEmptySplitIterator3(source, separator[0], separator[1], separator[2]);
-            default:
-                return omitEmptyEntries
-                        ? new CharOmitEmptySplitIteratorN(source, separator)
-                        : new CharKeepEmptySplitIteratorN(source, separator);
-        }
+
+        return Splitter.of(separator, options).split(source);
     }
 
     public static IEnumerable<String> split(CharSequence source, CharSequence separator) {
@@ -79,19 +46,8 @@ public final class Split {
     public static IEnumerable<String> split(CharSequence source, CharSequence separator, StringSplitOptions options) {
         if (source == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
-        if (options == null)
-            ThrowHelper.throwArgumentNullException(ExceptionArgument.options);
-
-        boolean omitEmptyEntries = options == StringSplitOptions.RemoveEmptyEntries;
-        if (omitEmptyEntries && source.length() == 0)
-            return Array.empty();
-
-        if (Strings.isNullOrEmpty(separator))
-            return new SingletonEnumerable<>(source.toString());
 
-        return omitEmptyEntries
-                ? new StringOmitEmptySplitIterator1(source, separator)
-                : new StringKeepEmptySplitIterator1(source, separator);
+        return Splitter.of(separator, options).split(source);
     }
 
     public static IEnumerable<String> split(CharSequence source, CharSequence[] separator) {
@@ -101,36 +57,80 @@ public final class Split {
     public static IEnumerable<String> split(CharSequence source, CharSequence[] separator, StringSplitOptions options) {
         if (source == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
-        if (options == null)
-            ThrowHelper.throwArgumentNullException(ExceptionArgument.options);
 
-        boolean omitEmptyEntries = (options == StringSplitOptions.RemoveEmptyEntries);
-        if (omitEmptyEntries && source.length() == 0)
-            return Array.empty();
+        return Splitter.of(separator, options).split(source);
+    }
+
+    public static IEnumerable<StringSegment> splitViews(CharSequence source, char separator) {
+        return splitViews(source, separator, StringSplitOptions.None);
+    }
+
+    public static IEnumerable<StringSegment> splitViews(CharSequence source, char separator, StringSplitOptions options) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        return Splitter.of(separator, options).splitViews(source);
+    }
+
+    public static IEnumerable<StringSegment> splitViews(CharSequence source, char[] separator) {
+        return splitViews(source, separator, StringSplitOptions.None);
+    }
+
+    public static IEnumerable<StringSegment> splitViews(CharSequence source, char[] separator, StringSplitOptions options) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        return Splitter.of(separator, options).splitViews(source);
+    }
+
+    public static IEnumerable<StringSegment> splitViews(CharSequence source, CharSequence separator) {
+        return splitViews(source, separator, StringSplitOptions.None);
+    }
+
+    public static IEnumerable<StringSegment> splitViews(CharSequence source, CharSequence separator, StringSplitOptions options) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        return Splitter.of(separator, options).splitViews(source);
+    }
 
-        if (separator == null || separator.length == 0)
-            return omitEmptyEntries
-                    ? new CharOmitEmptySplitIterator0(source)
-                    : new CharKeepEmptySplitIterator0(source);
+    public static IEnumerable<StringSegment> splitViews(CharSequence source, CharSequence[] separator) {
+        return splitViews(source, separator, StringSplitOptions.None);
+    }
 
-        return omitEmptyEntries
-                ? new StringOmitEmptySplitIteratorN(source, separator)
-                : new StringKeepEmptySplitIteratorN(source, separator);
+    public static IEnumerable<StringSegment> splitViews(CharSequence source, CharSequence[] separator, StringSplitOptions options) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        return Splitter.of(separator, options).splitViews(source);
     }
 }
 
 
-final class CharKeepEmptySplitIterator0 extends AbstractIterator<String> {
-    private final CharSequence source;
+abstract class SplitIterator<TResult> extends AbstractIterator<TResult> {
+    final CharSequence source;
+    final Func1<StringSegment, TResult> materializer;
 
-    CharKeepEmptySplitIterator0(CharSequence source) {
-        assert source != null;
+    SplitIterator(CharSequence source, Func1<StringSegment, TResult> materializer) {
         this.source = source;
+        this.materializer = materializer;
+    }
+
+    final TResult token(int beginIndex, int endIndex) {
+        return this.materializer.apply(new StringSegment(this.source, beginIndex, endIndex - beginIndex));
+    }
+}
+
+
+final class CharKeepEmptySplitIterator0<TResult> extends SplitIterator<TResult> {
+    CharKeepEmptySplitIterator0(CharSequence source, Func1<StringSegment, TResult> materializer) {
+        super(source, materializer);
+        assert source != null;
     }
 
     @Override
-    public AbstractIterator<String> clone() {
-        return new CharKeepEmptySplitIterator0(this.source);
+    public AbstractIterator<TResult> clone() {
+        return new CharKeepEmptySplitIterator0<>(this.source, this.materializer);
     }
 
     @Override
@@ -149,14 +149,14 @@ final class CharKeepEmptySplitIterator0 extends AbstractIterator<String> {
         while (index < length) {
             char current = this.source.charAt(index);
             if (Character.isWhitespace(current)) {
-                this.current = index == beginIndex ? Strings.Empty : this.source.subSequence(beginIndex, index).toString();
+                this.current = this.token(beginIndex, index);
                 this.state = index + 2;
                 return true;
             }
             index++;
         }
         if (index == length) {
-            this.current = index == beginIndex ? Strings.Empty : this.source.subSequence(beginIndex, index).toString();
+            this.current = this.token(beginIndex, index);
             this.state = index + 2;
             return true;
         }
@@ -167,19 +167,18 @@ final class CharKeepEmptySplitIterator0 extends AbstractIterator<String> {
 }
 
 
-final class CharKeepEmptySplitIterator1 extends AbstractIterator<String> {
-    private final CharSequence source;
+final class CharKeepEmptySplitIterator1<TResult> extends SplitIterator<TResult> {
     private final char separator;
 
-    CharKeepEmptySplitIterator1(CharSequence source, char separator) {
+    CharKeepEmptySplitIterator1(CharSequence source, char separator, Func1<StringSegment, TResult> materializer) {
+        super(source, materializer);
         assert source != null;
-        this.source = source;
         this.separator = separator;
     }
 
     @Override
-    public AbstractIterator<String> clone() {
-        return new CharKeepEmptySplitIterator1(this.source, this.separator);
+    public AbstractIterator<TResult> clone() {
+        return new CharKeepEmptySplitIterator1<>(this.source, this.separator, this.materializer);
     }
 
     @Override
@@ -198,14 +197,14 @@ final class CharKeepEmptySplitIterator1 extends AbstractIterator<String> {
         while (index < length) {
             char current = this.source.charAt(index);
             if (current == this.separator) {
-                this.current = index == beginIndex ? Strings.Empty : this.source.subSequence(beginIndex, index).toString();
+                this.current = this.token(beginIndex, index);
                 this.state = index + 2;
                 return true;
             }
             index++;
         }
         if (index == length) {
-            this.current = index == beginIndex ? Strings.Empty : this.source.subSequence(beginIndex, index).toString();
+            this.current = this.token(beginIndex, index);
             this.state = index + 2;
             return true;
         }
@@ -216,21 +215,20 @@ final class CharKeepEmptySplitIterator1 extends AbstractIterator<String> {
 }
 
 
-final class CharKeepEmptySplitIterator2 extends AbstractIterator<String> {
-    private final CharSequence source;
+final class CharKeepEmptySplitIterator2<TResult> extends SplitIterator<TResult> {
     private final char separator0;
     private final char separator1;
 
-    CharKeepEmptySplitIterator2(CharSequence source, char separator0, char separator1) {
+    CharKeepEmptySplitIterator2(CharSequence source, char separator0, char separator1, Func1<StringSegment, TResult> materializer) {
+        super(source, materializer);
         assert source != null;
-        this.source = source;
         this.separator0 = separator0;
         this.separator1 = separator1;
     }
 
     @Override
-    public AbstractIterator<String> clone() {
-        return new CharKeepEmptySplitIterator2(this.source, this.separator0, this.separator1);
+    public AbstractIterator<TResult> clone() {
+        return new CharKeepEmptySplitIterator2<>(this.source, this.separator0, this.separator1, this.materializer);
     }
 
     @Override
@@ -249,14 +247,14 @@ final class CharKeepEmptySplitIterator2 extends AbstractIterator<String> {
         while (index < length) {
             char current = this.source.charAt(index);
             if (current == this.separator0 || current == this.separator1) {
-                this.current = index == beginIndex ? Strings.Empty : this.source.subSequence(beginIndex, index).toString();
+                this.current = this.token(beginIndex, index);
                 this.state = index + 2;
                 return true;
             }
             index++;
         }
         if (index == length) {
-            this.current = index == beginIndex ? Strings.Empty : this.source.subSequence(beginIndex, index).toString();
+            this.current = this.token(beginIndex, index);
             this.state = index + 2;
             return true;
         }
@@ -267,23 +265,22 @@ final class CharKeepEmptySplitIterator2 extends AbstractIterator<String> {
 }
 
 
-final class CharKeepEmptySplitIterator3 extends AbstractIterator<String> {
-    private final CharSequence source;
+final class CharKeepEmptySplitIterator3<TResult> extends SplitIterator<TResult> {
     private final char separator0;
     private final char separator1;
     private final char separator2;
 
-    CharKeepEmptySplitIterator3(CharSequence source, char separator0, char separator1, char separator2) {
+    CharKeepEmptySplitIterator3(CharSequence source, char separator0, char separator1, char separator2, Func1<StringSegment, TResult> materializer) {
+        super(source, materializer);
         assert source != null;
-        this.source = source;
         this.separator0 = separator0;
         this.separator1 = separator1;
         this.separator2 = separator2;
     }
 
     @Override
-    public AbstractIterator<String> clone() {
-        return new CharKeepEmptySplitIterator3(this.source, this.separator0, this.separator1, this.separator2);
+    public AbstractIterator<TResult> clone() {
+        return new CharKeepEmptySplitIterator3<>(this.source, this.separator0, this.separator1, this.separator2, this.materializer);
     }
 
     @Override
@@ -302,14 +299,14 @@ final class CharKeepEmptySplitIterator3 extends AbstractIterator<String> {
         while (index < length) {
             char current = this.source.charAt(index);
             if (current == this.separator0 || current == this.separator1 || current == this.separator2) {
-                this.current = index == beginIndex ? Strings.Empty : this.source.subSequence(beginIndex, index).toString();
+                this.current = this.token(beginIndex, index);
                 this.state = index + 2;
                 return true;
             }
             index++;
         }
         if (index == length) {
-            this.current = index == beginIndex ? Strings.Empty : this.source.subSequence(beginIndex, index).toString();
+            this.current = this.token(beginIndex, index);
             this.state = index + 2;
             return true;
         }
@@ -320,21 +317,19 @@ final class CharKeepEmptySplitIterator3 extends AbstractIterator<String> {
 }
 
 
-final class CharKeepEmptySplitIteratorN extends AbstractIterator<String> {
-    private final CharSequence source;
-    private final char[] separators;
-    private ProbabilisticMap charMap;
+final class CharKeepEmptySplitIteratorN<TResult> extends SplitIterator<TResult> {
+    private final ProbabilisticMap charMap;
 
-    CharKeepEmptySplitIteratorN(CharSequence source, char[] separators) {
+    CharKeepEmptySplitIteratorN(CharSequence source, ProbabilisticMap charMap, Func1<StringSegment, TResult> materializer) {
+        super(source, materializer);
         assert source != null;
-        assert separators != null && separators.length > 3;
-        this.source = source;
-        this.separators = separators;
+        assert charMap != null;
+        this.charMap = charMap;
     }
 
     @Override
-    public AbstractIterator<String> clone() {
-        return new CharKeepEmptySplitIteratorN(this.source, this.separators);
+    public AbstractIterator<TResult> clone() {
+        return new CharKeepEmptySplitIteratorN<>(this.source, this.charMap, this.materializer);
     }
 
     @Override
@@ -342,9 +337,6 @@ final class CharKeepEmptySplitIteratorN extends AbstractIterator<String> {
         if (this.state == -1)
             return false;
 
-        if (this.state == 1)
-            this.charMap = new ProbabilisticMap(this.separators);
-
         int index = this.state - 1;
         if (index < 0) {
             this.close();
@@ -356,14 +348,14 @@ final class CharKeepEmptySplitIteratorN extends AbstractIterator<String> {
         while (index < length) {
             char current = this.source.charAt(index);
             if (this.charMap.contains(current)) {
-                this.current = index == beginIndex ? Strings.Empty : this.source.subSequence(beginIndex, index).toString();
+                this.current = this.token(beginIndex, index);
                 this.state = index + 2;
                 return true;
             }
             index++;
         }
         if (index == length) {
-            this.current = index == beginIndex ? Strings.Empty : this.source.subSequence(beginIndex, index).toString();
+            this.current = this.token(beginIndex, index);
             this.state = index + 2;
             return true;
         }
@@ -371,26 +363,18 @@ final class CharKeepEmptySplitIteratorN extends AbstractIterator<String> {
         this.close();
         return false;
     }
-
-    @Override
-    public void close() {
-        this.charMap = null;
-        super.close();
-    }
 }
 
 
-final class CharOmitEmptySplitIterator0 extends AbstractIterator<String> {
-    private final CharSequence source;
-
-    CharOmitEmptySplitIterator0(CharSequence source) {
+final class CharOmitEmptySplitIterator0<TResult> extends SplitIterator<TResult> {
+    CharOmitEmptySplitIterator0(CharSequence source, Func1<StringSegment, TResult> materializer) {
+        super(source, materializer);
         assert !Strings.isNullOrEmpty(source);
-        this.source = source;
     }
 
     @Override
-    public AbstractIterator<String> clone() {
-        return new CharOmitEmptySplitIterator0(this.source);
+    public AbstractIterator<TResult> clone() {
+        return new CharOmitEmptySplitIterator0<>(this.source, this.materializer);
     }
 
     @Override
@@ -413,7 +397,7 @@ final class CharOmitEmptySplitIterator0 extends AbstractIterator<String> {
                     break;
                 index++;
             }
-            this.current = this.source.subSequence(beginIndex, index).toString();
+            this.current = this.token(beginIndex, index);
             this.state = index + 1;
             return true;
         }
@@ -424,19 +408,18 @@ final class CharOmitEmptySplitIterator0 extends AbstractIterator<String> {
 }
 
 
-final class CharOmitEmptySplitIterator1 extends AbstractIterator<String> {
-    private final CharSequence source;
+final class CharOmitEmptySplitIterator1<TResult> extends SplitIterator<TResult> {
     private final char separator;
 
-    CharOmitEmptySplitIterator1(CharSequence source, char separator) {
+    CharOmitEmptySplitIterator1(CharSequence source, char separator, Func1<StringSegment, TResult> materializer) {
+        super(source, materializer);
         assert !Strings.isNullOrEmpty(source);
-        this.source = source;
         this.separator = separator;
     }
 
     @Override
-    public AbstractIterator<String> clone() {
-        return new CharOmitEmptySplitIterator1(this.source, this.separator);
+    public AbstractIterator<TResult> clone() {
+        return new CharOmitEmptySplitIterator1<>(this.source, this.separator, this.materializer);
     }
 
     @Override
@@ -459,7 +442,7 @@ final class CharOmitEmptySplitIterator1 extends AbstractIterator<String> {
                     break;
                 index++;
             }
-            this.current = this.source.subSequence(beginIndex, index).toString();
+            this.current = this.token(beginIndex, index);
             this.state = index + 1;
             return true;
         }
@@ -470,21 +453,20 @@ final class CharOmitEmptySplitIterator1 extends AbstractIterator<String> {
 }
 
 
-final class CharOmitEmptySplitIterator2 extends AbstractIterator<String> {
-    private final CharSequence source;
+final class CharOmitEmptySplitIterator2<TResult> extends SplitIterator<TResult> {
     private final char separator0;
     private final char separator1;
 
-    CharOmitEmptySplitIterator2(CharSequence source, char separator0, char separator1) {
+    CharOmitEmptySplitIterator2(CharSequence source, char separator0, char separator1, Func1<StringSegment, TResult> materializer) {
+        super(source, materializer);
         assert !Strings.isNullOrEmpty(source);
-        this.source = source;
         this.separator0 = separator0;
         this.separator1 = separator1;
     }
 
     @Override
-    public AbstractIterator<String> clone() {
-        return new CharOmitEmptySplitIterator2(this.source, this.separator0, this.separator1);
+    public AbstractIterator<TResult> clone() {
+        return new CharOmitEmptySplitIterator2<>(this.source, this.separator0, this.separator1, this.materializer);
     }
 
     @Override
@@ -507,7 +489,7 @@ final class CharOmitEmptySplitIterator2 extends AbstractIterator<String> {
                     break;
                 index++;
             }
-            this.current = this.source.subSequence(beginIndex, index).toString();
+            this.current = this.token(beginIndex, index);
             this.state = index + 1;
             return true;
         }
@@ -518,23 +500,22 @@ final class CharOmitEmptySplitIterator2 extends AbstractIterator<String> {
 }
 
 
-final class CharOmitEmptySplitIterator3 extends AbstractIterator<String> {
-    private final CharSequence source;
+final class CharOmitEmptySplitIterator3<TResult> extends SplitIterator<TResult> {
     private final char separator0;
     private final char separator1;
     private final char separator2;
 
-    CharOmitEmptySplitIterator3(CharSequence source, char separator0, char separator1, char separator2) {
+    CharOmitEmptySplitIterator3(CharSequence source, char separator0, char separator1, char separator2, Func1<StringSegment, TResult> materializer) {
+        super(source, materializer);
         assert !Strings.isNullOrEmpty(source);
-        this.source = source;
         this.separator0 = separator0;
         this.separator1 = separator1;
         this.separator2 = separator2;
     }
 
     @Override
-    public AbstractIterator<String> clone() {
-        return new CharOmitEmptySplitIterator3(this.source, this.separator0, this.separator1, this.separator2);
+    public AbstractIterator<TResult> clone() {
+        return new CharOmitEmptySplitIterator3<>(this.source, this.separator0, this.separator1, this.separator2, this.materializer);
     }
 
     @Override
@@ -557,7 +538,7 @@ final class CharOmitEmptySplitIterator3 extends AbstractIterator<String> {
                     break;
                 index++;
             }
-            this.current = this.source.subSequence(beginIndex, index).toString();
+            this.current = this.token(beginIndex, index);
             this.state = index + 1;
             return true;
         }
@@ -568,21 +549,19 @@ final class CharOmitEmptySplitIterator3 extends AbstractIterator<String> {
 }
 
 
-final class CharOmitEmptySplitIteratorN extends AbstractIterator<String> {
-    private final CharSequence source;
-    private final char[] separators;
-    private ProbabilisticMap charMap;
+final class CharOmitEmptySplitIteratorN<TResult> extends SplitIterator<TResult> {
+    private final ProbabilisticMap charMap;
 
-    CharOmitEmptySplitIteratorN(CharSequence source, char[] separators) {
+    CharOmitEmptySplitIteratorN(CharSequence source, ProbabilisticMap charMap, Func1<StringSegment, TResult> materializer) {
+        super(source, materializer);
         assert !Strings.isNullOrEmpty(source);
-        assert separators != null && separators.length > 3;
-        this.source = source;
-        this.separators = separators;
+        assert charMap != null;
+        this.charMap = charMap;
     }
 
     @Override
-    public AbstractIterator<String> clone() {
-        return new CharOmitEmptySplitIteratorN(this.source, this.separators);
+    public AbstractIterator<TResult> clone() {
+        return new CharOmitEmptySplitIteratorN<>(this.source, this.charMap, this.materializer);
     }
 
     @Override
@@ -590,9 +569,6 @@ final class CharOmitEmptySplitIteratorN extends AbstractIterator<String> {
         if (this.state == -1)
             return false;
 
-        if (this.state == 1)
-            this.charMap = new ProbabilisticMap(this.separators);
-
         int index = this.state - 1;
         int length = this.source.length();
         while (index < length) {
@@ -608,7 +584,7 @@ final class CharOmitEmptySplitIteratorN extends AbstractIterator<String> {
                     break;
                 index++;
             }
-            this.current = this.source.subSequence(beginIndex, index).toString();
+            this.current = this.token(beginIndex, index);
             this.state = index + 1;
             return true;
         }
@@ -616,29 +592,22 @@ final class CharOmitEmptySplitIteratorN extends AbstractIterator<String> {
         this.close();
         return false;
     }
-
-    @Override
-    public void close() {
-        this.charMap = null;
-        super.close();
-    }
 }
 
 
-final class StringKeepEmptySplitIterator1 extends AbstractIterator<String> {
-    private final CharSequence source;
+final class StringKeepEmptySplitIterator1<TResult> extends SplitIterator<TResult> {
     private final CharSequence separator;
 
-    StringKeepEmptySplitIterator1(CharSequence source, CharSequence separator) {
+    StringKeepEmptySplitIterator1(CharSequence source, CharSequence separator, Func1<StringSegment, TResult> materializer) {
+        super(source, materializer);
         assert source != null;
         assert !Strings.isNullOrEmpty(separator);
-        this.source = source;
         this.separator = separator;
     }
 
     @Override
-    public AbstractIterator<String> clone() {
-        return new StringKeepEmptySplitIterator1(this.source, this.separator);
+    public AbstractIterator<TResult> clone() {
+        return new StringKeepEmptySplitIterator1<>(this.source, this.separator, this.materializer);
     }
 
     @Override
@@ -659,14 +628,14 @@ final class StringKeepEmptySplitIterator1 extends AbstractIterator<String> {
         while (index < length) {
             char current = this.source.charAt(index);
             if (current == firstSepChar && currentSepLength <= length - index && (currentSepLength == 1 || SplitInternal.sequenceEqual(this.source, index + 1, this.separator, 1, currentSepLength - 1))) {
-                this.current = index == beginIndex ? Strings.Empty : this.source.subSequence(beginIndex, index).toString();
+                this.current = this.token(beginIndex, index);
                 this.state = index + currentSepLength + 1;
                 return true;
             }
             index++;
         }
         if (index == length) {
-            this.current = index == beginIndex ? Strings.Empty : this.source.subSequence(beginIndex, index).toString();
+            this.current = this.token(beginIndex, index);
             this.state = index + 2;
             return true;
         }
@@ -677,20 +646,19 @@ final class StringKeepEmptySplitIterator1 extends AbstractIterator<String> {
 }
 
 
-final class StringKeepEmptySplitIteratorN extends AbstractIterator<String> {
-    private final CharSequence source;
-    private final CharSequence[] separators;
+final class StringKeepEmptySplitIteratorN<TResult> extends SplitIterator<TResult> {
+    private final StringSeparators separators;
 
-    StringKeepEmptySplitIteratorN(CharSequence source, CharSequence[] separators) {
+    StringKeepEmptySplitIteratorN(CharSequence source, StringSeparators separators, Func1<StringSegment, TResult> materializer) {
+        super(source, materializer);
         assert source != null;
-        assert separators != null && separators.length > 0;
-        this.source = source;
+        assert separators != null;
         this.separators = separators;
     }
 
     @Override
-    public AbstractIterator<String> clone() {
-        return new StringKeepEmptySplitIteratorN(this.source, this.separators);
+    public AbstractIterator<TResult> clone() {
+        return new StringKeepEmptySplitIteratorN<>(this.source, this.separators, this.materializer);
     }
 
     @Override
@@ -707,21 +675,16 @@ final class StringKeepEmptySplitIteratorN extends AbstractIterator<String> {
         int length = this.source.length();
         int beginIndex = index;
         while (index < length) {
-            char current = this.source.charAt(index);
-            for (CharSequence separator : this.separators) {
-                if (Strings.isNullOrEmpty(separator))
-                    continue;
-                int currentSepLength = separator.length();
-                if (current == separator.charAt(0) && currentSepLength <= length - index && (currentSepLength == 1 || SplitInternal.sequenceEqual(this.source, index + 1, separator, 1, currentSepLength - 1))) {
-                    this.current = index == beginIndex ? Strings.Empty : this.source.subSequence(beginIndex, index).toString();
-                    this.state = index + currentSepLength + 1;
-                    return true;
-                }
+            int separatorLength = this.separators.match(this.source, index, length);
+            if (separatorLength > 0) {
+                this.current = this.token(beginIndex, index);
+                this.state = index + separatorLength + 1;
+                return true;
             }
             index++;
         }
         if (index == length) {
-            this.current = index == beginIndex ? Strings.Empty : this.source.subSequence(beginIndex, index).toString();
+            this.current = this.token(beginIndex, index);
             this.state = index + 2;
             return true;
         }
@@ -732,20 +695,19 @@ final class StringKeepEmptySplitIteratorN extends AbstractIterator<String> {
 }
 
 
-final class StringOmitEmptySplitIterator1 extends AbstractIterator<String> {
-    private final CharSequence source;
+final class StringOmitEmptySplitIterator1<TResult> extends SplitIterator<TResult> {
     private final CharSequence separator;
 
-    StringOmitEmptySplitIterator1(CharSequence source, CharSequence separator) {
+    StringOmitEmptySplitIterator1(CharSequence source, CharSequence separator, Func1<StringSegment, TResult> materializer) {
+        super(source, materializer);
         assert !Strings.isNullOrEmpty(source);
         assert !Strings.isNullOrEmpty(separator);
-        this.source = source;
         this.separator = separator;
     }
 
     @Override
-    public AbstractIterator<String> clone() {
-        return new StringOmitEmptySplitIterator1(this.source, this.separator);
+    public AbstractIterator<TResult> clone() {
+        return new StringOmitEmptySplitIterator1<>(this.source, this.separator, this.materializer);
     }
 
     @Override
@@ -770,7 +732,7 @@ final class StringOmitEmptySplitIterator1 extends AbstractIterator<String> {
                     break;
                 index++;
             }
-            this.current = this.source.subSequence(beginIndex, index).toString();
+            this.current = this.token(beginIndex, index);
             this.state = index + 1;
             return true;
         }
@@ -781,20 +743,19 @@ final class StringOmitEmptySplitIterator1 extends AbstractIterator<String> {
 }
 
 
-final class StringOmitEmptySplitIteratorN extends AbstractIterator<String> {
-    private final CharSequence source;
-    private final CharSequence[] separators;
+final class StringOmitEmptySplitIteratorN<TResult> extends SplitIterator<TResult> {
+    private final StringSeparators separators;
 
-    StringOmitEmptySplitIteratorN(CharSequence source, CharSequence[] separators) {
+    StringOmitEmptySplitIteratorN(CharSequence source, StringSeparators separators, Func1<StringSegment, TResult> materializer) {
+        super(source, materializer);
         assert !Strings.isNullOrEmpty(source);
-        assert separators != null && separators.length > 0;
-        this.source = source;
+        assert separators != null;
         this.separators = separators;
     }
 
     @Override
-    public AbstractIterator<String> clone() {
-        return new StringOmitEmptySplitIteratorN(this.source, this.separators);
+    public AbstractIterator<TResult> clone() {
+        return new StringOmitEmptySplitIteratorN<>(this.source, this.separators, this.materializer);
     }
 
     @Override
@@ -804,32 +765,16 @@ final class StringOmitEmptySplitIteratorN extends AbstractIterator<String> {
 
         int index = this.state - 1;
         int length = this.source.length();
-        HEAD:
         while (index < length) {
-            char head = this.source.charAt(index);
-            for (CharSequence separator : this.separators) {
-                if (Strings.isNullOrEmpty(separator))
-                    continue;
-                int currentSepLength = separator.length();
-                if (head == separator.charAt(0) && currentSepLength <= length - index && (currentSepLength == 1 || SplitInternal.sequenceEqual(this.source, index + 1, separator, 1, currentSepLength - 1))) {
-                    index += currentSepLength;
-                    continue HEAD;
-                }
+            int separatorLength = this.separators.match(this.source, index, length);
+            if (separatorLength > 0) {
+                index += separatorLength;
+                continue;
             }
             int beginIndex = index++;
-            TAIL:
-            while (index < length) {
-                char tail = this.source.charAt(index);
-                for (CharSequence separator : this.separators) {
-                    if (Strings.isNullOrEmpty(separator))
-                        continue;
-                    int currentSepLength = separator.length();
-                    if (tail == separator.charAt(0) && currentSepLength <= length - index && (currentSepLength == 1 || SplitInternal.sequenceEqual(this.source, index + 1, separator, 1, currentSepLength - 1)))
-                        break TAIL;
-                }
+            while (index < length && this.separators.match(this.source, index, length) == 0)
                 index++;
-            }
-            this.current = this.source.subSequence(beginIndex, index).toString();
+            this.current = this.token(beginIndex, index);
             this.state = index + 1;
             return true;
         }
@@ -889,6 +834,55 @@ final class ProbabilisticMap {
 }
 
 
+// Non-empty separators in match order, with a map of their first chars to reject most positions without comparing.
+final class StringSeparators {
+    private final String[] separators;
+    private final ProbabilisticMap firstChars;
+    private final int maxLength;
+
+    StringSeparators(CharSequence[] separators) {
+        int count = 0;
+        String[] nonEmpty = new String[separators.length];
+        for (CharSequence separator : separators) {
+            if (!Strings.isNullOrEmpty(separator))
+                nonEmpty[count++] = separator.toString();
+        }
+        char[] firstChars = new char[count];
+        int maxLength = 0;
+        for (int i = 0; i < count; i++) {
+            firstChars[i] = nonEmpty[i].charAt(0);
+            maxLength = Math.max(maxLength, nonEmpty[i].length());
+        }
+        this.separators = count == nonEmpty.length ? nonEmpty : Arrays.copyOf(nonEmpty, count);
+        this.firstChars = new ProbabilisticMap(firstChars);
+        this.maxLength = maxLength;
+    }
+
+    int maxLength() {
+        return this.maxLength;
+    }
+
+    // Length of the first separator found at index, or 0 if none.
+    int match(CharSequence source, int index, int length) {
+        char head = source.charAt(index);
+        if (!this.firstChars.contains(head))
+            return 0;
+        for (String separator : this.separators) {
+            int separatorLength = separator.length();
+            if (head == separator.charAt(0) && separatorLength <= length - index && (separatorLength == 1 || SplitInternal.sequenceEqual(source, index + 1, separator, 1, separatorLength - 1)))
+                return separatorLength;
+        }
+        return 0;
+    }
+}
+
+
+interface SeparatorMatcher {
+    // Length of the separator starting at index, or 0 if there is none.
+    int match(CharSequence source, int index);
+}
+
+
 final class SplitInternal {
     private SplitInternal() {
     }
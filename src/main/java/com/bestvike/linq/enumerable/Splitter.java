@@ -0,0 +1,158 @@
+package com.bestvike.linq.enumerable;
+
+import com.bestvike.collections.generic.Array;
+import com.bestvike.function.Func1;
+import com.bestvike.linq.IEnumerable;
+import com.bestvike.linq.adapter.enumerable.SingletonEnumerable;
+import com.bestvike.linq.exception.ExceptionArgument;
+import com.bestvike.linq.exception.ThrowHelper;
+import com.bestvike.linq.util.StringSegment;
+import com.bestvike.linq.util.StringSplitOptions;
+import com.bestvike.linq.util.Strings;
+
+/**
+ * Separators and options analysed once to split many inputs. Immutable, so one instance can be shared between threads.
+ * <p>
+ * Created by 许崇雷 on 2026-10-18.
+ */
+public final class Splitter {
+    private static final Func1<StringSegment, String> STRINGS = StringSegment::toString;
+    private static final Func1<StringSegment, StringSegment> VIEWS = segment -> segment;
+
+    private final boolean omitEmptyEntries;
+    private final char[] chars;
+    private final ProbabilisticMap charMap;
+    private final String separator;
+    private final StringSeparators separators;
+
+    private Splitter(StringSplitOptions options, char[] chars, String separator, StringSeparators separators) {
+        if (options == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.options);
+
+        this.omitEmptyEntries = options == StringSplitOptions.RemoveEmptyEntries;
+        this.chars = chars;
+        this.charMap = chars != null && chars.length > 3 ? new ProbabilisticMap(chars) : null;
+        this.separator = separator;
+        this.separators = separators;
+    }
+
+    public static Splitter of(char separator) {
+        return of(separator, StringSplitOptions.None);
+    }
+
+    public static Splitter of(char separator, StringSplitOptions options) {
+        return new Splitter(options, new char[]{separator}, null, null);
+    }
+
+    public static Splitter of(char... separator) {
+        return of(separator, StringSplitOptions.None);
+    }
+
+    public static Splitter of(char[] separator, StringSplitOptions options) {
+        return new Splitter(options, separator == null ? new char[0] : separator.clone(), null, null);
+    }
+
+    public static Splitter of(CharSequence separator) {
+        return of(separator, StringSplitOptions.None);
+    }
+
+    public static Splitter of(CharSequence separator, StringSplitOptions options) {
+        return new Splitter(options, null, Strings.isNullOrEmpty(separator) ? null : separator.toString(), null);
+    }
+
+    public static Splitter of(CharSequence[] separator) {
+        return of(separator, StringSplitOptions.None);
+    }
+
+    public static Splitter of(CharSequence[] separator, StringSplitOptions options) {
+        return separator == null || separator.length == 0
+                ? new Splitter(options, new char[0], null, null)
+                : new Splitter(options, null, null, new StringSeparators(separator));
+    }
+
+    public IEnumerable<String> split(CharSequence source) {
+        return this.split(source, STRINGS);
+    }
+
+    public IEnumerable<StringSegment> splitViews(CharSequence source) {
+        return this.split(source, VIEWS);
+    }
+
+    // Length of the separator the split iterators match at index, or 0 if there is none.
+    int separatorLength(CharSequence source, int index) {
+        if (this.chars != null) {
+            char current = source.charAt(index);
+            if (this.chars.length == 0)
+                return Character.isWhitespace(current) ? 1 : 0;
+            if (this.charMap != null)
+                return this.charMap.contains(current) ? 1 : 0;
+            return SplitInternal.contains(this.chars, current) ? 1 : 0;
+        }
+        if (this.separator != null) {
+            int separatorLength = this.separator.length();
+            return separatorLength <= source.length() - index && SplitInternal.sequenceEqual(source, index, this.separator, 0, separatorLength) ? separatorLength : 0;
+        }
+        if (this.separators != null)
+            return this.separators.match(source, index, source.length());
+        return 0;
+    }
+
+    boolean omitEmptyEntries() {
+        return this.omitEmptyEntries;
+    }
+
+    int maxSeparatorLength() {
+        if (this.chars != null)
+            return 1;
+        if (this.separator != null)
+            return this.separator.length();
+        if (this.separators != null)
+            return this.separators.maxLength();
+        return 0;
+    }
+
+    private <TResult> IEnumerable<TResult> split(CharSequence source, Func1<StringSegment, TResult> materializer) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+
+        if (this.omitEmptyEntries && source.length() == 0)
+            return Array.empty();
+
+        if (this.chars != null) {
+            switch (this.chars.length) {
+                case 0:
+                    return this.omitEmptyEntries
+                            ? new CharOmitEmptySplitIterator0<>(source, materializer)
+                            : new CharKeepEmptySplitIterator0<>(source, materializer);
+                case 1:
+                    return this.omitEmptyEntries
+                            ? new CharOmitEmptySplitIterator1<>(source, this.chars[0], materializer)
+                            : new CharKeepEmptySplitIterator1<>(source, this.chars[0], materializer);
+                case 2:
+                    return this.omitEmptyEntries
+                            ? new CharOmitEmptySplitIterator2<>(source, this.chars[0], this.chars[1], materializer)
+                            : new CharKeepEmptySplitIterator2<>(source, this.chars[0], this.chars[1], materializer);
+                case 3:
+                    return this.omitEmptyEntries
+                            ? new CharOmitEmptySplitIterator3<>(source, this.chars[0], this.chars[1], this.chars[2], materializer)
+                            : new CharKeepEmptySplitIterator3<>(source, this.chars[0], this.chars[1], this.chars[2], materializer);
+                default:
+                    return this.omitEmptyEntries
+                            ? new CharOmitEmptySplitIteratorN<>(source, this.charMap, materializer)
+                            : new CharKeepEmptySplitIteratorN<>(source, this.charMap, materializer);
+            }
+        }
+
+        if (this.separator != null)
+            return this.omitEmptyEntries
+                    ? new StringOmitEmptySplitIterator1<>(source, this.separator, materializer)
+                    : new StringKeepEmptySplitIterator1<>(source, this.separator, materializer);
+
+        if (this.separators != null)
+            return this.omitEmptyEntries
+                    ? new StringOmitEmptySplitIteratorN<>(source, this.separators, materializer)
+                    : new StringKeepEmptySplitIteratorN<>(source, this.separators, materializer);
+
+        return new SingletonEnumerable<>(materializer.apply(new StringSegment(source)));
+    }
+}
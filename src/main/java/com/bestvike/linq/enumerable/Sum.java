@@ -10,8 +10,8 @@ import com.bestvike.function.NullableDoubleFunc1;
 import com.bestvike.function.NullableFloatFunc1;
 import com.bestvike.function.NullableIntFunc1;
 import com.bestvike.function.NullableLongFunc1;
+import com.bestvike.function.Predicate1;
 import com.bestvike.linq.IEnumerable;
-import com.bestvike.linq.IEnumerator;
 import com.bestvike.linq.exception.ExceptionArgument;
 import com.bestvike.linq.exception.ThrowHelper;
 
@@ -28,135 +28,90 @@ public final class Sum {
         if (source == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
 
-        int sum = 0;
-        try (IEnumerator<Integer> e = source.enumerator()) {
-            while (e.moveNext())
-                sum = Math.addExact(sum, e.current());
-        }
-        return sum;
+        IntSumSink<Integer> sink = new IntSumSink<>(x -> x);
+        ForEach.forEachWhileInternal(source, sink);
+        return sink.sum;
     }
 
     public static int sumIntNull(IEnumerable<Integer> source) {
         if (source == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
 
-        int sum = 0;
-        try (IEnumerator<Integer> e = source.enumerator()) {
-            while (e.moveNext()) {
-                Integer v = e.current();
-                if (v != null)
-                    sum = Math.addExact(sum, v);
-            }
-        }
-        return sum;
+        IntSumSink<Integer> sink = new IntSumSink<>(x -> x);
+        ForEach.forEachWhileInternal(source, v -> v == null || sink.apply(v));
+        return sink.sum;
     }
 
     public static long sumLong(IEnumerable<Long> source) {
         if (source == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
 
-        long sum = 0;
-        try (IEnumerator<Long> e = source.enumerator()) {
-            while (e.moveNext())
-                sum = Math.addExact(sum, e.current());
-        }
-        return sum;
+        LongSumSink<Long> sink = new LongSumSink<>(x -> x);
+        ForEach.forEachWhileInternal(source, sink);
+        return sink.sum;
     }
 
     public static long sumLongNull(IEnumerable<Long> source) {
         if (source == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
 
-        long sum = 0;
-        try (IEnumerator<Long> e = source.enumerator()) {
-            while (e.moveNext()) {
-                Long v = e.current();
-                if (v != null)
-                    sum = Math.addExact(sum, v);
-            }
-        }
-        return sum;
+        LongSumSink<Long> sink = new LongSumSink<>(x -> x);
+        ForEach.forEachWhileInternal(source, v -> v == null || sink.apply(v));
+        return sink.sum;
     }
 
     public static float sumFloat(IEnumerable<Float> source) {
         if (source == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
 
-        double sum = 0;
-        try (IEnumerator<Float> e = source.enumerator()) {
-            while (e.moveNext())
-                sum += e.current();
-        }
-        return (float) sum;
+        DoubleSumSink<Float> sink = new DoubleSumSink<>(x -> x);
+        ForEach.forEachWhileInternal(source, sink);
+        return (float) sink.sum;
     }
 
     public static float sumFloatNull(IEnumerable<Float> source) {
         if (source == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
 
-        double sum = 0;
-        try (IEnumerator<Float> e = source.enumerator()) {
-            while (e.moveNext()) {
-                Float v = e.current();
-                if (v != null)
-                    sum += v;
-            }
-        }
-        return (float) sum;
+        DoubleSumSink<Float> sink = new DoubleSumSink<>(x -> x);
+        ForEach.forEachWhileInternal(source, v -> v == null || sink.apply(v));
+        return (float) sink.sum;
     }
 
     public static double sumDouble(IEnumerable<Double> source) {
         if (source == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
 
-        double sum = 0;
-        try (IEnumerator<Double> e = source.enumerator()) {
-            while (e.moveNext())
-                sum += e.current();
-        }
-        return sum;
+        DoubleSumSink<Double> sink = new DoubleSumSink<>(x -> x);
+        ForEach.forEachWhileInternal(source, sink);
+        return sink.sum;
     }
 
     public static double sumDoubleNull(IEnumerable<Double> source) {
         if (source == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
 
-        double sum = 0;
-        try (IEnumerator<Double> e = source.enumerator()) {
-            while (e.moveNext()) {
-                Double v = e.current();
-                if (v != null)
-                    sum += v;
-            }
-        }
-        return sum;
+        DoubleSumSink<Double> sink = new DoubleSumSink<>(x -> x);
+        ForEach.forEachWhileInternal(source, v -> v == null || sink.apply(v));
+        return sink.sum;
     }
 
     public static BigDecimal sumDecimal(IEnumerable<BigDecimal> source) {
         if (source == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
 
-        BigDecimal sum = BigDecimal.ZERO;
-        try (IEnumerator<BigDecimal> e = source.enumerator()) {
-            while (e.moveNext())
-                sum = sum.add(e.current());
-        }
-        return sum;
+        DecimalSumSink<BigDecimal> sink = new DecimalSumSink<>(x -> x);
+        ForEach.forEachWhileInternal(source, sink);
+        return sink.sum;
     }
 
     public static BigDecimal sumDecimalNull(IEnumerable<BigDecimal> source) {
         if (source == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
 
-        BigDecimal sum = BigDecimal.ZERO;
-        try (IEnumerator<BigDecimal> e = source.enumerator()) {
-            while (e.moveNext()) {
-                BigDecimal v = e.current();
-                if (v != null)
-                    sum = sum.add(v);
-            }
-        }
-        return sum;
+        DecimalSumSink<BigDecimal> sink = new DecimalSumSink<>(x -> x);
+        ForEach.forEachWhileInternal(source, v -> v == null || sink.apply(v));
+        return sink.sum;
     }
 
     public static <TSource> int sumInt(IEnumerable<TSource> source, IntFunc1<TSource> selector) {
@@ -165,12 +120,9 @@ public final class Sum {
         if (selector == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.selector);
 
-        int sum = 0;
-        try (IEnumerator<TSource> e = source.enumerator()) {
-            while (e.moveNext())
-                sum = Math.addExact(sum, selector.apply(e.current()));
-        }
-        return sum;
+        IntSumSink<TSource> sink = new IntSumSink<>(selector);
+        ForEach.forEachWhileInternal(source, sink);
+        return sink.sum;
     }
 
     public static <TSource> int sumIntNull(IEnumerable<TSource> source, NullableIntFunc1<TSource> selector) {
@@ -179,15 +131,12 @@ public final class Sum {
         if (selector == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.selector);
 
-        int sum = 0;
-        try (IEnumerator<TSource> e = source.enumerator()) {
-            while (e.moveNext()) {
-                Integer v = selector.apply(e.current());
-                if (v != null)
-                    sum = Math.addExact(sum, v);
-            }
-        }
-        return sum;
+        IntSumSink<Integer> sink = new IntSumSink<>(x -> x);
+        ForEach.forEachWhileInternal(source, item -> {
+            Integer v = selector.apply(item);
+            return v == null || sink.apply(v);
+        });
+        return sink.sum;
     }
 
     public static <TSource> long sumLong(IEnumerable<TSource> source, LongFunc1<TSource> selector) {
@@ -196,12 +145,9 @@ public final class Sum {
         if (selector == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.selector);
 
-        long sum = 0;
-        try (IEnumerator<TSource> e = source.enumerator()) {
-            while (e.moveNext())
-                sum = Math.addExact(sum, selector.apply(e.current()));
-        }
-        return sum;
+        LongSumSink<TSource> sink = new LongSumSink<>(selector);
+        ForEach.forEachWhileInternal(source, sink);
+        return sink.sum;
     }
 
     public static <TSource> long sumLongNull(IEnumerable<TSource> source, NullableLongFunc1<TSource> selector) {
@@ -210,15 +156,12 @@ public final class Sum {
         if (selector == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.selector);
 
-        long sum = 0;
-        try (IEnumerator<TSource> e = source.enumerator()) {
-            while (e.moveNext()) {
-                Long v = selector.apply(e.current());
-                if (v != null)
-                    sum = Math.addExact(sum, v);
-            }
-        }
-        return sum;
+        LongSumSink<Long> sink = new LongSumSink<>(x -> x);
+        ForEach.forEachWhileInternal(source, item -> {
+            Long v = selector.apply(item);
+            return v == null || sink.apply(v);
+        });
+        return sink.sum;
     }
 
     public static <TSource> float sumFloat(IEnumerable<TSource> source, FloatFunc1<TSource> selector) {
@@ -227,12 +170,9 @@ public final class Sum {
         if (selector == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.selector);
 
-        double sum = 0;
-        try (IEnumerator<TSource> e = source.enumerator()) {
-            while (e.moveNext())
-                sum += selector.apply(e.current());
-        }
-        return (float) sum;
+        DoubleSumSink<TSource> sink = new DoubleSumSink<>(selector::apply);
+        ForEach.forEachWhileInternal(source, sink);
+        return (float) sink.sum;
     }
 
     public static <TSource> float sumFloatNull(IEnumerable<TSource> source, NullableFloatFunc1<TSource> selector) {
@@ -241,15 +181,12 @@ public final class Sum {
         if (selector == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.selector);
 
-        double sum = 0;
-        try (IEnumerator<TSource> e = source.enumerator()) {
-            while (e.moveNext()) {
-                Float v = selector.apply(e.current());
-                if (v != null)
-                    sum += v;
-            }
-        }
-        return (float) sum;
+        DoubleSumSink<Float> sink = new DoubleSumSink<>(x -> x);
+        ForEach.forEachWhileInternal(source, item -> {
+            Float v = selector.apply(item);
+            return v == null || sink.apply(v);
+        });
+        return (float) sink.sum;
     }
 
     public static <TSource> double sumDouble(IEnumerable<TSource> source, DoubleFunc1<TSource> selector) {
@@ -258,12 +195,9 @@ public final class Sum {
         if (selector == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.selector);
 
-        double sum = 0;
-        try (IEnumerator<TSource> e = source.enumerator()) {
-            while (e.moveNext())
-                sum += selector.apply(e.current());
-        }
-        return sum;
+        DoubleSumSink<TSource> sink = new DoubleSumSink<>(selector);
+        ForEach.forEachWhileInternal(source, sink);
+        return sink.sum;
     }
 
     public static <TSource> double sumDoubleNull(IEnumerable<TSource> source, NullableDoubleFunc1<TSource> selector) {
@@ -272,15 +206,12 @@ public final class Sum {
         if (selector == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.selector);
 
-        double sum = 0;
-        try (IEnumerator<TSource> e = source.enumerator()) {
-            while (e.moveNext()) {
-                Double v = selector.apply(e.current());
-                if (v != null)
-                    sum += v;
-            }
-        }
-        return sum;
+        DoubleSumSink<Double> sink = new DoubleSumSink<>(x -> x);
+        ForEach.forEachWhileInternal(source, item -> {
+            Double v = selector.apply(item);
+            return v == null || sink.apply(v);
+        });
+        return sink.sum;
     }
 
     public static <TSource> BigDecimal sumDecimal(IEnumerable<TSource> source, DecimalFunc1<TSource> selector) {
@@ -289,12 +220,9 @@ public final class Sum {
         if (selector == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.selector);
 
-        BigDecimal sum = BigDecimal.ZERO;
-        try (IEnumerator<TSource> e = source.enumerator()) {
-            while (e.moveNext())
-                sum = sum.add(selector.apply(e.current()));
-        }
-        return sum;
+        DecimalSumSink<TSource> sink = new DecimalSumSink<>(selector);
+        ForEach.forEachWhileInternal(source, sink);
+        return sink.sum;
     }
 
     public static <TSource> BigDecimal sumDecimalNull(IEnumerable<TSource> source, NullableDecimalFunc1<TSource> selector) {
@@ -303,14 +231,76 @@ public final class Sum {
         if (selector == null)
             ThrowHelper.throwArgumentNullException(ExceptionArgument.selector);
 
-        BigDecimal sum = BigDecimal.ZERO;
-        try (IEnumerator<TSource> e = source.enumerator()) {
-            while (e.moveNext()) {
-                BigDecimal v = selector.apply(e.current());
-                if (v != null)
-                    sum = sum.add(v);
-            }
-        }
-        return sum;
+        DecimalSumSink<BigDecimal> sink = new DecimalSumSink<>(x -> x);
+        ForEach.forEachWhileInternal(source, item -> {
+            BigDecimal v = selector.apply(item);
+            return v == null || sink.apply(v);
+        });
+        return sink.sum;
+    }
+}
+
+
+final class IntSumSink<TSource> implements Predicate1<TSource> {
+    private final IntFunc1<TSource> selector;
+    int sum;
+
+    IntSumSink(IntFunc1<TSource> selector) {
+        this.selector = selector;
+    }
+
+    @Override
+    public boolean apply(TSource item) {
+        this.sum = Math.addExact(this.sum, this.selector.apply(item));
+        return true;
+    }
+}
+
+
+final class LongSumSink<TSource> implements Predicate1<TSource> {
+    private final LongFunc1<TSource> selector;
+    long sum;
+
+    LongSumSink(LongFunc1<TSource> selector) {
+        this.selector = selector;
+    }
+
+    @Override
+    public boolean apply(TSource item) {
+        this.sum = Math.addExact(this.sum, this.selector.apply(item));
+        return true;
+    }
+}
+
+
+// Float sums accumulate in double as well.
+final class DoubleSumSink<TSource> implements Predicate1<TSource> {
+    private final DoubleFunc1<TSource> selector;
+    double sum;
+
+    DoubleSumSink(DoubleFunc1<TSource> selector) {
+        this.selector = selector;
+    }
+
+    @Override
+    public boolean apply(TSource item) {
+        this.sum += this.selector.apply(item);
+        return true;
+    }
+}
+
+
+final class DecimalSumSink<TSource> implements Predicate1<TSource> {
+    private final DecimalFunc1<TSource> selector;
+    BigDecimal sum = BigDecimal.ZERO;
+
+    DecimalSumSink(DecimalFunc1<TSource> selector) {
+        this.selector = selector;
+    }
+
+    @Override
+    public boolean apply(TSource item) {
+        this.sum = this.sum.add(this.selector.apply(item));
+        return true;
     }
 }
@@ -41,6 +41,11 @@ public final class Take {
             return new IListPartition<>(sourceList, 0, count - 1);
         }
 
+        if (source instanceof IFusible) {
+            IFusible<TSource> fusible = (IFusible<TSource>) source;
+            return fusible._fuse()._take(count);
+        }
+
         return new EnumerablePartition<>(source, 0, count - 1);
     }
 
@@ -1,13 +1,19 @@
 package com.bestvike.linq.enumerable;
 
 import com.bestvike.collections.generic.IArray;
+import com.bestvike.collections.generic.IArrayList;
 import com.bestvike.collections.generic.ICollection;
+import com.bestvike.function.Func1;
+import com.bestvike.function.Predicate1;
 import com.bestvike.linq.IEnumerable;
+import com.bestvike.linq.IEnumerator;
 import com.bestvike.linq.exception.ExceptionArgument;
 import com.bestvike.linq.exception.ThrowHelper;
 
+import java.util.Comparator;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.function.Consumer;
 
 /**
  * Created by 许崇雷 on 2019-04-25.
@@ -28,29 +34,320 @@ public final class ToSpliterator {
                 if (componentType.isPrimitive()) {
                     if (componentType == int.class)
                         //noinspection unchecked
-                        return (Spliterator<TSource>) Spliterators.spliterator((int[]) arr, array._getStartIndex(), array._getEndIndex(), Spliterator.IMMUTABLE);
+                        return (Spliterator<TSource>) Spliterators.spliterator((int[]) arr, array._getStartIndex(), array._getEndIndex(), Spliterator.ORDERED | Spliterator.IMMUTABLE);
                     if (componentType == long.class)
                         //noinspection unchecked
-                        return (Spliterator<TSource>) Spliterators.spliterator((long[]) arr, array._getStartIndex(), array._getEndIndex(), Spliterator.IMMUTABLE);
+                        return (Spliterator<TSource>) Spliterators.spliterator((long[]) arr, array._getStartIndex(), array._getEndIndex(), Spliterator.ORDERED | Spliterator.IMMUTABLE);
                     if (componentType == double.class)
                         //noinspection unchecked
-                        return (Spliterator<TSource>) Spliterators.spliterator((double[]) arr, array._getStartIndex(), array._getEndIndex(), Spliterator.IMMUTABLE);
-                    return Spliterators.spliterator(array._toArray(), array._getStartIndex(), array._getEndIndex(), Spliterator.IMMUTABLE);
+                        return (Spliterator<TSource>) Spliterators.spliterator((double[]) arr, array._getStartIndex(), array._getEndIndex(), Spliterator.ORDERED | Spliterator.IMMUTABLE);
+                    return Spliterators.spliterator(array._toArray(), array._getStartIndex(), array._getEndIndex(), Spliterator.ORDERED | Spliterator.IMMUTABLE);
                 }
-                return Spliterators.spliterator((Object[]) arr, array._getStartIndex(), array._getEndIndex(), Spliterator.IMMUTABLE);
+                return Spliterators.spliterator((Object[]) arr, array._getStartIndex(), array._getEndIndex(), Spliterator.ORDERED | Spliterator.IMMUTABLE);
+            }
+
+            if (source instanceof IArrayList) {
+                IArrayList<TSource> list = (IArrayList<TSource>) source;
+                int count = list._getCount();
+                return count == 0 ? Spliterators.emptySpliterator() : new PartitionSpliterator<>(new ListPartition<>(list, 0, count - 1), count, Spliterator.IMMUTABLE);
             }
 
             ICollection<TSource> collection = (ICollection<TSource>) source;
-            return Spliterators.spliterator(collection.getCollection(), Spliterator.IMMUTABLE);
+            return Spliterators.spliterator(collection.getCollection(), Spliterator.ORDERED | Spliterator.IMMUTABLE);
+        }
+
+        if (source instanceof IPartition && IPartition.isIndexable((IPartition<TSource>) source)) {
+            IPartition<TSource> partition = (IPartition<TSource>) source;
+            int characteristics = source instanceof RangeIterator
+                    ? Spliterator.IMMUTABLE | Spliterator.DISTINCT | Spliterator.SORTED | Spliterator.NONNULL
+                    : Spliterator.IMMUTABLE;
+            return new PartitionSpliterator<>(partition, partition._getCount(true), characteristics);
+        }
+
+        if (source instanceof Iterator) {
+            IIListProvider<TSource> listProv = source instanceof IIListProvider ? (IIListProvider<TSource>) source : null;
+            int count = listProv == null ? -1 : listProv._getCount(true);
+            return new IteratorSpliterator<>((Iterator<TSource>) source, count);
         }
 
         if (source instanceof IIListProvider) {
             IIListProvider<TSource> listProv = (IIListProvider<TSource>) source;
             int count = listProv._getCount(true);
             if (count != -1)
-                return Spliterators.spliterator(source.enumerator(), count, Spliterator.IMMUTABLE);
+                return Spliterators.spliterator(source.enumerator(), count, Spliterator.ORDERED | Spliterator.IMMUTABLE);
+        }
+
+        return Spliterators.spliteratorUnknownSize(source.enumerator(), Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+}
+
+
+// Splits an indexable partition by index range, each half traverses its own skip/take view of the partition.
+final class PartitionSpliterator<TSource> implements Spliterator<TSource> {
+    private final IPartition<TSource> source;
+    private final int characteristics;
+    private int index;
+    private final int fence;
+    private IEnumerator<TSource> enumerator;// created on first traversal, after which the range no longer splits
+
+    PartitionSpliterator(IPartition<TSource> source, int count, int characteristics) {
+        this(source, 0, count, characteristics | Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED);
+    }
+
+    private PartitionSpliterator(IPartition<TSource> source, int index, int fence, int characteristics) {
+        this.source = source;
+        this.index = index;
+        this.fence = fence;
+        this.characteristics = characteristics;
+    }
+
+    private IPartition<TSource> range() {
+        return this.index == 0 ? this.source._take(this.fence) : this.source._skip(this.index)._take(this.fence - this.index);
+    }
+
+    private IEnumerator<TSource> enumerator() {
+        if (this.enumerator == null)
+            this.enumerator = this.range().enumerator();
+        return this.enumerator;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super TSource> action) {
+        if (action == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.action);
+        if (this.index >= this.fence)
+            return false;
+
+        IEnumerator<TSource> e = this.enumerator();
+        if (e.moveNext()) {
+            this.index++;
+            action.accept(e.current());
+            return true;
+        }
+        e.close();
+        this.index = this.fence;
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super TSource> action) {
+        if (action == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.action);
+        if (this.index >= this.fence)
+            return;
+
+        if (this.enumerator == null) {
+            IPartition<TSource> range = this.range();
+            this.index = this.fence;
+            ForEach.forEachWhileInternal(range, item -> {
+                action.accept(item);
+                return true;
+            });
+            return;
+        }
+
+        try (IEnumerator<TSource> e = this.enumerator) {
+            this.index = this.fence;
+            while (e.moveNext())
+                action.accept(e.current());
+        }
+    }
+
+    @Override
+    public Spliterator<TSource> trySplit() {
+        if (this.enumerator != null)
+            return null;
+        int mid = (this.index + this.fence) >>> 1;
+        if (mid <= this.index)
+            return null;
+        PartitionSpliterator<TSource> prefix = new PartitionSpliterator<>(this.source, this.index, mid, this.characteristics);
+        this.index = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return this.fence - this.index;
+    }
+
+    @Override
+    public int characteristics() {
+        return this.characteristics;
+    }
+
+    @Override
+    public Comparator<? super TSource> getComparator() {
+        if (this.hasCharacteristics(Spliterator.SORTED))
+            return null;
+        throw new IllegalStateException();
+    }
+}
+
+
+// Traverses an iterator, pulling for tryAdvance and pushing for a forEachRemaining that starts before any tryAdvance.
+// Splits hand off arithmetically growing batches copied into arrays, as the spliterators over a java.util.Iterator do.
+final class IteratorSpliterator<TSource> implements Spliterator<TSource> {
+    private static final int BATCH_UNIT = 1 << 10;
+    private static final int MAX_BATCH = 1 << 25;
+
+    private final Iterator<TSource> source;
+    private final int characteristics;
+    private long size;
+    private int batch;
+    private IEnumerator<TSource> enumerator;// created on first tryAdvance or trySplit
+
+    IteratorSpliterator(Iterator<TSource> source, int count) {
+        this.source = source;
+        this.size = count == -1 ? Long.MAX_VALUE : count;
+        this.characteristics = count == -1
+                ? Spliterator.ORDERED | Spliterator.IMMUTABLE
+                : Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.SIZED | Spliterator.SUBSIZED;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super TSource> action) {
+        if (action == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.action);
+        if (this.size == 0)
+            return false;
+
+        if (this.enumerator == null)
+            this.enumerator = this.source.enumerator();
+        if (this.enumerator.moveNext()) {
+            if (this.size != Long.MAX_VALUE)
+                this.size--;
+            action.accept(this.enumerator.current());
+            return true;
+        }
+        this.enumerator.close();
+        this.size = 0;
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super TSource> action) {
+        if (action == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.action);
+        if (this.size == 0)
+            return;
+
+        this.size = 0;
+        if (this.enumerator == null) {
+            this.source._forEachWhile(item -> {
+                action.accept(item);
+                return true;
+            });
+            return;
+        }
+
+        try (IEnumerator<TSource> e = this.enumerator) {
+            while (e.moveNext())
+                action.accept(e.current());
         }
+    }
+
+    @Override
+    public Spliterator<TSource> trySplit() {
+        if (this.size <= 1)
+            return null;
+
+        if (this.enumerator == null)
+            this.enumerator = this.source.enumerator();
+        int n = (int) Math.min(Math.min(this.batch + BATCH_UNIT, this.size), MAX_BATCH);
+        Object[] array = new Object[n];
+        int count = 0;
+        while (count < n && this.enumerator.moveNext())
+            array[count++] = this.enumerator.current();
+        if (count < n) {
+            this.enumerator.close();
+            this.size = 0;
+        } else if (this.size != Long.MAX_VALUE) {
+            this.size -= count;
+        }
+        this.batch = count;
+        return count == 0 ? null : Spliterators.spliterator(array, 0, count, this.characteristics);
+    }
+
+    @Override
+    public long estimateSize() {
+        return this.size;
+    }
+
+    @Override
+    public int characteristics() {
+        return this.characteristics;
+    }
+}
+
+
+// Filters, and optionally projects, a splittable source spliterator, splits are delegated to the source.
+final class WhereSelectSpliterator<TSource, TResult> implements Spliterator<TResult> {
+    private final Spliterator<TSource> source;
+    private final Predicate1<TSource> predicate;
+    private final Func1<TSource, TResult> selector;// null for where only
+    private TSource item;
+
+    WhereSelectSpliterator(Spliterator<TSource> source, Predicate1<TSource> predicate, Func1<TSource, TResult> selector) {
+        this.source = source;
+        this.predicate = predicate;
+        this.selector = selector;
+    }
+
+    private void setItem(TSource item) {
+        this.item = item;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super TResult> action) {
+        if (action == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.action);
+
+        while (this.source.tryAdvance(this::setItem)) {
+            TSource item = this.item;
+            this.item = null;
+            if (this.predicate.apply(item)) {
+                //noinspection unchecked
+                action.accept(this.selector == null ? (TResult) item : this.selector.apply(item));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super TResult> action) {
+        if (action == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.action);
+
+        this.source.forEachRemaining(item -> {
+            if (this.predicate.apply(item))
+                //noinspection unchecked
+                action.accept(this.selector == null ? (TResult) item : this.selector.apply(item));
+        });
+    }
+
+    @Override
+    public Spliterator<TResult> trySplit() {
+        Spliterator<TSource> prefix = this.source.trySplit();
+        return prefix == null ? null : new WhereSelectSpliterator<>(prefix, this.predicate, this.selector);
+    }
+
+    @Override
+    public long estimateSize() {
+        return this.source.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        int characteristics = this.source.characteristics() & (Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.DISTINCT | Spliterator.SORTED | Spliterator.NONNULL);
+        return this.selector == null ? characteristics : characteristics & (Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
 
-        return Spliterators.spliteratorUnknownSize(source.enumerator(), Spliterator.IMMUTABLE);
+    @Override
+    public Comparator<? super TResult> getComparator() {
+        if (this.hasCharacteristics(Spliterator.SORTED))
+            //noinspection unchecked
+            return (Comparator<? super TResult>) this.source.getComparator();
+        throw new IllegalStateException();
     }
 }
@@ -13,6 +13,7 @@ import com.bestvike.linq.util.Utilities;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
 
 /**
  * Created by 许崇雷 on 2018-05-08.
@@ -110,7 +111,7 @@ final class WhereIterator<TSource> extends AbstractIterator<TSource> {
 }
 
 
-final class WhereEnumerableIterator<TSource> extends Iterator<TSource> implements IIListProvider<TSource> {
+final class WhereEnumerableIterator<TSource> extends Iterator<TSource> implements IIListProvider<TSource>, IFusible<TSource> {
     private final IEnumerable<TSource> source;
     private final Predicate1<TSource> predicate;
     private IEnumerator<TSource> enumerator;
@@ -167,6 +168,11 @@ final class WhereEnumerableIterator<TSource> extends Iterator<TSource> implement
         return new WhereEnumerableIterator<>(this.source, Utilities.combinePredicates(this.predicate, predicate));
     }
 
+    @Override
+    public IPartition<TSource> _fuse() {
+        return new FusedIterator<>(this.source, FusedIterator.whereStep(this.predicate));
+    }
+
     @Override
     public TSource[] _toArray(Class<TSource> clazz) {
         LargeArrayBuilder<TSource> builder = new LargeArrayBuilder<>();
@@ -209,6 +215,11 @@ final class WhereEnumerableIterator<TSource> extends Iterator<TSource> implement
         return list;
     }
 
+    @Override
+    public boolean _forEachWhile(Predicate1<TSource> action) {
+        return ForEach.forEachWhileInternal(this.source, item -> !this.predicate.apply(item) || action.apply(item));
+    }
+
     @Override
     public int _getCount(boolean onlyIfCheap) {
         if (onlyIfCheap)
@@ -227,7 +238,7 @@ final class WhereEnumerableIterator<TSource> extends Iterator<TSource> implement
 }
 
 
-final class WhereArrayIterator<TSource> extends Iterator<TSource> implements IIListProvider<TSource> {
+final class WhereArrayIterator<TSource> extends Iterator<TSource> implements IIListProvider<TSource>, IFusible<TSource> {
     private final IArray<TSource> source;
     private final Predicate1<TSource> predicate;
 
@@ -243,6 +254,11 @@ final class WhereArrayIterator<TSource> extends Iterator<TSource> implements IIL
         return new WhereArrayIterator<>(this.source, this.predicate);
     }
 
+    @Override
+    public Spliterator<TSource> spliterator() {
+        return new WhereSelectSpliterator<>(ToSpliterator.spliterator(this.source), this.predicate, null);
+    }
+
     @Override
     public boolean moveNext() {
         if (this.state == -1)
@@ -271,6 +287,11 @@ final class WhereArrayIterator<TSource> extends Iterator<TSource> implements IIL
         return new WhereArrayIterator<>(this.source, Utilities.combinePredicates(this.predicate, predicate));
     }
 
+    @Override
+    public IPartition<TSource> _fuse() {
+        return new FusedIterator<>(this.source, FusedIterator.whereStep(this.predicate));
+    }
+
     @Override
     public TSource[] _toArray(Class<TSource> clazz) {
         int count = this.source._getCount();
@@ -309,6 +330,16 @@ final class WhereArrayIterator<TSource> extends Iterator<TSource> implements IIL
         return list;
     }
 
+    @Override
+    public boolean _forEachWhile(Predicate1<TSource> action) {
+        for (int i = 0, count = this.source._getCount(); i < count; i++) {
+            TSource item = this.source.get(i);
+            if (this.predicate.apply(item) && !action.apply(item))
+                return false;
+        }
+        return true;
+    }
+
     @Override
     public int _getCount(boolean onlyIfCheap) {
         if (onlyIfCheap)
@@ -325,7 +356,7 @@ final class WhereArrayIterator<TSource> extends Iterator<TSource> implements IIL
 }
 
 
-final class WhereListIterator<TSource> extends Iterator<TSource> implements IIListProvider<TSource> {
+final class WhereListIterator<TSource> extends Iterator<TSource> implements IIListProvider<TSource>, IFusible<TSource> {
     private final IArrayList<TSource> source;
     private final Predicate1<TSource> predicate;
     private IEnumerator<TSource> enumerator;
@@ -342,6 +373,11 @@ final class WhereListIterator<TSource> extends Iterator<TSource> implements IILi
         return new WhereListIterator<>(this.source, this.predicate);
     }
 
+    @Override
+    public Spliterator<TSource> spliterator() {
+        return new WhereSelectSpliterator<>(ToSpliterator.spliterator(this.source), this.predicate, null);
+    }
+
     @Override
     public boolean moveNext() {
         switch (this.state) {
@@ -382,6 +418,11 @@ final class WhereListIterator<TSource> extends Iterator<TSource> implements IILi
         return new WhereListIterator<>(this.source, Utilities.combinePredicates(this.predicate, predicate));
     }
 
+    @Override
+    public IPartition<TSource> _fuse() {
+        return new FusedIterator<>(this.source, FusedIterator.whereStep(this.predicate));
+    }
+
     @Override
     public TSource[] _toArray(Class<TSource> clazz) {
         int count = this.source._getCount();
@@ -420,6 +461,12 @@ final class WhereListIterator<TSource> extends Iterator<TSource> implements IILi
         return list;
     }
 
+    @Override
+    public boolean _forEachWhile(Predicate1<TSource> action) {
+        Predicate1<TSource> predicate = this.predicate;
+        return ForEach.forEachWhileInternal(this.source, item -> !predicate.apply(item) || action.apply(item));
+    }
+
     @Override
     public int _getCount(boolean onlyIfCheap) {
         if (onlyIfCheap)
@@ -436,7 +483,7 @@ final class WhereListIterator<TSource> extends Iterator<TSource> implements IILi
 }
 
 
-final class WhereSelectArrayIterator<TSource, TResult> extends Iterator<TResult> implements IIListProvider<TResult> {
+final class WhereSelectArrayIterator<TSource, TResult> extends Iterator<TResult> implements IIListProvider<TResult>, IFusible<TResult> {
     private final IArray<TSource> source;
     private final Predicate1<TSource> predicate;
     private final Func1<TSource, TResult> selector;
@@ -455,6 +502,11 @@ final class WhereSelectArrayIterator<TSource, TResult> extends Iterator<TResult>
         return new WhereSelectArrayIterator<>(this.source, this.predicate, this.selector);
     }
 
+    @Override
+    public Spliterator<TResult> spliterator() {
+        return new WhereSelectSpliterator<>(ToSpliterator.spliterator(this.source), this.predicate, this.selector);
+    }
+
     @Override
     public boolean moveNext() {
         if (this.state == -1)
@@ -478,6 +530,16 @@ final class WhereSelectArrayIterator<TSource, TResult> extends Iterator<TResult>
         return new WhereSelectArrayIterator<>(this.source, this.predicate, Utilities.combineSelectors(this.selector, selector));
     }
 
+    @Override
+    public IEnumerable<TResult> _where(Predicate1<TResult> predicate) {
+        return new FusedIterator<TSource, TResult>(this.source, FusedIterator.whereSelectStep(this.predicate, this.selector))._where(predicate);
+    }
+
+    @Override
+    public IPartition<TResult> _fuse() {
+        return new FusedIterator<>(this.source, FusedIterator.whereSelectStep(this.predicate, this.selector));
+    }
+
     @Override
     public TResult[] _toArray(Class<TResult> clazz) {
         int count = this.source._getCount();
@@ -516,6 +578,16 @@ final class WhereSelectArrayIterator<TSource, TResult> extends Iterator<TResult>
         return list;
     }
 
+    @Override
+    public boolean _forEachWhile(Predicate1<TResult> action) {
+        for (int i = 0, count = this.source._getCount(); i < count; i++) {
+            TSource item = this.source.get(i);
+            if (this.predicate.apply(item) && !action.apply(this.selector.apply(item)))
+                return false;
+        }
+        return true;
+    }
+
     @Override
     public int _getCount(boolean onlyIfCheap) {
         // In case someone uses Count() to force evaluation of
@@ -537,7 +609,7 @@ final class WhereSelectArrayIterator<TSource, TResult> extends Iterator<TResult>
 }
 
 
-final class WhereSelectListIterator<TSource, TResult> extends Iterator<TResult> implements IIListProvider<TResult> {
+final class WhereSelectListIterator<TSource, TResult> extends Iterator<TResult> implements IIListProvider<TResult>, IFusible<TResult> {
     private final IArrayList<TSource> source;
     private final Predicate1<TSource> predicate;
     private final Func1<TSource, TResult> selector;
@@ -557,6 +629,11 @@ final class WhereSelectListIterator<TSource, TResult> extends Iterator<TResult>
         return new WhereSelectListIterator<>(this.source, this.predicate, this.selector);
     }
 
+    @Override
+    public Spliterator<TResult> spliterator() {
+        return new WhereSelectSpliterator<>(ToSpliterator.spliterator(this.source), this.predicate, this.selector);
+    }
+
     @Override
     public boolean moveNext() {
         switch (this.state) {
@@ -592,6 +669,16 @@ final class WhereSelectListIterator<TSource, TResult> extends Iterator<TResult>
         return new WhereSelectListIterator<>(this.source, this.predicate, Utilities.combineSelectors(this.selector, selector));
     }
 
+    @Override
+    public IEnumerable<TResult> _where(Predicate1<TResult> predicate) {
+        return new FusedIterator<TSource, TResult>(this.source, FusedIterator.whereSelectStep(this.predicate, this.selector))._where(predicate);
+    }
+
+    @Override
+    public IPartition<TResult> _fuse() {
+        return new FusedIterator<>(this.source, FusedIterator.whereSelectStep(this.predicate, this.selector));
+    }
+
     @Override
     public TResult[] _toArray(Class<TResult> clazz) {
         int count = this.source._getCount();
@@ -630,6 +717,13 @@ final class WhereSelectListIterator<TSource, TResult> extends Iterator<TResult>
         return list;
     }
 
+    @Override
+    public boolean _forEachWhile(Predicate1<TResult> action) {
+        Predicate1<TSource> predicate = this.predicate;
+        Func1<TSource, TResult> selector = this.selector;
+        return ForEach.forEachWhileInternal(this.source, item -> !predicate.apply(item) || action.apply(selector.apply(item)));
+    }
+
     @Override
     public int _getCount(boolean onlyIfCheap) {
         // In case someone uses Count() to force evaluation of
@@ -651,7 +745,7 @@ final class WhereSelectListIterator<TSource, TResult> extends Iterator<TResult>
 }
 
 
-final class WhereSelectEnumerableIterator<TSource, TResult> extends Iterator<TResult> implements IIListProvider<TResult> {
+final class WhereSelectEnumerableIterator<TSource, TResult> extends Iterator<TResult> implements IIListProvider<TResult>, IFusible<TResult> {
     private final IEnumerable<TSource> source;
     private final Predicate1<TSource> predicate;
     private final Func1<TSource, TResult> selector;
@@ -706,6 +800,16 @@ final class WhereSelectEnumerableIterator<TSource, TResult> extends Iterator<TRe
         return new WhereSelectEnumerableIterator<>(this.source, this.predicate, Utilities.combineSelectors(this.selector, selector));
     }
 
+    @Override
+    public IEnumerable<TResult> _where(Predicate1<TResult> predicate) {
+        return new FusedIterator<TSource, TResult>(this.source, FusedIterator.whereSelectStep(this.predicate, this.selector))._where(predicate);
+    }
+
+    @Override
+    public IPartition<TResult> _fuse() {
+        return new FusedIterator<>(this.source, FusedIterator.whereSelectStep(this.predicate, this.selector));
+    }
+
     @Override
     public TResult[] _toArray(Class<TResult> clazz) {
         LargeArrayBuilder<TResult> builder = new LargeArrayBuilder<>();
@@ -748,6 +852,11 @@ final class WhereSelectEnumerableIterator<TSource, TResult> extends Iterator<TRe
         return list;
     }
 
+    @Override
+    public boolean _forEachWhile(Predicate1<TResult> action) {
+        return ForEach.forEachWhileInternal(this.source, item -> !this.predicate.apply(item) || action.apply(this.selector.apply(item)));
+    }
+
     @Override
     public int _getCount(boolean onlyIfCheap) {
         // In case someone uses Count() to force evaluation of
@@ -23,6 +23,11 @@ final class Buffer<TElement> {//struct
         }
     }
 
+    Buffer(Object[] items, int count) {
+        this.items = items;
+        this.count = count;
+    }
+
     public TElement[] toArray(Class<TElement> clazz) {
         TElement[] array = ArrayUtils.newInstance(clazz, this.count);
         if (this.count > 0)
@@ -0,0 +1,346 @@
+package com.bestvike.linq.enumerable;
+
+import com.bestvike.collections.generic.IList;
+import com.bestvike.function.Func1;
+import com.bestvike.function.Predicate1;
+import com.bestvike.linq.IEnumerable;
+import com.bestvike.linq.IEnumerator;
+import com.bestvike.out;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Created by 许崇雷 on 2026-10-18.
+ */
+interface IFusible<TElement> extends IEnumerable<TElement> {
+    // Returns an equivalent fused iterator, so skip and take can join the same loop.
+    IPartition<TElement> _fuse();
+}
+
+
+// Runs a chain of select, where, skip and take over a source in one loop.
+// Stages before the partition bounds are composed into filter, stages after it into selector.
+// Both return FILTERED for an element a where stage drops.
+@SuppressWarnings("unchecked")
+final class FusedIterator<TSource, TResult> extends Iterator<TResult> implements IPartition<TResult> {
+    static final Object FILTERED = new Object();
+
+    private final IEnumerable<TSource> source;
+    private final Func1<TSource, Object> filter;// null for identity
+    private final int minIndexInclusive;
+    private final int maxIndexInclusive;// -1 for no limit
+    private final Func1<Object, Object> selector;// null for identity
+    private final boolean selectorFilters;// true if selector contains a where stage
+    private IEnumerator<TSource> enumerator;
+    private long index;
+
+    FusedIterator(IEnumerable<TSource> source, Func1<TSource, Object> filter) {
+        this(source, filter, 0, -1, null, false);
+    }
+
+    FusedIterator(IEnumerable<TSource> source, int minIndexInclusive, int maxIndexInclusive) {
+        this(source, null, minIndexInclusive, maxIndexInclusive, null, false);
+    }
+
+    private FusedIterator(IEnumerable<TSource> source, Func1<TSource, Object> filter, int minIndexInclusive, int maxIndexInclusive, Func1<Object, Object> selector, boolean selectorFilters) {
+        assert source != null;
+        assert minIndexInclusive >= 0;
+        assert maxIndexInclusive == -1 || minIndexInclusive <= maxIndexInclusive;
+        this.source = source;
+        this.filter = filter;
+        this.minIndexInclusive = minIndexInclusive;
+        this.maxIndexInclusive = maxIndexInclusive;
+        this.selector = selector;
+        this.selectorFilters = selectorFilters;
+    }
+
+    static <TSource> Func1<TSource, Object> whereStep(Predicate1<TSource> predicate) {
+        return item -> predicate.apply(item) ? item : FILTERED;
+    }
+
+    static <TSource, TResult> Func1<TSource, Object> selectStep(Func1<TSource, TResult> selector) {
+        return selector::apply;
+    }
+
+    static <TSource, TResult> Func1<TSource, Object> whereSelectStep(Predicate1<TSource> predicate, Func1<TSource, TResult> selector) {
+        return item -> predicate.apply(item) ? selector.apply(item) : FILTERED;
+    }
+
+    private static <T> Func1<T, Object> then(Func1<T, Object> step, Func1<Object, Object> next) {
+        if (step == null)
+            return (Func1<T, Object>) (Func1<?, Object>) next;
+        return item -> {
+            Object value = step.apply(item);
+            return value == FILTERED ? FILTERED : next.apply(value);
+        };
+    }
+
+    private boolean isPartitioned() {
+        return this.minIndexInclusive != 0 || this.maxIndexInclusive != -1;
+    }
+
+    private boolean hasLimit() {
+        return this.maxIndexInclusive != -1;
+    }
+
+    private int getLimit() {
+        return this.maxIndexInclusive + 1 - this.minIndexInclusive;
+    }
+
+    // No where stage, so the results map one to one onto the source elements inside the partition bounds.
+    private boolean isOneToOne() {
+        return this.filter == null && !this.selectorFilters;
+    }
+
+    private int getSourceCount() {
+        if (this.source instanceof IList)
+            return ((IList<TSource>) this.source)._getCount();
+        if (this.source instanceof IPartition)
+            return ((IPartition<TSource>) this.source)._getCount(true);
+        return -1;
+    }
+
+    private Object filter(TSource item) {
+        return this.filter == null ? item : this.filter.apply(item);
+    }
+
+    private Object select(Object value) {
+        return this.selector == null ? value : this.selector.apply(value);
+    }
+
+    // Copies this chain onto source, in place of the placeholder a QueryTemplate built it over.
+    <TNew> FusedIterator<?, TResult> _bind(IEnumerable<TNew> source) {
+        IEnumerable<TSource> bound = this.source instanceof FusedIterator
+                ? (IEnumerable<TSource>) ((FusedIterator<?, TSource>) this.source)._bind(source)
+                : (IEnumerable<TSource>) source;
+        return new FusedIterator<>(bound, this.filter, this.minIndexInclusive, this.maxIndexInclusive, this.selector, this.selectorFilters);
+    }
+
+    @Override
+    public Iterator<TResult> clone() {
+        return new FusedIterator<>(this.source, this.filter, this.minIndexInclusive, this.maxIndexInclusive, this.selector, this.selectorFilters);
+    }
+
+    @Override
+    public boolean moveNext() {
+        switch (this.state) {
+            case 1:
+                this.enumerator = this.source.enumerator();
+                this.index = 0;
+                this.state = 2;
+            case 2:
+                while ((!this.hasLimit() || this.index <= this.maxIndexInclusive) && this.enumerator.moveNext()) {
+                    Object value = this.filter(this.enumerator.current());
+                    if (value == FILTERED || this.index++ < this.minIndexInclusive)
+                        continue;
+                    value = this.select(value);
+                    if (value == FILTERED)
+                        continue;
+                    this.current = (TResult) value;
+                    return true;
+                }
+                this.close();
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.enumerator != null) {
+            this.enumerator.close();
+            this.enumerator = null;
+        }
+        super.close();
+    }
+
+    @Override
+    public boolean _forEachWhile(Predicate1<TResult> action) {
+        FusedSink<TSource, TResult> sink = new FusedSink<>(this, action);
+        return ForEach.forEachWhileInternal(this.source, sink) || sink.limitReached;
+    }
+
+    @Override
+    public <TResult2> IEnumerable<TResult2> _select(Func1<TResult, TResult2> selector) {
+        Func1<Object, Object> step = (Func1<Object, Object>) (Func1<?, Object>) selectStep(selector);
+        return this.isPartitioned()
+                ? new FusedIterator<>(this.source, this.filter, this.minIndexInclusive, this.maxIndexInclusive, then(this.selector, step), this.selectorFilters)
+                : new FusedIterator<>(this.source, then(this.filter, step));
+    }
+
+    @Override
+    public IEnumerable<TResult> _where(Predicate1<TResult> predicate) {
+        Func1<Object, Object> step = (Func1<Object, Object>) (Func1<?, Object>) whereStep(predicate);
+        return this.isPartitioned()
+                ? new FusedIterator<>(this.source, this.filter, this.minIndexInclusive, this.maxIndexInclusive, then(this.selector, step), true)
+                : new FusedIterator<>(this.source, then(this.filter, step));
+    }
+
+    @Override
+    public IPartition<TResult> _skip(int count) {
+        if (this.selectorFilters)
+            return new FusedIterator<>(this, null, count, -1, null, false);
+
+        int minIndex = this.minIndexInclusive + count;
+        if (!this.hasLimit()) {
+            if (minIndex < 0)
+                return new FusedIterator<>(this, null, count, -1, null, false);
+        } else if (Integer.compareUnsigned(minIndex, this.maxIndexInclusive) > 0) {
+            return EmptyPartition.instance();
+        }
+
+        return new FusedIterator<>(this.source, this.filter, minIndex, this.maxIndexInclusive, this.selector, false);
+    }
+
+    @Override
+    public IPartition<TResult> _take(int count) {
+        if (this.selectorFilters)
+            return new FusedIterator<>(this, null, 0, count - 1, null, false);
+
+        int maxIndex = this.minIndexInclusive + count - 1;
+        if (!this.hasLimit()) {
+            if (maxIndex < 0)
+                return new FusedIterator<>(this, null, 0, count - 1, null, false);
+        } else if (Integer.compareUnsigned(maxIndex, this.maxIndexInclusive) >= 0) {
+            return this;
+        }
+
+        return new FusedIterator<>(this.source, this.filter, this.minIndexInclusive, maxIndex, this.selector, false);
+    }
+
+    @Override
+    public TResult _tryGetElementAt(int index, out<Boolean> found) {
+        if (index >= 0 && (!this.hasLimit() || this.selectorFilters || index < this.getLimit())) {
+            if (this.isOneToOne() && (this.source instanceof IList || this.source instanceof IPartition)) {
+                int sourceIndex = this.minIndexInclusive + index;
+                if (this.source instanceof IList) {
+                    IList<TSource> list = (IList<TSource>) this.source;
+                    if (sourceIndex >= 0 && sourceIndex < list._getCount()) {
+                        found.value = true;
+                        return (TResult) this.select(list.get(sourceIndex));
+                    }
+                } else if (sourceIndex >= 0) {
+                    TSource item = ((IPartition<TSource>) this.source)._tryGetElementAt(sourceIndex, found);
+                    return found.value ? (TResult) this.select(item) : null;
+                }
+            } else {
+                try (IEnumerator<TResult> e = this.clone().enumerator()) {
+                    while (e.moveNext()) {
+                        if (index-- == 0) {
+                            found.value = true;
+                            return e.current();
+                        }
+                    }
+                }
+            }
+        }
+
+        found.value = false;
+        return null;
+    }
+
+    @Override
+    public TResult _tryGetFirst(out<Boolean> found) {
+        out<TResult> result = out.init();
+        found.value = false;
+        this._forEachWhile(item -> {
+            found.value = true;
+            result.value = item;
+            return false;
+        });
+        return result.value;
+    }
+
+    @Override
+    public TResult _tryGetLast(out<Boolean> found) {
+        out<TResult> result = out.init();
+        found.value = false;
+        this._forEachWhile(item -> {
+            found.value = true;
+            result.value = item;
+            return true;
+        });
+        return result.value;
+    }
+
+    @Override
+    public TResult[] _toArray(Class<TResult> clazz) {
+        LargeArrayBuilder<TResult> builder = this.hasLimit() ? new LargeArrayBuilder<>(this.getLimit()) : new LargeArrayBuilder<>();
+        this._forEachWhile(item -> {
+            builder.add(item);
+            return true;
+        });
+        return builder.toArray(clazz);
+    }
+
+    @Override
+    public Object[] _toArray() {
+        LargeArrayBuilder<TResult> builder = this.hasLimit() ? new LargeArrayBuilder<>(this.getLimit()) : new LargeArrayBuilder<>();
+        this._forEachWhile(item -> {
+            builder.add(item);
+            return true;
+        });
+        return builder.toArray();
+    }
+
+    @Override
+    public List<TResult> _toList() {
+        List<TResult> list = new ArrayList<>();
+        this._forEachWhile(list::add);
+        return list;
+    }
+
+    @Override
+    public int _getCount(boolean onlyIfCheap) {
+        if (this.isOneToOne() && (onlyIfCheap || this.selector == null)) {
+            int sourceCount = this.getSourceCount();
+            if (sourceCount != -1) {
+                if (sourceCount <= this.minIndexInclusive)
+                    return 0;
+                return (this.hasLimit() ? Math.min(sourceCount - 1, this.maxIndexInclusive) : sourceCount - 1) - this.minIndexInclusive + 1;
+            }
+        }
+        if (onlyIfCheap)
+            return -1;
+
+        // Runs every stage, in case someone uses Count() to force evaluation of the selectors.
+        CountSink<TResult> sink = new CountSink<>(null);
+        this._forEachWhile(sink);
+        return sink.count;
+    }
+
+
+    // Pushes the elements of one traversal through the stages and partition bounds into action.
+    private static final class FusedSink<TSource, TResult> implements Predicate1<TSource> {
+        private final FusedIterator<TSource, TResult> iterator;
+        private final Predicate1<TResult> action;
+        private long index;
+        boolean limitReached;
+
+        FusedSink(FusedIterator<TSource, TResult> iterator, Predicate1<TResult> action) {
+            this.iterator = iterator;
+            this.action = action;
+        }
+
+        @Override
+        public boolean apply(TSource item) {
+            FusedIterator<TSource, TResult> iterator = this.iterator;
+            Object value = iterator.filter(item);
+            if (value == FILTERED)
+                return true;
+            long index = this.index++;
+            if (index < iterator.minIndexInclusive)
+                return true;
+            value = iterator.select(value);
+            if (value != FILTERED && !this.action.apply((TResult) value))
+                return false;
+            if (iterator.hasLimit() && index == iterator.maxIndexInclusive) {
+                this.limitReached = true;
+                return false;
+            }
+            return true;
+        }
+    }
+}
@@ -28,6 +28,7 @@ final class Grouping<TKey, TElement> implements IGrouping<TKey, TElement>, IArra
     Grouping<TKey, TElement> hashNext;
     Grouping<TKey, TElement> next;
     boolean fetched;
+    int pendingCount;// elements a merge is still going to append
 
     Grouping(TKey key, int hashCode) {
         this.key = key;
@@ -42,6 +43,25 @@ final class Grouping<TKey, TElement> implements IGrouping<TKey, TElement>, IArra
         this.count++;
     }
 
+    // Appends the elements of other, which must not be used afterwards.
+    // Grows to count plus pendingCount when a merge has reserved it, otherwise geometrically.
+    void addRange(Grouping<TKey, TElement> other) {
+        int pendingCount = this.pendingCount;
+        this.pendingCount = Math.max(pendingCount - other.count, 0);
+        if (this.count == 0 && pendingCount <= other.count) {
+            this.elements = other.elements;
+            this.count = other.count;
+            return;
+        }
+        int count = Math.addExact(this.count, other.count);
+        if (this.elements.length < count) {
+            int newSize = pendingCount > 0 ? Math.addExact(this.count, pendingCount) : Math.max(count, (int) Math.min((long) this.elements.length * 2, Integer.MAX_VALUE));
+            this.elements = ArrayUtils.resize(this.elements, Math.max(count, newSize));
+        }
+        System.arraycopy(other.elements, 0, this.elements, this.count, other.count);
+        this.count = count;
+    }
+
     public void trim() {
         if (this.elements.length != this.count)
             this.elements = ArrayUtils.resize(this.elements, this.count);
@@ -92,6 +92,57 @@ final class Lookup<TKey, TElement> implements ILookup<TKey, TElement>, IIListPro
         return lookup;
     }
 
+    // Creates an empty lookup to be filled by add.
+    static <TKey, TElement> Lookup<TKey, TElement> create(IEqualityComparer<TKey> comparer) {
+        return new Lookup<>(comparer);
+    }
+
+    // Merges lookups built from consecutive parts of one source, in source order, so groups keep their first-seen order and elements their source order.
+    static <TKey, TElement> Lookup<TKey, TElement> merge(List<Lookup<TKey, TElement>> lookups, IEqualityComparer<TKey> comparer) {
+        if (lookups.isEmpty())
+            return new Lookup<>(comparer);
+
+        Lookup<TKey, TElement> lookup = lookups.get(0);
+        for (int i = 1; i < lookups.size(); i++)
+            lookup.reserve(lookups.get(i));
+        for (int i = 1; i < lookups.size(); i++)
+            lookup.addRange(lookups.get(i));
+        return lookup;
+    }
+
+    // Sums the counts of the groupings of other into the target groupings, so each is sized once before the elements are copied.
+    private void reserve(Lookup<TKey, TElement> other) {
+        Grouping<TKey, TElement> g = other.lastGrouping;
+        if (g == null)
+            return;
+        do {
+            g = g.next;
+            Grouping<TKey, TElement> target = this.getGrouping(g.key, g.hashCode, true);
+            target.pendingCount = Math.addExact(target.pendingCount, g.count);
+        } while (g != other.lastGrouping);
+    }
+
+    private void addRange(Lookup<TKey, TElement> other) {
+        Grouping<TKey, TElement> g = other.lastGrouping;
+        if (g == null)
+            return;
+        do {
+            g = g.next;
+            this.getGrouping(g.key, g.hashCode, true).addRange(g);
+        } while (g != other.lastGrouping);
+    }
+
+    // Adds an element to the grouping of a non null key, returns whether the grouping was created.
+    boolean add(TKey key, TElement element) {
+        int hashCode = this.internalGetHashCode(key);
+        Grouping<TKey, TElement> g = this.getGrouping(key, hashCode, false);
+        boolean created = g == null;
+        if (created)
+            g = this.createGrouping(key, hashCode);
+        g.add(element);
+        return created;
+    }
+
     @Override
     public int getCount() {
         return this.count;
@@ -220,7 +271,10 @@ final class Lookup<TKey, TElement> implements ILookup<TKey, TElement>, IIListPro
     }
 
     private Grouping<TKey, TElement> getGrouping(TKey key, boolean create) {
-        int hashCode = this.internalGetHashCode(key);
+        return this.getGrouping(key, this.internalGetHashCode(key), create);
+    }
+
+    private Grouping<TKey, TElement> getGrouping(TKey key, int hashCode, boolean create) {
         for (Grouping<TKey, TElement> g = this.groupings[hashCode % this.groupings.length]; g != null; g = g.hashNext)
             if (g.hashCode == hashCode && this.comparer.equals(g.key, key) && g != this.nullKeyGrouping)
                 return g;
@@ -2,7 +2,11 @@ package com.bestvike.linq.enumerable;
 
 import com.bestvike.collections.generic.Comparer;
 import com.bestvike.collections.generic.ICollection;
+import com.bestvike.collections.generic.StringComparer;
+import com.bestvike.function.DoubleFunc1;
 import com.bestvike.function.Func1;
+import com.bestvike.function.IntFunc1;
+import com.bestvike.function.LongFunc1;
 import com.bestvike.function.Predicate1;
 import com.bestvike.linq.IEnumerable;
 import com.bestvike.linq.IEnumerator;
@@ -14,27 +18,77 @@ import com.bestvike.linq.util.ListUtils;
 import com.bestvike.out;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Created by 许崇雷 on 2018-05-07.
  */
 abstract class AbstractOrderedEnumerable<TElement> implements IOrderedEnumerable<TElement>, IPartition<TElement> {
+    // Ranges ending past this index buffer the whole source, so the top buffer capacity can not overflow.
+    private static final int MAX_TOP_BUFFER_INDEX = (Integer.MAX_VALUE >> 1) - 1;
+    private static final int TOP_BUFFER_INITIAL_CAPACITY = 16;
+
     IEnumerable<TElement> source;
+    int parallelThreshold;// full sorts of at least this many elements run in parallel, 0 sorts serially
+    boolean lazy;// enumerates by popping a heap over the map instead of sorting it up front
+    SpillOptions<TElement> external;// enumerates by merging sorted runs spilled to disk when set
 
-    private Integer[] sortedMap(Buffer<TElement> buffer) {
-        return this.getEnumerableSorter().sort(buffer.items, buffer.count);
+    private int[] sortedMap(Buffer<TElement> buffer) {
+        return this.getEnumerableSorter().sort(buffer.items, buffer.count, this.parallelThreshold);
     }
 
-    private Integer[] sortedMap(Buffer<TElement> buffer, int minIdx, int maxIdx) {
+    private int[] sortedMap(Buffer<TElement> buffer, int minIdx, int maxIdx) {
         return this.getEnumerableSorter().sort(buffer.items, buffer.count, minIdx, maxIdx);
     }
 
+    // Buffers the elements that may sort at or before maxIdx, holding at most 2 * (maxIdx + 1) elements.
+    // A full buffer is trimmed to its smallest maxIdx + 1 elements in sorted order. Discarded elements sort after every kept one,
+    // and kept ties stay in source order ahead of later elements, so the result ranks exactly like a buffer of the whole source.
+    private Buffer<TElement> topBuffer(int maxIdx) {
+        if (maxIdx > MAX_TOP_BUFFER_INDEX)
+            return new Buffer<>(this.source);
+
+        int keep = maxIdx + 1;
+        int limit = keep << 1;
+        Object[] items = new Object[Math.min(limit, TOP_BUFFER_INITIAL_CAPACITY)];
+        Object[] spare = null;
+        int count = 0;
+        AbstractEnumerableSorter<TElement> sorter = null;
+        try (IEnumerator<TElement> e = this.source.enumerator()) {
+            while (e.moveNext()) {
+                if (count == items.length) {
+                    if (count < limit) {
+                        items = ArrayUtils.resize(items, Math.min(limit, count << 1));
+                    } else {
+                        if (sorter == null) {
+                            sorter = this.getEnumerableSorter();
+                            spare = new Object[limit];
+                        }
+                        int[] map = sorter.sort(items, count, 0, maxIdx);
+                        for (int i = 0; i < keep; i++)
+                            spare[i] = items[map[i]];
+                        ArrayUtils.fill(items, null);
+                        Object[] temp = items;
+                        items = spare;
+                        spare = temp;
+                        count = keep;
+                    }
+                }
+                items[count++] = e.current();
+            }
+        }
+        return new Buffer<>(items, count);
+    }
+
     @Override
     public IEnumerator<TElement> enumerator() {
-        return new OrderedEnumerableEnumerator();
+        if (this.external != null)
+            return new OrderedEnumerableExternalEnumerator(this.external);
+        return this.lazy ? new OrderedEnumerableLazyEnumerator() : new OrderedEnumerableEnumerator();
     }
 
     public IEnumerator<TElement> enumerator(int minIdx, int maxIdx) {
@@ -114,7 +168,7 @@ abstract class AbstractOrderedEnumerable<TElement> implements IOrderedEnumerable
             return buffer.toArray(clazz);
 
         TElement[] array = ArrayUtils.newInstance(clazz, count);
-        Integer[] map = this.sortedMap(buffer);
+        int[] map = this.sortedMap(buffer);
         for (int i = 0; i != array.length; i++)
             //noinspection unchecked
             array[i] = (TElement) buffer.items[map[i]];
@@ -129,7 +183,7 @@ abstract class AbstractOrderedEnumerable<TElement> implements IOrderedEnumerable
             return buffer.items;
 
         Object[] array = new Object[count];
-        Integer[] map = this.sortedMap(buffer);
+        int[] map = this.sortedMap(buffer);
         for (int i = 0; i != array.length; i++)
             array[i] = buffer.items[map[i]];
         return array;
@@ -141,7 +195,7 @@ abstract class AbstractOrderedEnumerable<TElement> implements IOrderedEnumerable
         int count = buffer.count;
         List<TElement> list = new ArrayList<>(count);
         if (count > 0) {
-            Integer[] map = this.sortedMap(buffer);
+            int[] map = this.sortedMap(buffer);
             for (int i = 0; i != count; i++)
                 //noinspection unchecked
                 list.add((TElement) buffer.items[map[i]]);
@@ -159,7 +213,7 @@ abstract class AbstractOrderedEnumerable<TElement> implements IOrderedEnumerable
     }
 
     public TElement[] _toArray(Class<TElement> clazz, int minIdx, int maxIdx) {
-        Buffer<TElement> buffer = new Buffer<>(this.source);
+        Buffer<TElement> buffer = this.topBuffer(maxIdx);
         int count = buffer.count;
         if (count <= minIdx)
             return ArrayUtils.empty(clazz);
@@ -170,7 +224,7 @@ abstract class AbstractOrderedEnumerable<TElement> implements IOrderedEnumerable
         if (minIdx == maxIdx)
             return ArrayUtils.singleton(clazz, this.getEnumerableSorter().elementAt(buffer.items, count, minIdx));
 
-        Integer[] map = this.sortedMap(buffer, minIdx, maxIdx);
+        int[] map = this.sortedMap(buffer, minIdx, maxIdx);
         TElement[] array = ArrayUtils.newInstance(clazz, maxIdx - minIdx + 1);
         int idx = 0;
         while (minIdx <= maxIdx) {
@@ -184,7 +238,7 @@ abstract class AbstractOrderedEnumerable<TElement> implements IOrderedEnumerable
     }
 
     public Object[] _toArray(int minIdx, int maxIdx) {
-        Buffer<TElement> buffer = new Buffer<>(this.source);
+        Buffer<TElement> buffer = this.topBuffer(maxIdx);
         int count = buffer.count;
         if (count <= minIdx)
             return ArrayUtils.empty();
@@ -195,7 +249,7 @@ abstract class AbstractOrderedEnumerable<TElement> implements IOrderedEnumerable
         if (minIdx == maxIdx)
             return ArrayUtils.singleton(this.getEnumerableSorter().elementAt(buffer.items, count, minIdx));
 
-        Integer[] map = this.sortedMap(buffer, minIdx, maxIdx);
+        int[] map = this.sortedMap(buffer, minIdx, maxIdx);
         Object[] array = new Object[maxIdx - minIdx + 1];
         int idx = 0;
         while (minIdx <= maxIdx) {
@@ -208,7 +262,7 @@ abstract class AbstractOrderedEnumerable<TElement> implements IOrderedEnumerable
     }
 
     public List<TElement> _toList(int minIdx, int maxIdx) {
-        Buffer<TElement> buffer = new Buffer<>(this.source);
+        Buffer<TElement> buffer = this.topBuffer(maxIdx);
         int count = buffer.count;
         if (count <= minIdx)
             return ListUtils.empty();
@@ -219,7 +273,7 @@ abstract class AbstractOrderedEnumerable<TElement> implements IOrderedEnumerable
         if (minIdx == maxIdx)
             return ListUtils.singleton(this.getEnumerableSorter().elementAt(buffer.items, count, minIdx));
 
-        Integer[] map = this.sortedMap(buffer, minIdx, maxIdx);
+        int[] map = this.sortedMap(buffer, minIdx, maxIdx);
         List<TElement> list = new ArrayList<>(maxIdx - minIdx + 1);
         while (minIdx <= maxIdx) {
             //noinspection unchecked
@@ -257,7 +311,7 @@ abstract class AbstractOrderedEnumerable<TElement> implements IOrderedEnumerable
             return this._tryGetFirst(found);
 
         if (index > 0) {
-            Buffer<TElement> buffer = new Buffer<>(this.source);
+            Buffer<TElement> buffer = this.topBuffer(index);
             int count = buffer.count;
             if (index < count) {
                 found.value = true;
@@ -314,7 +368,7 @@ abstract class AbstractOrderedEnumerable<TElement> implements IOrderedEnumerable
     }
 
     public TElement _tryGetLast(int minIdx, int maxIdx, out<Boolean> found) {
-        Buffer<TElement> buffer = new Buffer<>(this.source);
+        Buffer<TElement> buffer = this.topBuffer(maxIdx);
         int count = buffer.count;
         if (minIdx >= count) {
             found.value = false;
@@ -345,7 +399,7 @@ abstract class AbstractOrderedEnumerable<TElement> implements IOrderedEnumerable
 
     private class OrderedEnumerableEnumerator extends AbstractEnumerator<TElement> {
         private Buffer<TElement> buffer;
-        private Integer[] map;
+        private int[] map;
         private int index;
 
         @Override
@@ -382,11 +436,217 @@ abstract class AbstractOrderedEnumerable<TElement> implements IOrderedEnumerable
         }
     }
 
+    private class OrderedEnumerableLazyEnumerator extends AbstractEnumerator<TElement> {
+        private Buffer<TElement> buffer;
+        private AbstractEnumerableSorter<TElement> sorter;
+        private int[] heap;
+        private int size;
+
+        @Override
+        public boolean moveNext() {
+            switch (this.state) {
+                case 0:
+                    this.buffer = new Buffer<>(AbstractOrderedEnumerable.this.source);
+                    if (this.buffer.count <= 0) {
+                        this.close();
+                        return false;
+                    }
+                    this.sorter = AbstractOrderedEnumerable.this.getEnumerableSorter();
+                    this.heap = this.sorter.heapify(this.buffer.items, this.buffer.count);
+                    this.size = this.buffer.count;
+                    this.state = 1;
+                case 1:
+                    if (this.size > 0) {
+                        //noinspection unchecked
+                        this.current = (TElement) this.buffer.items[this.sorter.pop(this.heap, this.size--)];
+                        return true;
+                    }
+                    this.close();
+                    return false;
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        public void close() {
+            this.buffer = null;
+            this.sorter = null;
+            this.heap = null;
+            super.close();
+        }
+    }
+
+    // Sorts runs of at most runSize elements with the sorter chain and spills all but the last one to temp files,
+    // then merges the runs through a heap. Ties are taken from the earlier run, so the output is stable like the eager sort.
+    private class OrderedEnumerableExternalEnumerator extends AbstractEnumerator<TElement> {
+        private final SpillOptions<TElement> options;
+        private List<SpillFile<?>> files;
+        private List<IEnumerator<TElement>> runs;
+        private Object[] items;// the last run, which is merged from memory
+        private int[] map;
+        private int count;
+        private int index;
+        private AbstractCachingComparer<TElement> comparer;
+        private Object[] heads;// the current element of every run, the memory run comes last
+        private int[] heap;
+        private int size;
+
+        OrderedEnumerableExternalEnumerator(SpillOptions<TElement> options) {
+            this.options = options;
+        }
+
+        @Override
+        public boolean moveNext() {
+            do {
+                switch (this.state) {
+                    case 0:
+                        this.files = new ArrayList<>();
+                        this.runs = new ArrayList<>();
+                        try {
+                            this.spill();
+                        } catch (RuntimeException e) {
+                            this.close();
+                            throw e;
+                        }
+                        if (this.runs.isEmpty()) {
+                            this.state = 1;
+                            break;
+                        }
+                        this.merge();
+                        this.state = 2;
+                        break;
+                    case 1:
+                        if (this.index < this.count) {
+                            //noinspection unchecked
+                            this.current = (TElement) this.items[this.map[this.index++]];
+                            return true;
+                        }
+                        this.close();
+                        return false;
+                    case 2:
+                        if (this.size == 0) {
+                            this.close();
+                            return false;
+                        }
+                        int run = this.heap[0];
+                        //noinspection unchecked
+                        this.current = (TElement) this.heads[run];
+                        if (!this.advance(run))
+                            this.heap[0] = this.heap[--this.size];
+                        this.siftDown(0);
+                        return true;
+                    default:
+                        return false;
+                }
+            } while (true);
+        }
+
+        private void spill() {
+            AbstractEnumerableSorter<TElement> sorter = AbstractOrderedEnumerable.this.getEnumerableSorter();
+            int runSize = this.options.budget;
+            this.items = new Object[Math.min(runSize, TOP_BUFFER_INITIAL_CAPACITY)];
+            try (IEnumerator<TElement> e = AbstractOrderedEnumerable.this.source.enumerator()) {
+                while (e.moveNext()) {
+                    if (this.count == this.items.length) {
+                        if (this.count < runSize) {
+                            this.items = ArrayUtils.resize(this.items, (int) Math.min(runSize, (long) this.count << 1));
+                        } else {
+                            int[] map = sorter.sort(this.items, this.count, AbstractOrderedEnumerable.this.parallelThreshold);
+                            SpillFile<TElement> run = new SpillFile<>(this.options, this.files);
+                            for (int i = 0; i < this.count; i++)
+                                //noinspection unchecked
+                                run.add((TElement) this.items[map[i]]);
+                            this.runs.add(run.enumerator());
+                            ArrayUtils.fill(this.items, null);
+                            this.count = 0;
+                        }
+                    }
+                    this.items[this.count++] = e.current();
+                }
+            }
+            if (this.count > 0)
+                this.map = sorter.sort(this.items, this.count, AbstractOrderedEnumerable.this.parallelThreshold);
+        }
+
+        private void merge() {
+            this.comparer = AbstractOrderedEnumerable.this.getComparer();
+            int runCount = this.runs.size() + 1;
+            this.heads = new Object[runCount];
+            this.heap = new int[runCount];
+            for (int run = 0; run < runCount; run++) {
+                if (this.advance(run))
+                    this.heap[this.size++] = run;
+            }
+            for (int i = (this.size >> 1) - 1; i >= 0; i--)
+                this.siftDown(i);
+        }
+
+        // Moves a run to its next element, returns false when it is exhausted.
+        private boolean advance(int run) {
+            if (run == this.runs.size()) {
+                if (this.index < this.count) {
+                    this.heads[run] = this.items[this.map[this.index++]];
+                    return true;
+                }
+                this.heads[run] = null;
+                return false;
+            }
+            IEnumerator<TElement> spilledRun = this.runs.get(run);
+            if (spilledRun.moveNext()) {
+                this.heads[run] = spilledRun.current();
+                return true;
+            }
+            this.heads[run] = null;
+            return false;
+        }
+
+        private int compareRuns(int run1, int run2) {
+            //noinspection unchecked
+            this.comparer.setElement((TElement) this.heads[run1]);
+            //noinspection unchecked
+            int c = this.comparer.compare((TElement) this.heads[run2], false);
+            return c == 0 ? run1 - run2 : -c;
+        }
+
+        private void siftDown(int i) {
+            int d = this.heap[i];
+            int half = this.size >> 1;
+            while (i < half) {
+                int child = (i << 1) + 1;
+                if (child + 1 < this.size && this.compareRuns(this.heap[child + 1], this.heap[child]) < 0)
+                    child++;
+                if (this.compareRuns(d, this.heap[child]) <= 0)
+                    break;
+                this.heap[i] = this.heap[child];
+                i = child;
+            }
+            this.heap[i] = d;
+        }
+
+        @Override
+        public void close() {
+            if (this.runs != null) {
+                for (IEnumerator<TElement> run : this.runs)
+                    run.close();
+                this.runs = null;
+            }
+            Spill.deleteAll(this.files);
+            this.files = null;
+            this.items = null;
+            this.map = null;
+            this.comparer = null;
+            this.heads = null;
+            this.heap = null;
+            super.close();
+        }
+    }
+
     private class OrderedEnumerableRangeEnumerator extends AbstractEnumerator<TElement> {
         private int minIdx;
         private int maxIdx;
         private Buffer<TElement> buffer;
-        private Integer[] map;
+        private int[] map;
 
         private OrderedEnumerableRangeEnumerator(int minIdx, int maxIdx) {
             this.minIdx = minIdx;
@@ -397,7 +657,7 @@ abstract class AbstractOrderedEnumerable<TElement> implements IOrderedEnumerable
         public boolean moveNext() {
             switch (this.state) {
                 case 0:
-                    this.buffer = new Buffer<>(AbstractOrderedEnumerable.this.source);
+                    this.buffer = AbstractOrderedEnumerable.this.topBuffer(this.maxIdx);
                     int count = this.buffer.count;
                     if (count <= this.minIdx) {
                         this.close();
@@ -454,6 +714,9 @@ final class OrderedEnumerable<TElement, TKey> extends AbstractOrderedEnumerable<
 
         this.source = source;
         this.parent = parent;
+        this.parallelThreshold = parent == null ? 0 : parent.parallelThreshold;
+        this.lazy = parent != null && parent.lazy;
+        this.external = parent == null ? null : parent.external;
         this.keySelector = keySelector;
         this.comparer = comparer == null ? Comparer.Default() : comparer;
         this.descending = descending;
@@ -477,6 +740,194 @@ final class OrderedEnumerable<TElement, TKey> extends AbstractOrderedEnumerable<
 }
 
 
+final class IntOrderedEnumerable<TElement> extends AbstractOrderedEnumerable<TElement> {
+    private final AbstractOrderedEnumerable<TElement> parent;
+    private final IntFunc1<TElement> keySelector;
+    private final boolean descending;
+
+    IntOrderedEnumerable(IEnumerable<TElement> source, IntFunc1<TElement> keySelector, boolean descending, AbstractOrderedEnumerable<TElement> parent) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (keySelector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.keySelector);
+
+        this.source = source;
+        this.parent = parent;
+        this.parallelThreshold = parent == null ? 0 : parent.parallelThreshold;
+        this.lazy = parent != null && parent.lazy;
+        this.external = parent == null ? null : parent.external;
+        this.keySelector = keySelector;
+        this.descending = descending;
+    }
+
+    @Override
+    protected AbstractEnumerableSorter<TElement> getEnumerableSorter(AbstractEnumerableSorter<TElement> next) {
+        AbstractEnumerableSorter<TElement> sorter = new IntEnumerableSorter<>(this.keySelector, this.descending, next);
+        if (this.parent != null)
+            sorter = this.parent.getEnumerableSorter(sorter);
+        return sorter;
+    }
+
+    @Override
+    protected AbstractCachingComparer<TElement> getComparer(AbstractCachingComparer<TElement> childComparer) {
+        Func1<TElement, Integer> keySelector = this.keySelector::apply;
+        AbstractCachingComparer<TElement> cmp = childComparer == null
+                ? new CachingComparer<>(keySelector, Comparer.Default(), this.descending)
+                : new CachingComparerWithChild<>(keySelector, Comparer.Default(), this.descending, childComparer);
+        return this.parent != null ? this.parent.getComparer(cmp) : cmp;
+    }
+}
+
+
+final class LongOrderedEnumerable<TElement> extends AbstractOrderedEnumerable<TElement> {
+    private final AbstractOrderedEnumerable<TElement> parent;
+    private final LongFunc1<TElement> keySelector;
+    private final boolean descending;
+
+    LongOrderedEnumerable(IEnumerable<TElement> source, LongFunc1<TElement> keySelector, boolean descending, AbstractOrderedEnumerable<TElement> parent) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (keySelector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.keySelector);
+
+        this.source = source;
+        this.parent = parent;
+        this.parallelThreshold = parent == null ? 0 : parent.parallelThreshold;
+        this.lazy = parent != null && parent.lazy;
+        this.external = parent == null ? null : parent.external;
+        this.keySelector = keySelector;
+        this.descending = descending;
+    }
+
+    @Override
+    protected AbstractEnumerableSorter<TElement> getEnumerableSorter(AbstractEnumerableSorter<TElement> next) {
+        AbstractEnumerableSorter<TElement> sorter = new LongEnumerableSorter<>(this.keySelector, this.descending, next);
+        if (this.parent != null)
+            sorter = this.parent.getEnumerableSorter(sorter);
+        return sorter;
+    }
+
+    @Override
+    protected AbstractCachingComparer<TElement> getComparer(AbstractCachingComparer<TElement> childComparer) {
+        Func1<TElement, Long> keySelector = this.keySelector::apply;
+        AbstractCachingComparer<TElement> cmp = childComparer == null
+                ? new CachingComparer<>(keySelector, Comparer.Default(), this.descending)
+                : new CachingComparerWithChild<>(keySelector, Comparer.Default(), this.descending, childComparer);
+        return this.parent != null ? this.parent.getComparer(cmp) : cmp;
+    }
+}
+
+
+final class DoubleOrderedEnumerable<TElement> extends AbstractOrderedEnumerable<TElement> {
+    private final AbstractOrderedEnumerable<TElement> parent;
+    private final DoubleFunc1<TElement> keySelector;
+    private final boolean descending;
+
+    DoubleOrderedEnumerable(IEnumerable<TElement> source, DoubleFunc1<TElement> keySelector, boolean descending, AbstractOrderedEnumerable<TElement> parent) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (keySelector == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.keySelector);
+
+        this.source = source;
+        this.parent = parent;
+        this.parallelThreshold = parent == null ? 0 : parent.parallelThreshold;
+        this.lazy = parent != null && parent.lazy;
+        this.external = parent == null ? null : parent.external;
+        this.keySelector = keySelector;
+        this.descending = descending;
+    }
+
+    @Override
+    protected AbstractEnumerableSorter<TElement> getEnumerableSorter(AbstractEnumerableSorter<TElement> next) {
+        AbstractEnumerableSorter<TElement> sorter = new DoubleEnumerableSorter<>(this.keySelector, this.descending, next);
+        if (this.parent != null)
+            sorter = this.parent.getEnumerableSorter(sorter);
+        return sorter;
+    }
+
+    @Override
+    protected AbstractCachingComparer<TElement> getComparer(AbstractCachingComparer<TElement> childComparer) {
+        Func1<TElement, Double> keySelector = this.keySelector::apply;
+        AbstractCachingComparer<TElement> cmp = childComparer == null
+                ? new CachingComparer<>(keySelector, Comparer.Default(), this.descending)
+                : new CachingComparerWithChild<>(keySelector, Comparer.Default(), this.descending, childComparer);
+        return this.parent != null ? this.parent.getComparer(cmp) : cmp;
+    }
+}
+
+
+final class ParallelOrderedEnumerable<TElement> extends AbstractOrderedEnumerable<TElement> {
+    static final int DEFAULT_THRESHOLD = 1 << 13;
+
+    private final AbstractOrderedEnumerable<TElement> parent;
+
+    ParallelOrderedEnumerable(AbstractOrderedEnumerable<TElement> parent, int parallelThreshold) {
+        this.source = parent.source;
+        this.parent = parent;
+        this.parallelThreshold = parallelThreshold;
+        this.lazy = parent.lazy;
+        this.external = parent.external;
+    }
+
+    @Override
+    protected AbstractEnumerableSorter<TElement> getEnumerableSorter(AbstractEnumerableSorter<TElement> next) {
+        return this.parent.getEnumerableSorter(next);
+    }
+
+    @Override
+    protected AbstractCachingComparer<TElement> getComparer(AbstractCachingComparer<TElement> childComparer) {
+        return this.parent.getComparer(childComparer);
+    }
+}
+
+
+final class LazyOrderedEnumerable<TElement> extends AbstractOrderedEnumerable<TElement> {
+    private final AbstractOrderedEnumerable<TElement> parent;
+
+    LazyOrderedEnumerable(AbstractOrderedEnumerable<TElement> parent) {
+        this.source = parent.source;
+        this.parent = parent;
+        this.parallelThreshold = parent.parallelThreshold;
+        this.lazy = true;
+        this.external = parent.external;
+    }
+
+    @Override
+    protected AbstractEnumerableSorter<TElement> getEnumerableSorter(AbstractEnumerableSorter<TElement> next) {
+        return this.parent.getEnumerableSorter(next);
+    }
+
+    @Override
+    protected AbstractCachingComparer<TElement> getComparer(AbstractCachingComparer<TElement> childComparer) {
+        return this.parent.getComparer(childComparer);
+    }
+}
+
+
+final class ExternalOrderedEnumerable<TElement> extends AbstractOrderedEnumerable<TElement> {
+    private final AbstractOrderedEnumerable<TElement> parent;
+
+    ExternalOrderedEnumerable(AbstractOrderedEnumerable<TElement> parent, SpillOptions<TElement> external) {
+        this.source = parent.source;
+        this.parent = parent;
+        this.parallelThreshold = parent.parallelThreshold;
+        this.lazy = parent.lazy;
+        this.external = external;
+    }
+
+    @Override
+    protected AbstractEnumerableSorter<TElement> getEnumerableSorter(AbstractEnumerableSorter<TElement> next) {
+        return this.parent.getEnumerableSorter(next);
+    }
+
+    @Override
+    protected AbstractCachingComparer<TElement> getComparer(AbstractCachingComparer<TElement> childComparer) {
+        return this.parent.getComparer(childComparer);
+    }
+}
+
+
 abstract class AbstractCachingComparer<TElement> {
     abstract int compare(TElement element, boolean cacheLower);
 
@@ -541,108 +992,208 @@ final class CachingComparerWithChild<TElement, TKey> extends CachingComparer<TEl
 }
 
 
-@SuppressWarnings("SameParameterValue")
 abstract class AbstractEnumerableSorter<TElement> {
+    // Partitions at or below this size are sorted by insertion sort.
+    private static final int INTROSORT_SIZE_THRESHOLD = 16;
+    // Inputs below this size are always comparison sorted.
+    private static final int RADIX_SORT_THRESHOLD = 256;
+    // Parallel merge sort never splits below this many elements unless the threshold is smaller.
+    private static final int PARALLEL_SORT_MIN_GRANULARITY = 1 << 12;
+    // String buckets below this size are comparison sorted instead of distributed further.
+    private static final int STRING_RADIX_BUCKET_THRESHOLD = 32;
+    // String radix passes stop past this many bytes of common prefix and fall back to comparison sort.
+    private static final int STRING_RADIX_MAX_DEPTH = 128;
+
     protected abstract void computeKeys(Object[] elements, int count);
 
     protected abstract int compareAnyKeys(int index1, int index2);
 
-    private Integer[] computeMap(Object[] elements, int count) {
+    private int[] computeMap(Object[] elements, int count) {
         this.computeKeys(elements, count);
-        Integer[] map = new Integer[count];
+        int[] map = new int[count];
         for (int i = 0; i < map.length; i++)
             map[i] = i;
         return map;
     }
 
-    protected Integer[] sort(Object[] elements, int count) {
-        Integer[] map = this.computeMap(elements, count);
-        this.quickSort(map, 0, count - 1);
+    protected int[] sort(Object[] elements, int count) {
+        int[] map = this.computeMap(elements, count);
+        if (count < RADIX_SORT_THRESHOLD || !this.radixSort(map))
+            this.quickSort(map, 0, count - 1);
+        return map;
+    }
+
+    // Sorts with a fork-join merge sort over the map once count reaches parallelThreshold, otherwise serially.
+    // Keys are computed serially in source order, only the comparisons run concurrently.
+    protected int[] sort(Object[] elements, int count, int parallelThreshold) {
+        if (parallelThreshold <= 0 || count < parallelThreshold)
+            return this.sort(elements, count);
+
+        int[] map = this.computeMap(elements, count);
+        int granularity = Math.max(count / (ForkJoinPool.getCommonPoolParallelism() << 2), Math.min(parallelThreshold, PARALLEL_SORT_MIN_GRANULARITY));
+        ForkJoinPool.commonPool().invoke(new ParallelMergeSort(map, new int[count], 0, count, granularity));
         return map;
     }
 
-    protected Integer[] sort(Object[] elements, int count, int minIdx, int maxIdx) {
-        Integer[] map = this.computeMap(elements, count);
+    // Sorts the map with a stable radix sort on this level's keys, then sorts runs of equal keys by the next levels.
+    // Returns false without touching the map if the keys or comparer are not radix sortable.
+    protected boolean radixSort(int[] map) {
+        return false;
+    }
+
+    protected int[] sort(Object[] elements, int count, int minIdx, int maxIdx) {
+        int[] map = this.computeMap(elements, count);
         this.partialQuickSort(map, 0, count - 1, minIdx, maxIdx);
         return map;
     }
 
     protected TElement elementAt(Object[] elements, int count, int idx) {
-        Integer[] map = this.computeMap(elements, count);
+        int[] map = this.computeMap(elements, count);
         //noinspection unchecked
         return (TElement) (idx == 0 ? elements[this.min(map, count)] : elements[this.quickSelect(map, count - 1, idx)]);
     }
 
-    protected abstract void quickSort(Integer[] map, int left, int right);
-
-    // Sorts the k elements between minIdx and maxIdx without sorting all elements
-    // Time complexity: O(n + k log k) best and average case. O(n^2) worse case.
-    protected abstract void partialQuickSort(Integer[] map, int left, int right, int minIdx, int maxIdx);
-
-    // Finds the element that would be at idx if the collection was sorted.
-    // Time complexity: O(n) best and average case. O(n^2) worse case.
-    protected abstract int quickSelect(Integer[] map, int right, int idx);
+    // Builds a min heap over the map in O(n), elements are then taken in order by pop in O(log n) each.
+    protected int[] heapify(Object[] elements, int count) {
+        int[] map = this.computeMap(elements, count);
+        for (int i = (count >> 1) - 1; i >= 0; i--)
+            this.siftDown(map, i, count);
+        return map;
+    }
 
-    protected abstract int min(Integer[] map, int count);
-}
+    // Removes and returns the smallest index from a heap of the given size.
+    protected int pop(int[] heap, int size) {
+        int top = heap[0];
+        heap[0] = heap[size - 1];
+        this.siftDown(heap, 0, size - 1);
+        return top;
+    }
 
+    private void siftDown(int[] heap, int i, int size) {
+        int d = heap[i];
+        int half = size >> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            if (child + 1 < size && this.compareAnyKeys(heap[child + 1], heap[child]) < 0)
+                child++;
+            if (this.compareAnyKeys(d, heap[child]) <= 0)
+                break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = d;
+    }
 
-final class EnumerableSorter<TElement, TKey> extends AbstractEnumerableSorter<TElement> {
-    private final Func1<TElement, TKey> keySelector;
-    private final Comparator<TKey> comparer;
-    private final boolean descending;
-    private final AbstractEnumerableSorter<TElement> next;
-    private Object[] keys;
+    private int compareKeys(int index1, int index2) {
+        return index1 == index2 ? 0 : this.compareAnyKeys(index1, index2);
+    }
 
-    EnumerableSorter(Func1<TElement, TKey> keySelector, Comparator<TKey> comparer, boolean descending, AbstractEnumerableSorter<TElement> next) {
-        this.keySelector = keySelector;
-        this.comparer = comparer;
-        this.descending = descending;
-        this.next = next;
+    // compareAnyKeys breaks ties by index, so any sort of the map is stable.
+    protected void quickSort(int[] map, int left, int right) {
+        if (left < right)
+            this.introSort(map, left, right, 2 * (31 - Integer.numberOfLeadingZeros(right - left + 1)));
     }
 
-    @Override
-    protected void computeKeys(Object[] elements, int count) {
-        this.keys = new Object[count];
-        for (int i = 0; i < count; i++)
-            //noinspection unchecked
-            this.keys[i] = this.keySelector.apply((TElement) elements[i]);
-        if (this.next == null)
-            return;
-        this.next.computeKeys(elements, count);
+    private void introSort(int[] map, int lo, int hi, int depthLimit) {
+        while (hi > lo) {
+            int partitionSize = hi - lo + 1;
+            if (partitionSize <= INTROSORT_SIZE_THRESHOLD) {
+                this.insertionSort(map, lo, hi);
+                return;
+            }
+
+            if (depthLimit == 0) {
+                this.heapSort(map, lo, hi);
+                return;
+            }
+            depthLimit--;
+
+            int p = this.pickPivotAndPartition(map, lo, hi);
+            this.introSort(map, p + 1, hi, depthLimit);
+            hi = p - 1;
+        }
     }
 
-    @Override
-    protected int compareAnyKeys(int index1, int index2) {
-        assert this.keys != null;
+    private int pickPivotAndPartition(int[] map, int lo, int hi) {
+        int middle = lo + ((hi - lo) >> 1);
+        this.swapIfGreater(map, lo, middle);
+        this.swapIfGreater(map, lo, hi);
+        this.swapIfGreater(map, middle, hi);
+
+        int pivot = map[middle];
+        swap(map, middle, hi - 1);
+        int left = lo;
+        int right = hi - 1;
+        while (left < right) {
+            //noinspection StatementWithEmptyBody
+            while (left < hi - 1 && this.compareKeys(map[++left], pivot) < 0) ;
+            //noinspection StatementWithEmptyBody
+            while (right > lo && this.compareKeys(pivot, map[--right]) < 0) ;
+
+            if (left >= right)
+                break;
+
+            swap(map, left, right);
+        }
 
-        //noinspection unchecked
-        int c = this.comparer.compare((TKey) this.keys[index1], (TKey) this.keys[index2]);
-        if (c == 0) {
-            if (this.next == null)
-                return index1 - index2; // ensure stability of sort
-            return this.next.compareAnyKeys(index1, index2);
+        if (left != hi - 1)
+            swap(map, left, hi - 1);
+        return left;
+    }
+
+    private void insertionSort(int[] map, int lo, int hi) {
+        for (int i = lo; i < hi; i++) {
+            int j = i;
+            int t = map[i + 1];
+            while (j >= lo && this.compareAnyKeys(t, map[j]) < 0) {
+                map[j + 1] = map[j];
+                j--;
+            }
+            map[j + 1] = t;
         }
+    }
 
-        // -c will result in a negative value for int.MinValue (-int.MinValue == int.MinValue).
-        // Flipping keys earlier is more likely to trigger something strange in a comparer,
-        // particularly as it comes to the sort being stable.
-        return this.descending != (c > 0) ? 1 : -1;
+    private void heapSort(int[] map, int lo, int hi) {
+        int n = hi - lo + 1;
+        for (int i = n >> 1; i >= 1; i--)
+            this.downHeap(map, i, n, lo);
+
+        for (int i = n; i > 1; i--) {
+            swap(map, lo, lo + i - 1);
+            this.downHeap(map, 1, i - 1, lo);
+        }
     }
 
-    private int compareKeys(int index1, int index2) {
-        return index1 == index2 ? 0 : this.compareAnyKeys(index1, index2);
+    private void downHeap(int[] map, int i, int n, int lo) {
+        int d = map[lo + i - 1];
+        while (i <= n >> 1) {
+            int child = 2 * i;
+            if (child < n && this.compareAnyKeys(map[lo + child - 1], map[lo + child]) < 0)
+                child++;
+
+            if (this.compareAnyKeys(d, map[lo + child - 1]) >= 0)
+                break;
+
+            map[lo + i - 1] = map[lo + child - 1];
+            i = child;
+        }
+        map[lo + i - 1] = d;
     }
 
-    @Override
-    protected void quickSort(Integer[] keys, int lo, int hi) {
-        Arrays.sort(keys, lo, hi - lo + 1, Comparer.create(this::compareAnyKeys)); // TODO #24115: Remove Create call when delegate-based overload is available
+    private void swapIfGreater(int[] map, int i, int j) {
+        if (i != j && this.compareAnyKeys(map[i], map[j]) > 0)
+            swap(map, i, j);
+    }
+
+    private static void swap(int[] map, int i, int j) {
+        int temp = map[i];
+        map[i] = map[j];
+        map[j] = temp;
     }
 
     // Sorts the k elements between minIdx and maxIdx without sorting all elements
     // Time complexity: O(n + k log k) best and average case. O(n^2) worse case.
-    @Override
-    protected void partialQuickSort(Integer[] map, int left, int right, int minIdx, int maxIdx) {
+    protected void partialQuickSort(int[] map, int left, int right, int minIdx, int maxIdx) {
         do {
             int i = left;
             int j = right;
@@ -688,8 +1239,7 @@ final class EnumerableSorter<TElement, TKey> extends AbstractEnumerableSorter<TE
 
     // Finds the element that would be at idx if the collection was sorted.
     // Time complexity: O(n) best and average case. O(n^2) worse case.
-    @Override
-    protected int quickSelect(Integer[] map, int right, int idx) {
+    protected int quickSelect(int[] map, int right, int idx) {
         int left = 0;
         do {
             int i = left;
@@ -736,8 +1286,7 @@ final class EnumerableSorter<TElement, TKey> extends AbstractEnumerableSorter<TE
         return map[idx];
     }
 
-    @Override
-    protected int min(Integer[] map, int count) {
+    protected int min(int[] map, int count) {
         int index = 0;
         for (int i = 1; i < count; i++) {
             if (this.compareKeys(map[i], map[index]) < 0)
@@ -745,4 +1294,440 @@ final class EnumerableSorter<TElement, TKey> extends AbstractEnumerableSorter<TE
         }
         return map[index];
     }
+
+    // Maps an integral key to a long whose unsigned order matches the key order.
+    protected static long radixKey(int key, boolean descending) {
+        long radixKey = (key ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+        return descending ? radixKey ^ 0xFFFFFFFFL : radixKey;
+    }
+
+    protected static long radixKey(long key, boolean descending) {
+        long radixKey = key ^ Long.MIN_VALUE;
+        return descending ? ~radixKey : radixKey;
+    }
+
+    // Double.compare orders by doubleToLongBits, so -0.0 sorts before 0.0 and NaN sorts last.
+    protected static long radixKey(double key, boolean descending) {
+        long bits = Double.doubleToLongBits(key);
+        long radixKey = bits < 0 ? ~bits : bits ^ Long.MIN_VALUE;
+        return descending ? ~radixKey : radixKey;
+    }
+
+    // LSD radix sort of the map by unsigned keys, one byte per pass. Passes where every key shares the same byte are skipped.
+    protected static void radixSort(int[] map, long[] keys) {
+        int count = map.length;
+        int[][] histograms = new int[Long.BYTES][256];
+        for (int i = 0; i < count; i++) {
+            long key = keys[i];
+            for (int b = 0; b < Long.BYTES; b++)
+                histograms[b][(int) (key >>> (b << 3)) & 0xFF]++;
+        }
+
+        int[] src = map;
+        int[] buffer = null;
+        for (int b = 0; b < Long.BYTES; b++) {
+            int[] histogram = histograms[b];
+            int shift = b << 3;
+            if (histogram[(int) (keys[0] >>> shift) & 0xFF] == count)
+                continue;
+            if (buffer == null)
+                buffer = new int[count];
+            int[] dst = src == map ? buffer : map;
+            int offset = 0;
+            for (int d = 0; d < 256; d++) {
+                int c = histogram[d];
+                histogram[d] = offset;
+                offset += c;
+            }
+            for (int i = 0; i < count; i++) {
+                int index = src[i];
+                dst[histogram[(int) (keys[index] >>> shift) & 0xFF]++] = index;
+            }
+            src = dst;
+        }
+        if (src != map)
+            System.arraycopy(src, 0, map, 0, count);
+    }
+
+    // Sorts runs of equal radix keys by the full comparison, which falls through to the next levels.
+    protected void sortRuns(int[] map, long[] keys) {
+        int start = 0;
+        for (int i = 1; i <= map.length; i++) {
+            if (i == map.length || keys[map[i]] != keys[map[start]]) {
+                if (i - start > 1)
+                    this.quickSort(map, start, i - 1);
+                start = i;
+            }
+        }
+    }
+
+    // Stable MSD radix sort of the map by ordinal string order, one UTF-16 byte per pass. Nulls sort first.
+    protected void radixSort(int[] map, String[] keys, boolean descending) {
+        int count = map.length;
+        int[] buffer = new int[count];
+        int nulls = 0;
+        for (int i = 0; i < count; i++) {
+            if (keys[map[i]] == null)
+                nulls++;
+        }
+        int lo = descending ? 0 : nulls;
+        if (nulls > 0) {
+            int nullIndex = descending ? count - nulls : 0;
+            int nonNullIndex = lo;
+            for (int i = 0; i < count; i++) {
+                if (keys[map[i]] == null)
+                    buffer[nullIndex++] = map[i];
+                else
+                    buffer[nonNullIndex++] = map[i];
+            }
+            System.arraycopy(buffer, 0, map, 0, count);
+        }
+        this.radixSort(map, buffer, keys, descending, lo, lo + count - nulls, 0);
+    }
+
+    private void radixSort(int[] map, int[] buffer, String[] keys, boolean descending, int lo, int hi, int depth) {
+        if (hi - lo < STRING_RADIX_BUCKET_THRESHOLD || depth >= STRING_RADIX_MAX_DEPTH) {
+            if (hi - lo > 1)
+                this.quickSort(map, lo, hi - 1);
+            return;
+        }
+
+        // bucket 0 holds strings that end before this byte, buckets 1 to 256 hold the byte value plus one
+        int[] offsets = new int[258];
+        for (int i = lo; i < hi; i++)
+            offsets[radixDigit(keys[map[i]], depth, descending) + 1]++;
+        for (int d = 1; d < 258; d++)
+            offsets[d] += offsets[d - 1];
+        int[] starts = offsets.clone();
+        for (int i = lo; i < hi; i++) {
+            int index = map[i];
+            buffer[lo + offsets[radixDigit(keys[index], depth, descending)]++] = index;
+        }
+        System.arraycopy(buffer, lo, map, lo, hi - lo);
+
+        int ended = descending ? 256 : 0;
+        for (int d = 0; d < 257; d++) {
+            if (d != ended)
+                this.radixSort(map, buffer, keys, descending, lo + starts[d], lo + starts[d + 1], depth + 1);
+        }
+    }
+
+    private static int radixDigit(String key, int depth, boolean descending) {
+        int charIndex = depth >> 1;
+        int digit = charIndex < key.length() ? ((depth & 1) == 0 ? key.charAt(charIndex) >>> 8 : key.charAt(charIndex) & 0xFF) + 1 : 0;
+        return descending ? 256 - digit : digit;
+    }
+
+    // Sorts runs of equal strings by the full comparison, which falls through to the next levels.
+    protected void sortRuns(int[] map, String[] keys) {
+        int start = 0;
+        for (int i = 1; i <= map.length; i++) {
+            if (i == map.length || !Objects.equals(keys[map[i]], keys[map[start]])) {
+                if (i - start > 1)
+                    this.quickSort(map, start, i - 1);
+                start = i;
+            }
+        }
+    }
+
+
+    private final class ParallelMergeSort extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] map;
+        private final int[] buffer;
+        private final int lo;
+        private final int hi;
+        private final int granularity;
+
+        ParallelMergeSort(int[] map, int[] buffer, int lo, int hi, int granularity) {
+            this.map = map;
+            this.buffer = buffer;
+            this.lo = lo;
+            this.hi = hi;
+            this.granularity = granularity;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.hi - this.lo <= this.granularity) {
+                AbstractEnumerableSorter.this.quickSort(this.map, this.lo, this.hi - 1);
+                return;
+            }
+
+            int mid = (this.lo + this.hi) >>> 1;
+            invokeAll(new ParallelMergeSort(this.map, this.buffer, this.lo, mid, this.granularity),
+                    new ParallelMergeSort(this.map, this.buffer, mid, this.hi, this.granularity));
+            this.merge(mid);
+        }
+
+        // compareAnyKeys is a total order with index as the last key, so merging keeps the sort stable.
+        private void merge(int mid) {
+            int[] map = this.map;
+            if (AbstractEnumerableSorter.this.compareAnyKeys(map[mid - 1], map[mid]) < 0)
+                return;
+
+            int[] buffer = this.buffer;
+            System.arraycopy(map, this.lo, buffer, this.lo, mid - this.lo);
+            int i = this.lo;
+            int j = mid;
+            int k = this.lo;
+            while (i < mid && j < this.hi)
+                map[k++] = AbstractEnumerableSorter.this.compareAnyKeys(buffer[i], map[j]) <= 0 ? buffer[i++] : map[j++];
+            while (i < mid)
+                map[k++] = buffer[i++];
+        }
+    }
+}
+
+
+final class EnumerableSorter<TElement, TKey> extends AbstractEnumerableSorter<TElement> {
+    private final Func1<TElement, TKey> keySelector;
+    private final Comparator<TKey> comparer;
+    private final boolean descending;
+    private final AbstractEnumerableSorter<TElement> next;
+    private Object[] keys;
+
+    EnumerableSorter(Func1<TElement, TKey> keySelector, Comparator<TKey> comparer, boolean descending, AbstractEnumerableSorter<TElement> next) {
+        this.keySelector = keySelector;
+        this.comparer = comparer;
+        this.descending = descending;
+        this.next = next;
+    }
+
+    @Override
+    protected void computeKeys(Object[] elements, int count) {
+        this.keys = new Object[count];
+        for (int i = 0; i < count; i++)
+            //noinspection unchecked
+            this.keys[i] = this.keySelector.apply((TElement) elements[i]);
+        if (this.next == null)
+            return;
+        this.next.computeKeys(elements, count);
+    }
+
+    @Override
+    protected int compareAnyKeys(int index1, int index2) {
+        assert this.keys != null;
+
+        //noinspection unchecked
+        int c = this.comparer.compare((TKey) this.keys[index1], (TKey) this.keys[index2]);
+        if (c == 0) {
+            if (this.next == null)
+                return index1 - index2; // ensure stability of sort
+            return this.next.compareAnyKeys(index1, index2);
+        }
+
+        // -c will result in a negative value for int.MinValue (-int.MinValue == int.MinValue).
+        // Flipping keys earlier is more likely to trigger something strange in a comparer,
+        // particularly as it comes to the sort being stable.
+        return this.descending != (c > 0) ? 1 : -1;
+    }
+
+    @Override
+    protected boolean radixSort(int[] map) {
+        assert this.keys != null;
+
+        Object[] keys = this.keys;
+        if (this.comparer == StringComparer.Ordinal) {
+            String[] stringKeys = new String[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != null && keys[i].getClass() != String.class)
+                    return false;
+                stringKeys[i] = (String) keys[i];
+            }
+            this.radixSort(map, stringKeys, this.descending);
+            if (this.next != null)
+                this.sortRuns(map, stringKeys);
+            return true;
+        }
+
+        // the default comparer orders wrappers by compareTo, strings use culture order and are not radix sortable
+        if (this.comparer != Comparer.Default() || keys[0] == null)
+            return false;
+        Class<?> clazz = keys[0].getClass();
+        long[] radixKeys = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            Object key = keys[i];
+            if (key == null || key.getClass() != clazz)
+                return false;
+            if (clazz == Integer.class)
+                radixKeys[i] = radixKey((int) (Integer) key, this.descending);
+            else if (clazz == Long.class)
+                radixKeys[i] = radixKey((long) (Long) key, this.descending);
+            else if (clazz == Short.class)
+                radixKeys[i] = radixKey((int) (Short) key, this.descending);
+            else if (clazz == Byte.class)
+                radixKeys[i] = radixKey((int) (Byte) key, this.descending);
+            else if (clazz == Character.class)
+                radixKeys[i] = radixKey((int) (Character) key, this.descending);
+            else if (clazz == Double.class)
+                radixKeys[i] = radixKey((double) (Double) key, this.descending);
+            else if (clazz == Float.class)
+                radixKeys[i] = radixKey((double) (Float) key, this.descending);
+            else
+                return false;
+        }
+        radixSort(map, radixKeys);
+        if (this.next != null)
+            this.sortRuns(map, radixKeys);
+        return true;
+    }
+}
+
+
+final class IntEnumerableSorter<TElement> extends AbstractEnumerableSorter<TElement> {
+    private final IntFunc1<TElement> keySelector;
+    private final boolean descending;
+    private final AbstractEnumerableSorter<TElement> next;
+    private int[] keys;
+
+    IntEnumerableSorter(IntFunc1<TElement> keySelector, boolean descending, AbstractEnumerableSorter<TElement> next) {
+        this.keySelector = keySelector;
+        this.descending = descending;
+        this.next = next;
+    }
+
+    @Override
+    protected void computeKeys(Object[] elements, int count) {
+        this.keys = new int[count];
+        for (int i = 0; i < count; i++)
+            //noinspection unchecked
+            this.keys[i] = this.keySelector.apply((TElement) elements[i]);
+        if (this.next == null)
+            return;
+        this.next.computeKeys(elements, count);
+    }
+
+    @Override
+    protected int compareAnyKeys(int index1, int index2) {
+        assert this.keys != null;
+
+        int c = Integer.compare(this.keys[index1], this.keys[index2]);
+        if (c == 0) {
+            if (this.next == null)
+                return index1 - index2; // ensure stability of sort
+            return this.next.compareAnyKeys(index1, index2);
+        }
+
+        return this.descending != (c > 0) ? 1 : -1;
+    }
+
+    @Override
+    protected boolean radixSort(int[] map) {
+        assert this.keys != null;
+
+        long[] radixKeys = new long[this.keys.length];
+        for (int i = 0; i < radixKeys.length; i++)
+            radixKeys[i] = radixKey(this.keys[i], this.descending);
+        radixSort(map, radixKeys);
+        if (this.next != null)
+            this.sortRuns(map, radixKeys);
+        return true;
+    }
+}
+
+
+final class LongEnumerableSorter<TElement> extends AbstractEnumerableSorter<TElement> {
+    private final LongFunc1<TElement> keySelector;
+    private final boolean descending;
+    private final AbstractEnumerableSorter<TElement> next;
+    private long[] keys;
+
+    LongEnumerableSorter(LongFunc1<TElement> keySelector, boolean descending, AbstractEnumerableSorter<TElement> next) {
+        this.keySelector = keySelector;
+        this.descending = descending;
+        this.next = next;
+    }
+
+    @Override
+    protected void computeKeys(Object[] elements, int count) {
+        this.keys = new long[count];
+        for (int i = 0; i < count; i++)
+            //noinspection unchecked
+            this.keys[i] = this.keySelector.apply((TElement) elements[i]);
+        if (this.next == null)
+            return;
+        this.next.computeKeys(elements, count);
+    }
+
+    @Override
+    protected int compareAnyKeys(int index1, int index2) {
+        assert this.keys != null;
+
+        int c = Long.compare(this.keys[index1], this.keys[index2]);
+        if (c == 0) {
+            if (this.next == null)
+                return index1 - index2; // ensure stability of sort
+            return this.next.compareAnyKeys(index1, index2);
+        }
+
+        return this.descending != (c > 0) ? 1 : -1;
+    }
+
+    @Override
+    protected boolean radixSort(int[] map) {
+        assert this.keys != null;
+
+        long[] radixKeys = new long[this.keys.length];
+        for (int i = 0; i < radixKeys.length; i++)
+            radixKeys[i] = radixKey(this.keys[i], this.descending);
+        radixSort(map, radixKeys);
+        if (this.next != null)
+            this.sortRuns(map, radixKeys);
+        return true;
+    }
+}
+
+
+final class DoubleEnumerableSorter<TElement> extends AbstractEnumerableSorter<TElement> {
+    private final DoubleFunc1<TElement> keySelector;
+    private final boolean descending;
+    private final AbstractEnumerableSorter<TElement> next;
+    private double[] keys;
+
+    DoubleEnumerableSorter(DoubleFunc1<TElement> keySelector, boolean descending, AbstractEnumerableSorter<TElement> next) {
+        this.keySelector = keySelector;
+        this.descending = descending;
+        this.next = next;
+    }
+
+    @Override
+    protected void computeKeys(Object[] elements, int count) {
+        this.keys = new double[count];
+        for (int i = 0; i < count; i++)
+            //noinspection unchecked
+            this.keys[i] = this.keySelector.apply((TElement) elements[i]);
+        if (this.next == null)
+            return;
+        this.next.computeKeys(elements, count);
+    }
+
+    @Override
+    protected int compareAnyKeys(int index1, int index2) {
+        assert this.keys != null;
+
+        // Double.compare matches Double.compareTo, which the default comparer uses for boxed keys.
+        int c = Double.compare(this.keys[index1], this.keys[index2]);
+        if (c == 0) {
+            if (this.next == null)
+                return index1 - index2; // ensure stability of sort
+            return this.next.compareAnyKeys(index1, index2);
+        }
+
+        return this.descending != (c > 0) ? 1 : -1;
+    }
+
+    @Override
+    protected boolean radixSort(int[] map) {
+        assert this.keys != null;
+
+        long[] radixKeys = new long[this.keys.length];
+        for (int i = 0; i < radixKeys.length; i++)
+            radixKeys[i] = radixKey(this.keys[i], this.descending);
+        radixSort(map, radixKeys);
+        if (this.next != null)
+            this.sortRuns(map, radixKeys);
+        return true;
+    }
 }
@@ -38,6 +38,21 @@ interface IPartition<TElement> extends IIListProvider<TElement> {
     TElement _tryGetFirst(out<Boolean> found);
 
     TElement _tryGetLast(out<Boolean> found);
+
+    // Partitions that are views over a list, so skipping and taking a range of them is O(1).
+    static boolean isIndexable(IPartition<?> partition) {
+        return partition instanceof RangeIterator
+                || partition instanceof RepeatIterator
+                || partition instanceof ListPartition
+                || partition instanceof IListPartition
+                || partition instanceof SelectArrayIterator
+                || partition instanceof SelectRangeIterator
+                || partition instanceof SelectRepeatIterator
+                || partition instanceof SelectListIterator
+                || partition instanceof SelectIListIterator
+                || partition instanceof SelectListPartitionIterator
+                || partition instanceof SelectIListPartitionIterator;
+    }
 }
 
 
@@ -117,6 +132,11 @@ final class EmptyPartition<TElement> extends Iterator<TElement> implements IPart
         return ListUtils.empty();
     }
 
+    @Override
+    public boolean _forEachWhile(Predicate1<TElement> action) {
+        return true;
+    }
+
     @Override
     public int _getCount(boolean onlyIfCheap) {
         return 0;
@@ -329,6 +349,16 @@ final class ListPartition<TSource> extends Iterator<TSource> implements IPartiti
         return list;
     }
 
+    @Override
+    public boolean _forEachWhile(Predicate1<TSource> action) {
+        // Rereads the count like moveNext, so the list may shrink while action runs.
+        for (int i = this.minIndexInclusive; i < this.source._getCount() && i <= this.maxIndexInclusive; i++) {
+            if (!action.apply(this.source.get(i)))
+                return false;
+        }
+        return true;
+    }
+
     @Override
     public int _getCount(boolean onlyIfCheap) {
         return this._getCount();
@@ -712,6 +742,11 @@ final class EnumerablePartition<TSource> extends Iterator<TSource> implements IP
         return new SelectIPartitionIterator<>(this, selector);
     }
 
+    @Override
+    public IEnumerable<TSource> _where(Predicate1<TSource> predicate) {
+        return new FusedIterator<TSource, TSource>(this.source, this.minIndexInclusive, this.maxIndexInclusive)._where(predicate);
+    }
+
     @Override
     public IPartition<TSource> _skip(int count) {
         int minIndex = this.minIndexInclusive + count;
@@ -8,63 +8,81 @@ import com.bestvike.linq.IEnumerator;
 import com.bestvike.linq.util.ArrayUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Created by 许崇雷 on 2018-05-07.
  */
 final class Set<TElement> {
+    // Sets up to this size are searched linearly and never allocate buckets.
+    private static final int SMALL_CAPACITY = 8;
+    // Marks a removed entry, live hash codes are never negative.
+    private static final int REMOVED = -1;
+
     private final IEqualityComparer<TElement> comparer;
-    private int[] buckets;
-    private Slot[] slots;
+    private int[] buckets;// one based index of first entry in chain, null while small
+    private int[] hashCodes;
+    private int[] nexts;// zero based index of next entry in chain, -1 terminates
+    private Object[] values;
     private int count;
+    private int removed;
 
     // Constructs a set that compares items with the specified comparer.
     Set(IEqualityComparer<TElement> comparer) {
         this.comparer = comparer == null ? EqualityComparer.Default() : comparer;
-        this.buckets = new int[7];
-        //noinspection unchecked
-        this.slots = new Set.Slot[7];
-        for (int i = 0; i < 7; i++)
-            this.slots[i] = new Slot();
+        this.hashCodes = new int[SMALL_CAPACITY];
+        this.values = new Object[SMALL_CAPACITY];
     }
 
     // If value is not in set, add it and return true; otherwise return false
     public boolean add(TElement value) {
         int hashCode = this.internalGetHashCode(value);
-        for (int i = this.buckets[hashCode % this.buckets.length] - 1; i >= 0; i = this.slots[i].next) {
-            if (this.slots[i].hashCode == hashCode && this.comparer.equals(this.slots[i].value, value))
-                return false;
-        }
+        if (this.find(value, hashCode) >= 0)
+            return false;
 
-        if (this.count == this.slots.length)
+        if (this.count == this.values.length)
             this.resize();
 
         int index = this.count;
         this.count++;
-        int bucket = hashCode % this.buckets.length;
-        this.slots[index].hashCode = hashCode;
-        this.slots[index].value = value;
-        this.slots[index].next = this.buckets[bucket] - 1;
-        this.buckets[bucket] = index + 1;
+        this.hashCodes[index] = hashCode;
+        this.values[index] = value;
+        if (this.buckets != null) {
+            int bucket = hashCode & (this.buckets.length - 1);
+            this.nexts[index] = this.buckets[bucket] - 1;
+            this.buckets[bucket] = index + 1;
+        }
         return true;
     }
 
     // Attempts to remove an item from this set.
     public boolean remove(TElement value) {
         int hashCode = this.internalGetHashCode(value);
-        int bucket = hashCode % this.buckets.length;
+        if (this.buckets == null) {
+            int index = this.find(value, hashCode);
+            if (index < 0)
+                return false;
+            this.hashCodes[index] = REMOVED;
+            this.values[index] = null;
+            this.removed++;
+            return true;
+        }
+
+        int bucket = hashCode & (this.buckets.length - 1);
         int last = -1;
-        for (int i = this.buckets[bucket] - 1; i >= 0; last = i, i = this.slots[i].next) {
-            if (this.slots[i].hashCode == hashCode && this.comparer.equals(this.slots[i].value, value)) {
+        for (int i = this.buckets[bucket] - 1; i >= 0; last = i, i = this.nexts[i]) {
+            //noinspection unchecked
+            if (this.hashCodes[i] == hashCode && this.comparer.equals((TElement) this.values[i], value)) {
                 if (last < 0)
-                    this.buckets[bucket] = this.slots[i].next + 1;
+                    this.buckets[bucket] = this.nexts[i] + 1;
                 else
-                    this.slots[last].next = this.slots[i].next;
+                    this.nexts[last] = this.nexts[i];
 
-                this.slots[i].hashCode = -1;
-                this.slots[i].value = null;
-                this.slots[i].next = -1;
+                this.hashCodes[i] = REMOVED;
+                this.values[i] = null;
+                this.nexts[i] = -1;
+                this.removed++;
                 return true;
             }
         }
@@ -72,52 +90,88 @@ final class Set<TElement> {
         return false;
     }
 
-    // Expands the capacity of this set to double the current capacity, plus one.
+    // Returns the index of value, or -1 if not found.
+    private int find(TElement value, int hashCode) {
+        if (this.buckets == null) {
+            for (int i = 0; i < this.count; i++) {
+                //noinspection unchecked
+                if (this.hashCodes[i] == hashCode && this.comparer.equals((TElement) this.values[i], value))
+                    return i;
+            }
+            return -1;
+        }
+
+        for (int i = this.buckets[hashCode & (this.buckets.length - 1)] - 1; i >= 0; i = this.nexts[i]) {
+            //noinspection unchecked
+            if (this.hashCodes[i] == hashCode && this.comparer.equals((TElement) this.values[i], value))
+                return i;
+        }
+        return -1;
+    }
+
+    // Expands the capacity of this set to double the current capacity, and switches to hashed lookup once it outgrows the small mode.
     private void resize() {
-        int newSize = Math.addExact(Math.multiplyExact(this.count, 2), 1);
+        int newSize = Math.multiplyExact(this.values.length, 2);
+        this.hashCodes = Arrays.copyOf(this.hashCodes, newSize);
+        this.values = Arrays.copyOf(this.values, newSize);
+        this.nexts = new int[newSize];
         int[] newBuckets = new int[newSize];
-        //noinspection unchecked
-        Slot[] newSlots = new Set.Slot[newSize];
-        System.arraycopy(this.slots, 0, newSlots, 0, this.count);
-        for (int i = this.count; i < newSize; i++)
-            newSlots[i] = new Slot();
+        int mask = newSize - 1;
         for (int i = 0; i < this.count; i++) {
-            int bucket = newSlots[i].hashCode % newSize;
-            newSlots[i].next = newBuckets[bucket] - 1;
+            int hashCode = this.hashCodes[i];
+            if (hashCode == REMOVED) {
+                this.nexts[i] = -1;
+                continue;
+            }
+            int bucket = hashCode & mask;
+            this.nexts[i] = newBuckets[bucket] - 1;
             newBuckets[bucket] = i + 1;
         }
         this.buckets = newBuckets;
-        this.slots = newSlots;
     }
 
     // Creates an array from the items in this set.
     public TElement[] toArray(Class<TElement> clazz) {
-        TElement[] array = ArrayUtils.newInstance(clazz, this.count);
-        for (int i = 0; i != array.length; ++i)
-            array[i] = this.slots[i].value;
+        TElement[] array = ArrayUtils.newInstance(clazz, this.getCount());
+        this.copyTo(array);
         return array;
     }
 
     // Creates an array from the items in this set.
     public Object[] toArray() {
-        Object[] array = new Object[this.count];
-        for (int i = 0; i != array.length; ++i)
-            array[i] = this.slots[i].value;
+        Object[] array = new Object[this.getCount()];
+        this.copyTo(array);
         return array;
     }
 
     // Creates a list from the items in this set.
     public List<TElement> toList() {
         int count = this.count;
-        List<TElement> list = new ArrayList<>(count);
-        for (int i = 0; i != count; ++i)
-            list.add(this.slots[i].value);
+        List<TElement> list = new ArrayList<>(this.getCount());
+        for (int i = 0; i != count; ++i) {
+            if (this.hashCodes[i] != REMOVED)
+                //noinspection unchecked
+                list.add((TElement) this.values[i]);
+        }
         return list;
     }
 
+    private void copyTo(Object[] array) {
+        if (this.removed == 0) {
+            //noinspection SuspiciousSystemArraycopy
+            System.arraycopy(this.values, 0, array, 0, this.count);
+            return;
+        }
+        int index = 0;
+        for (int i = 0; i != this.count; ++i) {
+            if (this.hashCodes[i] != REMOVED)
+                array[index++] = this.values[i];
+        }
+    }
+
     // The number of items in this set.
     public int getCount() {
-        return this.count;
+        return this.count - this.removed;
     }
 
     // Unions this set with an enumerable.
@@ -141,16 +195,11 @@ final class Set<TElement> {
         }
     }
 
-    // Gets the hash code of the provided value with its sign bit zeroed out, so that modulo has a positive result.
+    // Gets the hash code of the provided value, spread so that the low bits used by the power of two buckets depend on the high bits too, with its sign bit zeroed out.
     private int internalGetHashCode(TElement value) {
-        return value == null ? 0 : this.comparer.hashCode(value) & 0x7FFFFFFF;
-    }
-
-
-    // An entry in the hash set.
-    private final class Slot {//struct
-        private int hashCode;
-        private int next;
-        private TElement value;
+        if (value == null)
+            return 0;
+        int hashCode = this.comparer.hashCode(value);
+        return (hashCode ^ (hashCode >>> 16)) & 0x7FFFFFFF;
     }
 }
@@ -168,10 +168,7 @@ final class EnumerableHelpers {
         }
 
         List<T> list = new ArrayList<>();
-        try (IEnumerator<T> e = source.enumerator()) {
-            while (e.moveNext())
-                list.add(e.current());
-        }
+        ForEach.forEachWhileInternal(source, list::add);
         return list;
     }
 }
@@ -24,23 +24,45 @@ public enum ExceptionArgument {
     //extension
     action,
     array,
+    budget,
+    buffer,
+    cancellationRequested,
+    charset,
     clazz,
     collator,
     collection,
+    collector,
+    combineAccumulatorsFunc,
     comparison,
     condition,
+    consumer,
     current,
+    decoder,
+    degreeOfParallelism,
     elements,
+    executor,
     formatter,
     hasNext,
     iterable,
+    length,
     locale,
     match,
     moveNext,
     newSize,
     next,
     obj,
+    offset,
     options,
+    order,
     other,
+    path,
+    pool,
+    recordSize,
+    runSize,
+    seedFactory,
+    serializer,
+    splitter,
     startIndex,
+    threshold,
+    updateAccumulatorFunc,
 }
@@ -4,6 +4,7 @@ import com.bestvike.linq.resources.SR;
 import com.bestvike.linq.util.Strings;
 
 import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
 
 /**
  * Created by 许崇雷 on 2019-04-23.
@@ -44,6 +45,10 @@ public final class ThrowHelper {
         throw new RepeatInvokeException();
     }
 
+    public static void throwOperationCanceledException() {
+        throw new CancellationException(SR.OperationCanceled);
+    }
+
     public static void throwNoSuchElementException() {
         throw new NoSuchElementException(SR.NoSuchElement);
     }
@@ -56,6 +61,26 @@ public final class ThrowHelper {
         throw new ArgumentException(SR.Argument_ImplementComparable);
     }
 
+    public static void throwCharsetNotAsciiCompatibleException(ExceptionArgument argument) {
+        throw new ArgumentException(SR.Argument_CharsetNotAsciiCompatible, getArgumentString(argument));
+    }
+
+    public static void throwInvalidRecordLengthException(ExceptionArgument argument) {
+        throw new ArgumentException(SR.Argument_InvalidRecordLength, getArgumentString(argument));
+    }
+
+    public static void throwNotConnectedException() {
+        throw new InvalidOperationException(SR.InvalidOperation_NotConnected);
+    }
+
+    public static void throwAlreadyConnectedException() {
+        throw new InvalidOperationException(SR.InvalidOperation_AlreadyConnected);
+    }
+
+    public static void throwNumberFormatException(CharSequence input) {
+        throw new NumberFormatException("For input string: \"" + input + "\"");
+    }
+
     public static void throwTupleIncorrectTypeException(Class type, ExceptionArgument argument) {
         throw new ArgumentException(String.format(SR.ArgumentException_TupleIncorrectType, type), getArgumentString(argument));
     }
@@ -20,8 +20,13 @@ public final class SR {
     public static final String NoElements = "Sequence contains no elements.";
     public static final String NoMatch = "Sequence contains no matching element.";
     public static final String NoSuchElement = "Sequence contains no such element.";
+    public static final String OperationCanceled = "The operation was canceled.";
     public static final String Arg_IndexOutOfRangeException = "Index was outside the bounds of the array.";
     public static final String Argument_ImplementComparable = "At least one object must implement Comparable.";
+    public static final String Argument_InvalidRecordLength = "The length must be a multiple of the record size and hold at most Integer.MAX_VALUE records.";
+    public static final String Argument_CharsetNotAsciiCompatible = "The charset must encode CR and LF as single ASCII bytes.";
+    public static final String InvalidOperation_NotConnected = "The publisher has not been connected.";
+    public static final String InvalidOperation_AlreadyConnected = "The publisher has already been connected.";
     public static final String ArgumentException_TupleIncorrectType = "Argument must be of type %s.";
     public static final String ArgumentException_TupleLastArgumentNotATuple = "The last element of an eight element tuple must be a Tuple.";
 
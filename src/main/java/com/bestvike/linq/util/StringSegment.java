@@ -0,0 +1,141 @@
+package com.bestvike.linq.util;
+
+import com.bestvike.linq.exception.ExceptionArgument;
+import com.bestvike.linq.exception.ThrowHelper;
+
+/**
+ * A range of chars of a source sequence, read in place without copying.
+ * <p>
+ * Created by 许崇雷 on 2026-10-18.
+ */
+public final class StringSegment implements CharSequence {
+    private final CharSequence source;
+    private final int offset;
+    private final int length;
+
+    public StringSegment(CharSequence source) {
+        this(source, 0, source == null ? 0 : source.length());
+    }
+
+    public StringSegment(CharSequence source, int offset, int length) {
+        if (source == null)
+            ThrowHelper.throwArgumentNullException(ExceptionArgument.source);
+        if (offset < 0 || offset > source.length())
+            ThrowHelper.throwArgumentOutOfRangeException(ExceptionArgument.offset);
+        if (length < 0 || length > source.length() - offset)
+            ThrowHelper.throwArgumentOutOfRangeException(ExceptionArgument.length);
+
+        this.source = source;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public CharSequence getSource() {
+        return this.source;
+    }
+
+    public int getOffset() {
+        return this.offset;
+    }
+
+    @Override
+    public int length() {
+        return this.length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= this.length)
+            ThrowHelper.throwIndexOutOfRangeException();
+        return this.source.charAt(this.offset + index);
+    }
+
+    @Override
+    public StringSegment subSequence(int start, int end) {
+        if (start < 0 || end > this.length || start > end)
+            ThrowHelper.throwIndexOutOfRangeException();
+        return new StringSegment(this.source, this.offset + start, end - start);
+    }
+
+    public boolean contentEquals(CharSequence other) {
+        if (other == null || other.length() != this.length)
+            return false;
+        for (int i = 0; i < this.length; i++) {
+            if (this.source.charAt(this.offset + i) != other.charAt(i))
+                return false;
+        }
+        return true;
+    }
+
+    public boolean contentEqualsIgnoreCase(CharSequence other) {
+        if (other == null || other.length() != this.length)
+            return false;
+        for (int i = 0; i < this.length; i++) {
+            char c1 = this.source.charAt(this.offset + i);
+            char c2 = other.charAt(i);
+            if (c1 != c2 && Character.toUpperCase(c1) != Character.toUpperCase(c2) && Character.toLowerCase(c1) != Character.toLowerCase(c2))
+                return false;
+        }
+        return true;
+    }
+
+    public int parseInt() {
+        return (int) this.parse(Integer.MAX_VALUE);
+    }
+
+    public long parseLong() {
+        return this.parse(Long.MAX_VALUE);
+    }
+
+    // Same rules as Long.parseLong in radix 10, accumulating negatively so that the minimum value fits.
+    private long parse(long max) {
+        if (this.length == 0)
+            ThrowHelper.throwNumberFormatException(this);
+
+        int i = 0;
+        boolean negative = false;
+        long limit = -max;
+        char first = this.source.charAt(this.offset);
+        if (first < '0') {
+            if (first == '-') {
+                negative = true;
+                limit = -max - 1;
+            } else if (first != '+') {
+                ThrowHelper.throwNumberFormatException(this);
+            }
+            if (this.length == 1)
+                ThrowHelper.throwNumberFormatException(this);
+            i++;
+        }
+        long multiplyMin = limit / 10;
+        long result = 0;
+        while (i < this.length) {
+            int digit = Character.digit(this.source.charAt(this.offset + i++), 10);
+            if (digit < 0 || result < multiplyMin)
+                ThrowHelper.throwNumberFormatException(this);
+            result *= 10;
+            if (result < limit + digit)
+                ThrowHelper.throwNumberFormatException(this);
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return this == obj || (obj instanceof StringSegment && this.contentEquals((StringSegment) obj));
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int i = 0; i < this.length; i++)
+            hash = 31 * hash + this.source.charAt(this.offset + i);
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return this.length == 0 ? Strings.Empty : this.source.subSequence(this.offset, this.offset + this.length).toString();
+    }
+}
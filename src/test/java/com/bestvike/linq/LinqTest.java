@@ -2,7 +2,9 @@ package com.bestvike.linq;
 
 import com.bestvike.TestCase;
 import com.bestvike.collections.generic.Array;
+import com.bestvike.linq.adapter.enumerable.MappedLineEnumerable;
 import com.bestvike.linq.enumerable.AbstractIterator;
+import com.bestvike.linq.exception.ArgumentException;
 import com.bestvike.linq.exception.ArgumentNullException;
 import com.bestvike.linq.exception.ArgumentOutOfRangeException;
 import com.bestvike.linq.exception.InvalidOperationException;
@@ -14,9 +16,16 @@ import com.bestvike.linq.util.Strings;
 import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -547,7 +556,7 @@ class LinqTest extends TestCase {
 
     @Test
     void testWords() {
-        assertThrows(ArgumentNullException.class, () -> Linq.words(null));
+        assertThrows(ArgumentNullException.class, () -> Linq.words((CharSequence) null));
         assertEquals(Linq.empty(), Linq.words(""));
         assertEquals(Linq.empty(), Linq.words("\r"));
         assertEquals(Linq.empty(), Linq.words("\r\n\n"));
@@ -572,7 +581,7 @@ class LinqTest extends TestCase {
 
     @Test
     void testLines() {
-        assertThrows(ArgumentNullException.class, () -> Linq.lines(null));
+        assertThrows(ArgumentNullException.class, () -> Linq.lines((CharSequence) null));
         assertEquals(Linq.empty(), Linq.lines(""));
         assertEquals(Linq.empty(), Linq.lines("\r"));
         assertEquals(Linq.empty(), Linq.lines("\r\n\n"));
@@ -590,6 +599,103 @@ class LinqTest extends TestCase {
         }
     }
 
+    @Test
+    void testMappedLines() throws IOException {
+        assertThrows(ArgumentNullException.class, () -> Linq.lines(null, StandardCharsets.UTF_8));
+        assertThrows(ArgumentNullException.class, () -> Linq.lines(Paths.get("lines.txt"), null));
+        assertThrows(ArgumentException.class, () -> Linq.lines(Paths.get("lines.txt"), StandardCharsets.UTF_16));
+
+        String text = "\r\n\n\nhello\r\n\n\nworld\r\n中文行\rmixed é line\n" + Linq.repeat("long", 40).joining() + "\r\n\n  ";
+        Path path = Files.createTempFile("linq-lines", ".txt");
+        try {
+            Files.write(path, text.getBytes(StandardCharsets.UTF_8));
+            assertEquals(Linq.lines(text), Linq.lines(path, StandardCharsets.UTF_8).select(CharSequence::toString));
+            assertEquals(Linq.lines(text), Linq.of(new MappedLineEnumerable(path, StandardCharsets.UTF_8, 7)).select(CharSequence::toString));
+            assertEquals(Linq.lines(text).select(String::length), Linq.of(new MappedLineEnumerable(path, StandardCharsets.UTF_8, 3)).select(CharSequence::length));
+
+            try (IEnumerator<CharSequence> e = Linq.lines(path, StandardCharsets.UTF_8).enumerator()) {
+                assertTrue(e.moveNext());
+                assertEquals('h', e.current().charAt(0));
+                assertEquals("ell", e.current().subSequence(1, 4));
+                assertThrows(IndexOutOfBoundsException.class, () -> e.current().charAt(5));
+                assertTrue(e.moveNext());
+                assertTrue(e.moveNext());
+                assertEquals('文', e.current().charAt(1));
+                assertEquals(3, e.current().length());
+            }
+
+            Files.write(path, new byte[0]);
+            try (IEnumerator<CharSequence> e = Linq.lines(path, StandardCharsets.UTF_8).enumerator()) {
+                assertFalse(e.moveNext());
+                assertFalse(e.moveNext());
+            }
+        } finally {
+            Files.delete(path);
+        }
+        assertThrows(UncheckedIOException.class, () -> Linq.lines(path, StandardCharsets.UTF_8).count());
+    }
+
+    @Test
+    void testMappedLinesStatefulCharset() throws IOException {
+        Charset charset = Charset.forName("ISO-2022-JP");
+        String text = "日本語\nascii line\r\nかな and ascii\n";
+        Path path = Files.createTempFile("linq-lines", ".txt");
+        try {
+            Files.write(path, text.getBytes(charset));
+            assertEquals(Linq.lines(text), Linq.lines(path, charset).select(CharSequence::toString));
+            assertEquals(Linq.lines(text).select(String::length), Linq.lines(path, charset).select(CharSequence::length));
+            try (IEnumerator<CharSequence> e = Linq.lines(path, charset).enumerator()) {
+                assertTrue(e.moveNext());
+                assertEquals('本', e.current().charAt(1));
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void testRecords() throws IOException {
+        IRecordDecoder<Integer> sum = (buffer, offset) -> buffer.getInt(offset) + buffer.getInt(offset + 4);
+        assertThrows(ArgumentNullException.class, () -> Linq.records((ByteBuffer) null, 8, sum));
+        assertThrows(ArgumentOutOfRangeException.class, () -> Linq.records(ByteBuffer.allocate(8), 0, sum));
+        assertThrows(ArgumentNullException.class, () -> Linq.records(ByteBuffer.allocate(8), 8, null));
+        assertThrows(ArgumentException.class, () -> Linq.records(ByteBuffer.allocate(12), 8, sum));
+
+        ByteBuffer bytes = ByteBuffer.allocate(800).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < 100; i++)
+            bytes.putInt(i).putInt(i * 1000);
+        bytes.flip();
+        IEnumerable<Integer> expected = Linq.range(0, 100).select(i -> i * 1001);
+        assertEquals(expected, Linq.records(bytes, 8, sum));
+        assertEquals(expected.skip(10), Linq.records((ByteBuffer) bytes.duplicate().order(ByteOrder.LITTLE_ENDIAN).position(80), 8, sum));
+
+        Path path = Files.createTempFile("linq-records", ".bin");
+        try {
+            Files.write(path, bytes.array());
+            IEnumerable<Integer> records = Linq.records(path, 8, ByteOrder.LITTLE_ENDIAN, sum);
+            assertEquals(100, records.count());
+            assertEquals(42 * 1001, records.elementAt(42));
+            assertNull(records.elementAtOrDefault(100));
+            assertThrows(IndexOutOfBoundsException.class, () -> records.elementAt(100));
+            assertEquals(99 * 1001, records.last());
+            assertEquals(expected.skip(20).take(30), records.skip(20).take(30));
+            assertEquals(25 * 1001, records.skip(20).take(30).elementAt(5));
+            assertEquals(30, records.skip(20).take(30).count());
+            assertEquals(expected.where(x -> x % 2 == 0).select(x -> x / 1001), records.where(x -> x % 2 == 0).select(x -> x / 1001));
+            assertEquals(Linq.of(expected.toList()), Linq.of(records.toList()));
+            assertEquals(7, records.toList().indexOf(7 * 1001));
+            assertEquals(Integer.reverseBytes(1000), Linq.records(path, 8, (buffer, offset) -> buffer.getInt(offset + 4)).elementAt(1));
+
+            Files.write(path, new byte[12]);
+            assertThrows(ArgumentException.class, () -> Linq.records(path, 8, sum));
+            Files.write(path, new byte[0]);
+            assertEmpty(Linq.records(path, 8, sum));
+        } finally {
+            Files.delete(path);
+        }
+        assertThrows(UncheckedIOException.class, () -> Linq.records(path, 8, sum));
+    }
+
     @Test
     void testInfinite() {
         IEnumerable<Integer> source = Linq.infinite(99);
@@ -0,0 +1,47 @@
+package com.bestvike.linq.enumerable;
+
+import com.bestvike.TestCase;
+import com.bestvike.linq.IDoubleEnumerable;
+import com.bestvike.linq.Linq;
+import com.bestvike.linq.exception.ArgumentNullException;
+import com.bestvike.linq.exception.InvalidOperationException;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Created by 许崇雷 on 2026-10-18.
+ */
+class DoubleEnumerableTest extends TestCase {
+    @Test
+    void OfArray() {
+        double[] source = {1.5, 2.5, 3.5};
+        assertEquals(Linq.of(source), Linq.ofDouble(source).boxed());
+        assertIsType(DoubleArrayIterator.class, Linq.of(source).asDoubleEnumerable());
+        assertThrows(ArgumentNullException.class, () -> Linq.ofDouble((double[]) null));
+    }
+
+    @Test
+    void MapToDouble() {
+        assertEquals(Linq.of(0.5, 1.0), Linq.of(1, 2).mapToDouble(x -> x / 2.0).boxed());
+    }
+
+    @Test
+    void Operators() {
+        IDoubleEnumerable source = Linq.ofDouble(1.5, -2.0, 4.5, 0.0);
+        assertEquals(Linq.of(1.5, 4.5), source.where(x -> x > 0).boxed());
+        assertEquals(Linq.of(-2.0, 4.5), source.skip(1).take(2).boxed());
+        assertEquals(4.0, source.sum());
+        assertEquals(-2.0, source.min());
+        assertEquals(4.5, source.max());
+        assertEquals(1.0, source.average());
+        assertEquals(1.5, source.first());
+        assertThrows(InvalidOperationException.class, () -> DoubleEnumerable.empty().min());
+    }
+
+    @Test
+    void NaN() {
+        assertTrue(Double.isNaN(Linq.ofDouble(1, Double.NaN, 3).min()));
+        assertEquals(3.0, Linq.ofDouble(Double.NaN, 1, 3).max());
+        assertTrue(Double.isNaN(Linq.ofDouble(Double.NaN, Double.NaN).max()));
+        assertTrue(Double.isNaN(Linq.ofDouble(1, Double.NaN).sum()));
+    }
+}
@@ -0,0 +1,120 @@
+package com.bestvike.linq.enumerable;
+
+import com.bestvike.TestCase;
+import com.bestvike.function.Predicate1;
+import com.bestvike.linq.IEnumerable;
+import com.bestvike.linq.Linq;
+import com.bestvike.linq.exception.ArgumentNullException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Created by 许崇雷 on 2026-10-18.
+ */
+class ForEachTest extends TestCase {
+    private static IEnumerable<IEnumerable<Integer>> Sources() {
+        List<IEnumerable<Integer>> sources = new ArrayList<>();
+        sources.add(Linq.range(0, 20));
+        sources.add(Linq.of(Linq.range(0, 20).toArray(Integer.class)));
+        sources.add(Linq.of(Linq.range(0, 20).toList()));
+        sources.add(NumberRangeGuaranteedNotCollectionType(0, 20));
+        sources.add(Linq.range(0, 40).where(x -> x % 2 == 0).select(x -> x / 2));
+        sources.add(Linq.of(Linq.range(0, 40).toArray(Integer.class)).where(x -> x < 20));
+        sources.add(Linq.of(Linq.range(0, 40).toList()).where(x -> x >= 20).select(x -> x - 20));
+        sources.add(ForceNotCollection(Linq.range(0, 40)).where(x -> x < 20));
+        sources.add(ForceNotCollection(Linq.range(0, 40)).where(x -> x >= 10).select(x -> x - 10).where(x -> x < 20));
+        sources.add(Linq.of(Linq.range(0, 20).toArray(Integer.class)).select(x -> x));
+        sources.add(Linq.of(Linq.range(0, 20).toList()).select(x -> x));
+        sources.add(Linq.of(Linq.range(-5, 30).toList()).skip(5).take(20));
+        sources.add(Linq.of(Linq.range(-5, 30).toList()).skip(5).take(20).select(x -> x));
+        sources.add(Linq.range(0, 5).concat(Linq.range(5, 5)).concat(Linq.range(10, 5)).concat(NumberRangeGuaranteedNotCollectionType(15, 5)));
+        sources.add(Linq.range(0, 10).concat(ForceNotCollection(Linq.range(10, 10))));
+        sources.add(Linq.range(0, 4).selectMany(x -> Linq.range(x * 5, 5)));
+        sources.add(Linq.repeat(1, 20).select((x, i) -> i));
+        return Linq.of(sources);
+    }
+
+    @Test
+    void SameResultsAsEnumerator() {
+        for (IEnumerable<Integer> source : Sources()) {
+            List<Integer> pushed = new ArrayList<>();
+            assertTrue(source.forEachWhile(pushed::add));
+            assertEquals(Linq.range(0, 20), Linq.of(pushed));
+
+            List<Integer> consumed = new ArrayList<>();
+            source.forEach(consumed::add);
+            assertEquals(Linq.range(0, 20), Linq.of(consumed));
+        }
+    }
+
+    @Test
+    void StopsEarly() {
+        for (IEnumerable<Integer> source : Sources()) {
+            List<Integer> pushed = new ArrayList<>();
+            assertFalse(source.forEachWhile(x -> {
+                pushed.add(x);
+                return x < 7;
+            }));
+            assertEquals(Linq.range(0, 8), Linq.of(pushed));
+        }
+    }
+
+    @Test
+    void StopsEarlyOnInfiniteSource() {
+        List<Integer> pushed = new ArrayList<>();
+        assertFalse(Linq.infinite(3).select(x -> x * 2).forEachWhile(x -> pushed.add(x) && pushed.size() < 5));
+        assertEquals(Linq.repeat(6, 5), Linq.of(pushed));
+    }
+
+    @Test
+    void EmptySources() {
+        Predicate1<Integer> fail = x -> {
+            throw new AssertionError();
+        };
+        assertTrue(Linq.<Integer>empty().forEachWhile(fail));
+        assertTrue(Linq.range(0, 10).skip(20).forEachWhile(fail));
+        assertTrue(Linq.range(0, 10).where(x -> x > 10).forEachWhile(fail));
+        assertTrue(ForceNotCollection(Linq.<Integer>empty()).select(x -> x).forEachWhile(fail));
+    }
+
+    @Test
+    void TerminalOperators() {
+        for (IEnumerable<Integer> source : Sources()) {
+            assertEquals(190, source.sumInt());
+            assertEquals(190L, source.sumLong(x -> x));
+            assertEquals(190d, source.sumDouble(x -> x));
+            assertEquals(10, source.count(x -> x % 2 == 0));
+            assertEquals(20L, source.longCount());
+            assertEquals(190, source.aggregate((x, y) -> x + y));
+            assertEquals(Linq.range(0, 20), Linq.of(source.toList()));
+            assertEquals(Linq.range(0, 20), Linq.of(source.stream().collect(Collectors.toList())));
+        }
+    }
+
+    @Test
+    void SpliteratorAfterTryAdvance() {
+        for (IEnumerable<Integer> source : Sources()) {
+            List<Integer> list = new ArrayList<>();
+            Spliterator<Integer> spliterator = source.spliterator();
+            assertTrue(spliterator.tryAdvance(list::add));
+            assertTrue(spliterator.tryAdvance(list::add));
+            spliterator.forEachRemaining(list::add);
+            assertEquals(Linq.range(0, 20), Linq.of(list));
+            assertFalse(spliterator.tryAdvance(list::add));
+        }
+    }
+
+    @Test
+    void NullArguments() {
+        assertThrows(ArgumentNullException.class, () -> ForEach.forEachWhile(null, x -> true));
+        assertThrows(ArgumentNullException.class, () -> Linq.range(0, 3).forEachWhile(null));
+        assertThrows(ArgumentNullException.class, () -> ForEach.forEach(null, x -> {
+        }));
+        assertThrows(ArgumentNullException.class, () -> Linq.range(0, 3).forEach((Consumer<Integer>) null));
+    }
+}
@@ -0,0 +1,202 @@
+package com.bestvike.linq.enumerable;
+
+import com.bestvike.TestCase;
+import com.bestvike.collections.generic.IList;
+import com.bestvike.function.Func1;
+import com.bestvike.linq.IEnumerable;
+import com.bestvike.linq.IEnumerator;
+import com.bestvike.linq.Linq;
+import com.bestvike.linq.exception.ArgumentOutOfRangeException;
+import com.bestvike.linq.exception.InvalidOperationException;
+import com.bestvike.out;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Created by 许崇雷 on 2026-10-18.
+ */
+class FusionTest extends TestCase {
+    private static IEnumerable<IEnumerable<Integer>> Sources() {
+        List<IEnumerable<Integer>> sources = new ArrayList<>();
+        sources.add(Linq.range(0, 50));
+        sources.add(Linq.repeat(7, 50).select((x, i) -> i));
+        sources.add(Linq.of(Linq.range(0, 50).toArray(Integer.class)));
+        sources.add(Linq.of(Linq.range(0, 50).toList()));
+        sources.add(ForceNotCollection(Linq.range(0, 50)));
+        sources.add(Linq.of(Linq.range(-10, 70).toList()).skip(10).take(50));
+        sources.add(ForceNotCollection(Linq.range(-10, 60)).skip(10));
+        return Linq.of(sources);
+    }
+
+    private static List<Integer> expected(Func1<List<Integer>, List<Integer>> query) {
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 50; i++)
+            list.add(i);
+        return query.apply(list);
+    }
+
+    private static List<Integer> skipTake(List<Integer> list, int skip, int take) {
+        return list.subList(Math.min(skip, list.size()), Math.min(skip + take, list.size()));
+    }
+
+    private static List<Integer> filter(List<Integer> list, Func1<Integer, Boolean> predicate) {
+        List<Integer> result = new ArrayList<>();
+        for (Integer item : list) {
+            if (predicate.apply(item))
+                result.add(item);
+        }
+        return result;
+    }
+
+    private static List<Integer> map(List<Integer> list, Func1<Integer, Integer> selector) {
+        List<Integer> result = new ArrayList<>();
+        for (Integer item : list)
+            result.add(selector.apply(item));
+        return result;
+    }
+
+    private static void assertQuery(List<Integer> expected, IEnumerable<Integer> query) {
+        assertEquals(Linq.of(expected), query);
+        assertEquals(Linq.of(expected), Linq.of(query.toList()));
+        assertEquals(Linq.of(expected), Linq.of(query.toArray(Integer.class)));
+        assertEquals(expected.size(), query.count());
+        if (expected.isEmpty()) {
+            assertNull(query.firstOrDefault());
+            assertNull(query.lastOrDefault());
+            assertNull(query.elementAtOrDefault(0));
+            return;
+        }
+        assertEquals(expected.get(0), query.first());
+        assertEquals(expected.get(expected.size() - 1), query.last());
+        for (int i = 0; i < expected.size(); i++)
+            assertEquals(expected.get(i), query.elementAt(i));
+        assertNull(query.elementAtOrDefault(expected.size()));
+        assertNull(query.elementAtOrDefault(-1));
+        List<Integer> pushed = new ArrayList<>();
+        query.forEach(pushed::add);
+        assertEquals(Linq.of(expected), Linq.of(pushed));
+    }
+
+    @Test
+    void SelectWhere() {
+        List<Integer> expected = expected(list -> filter(map(list, x -> x * 3), x -> x % 2 == 0));
+        for (IEnumerable<Integer> source : Sources())
+            assertQuery(expected, source.select(x -> x * 3).where(x -> x % 2 == 0));
+    }
+
+    @Test
+    void WhereSelectWhere() {
+        List<Integer> expected = expected(list -> filter(map(filter(list, x -> x % 3 != 0), x -> x + 1), x -> x % 2 == 0));
+        for (IEnumerable<Integer> source : Sources())
+            assertQuery(expected, source.where(x -> x % 3 != 0).select(x -> x + 1).where(x -> x % 2 == 0));
+    }
+
+    @Test
+    void WhereSkipTake() {
+        List<Integer> expected = expected(list -> skipTake(filter(list, x -> x % 3 != 0), 4, 10));
+        for (IEnumerable<Integer> source : Sources()) {
+            assertQuery(expected, source.where(x -> x % 3 != 0).skip(4).take(10));
+            assertQuery(expected, source.where(x -> x % 3 != 0).take(14).skip(4));
+            assertQuery(expected, source.where(x -> x % 3 != 0).skip(2).skip(2).take(20).take(10));
+            assertQuery(expected, source.where(x -> x % 3 != 0).select(x -> x).skip(4).take(10));
+            assertQuery(new ArrayList<>(), source.where(x -> x % 3 != 0).skip(100));
+            assertQuery(new ArrayList<>(), source.where(x -> x % 3 != 0).take(10).skip(10));
+        }
+    }
+
+    @Test
+    void PartitionThenWhere() {
+        List<Integer> expected = expected(list -> skipTake(filter(map(skipTake(filter(list, x -> x % 3 != 0), 4, 20), x -> x * 2), x -> x % 4 == 0), 1, 3));
+        for (IEnumerable<Integer> source : Sources())
+            assertQuery(expected, source.where(x -> x % 3 != 0).skip(4).take(20).select(x -> x * 2).where(x -> x % 4 == 0).skip(1).take(3));
+
+        List<Integer> expected2 = expected(list -> filter(skipTake(list, 5, 30), x -> x % 2 == 0));
+        assertQuery(expected2, ForceNotCollection(Linq.range(0, 50)).skip(5).take(30).where(x -> x % 2 == 0));
+    }
+
+    @Test
+    void SelectorsAfterPartitionSkipDroppedElements() {
+        List<Integer> calls = new ArrayList<>();
+        IEnumerable<Integer> query = ForceNotCollection(Linq.range(0, 50)).where(x -> x % 2 == 0).skip(3).take(4).select(x -> {
+            calls.add(x);
+            return x;
+        });
+        assertEquals(Linq.of(6, 8, 10, 12), query);
+        assertEquals(Linq.of(6, 8, 10, 12), Linq.of(calls));
+        calls.clear();
+        assertEquals(4, query.count());
+        assertEquals(Linq.of(6, 8, 10, 12), Linq.of(calls));
+        calls.clear();
+        assertEquals(10, query.elementAt(2));
+        assertEquals(Linq.of(6, 8, 10), Linq.of(calls));
+    }
+
+    @Test
+    void TakeStopsPulling() {
+        List<Integer> pulled = new ArrayList<>();
+        IEnumerable<Integer> query = Linq.range(0, 50).select(x -> {
+            pulled.add(x);
+            return x;
+        }).where(x -> x % 2 == 1).take(3);
+        assertEquals(Linq.of(1, 3, 5), query);
+        assertEquals(Linq.range(0, 6), Linq.of(pulled));
+        pulled.clear();
+        assertEquals(Linq.of(1, 3, 5), Linq.of(query.toList()));
+        assertEquals(Linq.range(0, 6), Linq.of(pulled));
+        pulled.clear();
+        assertEquals(1, query.first());
+        assertEquals(Linq.range(0, 2), Linq.of(pulled));
+    }
+
+    @Test
+    void ExceptionsPropagate() {
+        IEnumerable<Integer> query = Linq.range(0, 10).select(x -> 10 / (5 - x)).where(x -> x > 0).take(20);
+        assertThrows(ArithmeticException.class, () -> query.toList());
+        assertThrows(ArithmeticException.class, () -> query.count());
+        assertEquals(2, query.first());
+        assertThrows(ArgumentOutOfRangeException.class, () -> Linq.range(0, 10).where(x -> x > 5).skip(1).elementAt(3));
+        assertThrows(InvalidOperationException.class, () -> Linq.range(0, 10).select(x -> x).where(x -> x > 10).first());
+    }
+
+    @Test
+    void PartitionOnlyCountAndElementAtAreCheap() {
+        for (IEnumerable<Integer> source : Sources()) {
+            boolean delegates = source instanceof IList || source instanceof IPartition;
+            boolean indexable = delegates && (source instanceof IList || ((IPartition<Integer>) source)._getCount(true) != -1);
+            AtomicInteger calls = new AtomicInteger();
+            IPartition<Integer> query = (IPartition<Integer>) new FusedIterator<Integer, Integer>(source, 5, 14)._select(x -> {
+                calls.incrementAndGet();
+                return x * 2;
+            });
+            assertEquals(indexable ? 10 : -1, query._getCount(true));
+            assertEquals(0, calls.get());
+            out<Boolean> found = out.init();
+            assertEquals(16, query._tryGetElementAt(3, found));
+            assertTrue(found.value);
+            assertEquals(delegates ? 1 : 4, calls.get());
+            assertNull(query._tryGetElementAt(10, found));
+            assertFalse(found.value);
+            assertQuery(expected(list -> map(skipTake(list, 5, 10), x -> x * 2)), query);
+
+            assertEquals(indexable ? 5 : -1, new FusedIterator<Integer, Integer>(source, 45, 59)._getCount(true));
+            assertQuery(expected(list -> skipTake(list, 45, 15)), new FusedIterator<Integer, Integer>(source, 45, 59));
+            assertEquals(indexable ? 0 : -1, new FusedIterator<Integer, Integer>(source, 60, -1)._getCount(true));
+            assertQuery(expected(list -> skipTake(list, 60, 10)), new FusedIterator<Integer, Integer>(source, 60, -1));
+            assertEquals(indexable ? 30 : -1, new FusedIterator<Integer, Integer>(source, 20, -1)._getCount(true));
+        }
+    }
+
+    @Test
+    void EnumeratorIsReusable() {
+        IEnumerable<Integer> query = Linq.range(0, 50).select(x -> x * 2).where(x -> x % 3 == 0).skip(2).take(5);
+        try (IEnumerator<Integer> e = query.enumerator()) {
+            assertTrue(e.moveNext());
+            assertEquals(12, e.current());
+        }
+        assertEquals(Linq.of(12, 18, 24, 30, 36), query);
+        assertEquals(Linq.of(12, 18, 24, 30, 36), query);
+    }
+}
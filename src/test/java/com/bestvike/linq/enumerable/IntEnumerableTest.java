@@ -0,0 +1,140 @@
+package com.bestvike.linq.enumerable;
+
+import com.bestvike.TestCase;
+import com.bestvike.linq.IEnumerable;
+import com.bestvike.linq.IIntEnumerable;
+import com.bestvike.linq.IIntEnumerator;
+import com.bestvike.linq.Linq;
+import com.bestvike.linq.exception.ArgumentNullException;
+import com.bestvike.linq.exception.ArgumentOutOfRangeException;
+import com.bestvike.linq.exception.InvalidOperationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Created by 许崇雷 on 2026-10-18.
+ */
+class IntEnumerableTest extends TestCase {
+    @Test
+    void OfArray() {
+        int[] source = {1, 2, 3, 4, 5};
+        assertEquals(Linq.of(source), Linq.of(Linq.ofInt(source).toArray()));
+        assertNotSame(source, Linq.ofInt(source).toArray());
+        assertThrows(ArgumentNullException.class, () -> Linq.ofInt((int[]) null));
+    }
+
+    @Test
+    void Range() {
+        assertEquals(Linq.range(-3, 10), Linq.rangeInt(-3, 10).boxed());
+        assertEquals(0, Linq.rangeInt(5, 0).count());
+        assertThrows(ArgumentOutOfRangeException.class, () -> Linq.rangeInt(1, -1));
+        assertThrows(ArgumentOutOfRangeException.class, () -> Linq.rangeInt(Integer.MAX_VALUE, 2));
+        assertEquals(Linq.of(Integer.MAX_VALUE), Linq.rangeInt(Integer.MAX_VALUE, 1).boxed());
+        assertEquals(1, Linq.rangeInt(Integer.MAX_VALUE, 1).count());
+        assertEquals(Linq.of(Integer.MAX_VALUE - 1, Integer.MAX_VALUE), Linq.rangeInt(Integer.MAX_VALUE - 2, 3).skip(1).boxed());
+        assertEquals(Linq.of(Integer.MAX_VALUE), Linq.range(Integer.MAX_VALUE, 1).asIntEnumerable().boxed());
+    }
+
+    @Test
+    void AsIntEnumerable() {
+        int[] source = {4, 1, 7};
+        assertIsType(IntArrayIterator.class, Linq.of(source).asIntEnumerable());
+        assertIsType(IntRangeIterator.class, Linq.range(1, 3).asIntEnumerable());
+        assertEquals(Linq.of(source), Linq.of(Linq.of(source).asIntEnumerable().toArray()));
+        assertEquals(Linq.range(1, 3), Linq.range(1, 3).asIntEnumerable().boxed());
+        assertEquals(Linq.of(source), ForceNotCollection(Linq.of(source)).asIntEnumerable().boxed());
+    }
+
+    @Test
+    void MapToInt() {
+        IEnumerable<String> source = Linq.of("a", "bb", "ccc");
+        assertEquals(Linq.of(1, 2, 3), source.mapToInt(String::length).boxed());
+        assertEquals(6, source.mapToInt(String::length).sum());
+        assertEquals(3, source.mapToInt(String::length).count());
+        assertThrows(ArgumentNullException.class, () -> source.mapToInt(null));
+
+        AtomicInteger calls = new AtomicInteger();
+        IIntEnumerable mapped = source.mapToInt(x -> calls.incrementAndGet());
+        assertEquals(3, ((IntIterator) mapped)._getCount(true));
+        assertEquals(0, calls.get());
+        assertEquals(3, mapped.count());
+        assertEquals(3, calls.get());
+        assertThrows(ArithmeticException.class, () -> source.mapToInt(x -> 1 / (x.length() - 2)).count());
+    }
+
+    @Test
+    void WhereSelect() {
+        IIntEnumerable source = Linq.rangeInt(1, 10);
+        assertEquals(Linq.of(2, 4, 6, 8, 10), source.where(x -> x % 2 == 0).boxed());
+        assertEquals(Linq.of(6), source.where(x -> x % 2 == 0).where(x -> x % 3 == 0).boxed());
+        assertEquals(Linq.of(9, 81), source.where(x -> x % 3 == 0).select(x -> x * x).where(x -> x % 2 == 1).boxed());
+        assertEquals(Linq.of(3, 5, 7), Linq.ofInt(1, 2, 3).select(x -> x + 1).select(x -> x * 2 - 1).boxed());
+        assertEquals(Linq.of(4, 8), Linq.ofInt(1, 2, 4, 8).where(x -> x > 2).boxed());
+        assertEquals(Linq.of(new int[]{4, 8}), Linq.of(Linq.ofInt(1, 2, 4, 8).where(x -> x > 2).toArray()));
+        assertThrows(ArgumentNullException.class, () -> source.where((IntPredicate) null));
+        assertThrows(ArgumentNullException.class, () -> source.select((IntUnaryOperator) null));
+    }
+
+    @Test
+    void SkipTake() {
+        IIntEnumerable array = Linq.ofInt(1, 2, 3, 4, 5, 6);
+        assertEquals(Linq.of(3, 4), array.skip(2).take(2).boxed());
+        assertEquals(Linq.of(1, 2, 3, 4, 5, 6), array.skip(-1).boxed());
+        assertEquals(0, array.take(0).count());
+        assertEquals(0, array.skip(10).count());
+        assertEquals(2, array.skip(2).take(2).count());
+        assertEquals(Linq.of(13, 14), Linq.rangeInt(10, 10).skip(3).take(2).boxed());
+        assertEquals(Linq.of(3, 4), array.where(x -> true).skip(2).take(2).boxed());
+        assertEquals(Linq.of(4), array.where(x -> true).skip(2).take(2).skip(1).boxed());
+        assertEquals(Linq.of(3), array.where(x -> true).skip(2).take(2).take(1).boxed());
+    }
+
+    @Test
+    void Aggregates() {
+        IIntEnumerable source = Linq.ofInt(5, -2, 9, 4);
+        assertEquals(16, source.sum());
+        assertEquals(-2, source.min());
+        assertEquals(9, source.max());
+        assertEquals(4.0, source.average());
+        assertEquals(5, source.first());
+        assertEquals(4, source.count());
+        assertTrue(source.any());
+        assertFalse(source.where(x -> x > 100).any());
+        assertEquals(0, IntEnumerable.empty().sum());
+        assertThrows(InvalidOperationException.class, () -> IntEnumerable.empty().min());
+        assertThrows(InvalidOperationException.class, () -> IntEnumerable.empty().max());
+        assertThrows(InvalidOperationException.class, () -> IntEnumerable.empty().average());
+        assertThrows(InvalidOperationException.class, () -> IntEnumerable.empty().first());
+        assertThrows(ArithmeticException.class, () -> Linq.ofInt(Integer.MAX_VALUE, 1).sum());
+        assertEquals((double) Integer.MAX_VALUE, Linq.ofInt(Integer.MAX_VALUE, Integer.MAX_VALUE).average());
+    }
+
+    @Test
+    void Conversions() {
+        IIntEnumerable source = Linq.ofInt(1, 2, 3);
+        assertEquals(Linq.of(1L, 2L, 3L), source.asLongEnumerable().boxed());
+        assertEquals(Linq.of(1d, 2d, 3d), source.asDoubleEnumerable().boxed());
+        assertEquals(Linq.of("1", "2", "3"), source.mapToObj(String::valueOf));
+        StringBuilder builder = new StringBuilder();
+        source.forEach(builder::append);
+        assertEquals("123", builder.toString());
+    }
+
+    @Test
+    void Enumerator() {
+        IIntEnumerable source = Linq.rangeInt(1, 2).select(x -> x * 10);
+        try (IIntEnumerator e = source.enumerator()) {
+            assertTrue(e.moveNext());
+            assertEquals(10, e.current());
+            assertTrue(e.moveNext());
+            assertEquals(20, e.current());
+            assertFalse(e.moveNext());
+            assertFalse(e.moveNext());
+        }
+        assertEquals(2, source.count());
+        assertEquals(2, source.count());
+    }
+}
@@ -0,0 +1,45 @@
+package com.bestvike.linq.enumerable;
+
+import com.bestvike.TestCase;
+import com.bestvike.linq.ILongEnumerable;
+import com.bestvike.linq.Linq;
+import com.bestvike.linq.exception.ArgumentNullException;
+import com.bestvike.linq.exception.InvalidOperationException;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Created by 许崇雷 on 2026-10-18.
+ */
+class LongEnumerableTest extends TestCase {
+    @Test
+    void OfArray() {
+        long[] source = {1, 2, 3};
+        assertEquals(Linq.of(source), Linq.ofLong(source).boxed());
+        assertIsType(LongArrayIterator.class, Linq.of(source).asLongEnumerable());
+        assertThrows(ArgumentNullException.class, () -> Linq.ofLong((long[]) null));
+    }
+
+    @Test
+    void MapToLong() {
+        assertEquals(Linq.of(2L, 4L), Linq.of("ab", "abcd").mapToLong(String::length).boxed());
+        assertEquals(3L * Integer.MAX_VALUE, Linq.range(0, 3).mapToLong(x -> Integer.MAX_VALUE).sum());
+    }
+
+    @Test
+    void Operators() {
+        ILongEnumerable source = Linq.ofLong(7, 3, 9, -4, 10);
+        assertEquals(Linq.of(9L, 10L), source.where(x -> x > 7).boxed());
+        assertEquals(Linq.of(3L, 9L), source.skip(1).take(2).boxed());
+        assertEquals(Linq.of(14L, 6L), source.select(x -> x * 2).take(2).boxed());
+        assertEquals(25L, source.sum());
+        assertEquals(-4L, source.min());
+        assertEquals(10L, source.max());
+        assertEquals(5.0, source.average());
+        assertEquals(7L, source.first());
+        assertEquals(5, source.count());
+        assertEquals(Linq.of(7d, 3d), source.take(2).asDoubleEnumerable().boxed());
+        assertEquals(Linq.of(new long[]{9, 10}), Linq.of(source.where(x -> x > 7).toArray()));
+        assertThrows(ArithmeticException.class, () -> Linq.ofLong(Long.MAX_VALUE, 1).sum());
+        assertThrows(InvalidOperationException.class, () -> LongEnumerable.empty().max());
+    }
+}
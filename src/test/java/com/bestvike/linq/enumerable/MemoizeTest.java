@@ -0,0 +1,142 @@
+package com.bestvike.linq.enumerable;
+
+import com.bestvike.TestCase;
+import com.bestvike.linq.IEnumerable;
+import com.bestvike.linq.IEnumerator;
+import com.bestvike.linq.Linq;
+import com.bestvike.linq.exception.ArgumentNullException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Created by 许崇雷 on 2026-10-18.
+ */
+class MemoizeTest extends TestCase {
+    @Test
+    void SourceEnumeratedOnce() {
+        AtomicInteger pulled = new AtomicInteger();
+        IEnumerable<Integer> source = ForceNotCollection(Linq.range(0, 100)).select(x -> {
+            pulled.incrementAndGet();
+            return x;
+        }).memoize();
+        assertEquals(0, pulled.get());
+        assertEquals(Linq.range(0, 100), source);
+        assertEquals(Linq.range(0, 100), source);
+        assertEquals(100, source.count());
+        assertEquals(Linq.range(0, 100), Linq.of(source.toList()));
+        assertEquals(Linq.range(0, 100), Linq.of(source.toArray(Integer.class)));
+        assertEquals(100, pulled.get());
+    }
+
+    @Test
+    void PullsOnlyPastTheFrontier() {
+        AtomicInteger pulled = new AtomicInteger();
+        IEnumerable<Integer> source = Linq.infinite(1).select(x -> pulled.incrementAndGet()).memoize();
+        assertEquals(Linq.range(1, 5), source.take(5));
+        assertEquals(5, pulled.get());
+        assertEquals(Linq.range(1, 3), source.take(3));
+        assertEquals(5, pulled.get());
+        assertEquals(Linq.range(1, 40), source.take(40));
+        assertEquals(40, pulled.get());
+    }
+
+    @Test
+    void InterleavedEnumerators() {
+        IEnumerable<Integer> source = ForceNotCollection(Linq.range(0, 50)).memoize();
+        try (IEnumerator<Integer> e1 = source.enumerator();
+             IEnumerator<Integer> e2 = source.enumerator()) {
+            for (int i = 0; i < 50; i++) {
+                assertTrue(e1.moveNext());
+                assertEquals(i, e1.current());
+                if (i % 2 == 0) {
+                    assertTrue(e2.moveNext());
+                    assertEquals(i / 2, e2.current());
+                }
+            }
+            assertFalse(e1.moveNext());
+            assertFalse(e1.moveNext());
+            for (int i = 25; i < 50; i++) {
+                assertTrue(e2.moveNext());
+                assertEquals(i, e2.current());
+            }
+            assertFalse(e2.moveNext());
+        }
+    }
+
+    @Test
+    void CountIsCheapOnceComplete() {
+        IEnumerable<Integer> source = ForceNotCollection(Linq.range(0, 1000)).memoize();
+        assertEquals(-1, ((IIListProvider<Integer>) source)._getCount(true));
+        assertEquals(1000, source.count());
+        assertEquals(1000, ((IIListProvider<Integer>) source)._getCount(true));
+        assertEquals(Linq.range(0, 1000), Linq.of(source.toArray()));
+        assertEmpty(Linq.<Integer>empty().memoize());
+        assertEquals(0, Linq.empty().memoize().count());
+    }
+
+    @Test
+    void ConcurrentEnumerations() throws Exception {
+        AtomicInteger pulled = new AtomicInteger();
+        IEnumerable<Integer> source = ForceNotCollection(Linq.range(0, 100000)).select(x -> {
+            pulled.incrementAndGet();
+            return x;
+        }).memoize();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < 16; i++)
+                futures.add(executor.submit(() -> source.sumLong(x -> x)));
+            for (Future<Long> future : futures)
+                assertEquals(4999950000L, future.get());
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(100000, pulled.get());
+    }
+
+    @Test
+    void ErrorIsReplayed() {
+        AtomicInteger pulled = new AtomicInteger();
+        IEnumerable<Integer> source = Linq.range(0, 10).select(x -> {
+            pulled.incrementAndGet();
+            return 10 / (5 - x);
+        }).memoize();
+        assertEquals(Linq.of(2, 2, 3, 5, 10), source.take(5));
+        assertThrows(ArithmeticException.class, () -> source.toList());
+        assertThrows(ArithmeticException.class, () -> source.count());
+        assertEquals(6, pulled.get());
+    }
+
+    @Test
+    void SourceClosedAfterError() {
+        AtomicInteger index = new AtomicInteger();
+        AtomicInteger closed = new AtomicInteger();
+        IEnumerable<Integer> source = new DelegateIterator<>(
+                () -> index.incrementAndGet() < 4,
+                () -> 10 / (3 - index.get()),
+                closed::incrementAndGet).memoize();
+        assertThrows(ArithmeticException.class, () -> source.toList());
+        assertEquals(1, closed.get());
+        assertThrows(ArithmeticException.class, () -> source.count());
+        assertEquals(Linq.of(5, 10), source.take(2));
+        assertEquals(1, closed.get());
+        assertEquals(3, index.get());
+    }
+
+    @Test
+    void MemoizeTwice() {
+        IEnumerable<Integer> source = Linq.range(0, 3).memoize();
+        assertSame(source, source.memoize());
+    }
+
+    @Test
+    void NullSource() {
+        assertThrows(ArgumentNullException.class, () -> Memoize.memoize(null));
+    }
+}
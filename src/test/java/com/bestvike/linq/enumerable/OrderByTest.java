@@ -10,8 +10,10 @@ import com.bestvike.function.Func1;
 import com.bestvike.linq.IEnumerable;
 import com.bestvike.linq.IEnumerator;
 import com.bestvike.linq.IOrderedEnumerable;
+import com.bestvike.linq.ISerializer;
 import com.bestvike.linq.Linq;
 import com.bestvike.linq.exception.ArgumentNullException;
+import com.bestvike.linq.exception.ArgumentOutOfRangeException;
 import com.bestvike.linq.exception.InvalidOperationException;
 import com.bestvike.linq.util.ArgsList;
 import com.bestvike.tuple.Tuple;
@@ -20,14 +22,22 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.Collator;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.Locale;
 import java.util.Random;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Created by 许崇雷 on 2018-05-10.
@@ -562,6 +572,318 @@ class OrderByTest extends TestCase {
     }
 
 
+    @Test
+    void OrderByPrimitiveKeyMatchesOrderBy() {
+        Random random = new Random(42);
+        Integer[] source = new Integer[2000];
+        for (int i = 0; i < source.length; i++)
+            source[i] = random.nextInt(100) - 50;
+
+        assertEquals(Linq.of(source).orderBy(x -> x), Linq.of(source).orderByInt(x -> x));
+        assertEquals(Linq.of(source).orderByDescending(x -> x), Linq.of(source).orderByDescendingInt(x -> x));
+        assertEquals(Linq.of(source).orderBy(x -> (long) x * x), Linq.of(source).orderByLong(x -> (long) x * x));
+        assertEquals(Linq.of(source).orderByDescending(x -> (long) x * x), Linq.of(source).orderByDescendingLong(x -> (long) x * x));
+        assertEquals(Linq.of(source).orderBy(x -> x / 3.0), Linq.of(source).orderByDouble(x -> x / 3.0));
+        assertEquals(Linq.of(source).orderByDescending(x -> x / 3.0), Linq.of(source).orderByDescendingDouble(x -> x / 3.0));
+    }
+
+    @Test
+    void OrderByPrimitiveKeyIsStable() {
+        IEnumerable<NameScore> source = Linq.range(0, 100).select(i -> new NameScore(String.valueOf(i), i % 7));
+        assertEquals(source.orderBy(x -> x.Score), source.orderByInt(x -> x.Score));
+        assertEquals(source.orderByDescending(x -> x.Score), source.orderByDescendingInt(x -> x.Score));
+        assertEquals(source.orderBy(x -> x.Score).take(10), source.orderByInt(x -> x.Score).take(10));
+        assertEquals(source.orderBy(x -> x.Score).skip(20).take(5), source.orderByInt(x -> x.Score).skip(20).take(5));
+        assertEquals(source.orderBy(x -> x.Score).elementAt(50), source.orderByInt(x -> x.Score).elementAt(50));
+        assertEquals(source.orderBy(x -> x.Score).first(), source.orderByInt(x -> x.Score).first());
+        assertEquals(source.orderBy(x -> x.Score).last(), source.orderByInt(x -> x.Score).last());
+    }
+
+    @Test
+    void OrderByPrimitiveKeyDoubleNaN() {
+        double[] source = {2, Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY, 1};
+        assertEquals(Linq.of(source).orderBy(x -> x), Linq.of(source).orderByDouble(x -> x));
+    }
+
+    @Test
+    void OrderByPrimitiveKeyNullSource() {
+        assertThrows(ArgumentNullException.class, () -> Linq.<Integer>empty().orderByInt(null));
+        assertThrows(ArgumentNullException.class, () -> Linq.<Integer>empty().orderByDescendingDouble(null));
+    }
+
+    @Test
+    void SortsLargeRandomizedWithIntroSort() {
+        Random random = new Random(7);
+        int[] source = new int[100000];
+        for (int i = 0; i < source.length; i++)
+            source[i] = random.nextInt(1000);
+        int[] expected = source.clone();
+        Arrays.sort(expected);
+
+        assertEquals(Linq.of(expected), Linq.of(source).orderBy(x -> x));
+        assertEquals(Linq.of(expected), Linq.of(source).orderByInt(x -> x));
+        assertEquals(Linq.range(0, 100000), Linq.range(0, 100000).orderBy(x -> x));
+        assertEquals(Linq.range(0, 100000).reverse(), Linq.range(0, 100000).orderByDescending(x -> x));
+        assertEquals(Linq.range(0, 100000), Linq.repeat(1, 100000).select((x, i) -> i).orderBy(x -> 1));
+    }
+
+    @Test
+    void RadixSortMatchesComparisonSort() {
+        Random random = new Random(11);
+        Integer[] ints = new Integer[5000];
+        Long[] longs = new Long[ints.length];
+        Double[] doubles = new Double[ints.length];
+        Character[] chars = new Character[ints.length];
+        for (int i = 0; i < ints.length; i++) {
+            ints[i] = random.nextInt(i % 2 == 0 ? 100 : Integer.MAX_VALUE) * (random.nextBoolean() ? 1 : -1);
+            longs[i] = random.nextLong() >> random.nextInt(64);
+            doubles[i] = i % 100 == 0 ? Double.NaN : i % 101 == 0 ? -0.0 : random.nextGaussian();
+            chars[i] = (char) random.nextInt(Character.MAX_VALUE + 1);
+        }
+        ints[0] = Integer.MIN_VALUE;
+        ints[1] = Integer.MAX_VALUE;
+        longs[0] = Long.MIN_VALUE;
+        longs[1] = Long.MAX_VALUE;
+
+        assertEquals(Linq.of(ints).orderBy(x -> x, (x, y) -> x.compareTo(y)), Linq.of(ints).orderBy(x -> x));
+        assertEquals(Linq.of(ints).orderByDescending(x -> x, (x, y) -> x.compareTo(y)), Linq.of(ints).orderByDescending(x -> x));
+        assertEquals(Linq.of(longs).orderBy(x -> x, (x, y) -> x.compareTo(y)), Linq.of(longs).orderBy(x -> x));
+        assertEquals(Linq.of(longs).orderByDescending(x -> x, (x, y) -> x.compareTo(y)), Linq.of(longs).orderByDescendingLong(x -> x));
+        assertEquals(Linq.of(doubles).orderBy(x -> x, (x, y) -> x.compareTo(y)), Linq.of(doubles).orderBy(x -> x));
+        assertEquals(Linq.of(doubles).orderByDescending(x -> x, (x, y) -> x.compareTo(y)), Linq.of(doubles).orderByDescendingDouble(x -> x));
+        assertEquals(Linq.of(chars).orderBy(x -> x, (x, y) -> x.compareTo(y)), Linq.of(chars).orderBy(x -> x));
+        assertEquals(Linq.of(ints).orderBy(x -> x.shortValue(), (x, y) -> x.compareTo(y)), Linq.of(ints).orderBy(x -> x.shortValue()));
+        assertEquals(Linq.of(ints).orderBy(x -> x.byteValue(), (x, y) -> x.compareTo(y)), Linq.of(ints).orderBy(x -> x.byteValue()));
+        assertEquals(Linq.of(ints).orderBy(x -> x.floatValue(), (x, y) -> x.compareTo(y)), Linq.of(ints).orderBy(x -> x.floatValue()));
+    }
+
+    @Test
+    void RadixSortIsStableWithThenBy() {
+        Random random = new Random(12);
+        Integer[] source = new Integer[3000];
+        for (int i = 0; i < source.length; i++)
+            source[i] = random.nextInt(10000);
+
+        assertEquals(Linq.of(source).orderBy(x -> x % 10, (x, y) -> x.compareTo(y)).thenByDescending(x -> x, (x, y) -> x.compareTo(y)),
+                Linq.of(source).orderBy(x -> x % 10).thenByDescending(x -> x));
+        assertEquals(Linq.of(source).orderBy(x -> x % 10, (x, y) -> x.compareTo(y)).thenBy(x -> x / 100, (x, y) -> x.compareTo(y)),
+                Linq.of(source).orderByInt(x -> x % 10).thenByLong(x -> (long) x / 100));
+        assertEquals(Linq.of(source).orderBy(x -> x % 10, (x, y) -> x.compareTo(y)).thenBy(x -> String.valueOf(x), (x, y) -> x.compareTo(y)),
+                Linq.of(source).orderBy(x -> x % 10).thenBy(x -> String.valueOf(x), StringComparer.Ordinal));
+        assertEquals(Linq.of(source).orderByDescending(x -> x % 7, (x, y) -> x.compareTo(y)).select((x, i) -> i),
+                Linq.of(source).orderByDescending(x -> x % 7).select((x, i) -> i));
+
+        IEnumerable<NameScore> scores = Linq.range(0, 1000).select(i -> new NameScore(String.valueOf(i), i % 13));
+        assertEquals(scores.orderBy(x -> x.Score, (x, y) -> x.compareTo(y)), scores.orderBy(x -> x.Score));
+        assertEquals(scores.orderByDescending(x -> x.Score, (x, y) -> x.compareTo(y)), scores.orderByDescendingInt(x -> x.Score));
+    }
+
+    @Test
+    void RadixSortOrdinalStrings() {
+        Random random = new Random(13);
+        String prefix = String.join("", Collections.nCopies(100, "x"));
+        String[] source = new String[4000];
+        for (int i = 0; i < source.length; i++) {
+            if (i % 97 == 0) {
+                source[i] = null;
+                continue;
+            }
+            StringBuilder builder = new StringBuilder(i % 3 == 0 ? prefix : "");
+            int length = random.nextInt(6);
+            for (int j = 0; j < length; j++)
+                builder.append(j % 2 == 0 ? (char) ('a' + random.nextInt(4)) : (char) random.nextInt(Character.MAX_VALUE + 1));
+            source[i] = builder.toString();
+        }
+
+        Comparator<String> ordinal = (x, y) -> x == null ? (y == null ? 0 : -1) : y == null ? 1 : x.compareTo(y);
+        assertEquals(Linq.of(source).orderBy(x -> x, ordinal), Linq.of(source).orderBy(x -> x, StringComparer.Ordinal));
+        assertEquals(Linq.of(source).orderByDescending(x -> x, ordinal), Linq.of(source).orderByDescending(x -> x, StringComparer.Ordinal));
+        assertEquals(Linq.of(source).orderBy(x -> x, ordinal).select((x, i) -> i), Linq.of(source).orderBy(x -> x, StringComparer.Ordinal).select((x, i) -> i));
+        assertEquals(Linq.of(source).orderBy(x -> x, ordinal).thenBy(x -> x == null ? 0 : x.length()),
+                Linq.of(source).orderBy(x -> x, StringComparer.Ordinal).thenBy(x -> x == null ? 0 : x.length()));
+    }
+
+    @Test
+    void RadixSortFallsBackForUnsupportedKeys() {
+        Integer[] source = new Integer[1000];
+        for (int i = 0; i < source.length; i++)
+            source[i] = i % 10 == 0 ? null : (i * 7919) % 1000;
+        assertEquals(Linq.of(source).orderBy(x -> x, Comparer.Default()), Linq.of(source).orderBy(x -> x));
+        assertNull(Linq.of(source).orderBy(x -> x).first());
+
+        IEnumerable<Object> mixed = Linq.range(0, 1000).select(i -> i % 2 == 0 ? (Object) i : (Object) String.valueOf(i));
+        assertThrows(ClassCastException.class, () -> mixed.orderBy(x -> x).toList());
+    }
+
+    @Test
+    void ParallelMatchesSerial() {
+        Random random = new Random(21);
+        Integer[] source = new Integer[20000];
+        for (int i = 0; i < source.length; i++)
+            source[i] = random.nextInt(500);
+
+        assertEquals(Linq.of(source).orderBy(x -> x), Linq.of(source).orderBy(x -> x).parallel(16));
+        assertEquals(Linq.of(source).orderByDescending(x -> x % 7).thenBy(x -> x), Linq.of(source).orderByDescending(x -> x % 7).parallel(16).thenBy(x -> x));
+        assertEquals(Linq.of(source).orderBy(x -> x % 7).thenByDescending(x -> x), Linq.of(source).orderBy(x -> x % 7).thenByDescending(x -> x).parallel(16));
+        assertEquals(Linq.of(source).orderBy(x -> x % 7, (x, y) -> x.compareTo(y)).select((x, i) -> i),
+                Linq.of(source).orderBy(x -> x % 7, (x, y) -> x.compareTo(y)).parallel(16).select((x, i) -> i));
+        assertEquals(Linq.of(source).orderByInt(x -> x).thenByDescendingLong(x -> (long) x), Linq.of(source).orderByInt(x -> x).parallel().thenByDescendingLong(x -> (long) x));
+        assertEquals(Linq.of(source).orderBy(x -> x).toList(), Linq.of(source).orderBy(x -> x).parallel(16).toList());
+        assertEquals(Linq.of(source).orderBy(x -> x).toArray(), Linq.of(source).orderBy(x -> x).parallel(16).toArray());
+        assertEquals(Linq.of(source).orderBy(x -> x).skip(100).take(50), Linq.of(source).orderBy(x -> x).parallel(16).skip(100).take(50));
+        assertEquals(Linq.of(source).orderBy(x -> x).first(), Linq.of(source).orderBy(x -> x).parallel(16).first());
+        assertEquals(Linq.of(source).orderBy(x -> x).last(), Linq.of(source).orderBy(x -> x).parallel(16).last());
+    }
+
+    @Test
+    void ParallelIsStable() {
+        IEnumerable<NameScore> source = Linq.range(0, 10000).select(i -> new NameScore(String.valueOf(i), i % 13));
+        assertEquals(source.orderBy(x -> x.Score), source.orderBy(x -> x.Score).parallel(8));
+        assertEquals(source.orderByDescending(x -> x.Score), source.orderByDescending(x -> x.Score).parallel(8));
+        assertEquals(Linq.empty(), Linq.<Integer>empty().orderBy(x -> x).parallel(1));
+        assertEquals(Linq.of(5), Linq.of(5).orderBy(x -> x).parallel(1));
+    }
+
+    @Test
+    void ParallelInvalidArguments() {
+        assertThrows(ArgumentNullException.class, () -> OrderBy.parallel(null));
+        assertThrows(ArgumentOutOfRangeException.class, () -> Linq.of(1, 2).orderBy(x -> x).parallel(0));
+    }
+
+    @Test
+    void LazyMatchesEager() {
+        Random random = new Random(31);
+        Integer[] source = new Integer[5000];
+        for (int i = 0; i < source.length; i++)
+            source[i] = random.nextInt(300);
+
+        assertEquals(Linq.of(source).orderBy(x -> x), Linq.of(source).orderBy(x -> x).lazy());
+        assertEquals(Linq.of(source).orderByDescending(x -> x % 7).thenBy(x -> x), Linq.of(source).orderByDescending(x -> x % 7).lazy().thenBy(x -> x));
+        assertEquals(Linq.of(source).orderBy(x -> x % 7).thenByDescendingInt(x -> x), Linq.of(source).orderBy(x -> x % 7).thenByDescendingInt(x -> x).lazy());
+        assertEquals(Linq.of(source).orderBy(x -> x).takeWhile(x -> x < 10), Linq.of(source).orderBy(x -> x).lazy().takeWhile(x -> x < 10));
+        assertEquals(Linq.of(source).orderBy(x -> x).toList(), Linq.of(source).orderBy(x -> x).lazy().parallel(16).toList());
+        assertEquals(Linq.empty(), Linq.<Integer>empty().orderBy(x -> x).lazy());
+        assertEquals(Linq.of(1), Linq.of(1).orderBy(x -> x).lazy());
+
+        IEnumerable<NameScore> scores = Linq.range(0, 1000).select(i -> new NameScore(String.valueOf(i), i % 13));
+        assertEquals(scores.orderBy(x -> x.Score), scores.orderBy(x -> x.Score).lazy());
+        assertEquals(scores.orderByDescending(x -> x.Score), scores.orderByDescending(x -> x.Score).lazy());
+        assertThrows(ArgumentNullException.class, () -> OrderBy.lazy(null));
+    }
+
+    @Test
+    void LazyComparesLessWhenStoppedEarly() {
+        Random random = new Random(32);
+        Integer[] source = new Integer[10000];
+        for (int i = 0; i < source.length; i++)
+            source[i] = random.nextInt();
+        int[] compares = {0};
+        Comparator<Integer> comparer = (x, y) -> {
+            compares[0]++;
+            return x.compareTo(y);
+        };
+
+        IOrderedEnumerable<Integer> eager = Linq.of(source).orderBy(x -> x, comparer);
+        try (IEnumerator<Integer> e = eager.enumerator()) {
+            assertTrue(e.moveNext());
+        }
+        int eagerCompares = compares[0];
+
+        compares[0] = 0;
+        IOrderedEnumerable<Integer> lazy = eager.lazy();
+        try (IEnumerator<Integer> e = lazy.enumerator()) {
+            for (int i = 0; i < 10; i++)
+                assertTrue(e.moveNext());
+        }
+        assertTrue(compares[0] < eagerCompares / 2);
+    }
+
+    @Test
+    void ExternalMatchesEager() throws IOException {
+        Random random = new Random(33);
+        Integer[] source = new Integer[5000];
+        for (int i = 0; i < source.length; i++)
+            source[i] = random.nextInt(300);
+        ISerializer<Integer> intSerializer = new ISerializer<Integer>() {
+            @Override
+            public void write(DataOutput output, Integer value) throws IOException {
+                output.writeInt(value);
+            }
+
+            @Override
+            public Integer read(DataInput input) throws IOException {
+                return input.readInt();
+            }
+        };
+        ISerializer<NameScore> scoreSerializer = new ISerializer<NameScore>() {
+            @Override
+            public void write(DataOutput output, NameScore value) throws IOException {
+                output.writeUTF(value.Name);
+                output.writeInt(value.Score);
+            }
+
+            @Override
+            public NameScore read(DataInput input) throws IOException {
+                return new NameScore(input.readUTF(), input.readInt());
+            }
+        };
+
+        Path directory = Files.createTempDirectory("linq-sort-test");
+        try {
+            assertEquals(Linq.of(source).orderBy(x -> x), Linq.of(source).orderBy(x -> x).external(intSerializer, 128, directory));
+            assertEquals(Linq.of(source).orderByDescending(x -> x % 7).thenBy(x -> x), Linq.of(source).orderByDescending(x -> x % 7).external(intSerializer, 100, directory).thenBy(x -> x));
+            assertEquals(Linq.of(source).orderBy(x -> x % 7).thenByDescendingInt(x -> x), Linq.of(source).orderBy(x -> x % 7).thenByDescendingInt(x -> x).external(intSerializer, 1, directory));
+            assertEquals(Linq.of(source).orderBy(x -> x), Linq.of(source).orderBy(x -> x).external(intSerializer, 5000, directory));
+            assertEquals(Linq.of(source).orderBy(x -> x), Linq.of(source).orderBy(x -> x).external(intSerializer, 999, directory).parallel(16));
+            assertEquals(Linq.of(source).orderBy(x -> x), Linq.of(source).orderBy(x -> x).external(intSerializer));
+            assertEquals(Linq.empty(), Linq.<Integer>empty().orderBy(x -> x).external(intSerializer, 2, directory));
+            assertEquals(Linq.of(1), Linq.of(1).orderBy(x -> x).external(intSerializer, 1, directory));
+
+            IEnumerable<NameScore> scores = Linq.range(0, 1000).select(i -> new NameScore(String.valueOf(i), i % 13));
+            assertEquals(scores.orderBy(x -> x.Score), scores.orderBy(x -> x.Score).external(scoreSerializer, 7, directory));
+            assertEquals(scores.orderByDescending(x -> x.Score), scores.orderByDescending(x -> x.Score).external(scoreSerializer, 64, directory));
+            assertEmpty(Linq.of(listFiles(directory)));
+
+            try (IEnumerator<Integer> e = Linq.of(source).orderBy(x -> x).external(intSerializer, 100, directory).enumerator()) {
+                assertTrue(e.moveNext());
+                assertEquals(0, e.current());
+                assertEquals(49, listFiles(directory).length);
+            }
+            assertEmpty(Linq.of(listFiles(directory)));
+
+            ISerializer<Integer> failing = new ISerializer<Integer>() {
+                @Override
+                public void write(DataOutput output, Integer value) throws IOException {
+                    if (value == 299)
+                        throw new IOException("disk full");
+                    output.writeInt(value);
+                }
+
+                @Override
+                public Integer read(DataInput input) throws IOException {
+                    return input.readInt();
+                }
+            };
+            assertThrows(UncheckedIOException.class, () -> {
+                for (Integer ignored : Linq.of(source).orderBy(x -> x).external(failing, 100, directory)) {
+                }
+            });
+            assertEmpty(Linq.of(listFiles(directory)));
+        } finally {
+            Files.delete(directory);
+        }
+
+        assertThrows(ArgumentNullException.class, () -> OrderBy.external(null, intSerializer));
+        assertThrows(ArgumentNullException.class, () -> Linq.of(source).orderBy(x -> x).external(null));
+        assertThrows(ArgumentOutOfRangeException.class, () -> Linq.of(source).orderBy(x -> x).external(intSerializer, 0));
+    }
+
+    private static Path[] listFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.toArray(Path[]::new);
+        }
+    }
+
     private static class NameScore extends ValueType {
         private final String Name;
         private final int Score;
@@ -442,4 +442,43 @@ class OrderedSubsettingTest extends TestCase {
         assertEquals(20, source.runOnce().orderBy(i -> i).skip(10).take(20).count());
         assertEquals(1, source.runOnce().orderBy(i -> i).take(2).skip(1).count());
     }
+
+    @Test
+    void TopBufferMatchesFullSort() {
+        Integer[] source = new Integer[5000];
+        for (int i = 0; i < source.length; i++)
+            source[i] = (i * 7919) % 97;
+        IEnumerable<Integer> stream = ForceNotCollection(Linq.of(source));
+
+        for (int k : new int[]{1, 2, 10, 96, 97, 2499, 2500, 2501, 4999, 5000, 5001}) {
+            assertEquals(Linq.of(source).orderBy(x -> x).toList().subList(0, Math.min(k, source.length)), stream.orderBy(x -> x).take(k).toList());
+            assertEquals(Linq.range(0, source.length).orderByDescending(i -> source[i]).toList().subList(0, Math.min(k, source.length)),
+                    ForceNotCollection(Linq.range(0, source.length)).orderByDescending(i -> source[i]).take(k).toList());
+        }
+        assertEquals(Linq.of(source).orderBy(x -> x % 10).thenByDescending(x -> x).toArray().skip(30).take(20),
+                stream.orderBy(x -> x % 10).thenByDescending(x -> x).skip(30).take(20).toArray());
+        assertEquals(Linq.of(source).orderBy(x -> x).toArray().get(123), stream.orderBy(x -> x).elementAt(123));
+        assertEquals(Linq.of(source).orderBy(x -> x).toArray().get(99), stream.orderBy(x -> x).take(100).last());
+        assertEquals(Linq.of(source).orderBy(x -> x).toArray().get(10), stream.orderBy(x -> x).skip(10).take(5).first());
+        assertEquals(5, stream.orderBy(x -> x).skip(10).take(5).count());
+    }
+
+    @Test
+    void TopBufferIsStable() {
+        IEnumerable<Integer> source = Linq.range(0, 3000);
+        assertEquals(Linq.range(0, 3000).where(i -> i % 3 == 0).take(50), source.orderBy(i -> i % 3).take(50));
+        assertEquals(Linq.range(0, 3000).where(i -> i % 3 == 2).take(50), source.orderByDescendingInt(i -> i % 3).take(50));
+        assertEquals(Linq.range(0, 3000).where(i -> i % 3 == 0).skip(40).take(10), source.orderBy(i -> i % 3).skip(40).take(10));
+    }
+
+    @Test
+    void TopBufferEnumeratesSourceOnce() {
+        int[] moves = {0};
+        IEnumerable<Integer> source = ForceNotCollection(Linq.range(0, 10000).select(i -> {
+            moves[0]++;
+            return 10000 - i;
+        }));
+        assertEquals(Linq.range(1, 10), source.orderBy(i -> i).take(10));
+        assertEquals(10000, moves[0]);
+    }
 }
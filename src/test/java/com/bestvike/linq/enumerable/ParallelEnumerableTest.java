@@ -0,0 +1,327 @@
+package com.bestvike.linq.enumerable;
+
+import com.bestvike.TestCase;
+import com.bestvike.collections.generic.EqualityComparer;
+import com.bestvike.collections.generic.StringComparer;
+import com.bestvike.function.Func1;
+import com.bestvike.function.Predicate1;
+import com.bestvike.linq.IEnumerable;
+import com.bestvike.linq.IEnumerator;
+import com.bestvike.linq.IGrouping;
+import com.bestvike.linq.ILookup;
+import com.bestvike.linq.IParallelEnumerable;
+import com.bestvike.linq.Linq;
+import com.bestvike.linq.exception.ArgumentNullException;
+import com.bestvike.linq.exception.ArgumentOutOfRangeException;
+import com.bestvike.linq.exception.InvalidOperationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Created by 许崇雷 on 2026-10-18.
+ */
+class ParallelEnumerableTest extends TestCase {
+    private static Integer[] numbers(int count) {
+        Integer[] array = new Integer[count];
+        for (int i = 0; i < count; i++)
+            array[i] = i;
+        return array;
+    }
+
+    @Test
+    void IndexedSourcesKeepOrder() {
+        Integer[] array = numbers(10000);
+        List<Integer> list = new ArrayList<>(Arrays.asList(array));
+        IEnumerable<Integer> expected = Linq.of(array).where(x -> x % 3 == 0).select(x -> x * 2);
+
+        assertEquals(expected, Linq.of(array).asParallel().withDegreeOfParallelism(4).where(x -> x % 3 == 0).select(x -> x * 2));
+        assertEquals(expected, Linq.of(list).asParallel().withDegreeOfParallelism(4).where(x -> x % 3 == 0).select(x -> x * 2));
+        assertEquals(expected, Linq.range(0, 10000).asParallel().withDegreeOfParallelism(4).where(x -> x % 3 == 0).select(x -> x * 2));
+        assertEquals(expected, Linq.of(array).select(x -> x).asParallel().withDegreeOfParallelism(4).where(x -> x % 3 == 0).select(x -> x * 2));
+        assertEquals(expected, Linq.of(Linq.of(array).skip(0).asParallel().withDegreeOfParallelism(3).where(x -> x % 3 == 0).select(x -> x * 2).toList()));
+        assertEquals(expected.toArray(), Linq.of(array).asParallel().withDegreeOfParallelism(4).where(x -> x % 3 == 0).select(x -> x * 2).toArray());
+        assertEquals(Linq.of(expected.toArray(Integer.class)), Linq.of(Linq.of(array).asParallel().withDegreeOfParallelism(4).where(x -> x % 3 == 0).select(x -> x * 2).toArray(Integer.class)));
+    }
+
+    @Test
+    void ChunkedSourcesYieldEveryElement() {
+        IEnumerable<Integer> source = ForceNotCollection(Linq.range(0, 10000));
+        IParallelEnumerable<Integer> query = source.asParallel().withDegreeOfParallelism(4).where(x -> x % 2 == 0).select(x -> x + 1);
+        assertEquals(Linq.range(0, 10000).where(x -> x % 2 == 0).select(x -> x + 1), Linq.of(query.toList()).orderBy(x -> x));
+        assertEquals(5000, query.count());
+        assertEquals(Linq.range(0, 10000).where(x -> x % 2 == 0).sumInt(x -> x + 1), query.sumInt());
+        assertEquals(0, ForceNotCollection(Linq.<Integer>empty()).asParallel().withDegreeOfParallelism(4).count());
+    }
+
+    @Test
+    void AsOrdered() {
+        IEnumerable<Integer> expected = Linq.range(0, 10000).where(x -> x % 3 == 0).select(x -> x * 2);
+        IParallelEnumerable<Integer> query = ForceNotCollection(Linq.range(0, 10000)).asParallel().withDegreeOfParallelism(4).asOrdered().where(x -> x % 3 == 0).select(x -> x * 2);
+        assertEquals(expected, query);
+        assertEquals(expected, Linq.of(query.toList()));
+        assertEquals(expected, query.toArray());
+        assertEquals(expected, Linq.range(0, 10000).asParallel().asOrdered().withDegreeOfParallelism(3).where(x -> x % 3 == 0).select(x -> x * 2));
+        assertEquals(expected, Linq.of(numbers(10000)).asParallel().asOrdered().where(x -> x % 3 == 0).select(x -> x * 2));
+        assertEquals(Linq.range(0, 100).selectMany(x -> Linq.repeat(x, x % 3)), ForceNotCollection(Linq.range(0, 100)).asParallel().asOrdered().selectMany(x -> Linq.repeat(x, x % 3)));
+        assertEquals(0, ForceNotCollection(Linq.<Integer>empty()).asParallel().asOrdered().count());
+        assertEmpty(Linq.<Integer>empty().asParallel().asOrdered().select(x -> x));
+
+        IParallelEnumerable<Integer> unordered = query.asUnordered();
+        assertEquals(expected, Linq.of(unordered.toList()).orderBy(x -> x));
+    }
+
+    @Test
+    void AsOrderedStreamsThroughBoundedWindow() {
+        AtomicInteger processed = new AtomicInteger();
+        IParallelEnumerable<Integer> indexed = Linq.range(0, Integer.MAX_VALUE).asParallel().withDegreeOfParallelism(4).asOrdered().select(x -> {
+            processed.incrementAndGet();
+            return x;
+        });
+        assertEquals(Linq.range(0, 1000), indexed.asSequential().take(1000));
+        assertTrue(processed.get() < 100000);
+
+        processed.set(0);
+        IParallelEnumerable<Integer> chunked = ForceNotCollection(Linq.range(0, Integer.MAX_VALUE)).asParallel().withDegreeOfParallelism(4).asOrdered().where(x -> {
+            processed.incrementAndGet();
+            return x % 2 == 0;
+        });
+        try (IEnumerator<Integer> e = chunked.enumerator()) {
+            for (int i = 0; i < 1000; i++) {
+                assertTrue(e.moveNext());
+                assertEquals(i * 2, e.current());
+            }
+        }
+        assertTrue(processed.get() < 100000);
+
+        IParallelEnumerable<Integer> failing = ForceNotCollection(Linq.range(0, 1000)).asParallel().asOrdered().select(x -> 10 / (x - 700));
+        assertThrows(ArithmeticException.class, failing::toList);
+        AtomicBoolean cancelled = new AtomicBoolean(true);
+        assertThrows(CancellationException.class, () -> Linq.range(0, 1000).asParallel().asOrdered().withCancellation(cancelled::get).toList());
+    }
+
+    @Test
+    void SelectMany() {
+        IParallelEnumerable<Integer> source = Linq.range(0, 100).asParallel().withDegreeOfParallelism(4);
+        assertEquals(Linq.range(0, 100).selectMany(x -> Linq.repeat(x, x % 3)), source.selectMany(x -> Linq.repeat(x, x % 3)));
+        assertEquals(Linq.range(0, 100).selectMany(x -> Linq.repeat(x, x % 3)).count(), source.selectMany(x -> Linq.repeat(x, x % 3)).count());
+    }
+
+    @Test
+    void GroupByAndToLookup() {
+        IEnumerable<String> keys = Linq.of("b", "A", "c", "a", "B", null);
+        IEnumerable<String> source = Linq.range(0, 20000).select(x -> keys.elementAt((x * 7 + x / 100) % 6) + x);
+        Func1<String, String> keySelector = x -> x.startsWith("null") ? null : x.substring(0, 1);
+        List<IEnumerable<String>> sources = Linq.of(source, Linq.of(source.toList()), ForceNotCollection(source)).toList();
+        for (IEnumerable<String> s : sources) {
+            IParallelEnumerable<String> parallel = s.asParallel().withDegreeOfParallelism(4);
+            assertGroupsEqual(source.groupBy(keySelector), parallel.groupBy(keySelector));
+            assertGroupsEqual(source.groupBy(keySelector, StringComparer.OrdinalIgnoreCase), parallel.groupBy(keySelector, StringComparer.OrdinalIgnoreCase));
+            assertGroupsEqual(source.groupBy(keySelector, String::length), parallel.groupBy(keySelector, String::length));
+            assertGroupsEqual(source.groupBy(keySelector, String::length, StringComparer.OrdinalIgnoreCase), parallel.groupBy(keySelector, String::length, StringComparer.OrdinalIgnoreCase));
+            assertGroupsEqual(source.toLookup(keySelector), parallel.toLookup(keySelector));
+            assertGroupsEqual(source.toLookup(keySelector, StringComparer.OrdinalIgnoreCase), parallel.toLookup(keySelector, StringComparer.OrdinalIgnoreCase));
+            assertGroupsEqual(source.toLookup(keySelector, String::length), parallel.toLookup(keySelector, String::length));
+
+            ILookup<String, String> lookup = parallel.toLookup(keySelector, StringComparer.OrdinalIgnoreCase);
+            assertEquals(4, lookup.getCount());
+            assertEquals(source.where(x -> x.startsWith("a") || x.startsWith("A")), lookup.get("a"));
+            assertEquals(source.where(x -> x.startsWith("null")), lookup.get(null));
+            assertEquals(4, parallel.groupBy(keySelector, StringComparer.OrdinalIgnoreCase).count());
+            assertEquals(6, parallel.groupBy(keySelector).toList().size());
+        }
+        assertEquals(0, Linq.<String>empty().asParallel().toLookup(x -> x).getCount());
+        assertEmpty(ForceNotCollection(Linq.<String>empty()).asParallel().groupBy(x -> x));
+        assertThrows(ArgumentNullException.class, () -> Linq.of(1).asParallel().toLookup(null));
+        assertThrows(ArgumentNullException.class, () -> Linq.of(1).asParallel().groupBy(x -> x, (Func1<Integer, Integer>) null));
+    }
+
+    @Test
+    void MergeSizesEachGroupOnce() {
+        List<Lookup<Integer, Integer>> partials = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            Lookup<Integer, Integer> partial = Lookup.create(EqualityComparer.Default());
+            partial.add(i % 3, i);
+            if (i % 10 == 0)
+                partial.add(3, i);
+            partials.add(partial);
+        }
+        Lookup<Integer, Integer> merged = Lookup.merge(partials, EqualityComparer.Default());
+        assertEquals(4, merged.getCount());
+        for (IGrouping<Integer, Integer> grouping : merged) {
+            Grouping<Integer, Integer> g = (Grouping<Integer, Integer>) grouping;
+            assertEquals(g.count, g.getArray().length);
+            IEnumerable<Integer> expected = g.getKey() == 3 ? Linq.range(0, 300).select(x -> x * 10) : Linq.range(0, 1000).select(x -> x * 3 + g.getKey());
+            assertEquals(expected, g);
+        }
+    }
+
+    @Test
+    void Joins() {
+        IEnumerable<String> outer = Linq.range(0, 1000).select(x -> x % 41 == 0 ? null : "k" + x % 137);
+        IEnumerable<String> inner = Linq.range(0, 600).select(x -> x % 29 == 0 ? null : "K" + x % 173);
+        Func1<String, String> keySelector = x -> x == null ? null : x.substring(1);
+        List<IEnumerable<String>> outers = Linq.of(outer, ForceNotCollection(outer)).toList();
+        List<IEnumerable<String>> inners = Linq.of(inner, ForceNotCollection(inner), inner.asParallel().withDegreeOfParallelism(3)).toList();
+        for (IEnumerable<String> o : outers) {
+            for (IEnumerable<String> i : inners) {
+                IParallelEnumerable<String> ordered = o.asParallel().withDegreeOfParallelism(4).asOrdered();
+                IParallelEnumerable<String> unordered = o.asParallel().withDegreeOfParallelism(4);
+                assertEquals(outer.join(inner, keySelector, keySelector, (x, y) -> x + y), ordered.join(i, keySelector, keySelector, (x, y) -> x + y));
+                assertEquals(outer.leftJoin(inner, keySelector, keySelector, "-", (x, y) -> x + y), ordered.leftJoin(i, keySelector, keySelector, "-", (x, y) -> x + y));
+                assertEquals(outer.rightJoin(inner, keySelector, keySelector, "-", (x, y) -> x + y), ordered.rightJoin(i, keySelector, keySelector, "-", (x, y) -> x + y));
+                assertEquals(outer.fullJoin(inner, keySelector, keySelector, "-", "+", (x, y) -> x + y), ordered.fullJoin(i, keySelector, keySelector, "-", "+", (x, y) -> x + y));
+                assertEquals(outer.join(inner, keySelector, keySelector, (x, y) -> x + y).orderBy(x -> x), unordered.join(i, keySelector, keySelector, (x, y) -> x + y).orderBy(x -> x));
+                assertEquals(outer.leftJoin(inner, keySelector, keySelector, (x, y) -> x + y).orderBy(x -> x), unordered.leftJoin(i, keySelector, keySelector, (x, y) -> x + y).orderBy(x -> x));
+                assertEquals(outer.rightJoin(inner, keySelector, keySelector, (x, y) -> x + y).orderBy(x -> x), unordered.rightJoin(i, keySelector, keySelector, (x, y) -> x + y).orderBy(x -> x));
+                assertEquals(outer.fullJoin(inner, keySelector, keySelector, (x, y) -> x + y).orderBy(x -> x), unordered.fullJoin(i, keySelector, keySelector, (x, y) -> x + y).orderBy(x -> x));
+                assertEquals(outer.join(inner, keySelector, keySelector, (x, y) -> x + y, StringComparer.OrdinalIgnoreCase), ordered.join(i, keySelector, keySelector, (x, y) -> x + y, StringComparer.OrdinalIgnoreCase));
+            }
+        }
+
+        Func1<String, String> upperKeySelector = x -> x == null ? null : x.toUpperCase();
+        IParallelEnumerable<String> letters = Linq.of("a", "B", "c", null, "A").asParallel().asOrdered();
+        IEnumerable<String> others = Linq.of("A", "b", "D", null);
+        assertEquals(Linq.of("aA", "Bb", "AA"), letters.join(others, x -> x, x -> x, (x, y) -> x + y, StringComparer.OrdinalIgnoreCase));
+        assertEquals(Linq.of("aA", "Bb", "AA"), letters.join(others, upperKeySelector, upperKeySelector, (x, y) -> x + y));
+        assertEquals(Linq.of("aA", "Bb", "cnull", "nullnull", "AA", "nullD", "nullnull"), letters.fullJoin(others, upperKeySelector, upperKeySelector, (x, y) -> x + y));
+        assertEmpty(letters.join(Linq.<String>empty(), x -> x, x -> x, (x, y) -> x + y));
+        assertEquals(letters, letters.leftJoin(Linq.<String>empty(), x -> x, x -> x, (x, y) -> x));
+        assertEquals(others, Linq.<String>empty().asParallel().asOrdered().rightJoin(others, x -> x, x -> x, (x, y) -> y));
+
+        IEnumerable<String> query = letters.join(others, upperKeySelector, upperKeySelector, (x, y) -> x + y);
+        assertEquals(Linq.of(query.toList()), query);
+        assertThrows(ArgumentNullException.class, () -> letters.join(null, x -> x, x -> x, (x, y) -> x + y));
+        assertThrows(ArgumentNullException.class, () -> letters.fullJoin(others, x -> x, x -> x, null));
+    }
+
+    @Test
+    void JoinStreamsFanOut() {
+        AtomicInteger produced = new AtomicInteger();
+        IParallelEnumerable<Integer> probe = ForceNotCollection(Linq.range(0, 100000)).asParallel().withDegreeOfParallelism(4);
+        IEnumerable<Integer> query = probe.join(Linq.range(0, 100), x -> 0, x -> 0, (x, y) -> {
+            produced.incrementAndGet();
+            return x * 100 + y;
+        });
+        assertEquals(5, query.take(5).count());
+        assertTrue(produced.get() < 1000000);
+    }
+
+    private static <TKey, TElement> void assertGroupsEqual(IEnumerable<? extends IGrouping<TKey, TElement>> expected, IEnumerable<? extends IGrouping<TKey, TElement>> actual) {
+        List<? extends IGrouping<TKey, TElement>> expectedList = expected.toList();
+        List<? extends IGrouping<TKey, TElement>> actualList = actual.toList();
+        assertEquals(expectedList.size(), actualList.size());
+        for (int i = 0; i < expectedList.size(); i++) {
+            assertEquals(expectedList.get(i).getKey(), actualList.get(i).getKey());
+            assertEquals(expectedList.get(i), actualList.get(i));
+        }
+    }
+
+    @Test
+    void Aggregates() {
+        IParallelEnumerable<Integer> source = Linq.range(1, 1000).asParallel().withDegreeOfParallelism(4);
+        assertEquals(500500, source.sumInt());
+        assertEquals(500500L, source.sumLong(x -> (long) x));
+        assertEquals(500500d, source.sumDouble(x -> (double) x));
+        assertEquals(500500L, source.select(x -> (long) x).sumLong());
+        assertEquals(500500d, source.select(x -> (double) x).sumDouble());
+        assertEquals(1000, source.count());
+        assertEquals(500, source.count(x -> x % 2 == 0));
+        assertEquals(500500, source.aggregate((x, y) -> x + y));
+        assertEquals("1000", source.aggregate(() -> 0, (acc, x) -> Math.max(acc, x), Math::max, String::valueOf));
+        assertEquals(0, Linq.<Integer>empty().asParallel().aggregate(() -> 0, (acc, x) -> acc + x, (x, y) -> x + y, x -> x));
+        assertThrows(InvalidOperationException.class, () -> Linq.<Integer>empty().asParallel().aggregate((x, y) -> x + y));
+        assertThrows(ArithmeticException.class, () -> Linq.of(Integer.MAX_VALUE, 1).asParallel().withDegreeOfParallelism(2).sumInt());
+    }
+
+    @Test
+    void Any() {
+        IParallelEnumerable<Integer> source = Linq.range(0, 100000).asParallel().withDegreeOfParallelism(4);
+        assertTrue(source.any());
+        assertTrue(source.any(x -> x == 99999));
+        assertFalse(source.any(x -> x < 0));
+        assertFalse(Linq.<Integer>empty().asParallel().any());
+
+        AtomicInteger visited = new AtomicInteger();
+        assertTrue(ForceNotCollection(Linq.range(0, 1000000)).asParallel().withDegreeOfParallelism(4).any(x -> visited.incrementAndGet() > 0 && x == 0));
+        assertTrue(visited.get() < 1000000);
+    }
+
+    @Test
+    void RunsOnSuppliedPool() {
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            Set<Thread> threads = ConcurrentHashMap.newKeySet();
+            Linq.range(0, 10000).asParallel().withExecutor(pool).select(x -> {
+                threads.add(Thread.currentThread());
+                return x;
+            }).toList();
+            assertTrue(threads.size() >= 1);
+            for (Thread thread : threads)
+                assertTrue(thread.getName().startsWith("ForkJoinPool-"));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void Cancellation() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        IParallelEnumerable<Integer> query = Linq.range(0, 100000).asParallel().withDegreeOfParallelism(4).withCancellation(cancelled::get).select(x -> {
+            if (x == 500)
+                cancelled.set(true);
+            return x;
+        });
+        assertThrows(CancellationException.class, query::toList);
+
+        cancelled.set(false);
+        assertEquals(100000, Linq.range(0, 100000).asParallel().withDegreeOfParallelism(4).withCancellation(cancelled::get).count(x -> x >= 0));
+    }
+
+    @Test
+    void ExceptionsPropagate() {
+        IParallelEnumerable<Integer> query = Linq.range(0, 1000).asParallel().withDegreeOfParallelism(4).select(x -> 10 / (x - 700));
+        assertThrows(ArithmeticException.class, query::toList);
+    }
+
+    @Test
+    void DeferredAndSequential() {
+        List<Integer> list = new ArrayList<>(Arrays.asList(1, 2, 3));
+        IParallelEnumerable<Integer> query = Linq.of(list).asParallel().select(x -> x * 10);
+        list.add(4);
+        assertEquals(Linq.of(10, 20, 30, 40), query);
+        assertEquals(Linq.of(20, 40), query.asSequential().where(x -> x % 20 == 0));
+        IEnumerable<Integer> sequential = Linq.of(list);
+        assertSame(sequential, sequential.asParallel().asSequential());
+
+        IParallelEnumerable<Integer> parallel = Linq.of(1, 2, 3).asParallel();
+        assertSame(parallel, parallel.asParallel());
+        try (IEnumerator<Integer> e = parallel.enumerator()) {
+            assertTrue(e.moveNext());
+            assertEquals(1, e.current());
+        }
+    }
+
+    @Test
+    void InvalidArguments() {
+        IParallelEnumerable<Integer> source = Linq.of(1, 2, 3).asParallel();
+        assertThrows(ArgumentNullException.class, () -> ParallelEnumerable.asParallel(null));
+        assertThrows(ArgumentNullException.class, () -> ParallelEnumerable.asOrdered(null));
+        assertThrows(ArgumentNullException.class, () -> ParallelEnumerable.asUnordered(null));
+        assertThrows(ArgumentOutOfRangeException.class, () -> source.withDegreeOfParallelism(0));
+        assertThrows(ArgumentOutOfRangeException.class, () -> source.withDegreeOfParallelism(513));
+        assertThrows(ArgumentNullException.class, () -> source.withExecutor(null));
+        assertThrows(ArgumentNullException.class, () -> source.withCancellation(null));
+        assertThrows(ArgumentNullException.class, () -> source.where((Predicate1<Integer>) null));
+        assertThrows(ArgumentNullException.class, () -> source.select((Func1<Integer, Integer>) null));
+        assertThrows(ArgumentNullException.class, () -> source.aggregate(null, (acc, x) -> acc, (x, y) -> x, x -> x));
+    }
+}
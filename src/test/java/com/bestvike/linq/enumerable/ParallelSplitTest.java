@@ -0,0 +1,84 @@
+package com.bestvike.linq.enumerable;
+
+import com.bestvike.TestCase;
+import com.bestvike.linq.IEnumerable;
+import com.bestvike.linq.Linq;
+import com.bestvike.linq.exception.ArgumentNullException;
+import com.bestvike.linq.util.StringSplitOptions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+/**
+ * Created by 许崇雷 on 2026-10-18.
+ */
+class ParallelSplitTest extends TestCase {
+    private static String text(long seed, String alphabet, int length) {
+        Random random = new Random(seed);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++)
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        return builder.toString();
+    }
+
+    @Test
+    void Lines() {
+        for (int seed = 0; seed < 20; seed++) {
+            String text = text(seed, "ab c\r\n\n", 3000);
+            for (int chunkSize : new int[]{1, 7, 64, 5000}) {
+                assertEquals(Linq.lines(text), ParallelSplit.lines(text, chunkSize));
+                assertEquals(Linq.lines(text).orderBy(x -> x, String::compareTo), ParallelSplit.lines(text, chunkSize).asUnordered().orderBy(x -> x, String::compareTo));
+            }
+        }
+        assertEquals(Linq.lines("a\r\nb"), Linq.parallelLines("a\r\nb"));
+        assertEmpty(Linq.parallelLines(""));
+        assertEmpty(ParallelSplit.lines("\r\n\r\n\n", 1));
+    }
+
+    @Test
+    void Words() {
+        for (int seed = 0; seed < 20; seed++) {
+            String text = text(seed, "ab1 ,.é\n", 3000);
+            for (int chunkSize : new int[]{1, 7, 64, 5000})
+                assertEquals(Linq.words(text), ParallelSplit.words(text, chunkSize));
+        }
+        assertEquals(Linq.words("hello, world"), Linq.parallelWords("hello, world"));
+        assertEquals(Linq.of("abcdefgh"), ParallelSplit.words("abcdefgh", 2));
+    }
+
+    @Test
+    void Split() {
+        Splitter[] splitters = {
+                Splitter.of(','),
+                Splitter.of(',', StringSplitOptions.RemoveEmptyEntries),
+                Splitter.of(new char[0]),
+                Splitter.of(new char[]{',', ';', ' ', 'x'}, StringSplitOptions.RemoveEmptyEntries),
+                Splitter.of("aa"),
+                Splitter.of("aba", StringSplitOptions.RemoveEmptyEntries),
+                Splitter.of(new String[]{"ab", "a", "bab"}),
+                Splitter.of(new String[]{null, ""}),
+                Splitter.of((String) null)
+        };
+        for (int seed = 0; seed < 10; seed++) {
+            String text = text(seed, "aab,; x", 2000);
+            for (Splitter splitter : splitters) {
+                IEnumerable<String> expected = splitter.split(text);
+                for (int chunkSize : new int[]{1, 5, 64, 5000})
+                    assertEquals(expected, ParallelSplit.split(text, splitter, chunkSize));
+            }
+        }
+        String overlapping = Linq.repeat("a", 101).joining();
+        assertEquals(Splitter.of("aa").split(overlapping), ParallelSplit.split(overlapping, Splitter.of("aa"), 3));
+        assertEquals(Linq.of("", ""), ParallelSplit.split(",", Splitter.of(','), 0));
+        assertEquals(Linq.of("a", "b", ""), Linq.parallelSplit("a,b,", Splitter.of(',')));
+        assertEquals(6, Linq.parallelSplit("a,b,c,d,e,f", Splitter.of(',')).asUnordered().count());
+    }
+
+    @Test
+    void Arguments() {
+        assertThrows(ArgumentNullException.class, () -> Linq.parallelLines(null));
+        assertThrows(ArgumentNullException.class, () -> Linq.parallelWords(null));
+        assertThrows(ArgumentNullException.class, () -> Linq.parallelSplit(null, Splitter.of(',')));
+        assertThrows(ArgumentNullException.class, () -> Linq.parallelSplit("a", null));
+    }
+}
@@ -0,0 +1,170 @@
+package com.bestvike.linq.enumerable;
+
+import com.bestvike.TestCase;
+import com.bestvike.function.Func0;
+import com.bestvike.function.Func1;
+import com.bestvike.linq.IEnumerable;
+import com.bestvike.linq.ILookup;
+import com.bestvike.linq.Linq;
+import com.bestvike.linq.exception.ArgumentNullException;
+import com.bestvike.linq.exception.InvalidOperationException;
+import com.bestvike.linq.exception.RepeatInvokeException;
+import com.bestvike.tuple.Tuple2;
+import com.bestvike.tuple.Tuple4;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * Created by 许崇雷 on 2026-10-18.
+ */
+class PublishTest extends TestCase {
+    private static IEnumerable<Integer> Counted(AtomicInteger enumerations, int count) {
+        return Linq.range(0, 1).selectMany(x -> {
+            enumerations.incrementAndGet();
+            return ForceNotCollection(Linq.range(0, count));
+        });
+    }
+
+    @Test
+    void ShareEnumeratesOnce() {
+        AtomicInteger enumerations = new AtomicInteger();
+        IEnumerable<Integer> source = Counted(enumerations, 10000);
+        Tuple4<Integer, Long, Integer, ILookup<Integer, Integer>> results = source.share(
+                IEnumerable::count,
+                s -> s.sumLong(x -> x),
+                s -> s.maxBy(x -> x % 1000),
+                s -> s.toLookup(x -> x % 3));
+        assertEquals(1, enumerations.get());
+        assertEquals(10000, results.getItem1());
+        assertEquals(49995000L, results.getItem2());
+        assertEquals(999, results.getItem3());
+        assertEquals(3, results.getItem4().getCount());
+        assertEquals(3334, results.getItem4().get(0).count());
+    }
+
+    @Test
+    void CollectorsAndConsumers() {
+        AtomicInteger enumerations = new AtomicInteger();
+        Publisher<Integer> publisher = Counted(enumerations, 1000).publish();
+        Func0<Long> count = publisher.subscribe(Collectors.counting());
+        Func0<List<Integer>> evens = publisher.subscribe(s -> s.where(x -> x % 2 == 0).toList());
+        Func0<Integer> sum = publisher.subscribe(s -> s.sumInt());
+        Func0<Integer> max = publisher.subscribe(Collectors.reducing(0, Math::max));
+        publisher.connect();
+        assertEquals(1, enumerations.get());
+        assertEquals(1000L, count.apply());
+        assertEquals(500, evens.apply().size());
+        assertEquals(499500, sum.apply());
+        assertEquals(999, max.apply());
+    }
+
+    @Test
+    void CollectorsOnly() {
+        Publisher<Integer> publisher = Linq.range(0, 600).publish();
+        Func0<Long> count = publisher.subscribe(Collectors.counting());
+        Func0<Integer> sum = publisher.subscribe(Collectors.summingInt(x -> x));
+        publisher.connect();
+        assertEquals(600L, count.apply());
+        assertEquals(179700, sum.apply());
+    }
+
+    @Test
+    void ConsumersStoppingEarly() {
+        AtomicInteger pulled = new AtomicInteger();
+        IEnumerable<Integer> source = Linq.infinite(1).select(x -> pulled.incrementAndGet());
+        Tuple2<Integer, List<Integer>> results = source.share(IEnumerable::first, s -> s.take(1000).toList());
+        assertEquals(1, results.getItem1());
+        assertEquals(1000, results.getItem2().size());
+        assertTrue(pulled.get() <= 9 * 256);
+
+        pulled.set(0);
+        Tuple2<List<Integer>, Integer> results2 = source.share(s -> s.take(1000).toList(), IEnumerable::first);
+        assertEquals(1000, results2.getItem1().size());
+        assertEquals(1, results2.getItem2());
+        assertTrue(pulled.get() <= 9 * 256);
+    }
+
+    @Test
+    void Errors() {
+        IEnumerable<Integer> source = Linq.range(0, 2000).select(x -> 1000 / (1500 - x));
+        Publisher<Integer> publisher = source.publish();
+        Func0<Integer> first = publisher.subscribe(IEnumerable::first);
+        Func0<Integer> sum = publisher.subscribe(s -> s.sumInt());
+        Func0<Integer> failing = publisher.subscribe(s -> {
+            throw new IllegalStateException();
+        });
+        Func0<Long> count = publisher.subscribe(Collectors.counting());
+        assertThrows(InvalidOperationException.class, () -> first.apply());
+        publisher.connect();
+        assertEquals(0, first.apply());
+        assertThrows(ArithmeticException.class, () -> sum.apply());
+        assertThrows(IllegalStateException.class, () -> failing.apply());
+        assertThrows(ArithmeticException.class, () -> count.apply());
+
+        assertThrows(ArithmeticException.class, () -> source.share(s -> s.sumInt(), IEnumerable::count));
+        assertThrows(ArithmeticException.class, () -> source.share(IEnumerable::count, s -> s.sumInt()));
+    }
+
+    @Test
+    void SlowFollowerReadsChunksBufferedBeforeError() {
+        IEnumerable<Integer> source = Linq.range(0, 2000).select(x -> x + 1000 / (1100 - x) * 0);
+        Publisher<Integer> publisher = source.publish();
+        Func0<Integer> sum = publisher.subscribe(s -> s.sumInt());
+        Func0<List<Integer>> slow = publisher.subscribe(s -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return s.take(10).toList();
+        });
+        publisher.connect();
+        assertThrows(ArithmeticException.class, () -> sum.apply());
+        assertEquals(Linq.range(0, 10), Linq.of(slow.apply()));
+    }
+
+    @Test
+    void CustomExecutor() {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Publisher<Integer> publisher = Linq.range(0, 5000).publish(executor);
+            Func0<Integer> count = publisher.subscribe(IEnumerable::count);
+            Func0<Integer> last = publisher.subscribe(IEnumerable::last);
+            Func0<Integer> distinct = publisher.subscribe(s -> s.select(x -> x % 7).distinct().count());
+            Func0<Integer> sum = publisher.subscribe(s -> s.sumInt());
+            publisher.connect();
+            assertEquals(5000, count.apply());
+            assertEquals(4999, last.apply());
+            assertEquals(7, distinct.apply());
+            assertEquals(12497500, sum.apply());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void OneShot() {
+        Publisher<Integer> publisher = Linq.range(0, 10).publish();
+        Func0<Integer> twice = publisher.subscribe(s -> s.count() + s.count());
+        Func0<Integer> count = publisher.subscribe(IEnumerable::count);
+        publisher.connect();
+        assertThrows(RepeatInvokeException.class, () -> twice.apply());
+        assertEquals(10, count.apply());
+        assertThrows(RepeatInvokeException.class, () -> publisher.connect());
+        assertThrows(InvalidOperationException.class, () -> publisher.subscribe(IEnumerable::count));
+    }
+
+    @Test
+    void NullArguments() {
+        assertThrows(ArgumentNullException.class, () -> Publish.publish(null));
+        assertThrows(ArgumentNullException.class, () -> Linq.range(0, 3).publish(null));
+        assertThrows(ArgumentNullException.class, () -> Linq.range(0, 3).publish().subscribe((Func1<IEnumerable<Integer>, Integer>) null));
+        assertThrows(ArgumentNullException.class, () -> Linq.range(0, 3).publish().subscribe((Collector<Integer, ?, Long>) null));
+    }
+}
@@ -0,0 +1,175 @@
+package com.bestvike.linq.enumerable;
+
+import com.bestvike.TestCase;
+import com.bestvike.linq.IEnumerable;
+import com.bestvike.linq.Linq;
+import com.bestvike.linq.exception.ArgumentNullException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created by 许崇雷 on 2026-10-18.
+ */
+class QueryTemplateTest extends TestCase {
+    private static IEnumerable<IEnumerable<Integer>> Sources() {
+        List<IEnumerable<Integer>> sources = new ArrayList<>();
+        sources.add(Linq.range(0, 50));
+        sources.add(Linq.of(Linq.range(0, 50).toArray(Integer.class)));
+        sources.add(Linq.of(Linq.range(0, 50).toList()));
+        sources.add(ForceNotCollection(Linq.range(0, 50)));
+        sources.add(Linq.range(-10, 60).skip(10));
+        return Linq.of(sources);
+    }
+
+    @Test
+    void SameResultsAsDirectChain() {
+        QueryTemplate<Integer, String> template = QueryTemplate.<Integer>of().where(x -> x % 3 != 0).select(x -> x * 2).skip(2).take(10).select(String::valueOf);
+        for (IEnumerable<Integer> source : Sources()) {
+            IEnumerable<String> expected = source.where(x -> x % 3 != 0).select(x -> x * 2).skip(2).take(10).select(String::valueOf);
+            IEnumerable<String> actual = template.bind(source);
+            assertEquals(expected, actual);
+            assertEquals(expected.count(), actual.count());
+            assertEquals(expected.last(), actual.last());
+            assertEquals(expected.elementAt(3), actual.elementAt(3));
+            assertEquals(Linq.of(expected.toList()), Linq.of(actual.toList()));
+        }
+    }
+
+    @Test
+    void MixedStages() {
+        QueryTemplate<Integer, Integer> template = QueryTemplate.<Integer>of().select(x -> x % 10).distinct().where(x -> x > 2).then(source -> source.concat(Linq.of(100)));
+        for (IEnumerable<Integer> source : Sources())
+            assertEquals(Linq.of(3, 4, 5, 6, 7, 8, 9, 100), template.bind(source));
+    }
+
+    @Test
+    void Ordering() {
+        OrderedQueryTemplate<Integer, Integer> ordered = QueryTemplate.<Integer>of().where(x -> x < 20).orderByDescending(x -> x % 5).thenBy(x -> x, Comparator.reverseOrder());
+        QueryTemplate<Integer, Integer> top = ordered.skip(1).take(3);
+        for (IEnumerable<Integer> source : Sources()) {
+            IEnumerable<Integer> expected = source.where(x -> x < 20).orderByDescending(x -> x % 5).thenBy(x -> x, Comparator.reverseOrder());
+            assertEquals(expected, ordered.bind(source));
+            assertEquals(Linq.of(14, 9, 4), top.bind(source));
+            assertEquals(Linq.of(19, 18, 17), ordered.bind(source).thenByDescending(x -> x).where(x -> x > 16));
+        }
+    }
+
+    @Test
+    void ReusedAcrossSourcesAndBindings() {
+        QueryTemplate<Integer, Integer> template = QueryTemplate.<Integer>of().select(x -> x + 1).where(x -> x % 2 == 0).take(3);
+        assertEquals(Linq.of(2, 4, 6), template.bind(Linq.range(0, 10)));
+        assertEquals(Linq.of(102, 104, 106), template.bind(Linq.range(100, 10)));
+        assertEquals(Linq.of(2, 4), template.bind(Linq.of(1, 2, 3)));
+        assertEmpty(template.bind(Linq.empty()));
+
+        IEnumerable<Integer> bound = template.bind(Linq.range(0, 10));
+        assertEquals(Linq.of(2, 4, 6), bound);
+        assertEquals(Linq.of(2, 4, 6), bound);
+    }
+
+    @Test
+    void ExtendingDoesNotChangeTemplate() {
+        QueryTemplate<Integer, Integer> template = QueryTemplate.<Integer>of().where(x -> x > 5);
+        QueryTemplate<Integer, Integer> taken = template.take(2);
+        QueryTemplate<Integer, Integer> selected = template.select(x -> -x);
+        assertEquals(Linq.of(6, 7, 8, 9), template.bind(Linq.range(0, 10)));
+        assertEquals(Linq.of(6, 7), taken.bind(Linq.range(0, 10)));
+        assertEquals(Linq.of(-6, -7, -8, -9), selected.bind(Linq.range(0, 10)));
+        assertSame(template, template.skip(0));
+    }
+
+    @Test
+    void EmptyTemplates() {
+        IEnumerable<Integer> source = Linq.range(0, 5);
+        assertSame(source, QueryTemplate.<Integer>of().bind(source));
+        assertEmpty(QueryTemplate.<Integer>of().take(0).bind(source));
+        assertEmpty(QueryTemplate.<Integer>of().where(x -> true).take(-1).select(x -> x).bind(source));
+        assertEmpty(QueryTemplate.<Integer>of().where(x -> true).skip(2).take(3).skip(5).bind(source));
+        assertEquals(Linq.of(2, 3, 4), QueryTemplate.<Integer>of().skip(2).where(x -> true).bind(source));
+    }
+
+    @Test
+    void LeadingPartitionFuses() {
+        QueryTemplate<Integer, Integer> template = QueryTemplate.<Integer>of().skip(3).take(10).where(x -> x % 2 == 0);
+        assertEquals(1, template.stages.length);
+        IEnumerable<Integer> source = Linq.range(0, 50);
+        IEnumerable<Integer> bound = template.bind(source);
+        assertTrue(bound instanceof FusedIterator);
+        assertEquals(Linq.of(4, 6, 8, 10, 12), bound);
+
+        IEnumerable<Integer> partition = QueryTemplate.<Integer>of().skip(3).take(10).bind(source);
+        assertTrue(partition instanceof FusedIterator);
+        assertEquals(10, ((IPartition<Integer>) partition)._getCount(true));
+        assertEquals(Linq.range(3, 10), partition);
+        assertEquals(Linq.of(48, 49), QueryTemplate.<Integer>of().skip(48).take(5).bind(source));
+        assertEmpty(QueryTemplate.<Integer>of().take(5).skip(48).bind(source));
+    }
+
+    @Test
+    void PartitionAfterOrderingUsesPartialSort() {
+        AtomicLong templated = new AtomicLong();
+        AtomicLong direct = new AtomicLong();
+        Comparator<Integer> templatedComparer = (x, y) -> {
+            templated.incrementAndGet();
+            return x.compareTo(y);
+        };
+        Comparator<Integer> directComparer = (x, y) -> {
+            direct.incrementAndGet();
+            return x.compareTo(y);
+        };
+        IEnumerable<Integer> source = Linq.range(0, 100000);
+        for (int skip : new int[]{0, 2}) {
+            templated.set(0);
+            direct.set(0);
+            IEnumerable<Integer> actual = QueryTemplate.<Integer>of().where(x -> x % 2 == 0).select(x -> x * 7919 % 100003).orderBy(x -> x, templatedComparer).skip(skip).take(3).bind(source);
+            IEnumerable<Integer> expected = source.where(x -> x % 2 == 0).select(x -> x * 7919 % 100003).orderBy(x -> x, directComparer).skip(skip).take(3);
+            assertEquals(Linq.of(expected.toList()), Linq.of(actual.toList()));
+            assertEquals(direct.get(), templated.get());
+            assertTrue(templated.get() < 50000L * 16);
+        }
+    }
+
+    @Test
+    void ThreadSafe() throws Exception {
+        QueryTemplate<Integer, Integer> template = QueryTemplate.<Integer>of().where(x -> x % 2 == 0).select(x -> x * x).skip(1).take(100);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                int start = i;
+                futures.add(executor.submit(() -> {
+                    int sum = 0;
+                    for (int j = 0; j < 100; j++)
+                        sum = template.bind(Linq.range(start, 1000)).sumInt();
+                    return sum;
+                }));
+            }
+            for (int i = 0; i < 16; i++) {
+                int start = i;
+                assertEquals(Linq.range(start, 1000).where(x -> x % 2 == 0).select(x -> x * x).skip(1).take(100).sumInt(), futures.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void NullArguments() {
+        QueryTemplate<Integer, Integer> template = QueryTemplate.of();
+        assertThrows(ArgumentNullException.class, () -> template.bind(null));
+        assertThrows(ArgumentNullException.class, () -> template.select(null));
+        assertThrows(ArgumentNullException.class, () -> template.where(null));
+        assertThrows(ArgumentNullException.class, () -> template.orderBy(null));
+        assertThrows(ArgumentNullException.class, () -> template.orderByDescending(null));
+        assertThrows(ArgumentNullException.class, () -> template.orderBy(x -> x).thenBy(null));
+        assertThrows(ArgumentNullException.class, () -> template.orderBy(x -> x).thenByDescending(null));
+        assertThrows(ArgumentNullException.class, () -> template.then(null));
+    }
+}
@@ -0,0 +1,165 @@
+package com.bestvike.linq.enumerable;
+
+import com.bestvike.TestCase;
+import com.bestvike.linq.IEnumerable;
+import com.bestvike.linq.IEnumerator;
+import com.bestvike.linq.Linq;
+import com.bestvike.linq.exception.ArgumentNullException;
+import com.bestvike.linq.exception.RepeatInvokeException;
+import com.bestvike.linq.util.StringSplitOptions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.Random;
+
+/**
+ * Created by 许崇雷 on 2026-10-18.
+ */
+class ReaderSplitTest extends TestCase {
+    private static final int[] BUFFER_SIZES = {1, 2, 3, 7, 64, 8192};
+
+    private static String text(long seed, String alphabet, int length) {
+        Random random = new Random(seed);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++)
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        return builder.toString();
+    }
+
+    @Test
+    void Lines() {
+        for (int seed = 0; seed < 20; seed++) {
+            String text = text(seed, "ab c\r\n\n", 500);
+            for (int bufferSize : BUFFER_SIZES)
+                assertEquals(Linq.lines(text), ReaderSplit.lines(new TrickleReader(text), bufferSize));
+        }
+        assertEquals(Linq.of("a", "b"), Linq.lines(new StringReader("a\r\nb\r\n")));
+        assertEquals(Linq.of(Linq.repeat("x", 20000).joining()), Linq.lines(new StringReader("\r\n" + Linq.repeat("x", 20000).joining() + "\r")));
+        assertEmpty(Linq.lines(new StringReader("")));
+    }
+
+    @Test
+    void Words() {
+        for (int seed = 0; seed < 20; seed++) {
+            String text = text(seed, "ab1 ,.é\n", 500);
+            for (int bufferSize : BUFFER_SIZES)
+                assertEquals(Linq.words(text), ReaderSplit.words(new TrickleReader(text), bufferSize));
+        }
+        assertEquals(Linq.of("hello", "world"), Linq.words(new StringReader("hello, world!")));
+    }
+
+    @Test
+    void Split() {
+        Splitter[] splitters = {
+                Splitter.of(','),
+                Splitter.of(',', StringSplitOptions.RemoveEmptyEntries),
+                Splitter.of(new char[0]),
+                Splitter.of(new char[]{',', ';', ' ', 'x'}, StringSplitOptions.RemoveEmptyEntries),
+                Splitter.of("aa"),
+                Splitter.of("aba", StringSplitOptions.RemoveEmptyEntries),
+                Splitter.of(new String[]{"ab", "a", "bab"}),
+                Splitter.of(new String[]{null, ""}),
+                Splitter.of((String) null)
+        };
+        for (int seed = 0; seed < 10; seed++) {
+            String text = text(seed, "aab,; x", 300);
+            for (Splitter splitter : splitters) {
+                for (int bufferSize : BUFFER_SIZES)
+                    assertEquals(splitter.split(text), ReaderSplit.split(new TrickleReader(text), splitter, bufferSize));
+            }
+        }
+        for (Splitter splitter : splitters) {
+            assertEquals(splitter.split(""), Linq.split(new StringReader(""), splitter));
+            assertEquals(splitter.split(",a,"), Linq.split(new StringReader(",a,"), splitter));
+        }
+    }
+
+    @Test
+    void LargeStream() {
+        Reader reader = new Reader() {
+            private long remaining = 4_000_000;
+
+            @Override
+            public int read(char[] buffer, int offset, int length) {
+                if (this.remaining == 0)
+                    return -1;
+                int count = (int) Math.min(length, this.remaining);
+                for (int i = 0; i < count; i++)
+                    buffer[offset + i] = (this.remaining - i) % 10 == 0 ? '\n' : 'x';
+                this.remaining -= count;
+                return count;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        assertEquals(400_000, Linq.lines(reader).count());
+    }
+
+    @Test
+    void CloseReader() {
+        TrickleReader reader = new TrickleReader("a,b,c");
+        try (IEnumerator<String> e = Linq.split(reader, Splitter.of(',')).enumerator()) {
+            assertTrue(e.moveNext());
+            assertFalse(reader.closed);
+        }
+        assertTrue(reader.closed);
+
+        TrickleReader drained = new TrickleReader("a\nb");
+        IEnumerable<String> lines = Linq.lines(drained);
+        assertEquals(2, lines.count());
+        assertTrue(drained.closed);
+        assertThrows(RepeatInvokeException.class, () -> lines.enumerator());
+
+        Reader failing = new Reader() {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                throw new IOException("broken");
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        assertThrows(UncheckedIOException.class, () -> Linq.words(failing).count());
+    }
+
+    @Test
+    void Arguments() {
+        assertThrows(ArgumentNullException.class, () -> Linq.lines((Reader) null));
+        assertThrows(ArgumentNullException.class, () -> Linq.words((Reader) null));
+        assertThrows(ArgumentNullException.class, () -> Linq.split((Reader) null, Splitter.of(',')));
+        assertThrows(ArgumentNullException.class, () -> Linq.split(new StringReader(""), (Splitter) null));
+    }
+
+
+    // Returns at most two chars per read, to cut tokens and separators at every possible place.
+    private static final class TrickleReader extends Reader {
+        private final String text;
+        private int position;
+        private boolean closed;
+
+        private TrickleReader(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (this.position == this.text.length())
+                return -1;
+            int count = Math.min(Math.min(length, 2), this.text.length() - this.position);
+            this.text.getChars(this.position, this.position + count, buffer, offset);
+            this.position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+            this.closed = true;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.bestvike.linq.enumerable;
+
+import com.bestvike.TestCase;
+import com.bestvike.collections.generic.StringComparer;
+import com.bestvike.linq.Linq;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Created by 许崇雷 on 2026-10-18.
+ */
+class SetTest extends TestCase {
+    @Test
+    void AddSmall() {
+        Set<Integer> set = new Set<>(null);
+        assertTrue(set.add(3));
+        assertTrue(set.add(null));
+        assertTrue(set.add(1));
+        assertFalse(set.add(3));
+        assertFalse(set.add(null));
+        assertEquals(3, set.getCount());
+        assertEquals(Linq.of(3, null, 1), Linq.of(set.toArray()));
+        assertEquals(Linq.of(3, null, 1), Linq.of(set.toArray(Integer.class)));
+        assertEquals(Linq.of(3, null, 1), Linq.of(set.toList()));
+    }
+
+    @Test
+    void AddLarge() {
+        Set<Integer> set = new Set<>(null);
+        for (int i = 0; i < 1000; i++)
+            assertTrue(set.add(i * 65536));
+        for (int i = 0; i < 1000; i++)
+            assertFalse(set.add(i * 65536));
+        assertEquals(1000, set.getCount());
+        assertEquals(Linq.range(0, 1000).select(x -> x * 65536), Linq.of(set.toList()));
+    }
+
+    @Test
+    void Remove() {
+        Set<Integer> small = new Set<>(null);
+        small.unionWith(Linq.range(0, 5));
+        assertTrue(small.remove(2));
+        assertFalse(small.remove(2));
+        assertFalse(small.remove(9));
+        assertEquals(4, small.getCount());
+        assertEquals(Linq.of(0, 1, 3, 4), Linq.of(small.toArray()));
+        assertTrue(small.add(2));
+        assertEquals(Linq.of(0, 1, 3, 4, 2), Linq.of(small.toList()));
+
+        Set<Integer> large = new Set<>(null);
+        large.unionWith(Linq.range(0, 100));
+        for (int i = 0; i < 100; i += 2)
+            assertTrue(large.remove(i));
+        assertEquals(50, large.getCount());
+        large.unionWith(Linq.range(100, 100));
+        assertEquals(150, large.getCount());
+        assertEquals(Linq.range(0, 100).where(x -> x % 2 == 1).concat(Linq.range(100, 100)), Linq.of(large.toArray(Integer.class)));
+    }
+
+    @Test
+    void Comparer() {
+        Set<String> set = new Set<>(StringComparer.OrdinalIgnoreCase);
+        set.unionWith(Linq.of("a", "A", "b", "B", "c"), String::trim);
+        assertEquals(Linq.of("a", "b", "c"), Linq.of(set.toList()));
+        assertTrue(set.remove("C"));
+        assertEquals(2, set.getCount());
+    }
+}
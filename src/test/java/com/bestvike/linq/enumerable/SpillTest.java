@@ -0,0 +1,189 @@
+package com.bestvike.linq.enumerable;
+
+import com.bestvike.TestCase;
+import com.bestvike.collections.generic.StringComparer;
+import com.bestvike.function.Action0;
+import com.bestvike.function.Func1;
+import com.bestvike.linq.IEnumerable;
+import com.bestvike.linq.IEnumerator;
+import com.bestvike.linq.IGrouping;
+import com.bestvike.linq.ISerializer;
+import com.bestvike.linq.Linq;
+import com.bestvike.linq.exception.ArgumentNullException;
+import com.bestvike.linq.exception.ArgumentOutOfRangeException;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Created by 许崇雷 on 2026-10-18.
+ */
+class SpillTest extends TestCase {
+    private static final ISerializer<String> SERIALIZER = new ISerializer<String>() {
+        @Override
+        public void write(DataOutput output, String value) throws IOException {
+            output.writeBoolean(value != null);
+            if (value != null)
+                output.writeUTF(value);
+        }
+
+        @Override
+        public String read(DataInput input) throws IOException {
+            return input.readBoolean() ? input.readUTF() : null;
+        }
+    };
+
+    private Path directory;
+
+    // Runs a test with a fresh temp directory, which must be left empty.
+    private void withDirectory(Action0 test) throws IOException {
+        this.directory = Files.createTempDirectory("linq-spill-test");
+        try {
+            test.apply();
+            try (Stream<Path> files = Files.list(this.directory)) {
+                assertEquals(0L, files.count());
+            }
+        } finally {
+            try (Stream<Path> files = Files.list(this.directory)) {
+                for (Path file : (Iterable<Path>) files::iterator)
+                    Files.delete(file);
+            }
+            Files.delete(this.directory);
+        }
+    }
+
+    private IEnumerable<String> spillable(IEnumerable<String> source, int budget) {
+        return source.asSpillable(SERIALIZER, budget, this.directory);
+    }
+
+    private static IEnumerable<String> sorted(IEnumerable<String> source) {
+        return source.orderBy(x -> x, Comparator.nullsFirst(String::compareTo));
+    }
+
+    @Test
+    void Join() throws IOException {
+        this.withDirectory(() -> {
+            IEnumerable<String> outer = Linq.range(0, 3000).select(x -> x % 97 == 0 ? null : "o" + x % 211 + "-" + x);
+            IEnumerable<String> inner = Linq.range(0, 2000).select(x -> x % 89 == 0 ? null : "i" + x % 307 + "-" + x);
+            Func1<String, String> keySelector = x -> x == null ? null : x.substring(1, x.indexOf('-'));
+            IEnumerable<String> expected = outer.join(inner, keySelector, keySelector, (x, y) -> x + y);
+
+            assertEquals(expected, spillable(outer, 1).join(spillable(inner, 5000), keySelector, keySelector, (x, y) -> x + y));
+            assertEquals(sorted(expected), sorted(spillable(outer, 1).join(spillable(inner, 50), keySelector, keySelector, (x, y) -> x + y)));
+            assertEquals(sorted(expected), sorted(spillable(outer, 1).join(spillable(inner, 1), keySelector, keySelector, (x, y) -> x + y)));
+            assertEquals(expected, outer.join(spillable(inner, 1), keySelector, keySelector, (x, y) -> x + y));
+            assertEquals(sorted(outer.join(inner, keySelector, keySelector, (x, y) -> x + y, StringComparer.OrdinalIgnoreCase)),
+                    sorted(spillable(outer, 1).join(spillable(inner, 10), keySelector, keySelector, (x, y) -> x + y, StringComparer.OrdinalIgnoreCase)));
+            assertEmpty(spillable(outer, 1).join(spillable(Linq.empty(), 1), keySelector, keySelector, (x, y) -> x + y));
+
+            try (IEnumerator<String> e = spillable(outer, 1).join(spillable(inner, 50), keySelector, keySelector, (x, y) -> x + y).enumerator()) {
+                assertTrue(e.moveNext());
+            }
+        });
+    }
+
+    @Test
+    void JoinSkewedKeys() throws IOException {
+        this.withDirectory(() -> {
+            IEnumerable<String> outer = Linq.range(0, 30).select(x -> "o-" + x);
+            IEnumerable<String> inner = Linq.range(0, 500).select(x -> "i-" + x);
+            Func1<String, String> keySelector = x -> "";
+            assertEquals(sorted(outer.join(inner, keySelector, keySelector, (x, y) -> x + y)), sorted(spillable(outer, 1).join(spillable(inner, 10), keySelector, keySelector, (x, y) -> x + y)));
+        });
+    }
+
+    @Test
+    void GroupJoin() throws IOException {
+        this.withDirectory(() -> {
+            IEnumerable<String> outer = Linq.range(0, 1000).select(x -> x % 97 == 0 ? null : "o" + x % 211 + "-" + x);
+            IEnumerable<String> inner = Linq.range(0, 2000).select(x -> x % 89 == 0 ? null : "i" + x % 307 + "-" + x);
+            Func1<String, String> keySelector = x -> x == null ? null : x.substring(1, x.indexOf('-'));
+            IEnumerable<String> expected = outer.groupJoin(inner, keySelector, keySelector, (x, g) -> x + ":" + g.joining(","));
+
+            assertEquals(expected, spillable(outer, 1).groupJoin(spillable(inner, 5000), keySelector, keySelector, (x, g) -> x + ":" + g.joining(",")));
+            assertEquals(sorted(expected), sorted(spillable(outer, 1).groupJoin(spillable(inner, 30), keySelector, keySelector, (x, g) -> x + ":" + g.joining(","))));
+            assertEquals(1000, spillable(outer, 1).groupJoin(spillable(inner, 30), keySelector, keySelector, (x, g) -> x).count());
+            assertEquals(sorted(outer), sorted(spillable(outer, 1).groupJoin(spillable(Linq.empty(), 1), keySelector, keySelector, (x, g) -> x)));
+        });
+    }
+
+    @Test
+    void GroupBy() throws IOException {
+        this.withDirectory(() -> {
+            IEnumerable<String> source = Linq.range(0, 5000).select(x -> x % 101 == 0 ? null : (x % 2 == 0 ? "k" : "K") + x % 173 + "-" + x);
+            Func1<String, String> keySelector = x -> x == null ? null : x.substring(0, x.indexOf('-'));
+            Func1<IGrouping<String, ?>, String> describe = g -> g.getKey() + ":" + Linq.of(g).joining(",");
+
+            assertEquals(source.groupBy(keySelector).select(describe::apply), spillable(source, 5000).groupBy(keySelector).select(describe::apply));
+            assertEquals(sorted(source.groupBy(keySelector).select(describe::apply)), sorted(spillable(source, 40).groupBy(keySelector).select(describe::apply)));
+            assertEquals(sorted(source.groupBy(keySelector, StringComparer.OrdinalIgnoreCase).select(g -> g.count() + "")),
+                    sorted(spillable(source, 40).groupBy(keySelector, StringComparer.OrdinalIgnoreCase).select(g -> g.count() + "")));
+            assertEquals(sorted(source.groupBy(keySelector, x -> x == null ? 0 : x.length()).select(describe::apply)),
+                    sorted(spillable(source, 40).groupBy(keySelector, x -> x == null ? 0 : x.length()).select(describe::apply)));
+            assertEquals(sorted(source.groupBy(keySelector, (k, g) -> k + g.count())), sorted(spillable(source, 1).groupBy(keySelector, (k, g) -> k + g.count())));
+            assertEquals(sorted(source.groupBy(keySelector, x -> x, (k, g) -> k + g.count(), StringComparer.OrdinalIgnoreCase)),
+                    sorted(spillable(source, 7).groupBy(keySelector, x -> x, (k, g) -> k + g.count(), StringComparer.OrdinalIgnoreCase)));
+            assertEquals(1, spillable(source, 1).groupBy(x -> 1).count());
+            assertEmpty(spillable(Linq.empty(), 1).groupBy(x -> x));
+            assertThrows(ArgumentNullException.class, () -> spillable(source, 1).groupBy(null));
+            assertThrows(ArgumentNullException.class, () -> spillable(source, 1).groupBy(keySelector, (Func1<String, String>) null));
+        });
+    }
+
+    @Test
+    void Distinct() throws IOException {
+        this.withDirectory(() -> {
+            IEnumerable<String> source = Linq.range(0, 5000).select(x -> x % 101 == 0 ? null : (x % 2 == 0 ? "k" : "K") + x % 1733);
+            assertEquals(source.distinct(), spillable(source, 5000).distinct());
+            assertEquals(sorted(source.distinct()), sorted(spillable(source, 100).distinct()));
+            assertEquals(sorted(source.distinct()), sorted(spillable(source, 1).distinct()));
+            assertEquals(sorted(source.distinct(StringComparer.OrdinalIgnoreCase)).count(), spillable(source, 100).distinct(StringComparer.OrdinalIgnoreCase).count());
+            assertEquals(source.take(100).distinct(), spillable(source, 100).distinct().take(100));
+            assertEmpty(spillable(Linq.empty(), 1).distinct());
+        });
+    }
+
+    @Test
+    void FailuresDeleteTempFiles() throws IOException {
+        this.withDirectory(() -> {
+            ISerializer<String> failing = new ISerializer<String>() {
+                @Override
+                public void write(DataOutput output, String value) throws IOException {
+                    if (value.endsWith("-1500"))
+                        throw new IOException("disk full");
+                    output.writeUTF(value);
+                }
+
+                @Override
+                public String read(DataInput input) throws IOException {
+                    return input.readUTF();
+                }
+            };
+            IEnumerable<String> source = Linq.range(0, 2000).select(x -> "k" + x % 37 + "-" + x).asSpillable(failing, 10, this.directory);
+            assertThrows(UncheckedIOException.class, () -> {
+                try (IEnumerator<IGrouping<String, String>> e = source.groupBy(x -> x.substring(0, x.indexOf('-'))).enumerator()) {
+                    e.moveNext();
+                }
+            });
+        });
+    }
+
+    @Test
+    void AsSpillable() throws IOException {
+        this.withDirectory(() -> {
+            IEnumerable<String> source = Linq.of("a", "b");
+            assertEquals(source, source.asSpillable(SERIALIZER));
+            assertEquals(source, source.asSpillable(SERIALIZER, 1).asSpillable(SERIALIZER, 2));
+            assertThrows(ArgumentNullException.class, () -> Spill.asSpillable(null, SERIALIZER));
+            assertThrows(ArgumentNullException.class, () -> source.asSpillable(null));
+            assertThrows(ArgumentOutOfRangeException.class, () -> source.asSpillable(SERIALIZER, 0));
+        });
+    }
+}
@@ -9,6 +9,7 @@ import com.bestvike.linq.exception.ArgumentNullException;
 import com.bestvike.linq.exception.ExceptionArgument;
 import com.bestvike.linq.exception.ThrowHelper;
 import com.bestvike.linq.util.ArgsList;
+import com.bestvike.linq.util.StringSegment;
 import com.bestvike.linq.util.StringSplitOptions;
 import com.bestvike.linq.util.Strings;
 import org.junit.jupiter.api.Test;
@@ -207,6 +208,8 @@ class SplitTest extends TestCase {
         assertEquals(Linq.of(expected), Linq.split(value, new char[]{separator}, options));
         assertEquals(Linq.of(expected), Linq.split(value, String.valueOf(separator), options));
         assertEquals(Linq.of(expected), Linq.split(value, new String[]{String.valueOf(separator)}, options));
+        assertEquals(Linq.of(expected), Linq.splitViews(value, separator, options).select(StringSegment::toString));
+        assertEquals(Linq.of(expected), Linq.splitViews(value, new char[]{separator}, options).select(StringSegment::toString));
         if (options == StringSplitOptions.None) {
             assertEquals(Linq.of(expected), Linq.split(value, separator));
             assertEquals(Linq.of(expected), Linq.split(value, new char[]{separator}));
@@ -220,6 +223,8 @@ class SplitTest extends TestCase {
     void SplitStringSeparator(String value, String separator, StringSplitOptions options, String[] expected) {
         assertEquals(Linq.of(expected), Linq.split(value, separator, options));
         assertEquals(Linq.of(expected), Linq.split(value, new String[]{separator}, options));
+        assertEquals(Linq.of(expected), Linq.splitViews(value, separator, options).select(StringSegment::toString));
+        assertEquals(Linq.of(expected), Linq.splitViews(value, new String[]{separator}, options).select(StringSegment::toString));
         if (options == StringSplitOptions.None) {
             assertEquals(Linq.of(expected), Linq.split(value, separator));
             assertEquals(Linq.of(expected), Linq.split(value, new String[]{separator}));
@@ -239,12 +244,31 @@ class SplitTest extends TestCase {
     void SplitCharArraySeparator(String value, char[] separators, StringSplitOptions options, String[] expected) {
         assertEquals(Linq.of(expected), Linq.split(value, separators, options));
         assertEquals(Linq.of(expected), Linq.split(value, ToStringArray(separators), options));
+        assertEquals(Linq.of(expected), Linq.splitViews(value, separators, options).select(StringSegment::toString));
     }
 
     @ParameterizedTest
     @MethodSource("SplitStringArraySeparatorData")
     void SplitStringArraySeparator(String value, String[] separators, StringSplitOptions options, String[] expected) {
         assertEquals(Linq.of(expected), Linq.split(value, separators, options));
+        assertEquals(Linq.of(expected), Linq.splitViews(value, separators, options).select(StringSegment::toString));
+    }
+
+    @Test
+    void SplitViews() {
+        String value = "id=42,price=-17,,qty=9223372036854775807";
+        IEnumerable<StringSegment> fields = Linq.splitViews(value, ',');
+        assertEquals(4, fields.count());
+        assertSame(value, fields.first().getSource());
+        assertEquals(value.indexOf("price"), fields.elementAt(1).getOffset());
+        assertEquals(0, fields.elementAt(2).length());
+        assertTrue(fields.elementAt(2).contentEquals(""));
+        assertEquals(Linq.of(42, -17), Linq.splitViews(value, new char[]{',', '='}, StringSplitOptions.RemoveEmptyEntries).where(x -> Character.isDigit(x.charAt(x.length() - 1)) && x.length() < 4).select(StringSegment::parseInt));
+        assertEquals(Long.MAX_VALUE, Linq.splitViews(value, "qty=").last().parseLong());
+        assertTrue(Linq.splitViews(value, new String[]{",", "="}).any(x -> x.contentEquals("price")));
+        assertEquals(Linq.singleton("a b"), Linq.splitViews("a b", (CharSequence) null).select(StringSegment::toString));
+        assertEmpty(Linq.splitViews("", ',', StringSplitOptions.RemoveEmptyEntries));
+        assertThrows(ArgumentNullException.class, () -> Linq.splitViews(null, ','));
     }
 
     @Test
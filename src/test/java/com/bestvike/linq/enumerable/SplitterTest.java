@@ -0,0 +1,135 @@
+package com.bestvike.linq.enumerable;
+
+import com.bestvike.TestCase;
+import com.bestvike.linq.IEnumerable;
+import com.bestvike.linq.Linq;
+import com.bestvike.linq.exception.ArgumentNullException;
+import com.bestvike.linq.util.StringSegment;
+import com.bestvike.linq.util.StringSplitOptions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Created by 许崇雷 on 2026-10-18.
+ */
+class SplitterTest extends TestCase {
+    private static final String[] LINES = {"", ",", "a,b", "a,,b;c", " x y  z ", "k=v;k2=v2,,", "this, is, a, string, with some spaces ų"};
+
+    private static void assertSplit(String[] expected, Splitter splitter, String line) {
+        assertEquals(Linq.of(expected), splitter.split(line));
+        assertEquals(Linq.of(expected), splitter.splitViews(line).select(StringSegment::toString));
+    }
+
+    @Test
+    void MatchesStringSplit() {
+        for (String line : LINES) {
+            assertSplit(line.split(",", -1), Splitter.of(','), line);
+            assertSplit(line.split(",", -1), Splitter.of(","), line);
+            assertSplit(line.split(", ", -1), Splitter.of(", "), line);
+            assertSplit(line.split("[,;]", -1), Splitter.of(',', ';'), line);
+            assertSplit(line.split("[,;=]", -1), Splitter.of(',', ';', '='), line);
+            assertSplit(line.split("[,;= \u0100]", -1), Splitter.of(',', ';', '=', ' ', '\u0100'), line);
+            assertSplit(line.split(",|;|=|, ", -1), Splitter.of(new String[]{",", ";", "=", ", "}), line);
+        }
+    }
+
+    @Test
+    void CharSeparators() {
+        assertSplit(new String[]{""}, Splitter.of(','), "");
+        assertSplit(new String[]{"", ""}, Splitter.of(','), ",");
+        assertSplit(new String[]{"a", "", "b;c"}, Splitter.of(','), "a,,b;c");
+        assertSplit(new String[]{}, Splitter.of(',', StringSplitOptions.RemoveEmptyEntries), "");
+        assertSplit(new String[]{}, Splitter.of(',', StringSplitOptions.RemoveEmptyEntries), ",");
+        assertSplit(new String[]{"a", "b;c"}, Splitter.of(',', StringSplitOptions.RemoveEmptyEntries), "a,,b;c");
+
+        assertSplit(new String[]{"a", "", "b", "c"}, Splitter.of(',', ';'), "a,,b;c");
+        assertSplit(new String[]{"a", "b", "c"}, Splitter.of(new char[]{',', ';'}, StringSplitOptions.RemoveEmptyEntries), "a,,b;c");
+        assertSplit(new String[]{"k", "v", "k2", "v2", "", ""}, Splitter.of(',', ';', '='), "k=v;k2=v2,,");
+        assertSplit(new String[]{"k", "v", "k2", "v2"}, Splitter.of(new char[]{',', ';', '='}, StringSplitOptions.RemoveEmptyEntries), "k=v;k2=v2,,");
+        assertSplit(new String[]{"a", "", "b", "c", ""}, Splitter.of(',', ';', '=', ' ', '\u0100'), "a \u0100b=c;");
+        assertSplit(new String[]{"a", "b", "c"}, Splitter.of(new char[]{',', ';', '=', ' ', '\u0100'}, StringSplitOptions.RemoveEmptyEntries), "a \u0100b=c;");
+    }
+
+    @Test
+    void WhitespaceWhenNoCharSeparators() {
+        for (char[] separator : new char[][]{null, {}}) {
+            assertSplit(new String[]{"", "x", "y", "", "z", ""}, Splitter.of(separator, StringSplitOptions.None), " x y  z ");
+            assertSplit(new String[]{"x", "y", "z"}, Splitter.of(separator, StringSplitOptions.RemoveEmptyEntries), " x y  z ");
+            assertSplit(new String[]{"a,b"}, Splitter.of(separator, StringSplitOptions.None), "a,b");
+            assertSplit(new String[]{""}, Splitter.of(separator, StringSplitOptions.None), "");
+            assertSplit(new String[]{}, Splitter.of(separator, StringSplitOptions.RemoveEmptyEntries), "");
+        }
+    }
+
+    @Test
+    void StringSeparators() {
+        assertSplit(new String[]{"this", "is", "a", "string", "with some spaces \u0173"}, Splitter.of(", "), "this, is, a, string, with some spaces \u0173");
+        assertSplit(new String[]{"a", "", "b"}, Splitter.of("--"), "a----b");
+        assertSplit(new String[]{"a", "b"}, Splitter.of("--", StringSplitOptions.RemoveEmptyEntries), "a----b");
+        assertSplit(new String[]{"", ""}, Splitter.of("--"), "--");
+        assertSplit(new String[]{}, Splitter.of("--", StringSplitOptions.RemoveEmptyEntries), "--");
+
+        // the first separator in array order wins where several match at the same index
+        assertSplit(new String[]{"a", " b", "c"}, Splitter.of(new String[]{",", ";", ", "}), "a, b;c");
+        assertSplit(new String[]{"a", "b;c"}, Splitter.of(new String[]{", ", ","}), "a, b;c");
+        assertSplit(new String[]{"a", "b", "", "c"}, Splitter.of(new String[]{", ", ","}), "a, b,,c");
+        assertSplit(new String[]{"a", "b", "c"}, Splitter.of(new String[]{", ", ","}, StringSplitOptions.RemoveEmptyEntries), "a, b,,c");
+    }
+
+    @Test
+    void EmptyStringSeparator() {
+        // a single empty separator never matches, so the input is one entry
+        for (String separator : new String[]{null, ""}) {
+            assertSplit(new String[]{"a, b"}, Splitter.of(separator), "a, b");
+            assertSplit(new String[]{""}, Splitter.of(separator), "");
+            assertSplit(new String[]{}, Splitter.of(separator, StringSplitOptions.RemoveEmptyEntries), "");
+        }
+    }
+
+    @Test
+    void WhitespaceWhenNoStringSeparators() {
+        for (String[] separator : new String[][]{null, {}}) {
+            assertSplit(new String[]{"", "x", "y", "", "z", ""}, Splitter.of(separator, StringSplitOptions.None), " x y  z ");
+            assertSplit(new String[]{"x", "y", "z"}, Splitter.of(separator, StringSplitOptions.RemoveEmptyEntries), " x y  z ");
+            assertSplit(new String[]{""}, Splitter.of(separator, StringSplitOptions.None), "");
+            assertSplit(new String[]{}, Splitter.of(separator, StringSplitOptions.RemoveEmptyEntries), "");
+        }
+    }
+
+    @Test
+    void NullOrEmptyStringSeparatorEntries() {
+        // null and empty entries never match, so an array of only those keeps the input whole
+        for (String[] separator : new String[][]{{null}, {""}, {null, ""}}) {
+            assertSplit(new String[]{" x y  z "}, Splitter.of(separator, StringSplitOptions.None), " x y  z ");
+            assertSplit(new String[]{" x y  z "}, Splitter.of(separator, StringSplitOptions.RemoveEmptyEntries), " x y  z ");
+            assertSplit(new String[]{""}, Splitter.of(separator, StringSplitOptions.None), "");
+            assertSplit(new String[]{}, Splitter.of(separator, StringSplitOptions.RemoveEmptyEntries), "");
+        }
+        assertSplit(new String[]{"a", "b", "c"}, Splitter.of(new String[]{null, ",", ""}), "a,b,c");
+    }
+
+    @Test
+    void Reusable() {
+        char[] separator = {',', ';', '=', '|'};
+        Splitter splitter = Splitter.of(separator);
+        separator[0] = 'x';
+        assertEquals(Linq.of("a", "b", "c", "d", "e"), splitter.split("a,b;c=d|e"));
+
+        IEnumerable<String> fields = splitter.split("1,2;3");
+        assertEquals(Linq.of("1", "2", "3"), fields);
+        assertEquals(Linq.of("1", "2", "3"), fields);
+
+        IEnumerable<String> lines = Linq.range(0, 2000).select(i -> i + "," + (i * 2) + ";" + (i * 3) + "|");
+        Splitter shared = Splitter.of(new char[]{',', ';', '=', '|'}, StringSplitOptions.RemoveEmptyEntries);
+        assertEquals(Linq.range(0, 2000).select(i -> i * 6), Linq.of(lines.asParallel().asOrdered().select(line -> shared.splitViews(line).sumInt(StringSegment::parseInt)).toList()));
+    }
+
+    @Test
+    void Arguments() {
+        assertThrows(ArgumentNullException.class, () -> Splitter.of(',', null));
+        assertThrows(ArgumentNullException.class, () -> Splitter.of(new char[]{','}, null));
+        assertThrows(ArgumentNullException.class, () -> Splitter.of(",", null));
+        assertThrows(ArgumentNullException.class, () -> Splitter.of(new String[]{","}, null));
+        assertThrows(ArgumentNullException.class, () -> Splitter.of(',').split(null));
+        assertThrows(ArgumentNullException.class, () -> Splitter.of(',').splitViews(null));
+    }
+}
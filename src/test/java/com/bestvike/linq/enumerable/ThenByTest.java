@@ -247,6 +247,28 @@ class ThenByTest extends TestCase {
     }
 
 
+    @Test
+    void ThenByPrimitiveKeyMatchesThenBy() {
+        Random random = new Random(42);
+        Integer[] source = new Integer[2000];
+        for (int i = 0; i < source.length; i++)
+            source[i] = random.nextInt(1000);
+
+        assertEquals(Linq.of(source).orderBy(x -> x % 10).thenBy(x -> x), Linq.of(source).orderByInt(x -> x % 10).thenByInt(x -> x));
+        assertEquals(Linq.of(source).orderBy(x -> x % 10).thenByDescending(x -> x), Linq.of(source).orderBy(x -> x % 10).thenByDescendingInt(x -> x));
+        assertEquals(Linq.of(source).orderBy(x -> x % 10).thenBy(x -> (long) x), Linq.of(source).orderByInt(x -> x % 10).thenByLong(x -> (long) x));
+        assertEquals(Linq.of(source).orderBy(x -> x % 10).thenByDescending(x -> (long) x), Linq.of(source).orderByInt(x -> x % 10).thenByDescendingLong(x -> (long) x));
+        assertEquals(Linq.of(source).orderBy(x -> x % 10).thenBy(x -> x / 7.0), Linq.of(source).orderByDouble(x -> x % 10).thenByDouble(x -> x / 7.0));
+        assertEquals(Linq.of(source).orderBy(x -> x % 10).thenByDescending(x -> x / 7.0), Linq.of(source).orderByDouble(x -> x % 10).thenByDescendingDouble(x -> x / 7.0));
+        assertEquals(Linq.of(source).orderBy(x -> x % 10).thenBy(x -> x % 3).thenBy(x -> x), Linq.of(source).orderByInt(x -> x % 10).thenBy(x -> x % 3).thenByInt(x -> x));
+    }
+
+    @Test
+    void ThenByPrimitiveKeyNullArguments() {
+        assertThrows(ArgumentNullException.class, () -> Linq.of(1, 2).orderBy(x -> x).thenByInt(null));
+        assertThrows(ArgumentNullException.class, () -> Linq.of(1, 2).orderBy(x -> x).thenByDescendingLong(null));
+    }
+
     private static class UserAddress extends ValueType {
         private final String Name;
         private final String City;
@@ -13,6 +13,8 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -273,4 +275,99 @@ class ToSpliteratorTest extends TestCase {
 
         assertEquals(Linq.of(60, -10), Linq.of(Linq.of(source).toLookup(Tuple2::getItem1, Tuple2::getItem2).get("Tim").stream().toArray()));
     }
+
+    @Test
+    void testSplitIndexed() {
+        Integer[] array = new Integer[1000];
+        for (int i = 0; i < array.length; i++)
+            array[i] = i;
+        List<Integer> list = new ArrayList<>(Linq.of(array).toList());
+        List<IEnumerable<Integer>> sources = Linq.of(
+                Linq.range(0, 1000),
+                Linq.of(array).select(x -> x),
+                Linq.of(list),
+                Linq.of(list).select(x -> x),
+                Linq.of(list).skip(0).take(1000),
+                Linq.range(-5, 1005).skip(5),
+                Linq.range(0, 1000).select(x -> x)).toList();
+        for (IEnumerable<Integer> source : sources) {
+            Spliterator<Integer> spliterator = source.spliterator();
+            assertTrue(spliterator.hasCharacteristics(Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED));
+            assertEquals(1000L, spliterator.getExactSizeIfKnown());
+            Spliterator<Integer> prefix = spliterator.trySplit();
+            assertNotNull(prefix);
+            assertEquals(500L, prefix.estimateSize());
+            assertEquals(500L, spliterator.estimateSize());
+            assertEquals(Linq.range(0, 1000), Linq.of(source.parallelStream().collect(Collectors.toList())));
+            assertEquals(Linq.range(0, 1000).sumInt(), source.parallelStream().mapToInt(x -> x).sum());
+        }
+
+        Spliterator<Integer> range = Linq.range(0, 10).spliterator();
+        assertTrue(range.hasCharacteristics(Spliterator.DISTINCT | Spliterator.SORTED | Spliterator.NONNULL | Spliterator.IMMUTABLE));
+        assertNull(range.getComparator());
+        assertFalse(Linq.range(0, 10).select(x -> x).spliterator().hasCharacteristics(Spliterator.SORTED));
+        assertThrows(IllegalStateException.class, () -> Linq.range(0, 10).select(x -> x).spliterator().getComparator());
+
+        assertTrue(range.tryAdvance(x -> assertEquals(0, x)));
+        assertNull(range.trySplit());
+        assertEquals(9L, range.estimateSize());
+        List<Integer> rest = new ArrayList<>();
+        range.forEachRemaining(rest::add);
+        assertEquals(Linq.range(1, 9), Linq.of(rest));
+        assertFalse(range.tryAdvance(x -> fail("exhausted")));
+        assertEquals(0L, range.estimateSize());
+    }
+
+    @Test
+    void testSplitWhere() {
+        Integer[] array = new Integer[1000];
+        for (int i = 0; i < array.length; i++)
+            array[i] = i;
+        List<Integer> list = new ArrayList<>(Linq.of(array).toList());
+        IEnumerable<Integer> where = Linq.of(array).where(x -> x % 3 == 0);
+        Spliterator<Integer> spliterator = where.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.ORDERED));
+        assertFalse(spliterator.hasCharacteristics(Spliterator.SIZED));
+        assertNotNull(spliterator.trySplit());
+
+        IEnumerable<Integer> expected = Linq.range(0, 1000).where(x -> x % 3 == 0);
+        assertEquals(expected, Linq.of(where.parallelStream().collect(Collectors.toList())));
+        assertEquals(expected, Linq.of(Linq.of(list).where(x -> x % 3 == 0).parallelStream().collect(Collectors.toList())));
+        assertEquals(expected.select(x -> x * 2), Linq.of(Linq.of(array).where(x -> x % 3 == 0).select(x -> x * 2).parallelStream().collect(Collectors.toList())));
+        assertEquals(expected.select(x -> x * 2), Linq.of(Linq.of(list).where(x -> x % 3 == 0).select(x -> x * 2).parallelStream().collect(Collectors.toList())));
+        assertTrue(where.spliterator().tryAdvance(x -> assertEquals(0, x)));
+    }
+
+    @Test
+    void testSplitIterator() {
+        List<IEnumerable<Integer>> sources = Linq.of(
+                ForceNotCollection(Linq.range(0, 5000)).where(x -> x % 3 == 0),
+                ForceNotCollection(Linq.range(0, 5000)).select(x -> x * 3).where(x -> x % 3 == 0).select(x -> x / 3).where(x -> x % 3 == 0),
+                Linq.range(0, 5000).select(x -> x - x % 3).distinct()).toList();
+        IEnumerable<Integer> expected = Linq.range(0, 5000).where(x -> x % 3 == 0);
+        for (IEnumerable<Integer> source : sources) {
+            Spliterator<Integer> spliterator = source.spliterator();
+            Spliterator<Integer> prefix = spliterator.trySplit();
+            assertNotNull(prefix);
+            assertEquals(1024L, prefix.getExactSizeIfKnown());
+            Spliterator<Integer> second = spliterator.trySplit();
+            assertNotNull(second);
+            assertEquals(643L, second.getExactSizeIfKnown());
+            List<Integer> items = new ArrayList<>();
+            prefix.forEachRemaining(items::add);
+            second.forEachRemaining(items::add);
+            assertNull(spliterator.trySplit());
+            spliterator.forEachRemaining(items::add);
+            assertEquals(expected, Linq.of(items));
+            assertEquals(expected, Linq.of(source.parallelStream().collect(Collectors.toList())));
+        }
+
+        Spliterator<Integer> sized = Linq.range(0, 3000).select(x -> x).where(x -> true).take(1500).spliterator();
+        Spliterator<Integer> prefix = sized.trySplit();
+        assertNotNull(prefix);
+        List<Integer> items = new ArrayList<>();
+        prefix.forEachRemaining(items::add);
+        sized.forEachRemaining(items::add);
+        assertEquals(Linq.range(0, 1500), Linq.of(items));
+    }
 }
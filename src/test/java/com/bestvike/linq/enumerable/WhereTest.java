@@ -823,6 +823,29 @@ class WhereTest extends TestCase {
         assertThrows(ConcurrentModificationException.class, () -> enumerator.moveNext());
     }
 
+    @Test
+    void Where_ForEachThrowsOnConcurrentModification() {
+        List<Integer> source = new ArrayList<>(Arrays.asList(1, 2, 3));
+        assertThrows(ConcurrentModificationException.class, () -> Linq.of(source).where(x -> true).forEach(x -> source.add(9)));
+        assertEquals(4, source.size());
+
+        source.remove(3);
+        assertThrows(ConcurrentModificationException.class, () -> Linq.of(source).where(x -> true).select(x -> x).forEach(x -> source.add(9)));
+        source.remove(3);
+        assertThrows(ConcurrentModificationException.class, () -> Linq.of(source).select(x -> x).forEach(x -> source.add(9)));
+        source.remove(3);
+        assertThrows(ConcurrentModificationException.class, () -> Linq.of(source).forEach(x -> source.remove(0)));
+        assertThrows(ConcurrentModificationException.class, () -> Linq.of(source).forEachWhile(x -> source.add(9)));
+
+        List<Integer> shrinking = new ArrayList<>(Arrays.asList(1, 2, 3, 4, 5));
+        List<Integer> seen = new ArrayList<>();
+        Linq.of(shrinking).skip(1).take(3).forEach(x -> {
+            seen.add(x);
+            shrinking.remove(shrinking.size() - 1);
+        });
+        assertEquals(Linq.of(2, 3), Linq.of(seen));
+    }
+
     @Test
     void Where_GetEnumeratorReturnsUniqueInstances() {
         int[] source = new int[]{1, 2, 3, 4, 5};
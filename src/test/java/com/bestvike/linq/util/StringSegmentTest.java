@@ -0,0 +1,69 @@
+package com.bestvike.linq.util;
+
+import com.bestvike.TestCase;
+import com.bestvike.linq.exception.ArgumentNullException;
+import com.bestvike.linq.exception.ArgumentOutOfRangeException;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Created by 许崇雷 on 2026-10-18.
+ */
+class StringSegmentTest extends TestCase {
+    @Test
+    void ctor() {
+        assertThrows(ArgumentNullException.class, () -> new StringSegment(null));
+        assertThrows(ArgumentOutOfRangeException.class, () -> new StringSegment("abc", -1, 1));
+        assertThrows(ArgumentOutOfRangeException.class, () -> new StringSegment("abc", 4, 0));
+        assertThrows(ArgumentOutOfRangeException.class, () -> new StringSegment("abc", 1, 3));
+        assertEquals("", new StringSegment("abc", 3, 0).toString());
+        assertEquals("bc", new StringSegment("abc", 1, 2).toString());
+    }
+
+    @Test
+    void charSequence() {
+        StringSegment segment = new StringSegment("hello world", 6, 5);
+        assertEquals(5, segment.length());
+        assertEquals('w', segment.charAt(0));
+        assertEquals('d', segment.charAt(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> segment.charAt(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> segment.charAt(-1));
+        assertEquals("orl", segment.subSequence(1, 4).toString());
+        assertEquals(7, segment.subSequence(1, 4).getOffset());
+        assertThrows(IndexOutOfBoundsException.class, () -> segment.subSequence(2, 6));
+        assertThrows(IndexOutOfBoundsException.class, () -> segment.subSequence(3, 2));
+    }
+
+    @Test
+    void equality() {
+        StringSegment segment = new StringSegment("a,Key,b", 2, 3);
+        assertTrue(segment.contentEquals("Key"));
+        assertFalse(segment.contentEquals("Kex"));
+        assertFalse(segment.contentEquals("Keys"));
+        assertFalse(segment.contentEquals(null));
+        assertTrue(segment.contentEqualsIgnoreCase("kEY"));
+        assertFalse(segment.contentEqualsIgnoreCase("kez"));
+        assertEquals(new StringSegment("Key"), segment);
+        assertNotEquals(new StringSegment("key"), segment);
+        assertFalse(segment.equals("Key"));
+        assertEquals("Key".hashCode(), segment.hashCode());
+        assertEquals(0, new StringSegment("").hashCode());
+    }
+
+    @Test
+    void parse() {
+        assertEquals(0, new StringSegment("0").parseInt());
+        assertEquals(123, new StringSegment("x123y", 1, 3).parseInt());
+        assertEquals(-45, new StringSegment("-45").parseInt());
+        assertEquals(45, new StringSegment("+45").parseInt());
+        assertEquals(Integer.MAX_VALUE, new StringSegment(String.valueOf(Integer.MAX_VALUE)).parseInt());
+        assertEquals(Integer.MIN_VALUE, new StringSegment(String.valueOf(Integer.MIN_VALUE)).parseInt());
+        assertEquals(Long.MAX_VALUE, new StringSegment(String.valueOf(Long.MAX_VALUE)).parseLong());
+        assertEquals(Long.MIN_VALUE, new StringSegment(String.valueOf(Long.MIN_VALUE)).parseLong());
+        assertEquals(3000000000L, new StringSegment("3000000000").parseLong());
+
+        for (String invalid : new String[]{"", "-", "+", "1a", " 1", "1 ", "--1", "2147483648", "-2147483649"})
+            assertThrows(NumberFormatException.class, () -> new StringSegment(invalid).parseInt());
+        for (String invalid : new String[]{"", "x", "9223372036854775808", "-9223372036854775809"})
+            assertThrows(NumberFormatException.class, () -> new StringSegment(invalid).parseLong());
+    }
+}